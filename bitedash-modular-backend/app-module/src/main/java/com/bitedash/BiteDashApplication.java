@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
         scanBasePackages = {
@@ -27,8 +28,10 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @EnableJpaAuditing
 @EnableAsync // Enable async processing for notifications
 @EnableRetry // Enable retry mechanism for notifications
+@EnableScheduling // Enable background sweeps (e.g. vendor order board reconciliation)
 @EnableJpaRepositories(
         basePackages = {
+                "com.bitedash.shared.outbox",
                 "com.bitedash.identity.repository",
                 "com.bitedash.organisation.repository",
                 "com.bitedash.order.repository",
@@ -41,6 +44,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
         considerNestedRepositories = true
 )
 @EntityScan(basePackages = {
+        "com.bitedash.shared.outbox",
         "com.bitedash.identity.entity",
         "com.bitedash.organisation.entity",
         "com.bitedash.order.entity",
@@ -0,0 +1,45 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Wallet Holds
+-- Version: 10.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Orders authorize a hold on the wallet and capture it after the order
+-- commits. Held funds leave the available balance (balance) and sit in
+-- held_balance until the hold is captured, released or expires.
+-- =====================================================
+
+ALTER TABLE wallet_schema.user_wallets
+    ADD COLUMN IF NOT EXISTS held_balance DECIMAL(15, 2) NOT NULL DEFAULT 0.00;
+
+CREATE TABLE IF NOT EXISTS wallet_schema.wallet_holds (
+    id BIGSERIAL PRIMARY KEY,
+    wallet_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'HELD',
+    reference_id BIGINT,
+    reference_type VARCHAR(50),
+    transaction_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    resolved_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+
+    CONSTRAINT fk_wallet_hold_wallet FOREIGN KEY (wallet_id)
+        REFERENCES wallet_schema.user_wallets(id) ON DELETE CASCADE,
+    CONSTRAINT chk_wallet_hold_amount CHECK (amount > 0),
+    CONSTRAINT chk_wallet_hold_status CHECK (status IN ('HELD', 'CAPTURED', 'RELEASED', 'EXPIRED'))
+);
+
+ALTER SEQUENCE IF EXISTS wallet_schema.wallet_holds_id_seq INCREMENT BY 50;
+
+-- The sweeper only ever looks at open holds
+CREATE INDEX IF NOT EXISTS idx_wallet_holds_expiry
+    ON wallet_schema.wallet_holds (expires_at)
+    WHERE status = 'HELD';
+
+CREATE INDEX IF NOT EXISTS idx_wallet_holds_reference
+    ON wallet_schema.wallet_holds (reference_id, reference_type);
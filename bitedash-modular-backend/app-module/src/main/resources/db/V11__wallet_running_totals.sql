@@ -0,0 +1,35 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Wallet Running Totals
+-- Version: 11.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Lifetime credit and debit totals on each wallet, plus one row per
+-- wallet and month, kept up to date by every settled credit and debit.
+-- Existing wallets keep totals_as_of NULL and are recounted from their
+-- transactions by the backfill job (or on first read), so this migration
+-- never scans wallet_transactions.
+-- =====================================================
+
+ALTER TABLE wallet_schema.user_wallets
+    ADD COLUMN IF NOT EXISTS total_credited DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    ADD COLUMN IF NOT EXISTS total_debited DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    ADD COLUMN IF NOT EXISTS totals_as_of TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_user_wallets_totals_pending
+    ON wallet_schema.user_wallets (id)
+    WHERE totals_as_of IS NULL;
+
+CREATE TABLE IF NOT EXISTS wallet_schema.wallet_monthly_totals (
+    id BIGSERIAL PRIMARY KEY,
+    wallet_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    credited DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    debited DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_wallet_monthly_totals UNIQUE (wallet_id, month_start),
+    CONSTRAINT fk_wallet_monthly_totals_wallet FOREIGN KEY (wallet_id)
+        REFERENCES wallet_schema.user_wallets(id) ON DELETE CASCADE
+);
+
+ALTER SEQUENCE IF EXISTS wallet_schema.wallet_monthly_totals_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Wallet Transaction Keyset Index
+-- Version: 12.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Transaction history, balance history and the CSV download all seek on
+-- (wallet_id, created_at, id): pages newest first, the download oldest
+-- first. With the composite index a page is a bounded index range scan
+-- instead of a sort over every transaction the wallet has ever had.
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_wallet_txn_wallet_created_id ON wallet_schema.wallet_transactions(wallet_id, created_at, id);
+
+-- Lookups by wallet alone are served by the leading column of the index above
+DROP INDEX IF EXISTS wallet_schema.idx_wallet_txn_wallet_id;
@@ -0,0 +1,58 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Wallet Disbursements
+-- Version: 13.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Bulk credits of the same amount to many wallets (monthly meal
+-- allowances). A disbursement lists its recipients up front; each one
+-- moves from PENDING to CREDITED (or SKIPPED, no wallet) in the same
+-- transaction as its credit, which makes re-running a chunk safe.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS wallet_schema.wallet_disbursements (
+    id BIGSERIAL PRIMARY KEY,
+    disbursement_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    organization_id BIGINT,
+    amount DECIMAL(15, 2) NOT NULL,
+    description VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    recipient_count INT NOT NULL,
+    chunk_count INT NOT NULL,
+    requested_by BIGINT,
+    last_error VARCHAR(500),
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+
+    CONSTRAINT uk_wallet_disbursement_key UNIQUE (disbursement_key),
+    CONSTRAINT chk_wallet_disbursement_amount CHECK (amount > 0),
+    CONSTRAINT chk_wallet_disbursement_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+ALTER SEQUENCE IF EXISTS wallet_schema.wallet_disbursements_id_seq INCREMENT BY 50;
+
+-- The resume sweep only ever looks at unfinished disbursements
+CREATE INDEX IF NOT EXISTS idx_wallet_disbursements_running
+    ON wallet_schema.wallet_disbursements (updated_at)
+    WHERE status = 'RUNNING';
+
+CREATE TABLE IF NOT EXISTS wallet_schema.wallet_disbursement_recipients (
+    disbursement_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    chunk_no INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    processed_at TIMESTAMP,
+
+    PRIMARY KEY (disbursement_id, user_id),
+    CONSTRAINT fk_wallet_disbursement_recipient FOREIGN KEY (disbursement_id)
+        REFERENCES wallet_schema.wallet_disbursements(id) ON DELETE CASCADE,
+    CONSTRAINT chk_wallet_disbursement_recipient_status CHECK (status IN ('PENDING', 'CREDITED', 'SKIPPED'))
+);
+
+-- A chunk locks its pending recipients by (disbursement_id, chunk_no)
+CREATE INDEX IF NOT EXISTS idx_wallet_disbursement_recipients_chunk
+    ON wallet_schema.wallet_disbursement_recipients (disbursement_id, chunk_no);
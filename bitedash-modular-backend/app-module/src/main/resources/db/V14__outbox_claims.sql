@@ -0,0 +1,16 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Outbox Claims
+-- Version: 14.0
+-- Date: 2026-10-17
+-- =====================================================
+-- The relay now claims events in a short transaction and delivers each
+-- one in its own. claimed_until is the lease that keeps other nodes off
+-- an event while it is being delivered; a node that dies mid-batch
+-- loses its claims when the lease runs out.
+-- =====================================================
+
+ALTER TABLE shared_schema.outbox_events ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+
+-- Finding the oldest unpublished event of an aggregate, so only that one is claimed
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished_aggregate
+    ON shared_schema.outbox_events(aggregate_type, aggregate_id, id) WHERE published_at IS NULL;
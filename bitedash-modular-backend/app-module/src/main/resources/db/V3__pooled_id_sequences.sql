@@ -0,0 +1,34 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Pooled ID Sequences
+-- Version: 3.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Entities extending BaseEntity (and order status history) now take ids
+-- from "<table>_id_seq" with Hibernate's pooled optimizer instead of
+-- IDENTITY, so inserts can be JDBC-batched. Each nextval reserves a block
+-- of 50 ids, so the existing BIGSERIAL sequences must step by the same
+-- allocation size. Existing ids are untouched; new blocks start after the
+-- current sequence value.
+-- =====================================================
+
+ALTER SEQUENCE IF EXISTS identity_schema.users_id_seq INCREMENT BY 50;
+
+-- The menu and inventory entities redeclare an IDENTITY id, but BaseEntity's
+-- SEQUENCE generator is the one Hibernate uses for them
+ALTER SEQUENCE IF EXISTS menu_schema.categories_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS menu_schema.menu_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS menu_schema.menu_item_addons_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS menu_schema.promotions_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE IF EXISTS inventory_schema.inventories_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS inventory_schema.inventory_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS inventory_schema.stock_log_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE IF EXISTS order_schema.orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS order_schema.order_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS order_schema.order_status_history_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE IF EXISTS wallet_schema.user_wallets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS wallet_schema.wallet_transactions_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE IF EXISTS payment_schema.payments_id_seq INCREMENT BY 50;
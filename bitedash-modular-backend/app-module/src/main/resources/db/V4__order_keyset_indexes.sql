@@ -0,0 +1,17 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Order Listing Keyset Indexes
+-- Version: 4.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Paged order listings seek on (owner, created_at, id) and read newest
+-- first. Each index matches one listing's WHERE + ORDER BY, so a page is
+-- a bounded index range scan (walked backwards) instead of a sort over
+-- every order the owner has ever placed.
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_id ON order_schema.orders(user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_vendor_created_id ON order_schema.orders(vendor_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_org_created_id ON order_schema.orders(organization_id, created_at, id);
+
+-- Vendor dashboards filter by status (e.g. only PENDING) far more often than other owners
+CREATE INDEX IF NOT EXISTS idx_orders_vendor_status_created_id ON order_schema.orders(vendor_id, status, created_at, id);
@@ -0,0 +1,30 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Transactional Outbox
+-- Version: 5.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Domain events (order placed, order status changed, wallet recharged)
+-- are inserted here in the same transaction as the change they describe.
+-- The outbox relay polls unpublished rows in id order and marks them
+-- published once delivered.
+-- =====================================================
+
+CREATE SCHEMA IF NOT EXISTS shared_schema;
+
+CREATE TABLE IF NOT EXISTS shared_schema.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+-- Pooled ids, matching the allocation size of the other entities (see V3)
+ALTER SEQUENCE IF EXISTS shared_schema.outbox_events_id_seq INCREMENT BY 50;
+
+-- The relay only ever scans unpublished rows; the partial index stays tiny
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON shared_schema.outbox_events(id) WHERE published_at IS NULL;
@@ -0,0 +1,29 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Batched Commission Pipeline
+-- Version: 6.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Order commissions are queued in commission_events in the order's own
+-- transaction. The payment-module consumer claims them in batches, writes
+-- the revenue logs with one batched insert, adds the batch total to the
+-- platform wallet with a single UPDATE and deletes the claimed rows, all
+-- in one transaction.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS payment_schema.commission_events (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL UNIQUE,
+    amount DECIMAL(10, 2) NOT NULL,
+    vendor_id BIGINT,
+    organization_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Pooled ids, matching the allocation size of the other entities (see V3)
+ALTER SEQUENCE IF EXISTS payment_schema.commission_events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS payment_schema.platform_revenue_log_id_seq INCREMENT BY 50;
+
+-- Last line of defence against counting an order's commission twice
+CREATE UNIQUE INDEX IF NOT EXISTS uq_revenue_log_order_commission
+    ON payment_schema.platform_revenue_log(order_id)
+    WHERE revenue_type = 'COMMISSION' AND deleted = FALSE;
@@ -0,0 +1,37 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Vendor Rating Aggregates
+-- Version: 7.0
+-- Date: 2026-10-17
+-- =====================================================
+-- One row per vendor with the running count and sum of order ratings and
+-- a 1-5 star histogram. rateOrder applies deltas; a nightly repair job
+-- recounts from orders. Backfilled here from existing ratings.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS order_schema.vendor_rating_summary (
+    vendor_id BIGINT PRIMARY KEY,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    stars_1 BIGINT NOT NULL DEFAULT 0,
+    stars_2 BIGINT NOT NULL DEFAULT 0,
+    stars_3 BIGINT NOT NULL DEFAULT 0,
+    stars_4 BIGINT NOT NULL DEFAULT 0,
+    stars_5 BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO order_schema.vendor_rating_summary
+    (vendor_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+SELECT vendor_id,
+       COUNT(*),
+       SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5),
+       CURRENT_TIMESTAMP
+FROM order_schema.orders
+WHERE rating IS NOT NULL AND deleted = FALSE AND vendor_id IS NOT NULL
+GROUP BY vendor_id
+ON CONFLICT (vendor_id) DO NOTHING;
@@ -0,0 +1,18 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Scheduled Order Release
+-- Version: 8.0
+-- Date: 2026-10-17
+-- =====================================================
+-- released_at records when an order reached the vendor queue. Scheduled
+-- orders are held with released_at NULL until shortly before pickup.
+-- Existing orders count as released when they were placed.
+-- =====================================================
+
+ALTER TABLE order_schema.orders ADD COLUMN IF NOT EXISTS released_at TIMESTAMP;
+
+UPDATE order_schema.orders SET released_at = created_at WHERE released_at IS NULL;
+
+-- Only held orders are indexed, so the releaser's reload stays small
+CREATE INDEX IF NOT EXISTS idx_orders_held_scheduled
+    ON order_schema.orders (scheduled_time)
+    WHERE released_at IS NULL AND deleted = FALSE;
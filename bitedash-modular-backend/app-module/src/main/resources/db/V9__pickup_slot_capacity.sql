@@ -0,0 +1,31 @@
+-- =====================================================
+-- BiteDash Modular Monolith - Pickup Slot Capacity
+-- Version: 9.0
+-- Date: 2026-10-17
+-- =====================================================
+-- Vendors can cap the number of orders per pickup slot. Orders record
+-- the slot they claimed; slot counters are seeded from these on startup.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS organisation_schema.vendor_pickup_slot_config (
+    id BIGSERIAL PRIMARY KEY,
+    vendor_id BIGINT NOT NULL UNIQUE,
+    slot_minutes INTEGER NOT NULL DEFAULT 10,
+    orders_per_slot INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+
+    CONSTRAINT fk_vpsc_vendor FOREIGN KEY (vendor_id)
+        REFERENCES organisation_schema.vendors(id) ON DELETE CASCADE,
+    CONSTRAINT chk_vpsc_slot_minutes CHECK (slot_minutes BETWEEN 5 AND 60),
+    CONSTRAINT chk_vpsc_orders_per_slot CHECK (orders_per_slot > 0)
+);
+
+ALTER TABLE order_schema.orders ADD COLUMN IF NOT EXISTS pickup_slot_start TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_orders_pickup_slot
+    ON order_schema.orders (pickup_slot_start, vendor_id)
+    WHERE pickup_slot_start IS NOT NULL;
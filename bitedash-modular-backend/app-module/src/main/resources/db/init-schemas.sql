@@ -10,6 +10,7 @@ CREATE SCHEMA IF NOT EXISTS menu_schema;
 CREATE SCHEMA IF NOT EXISTS wallet_schema;
 CREATE SCHEMA IF NOT EXISTS payment_schema;
 CREATE SCHEMA IF NOT EXISTS inventory_schema;
+CREATE SCHEMA IF NOT EXISTS shared_schema;
 
 -- Grant privileges to current user (Railway user)
 -- Note: Railway automatically grants necessary privileges to the database owner
@@ -21,4 +22,5 @@ GRANT ALL PRIVILEGES ON SCHEMA menu_schema TO CURRENT_USER;
 GRANT ALL PRIVILEGES ON SCHEMA wallet_schema TO CURRENT_USER;
 GRANT ALL PRIVILEGES ON SCHEMA payment_schema TO CURRENT_USER;
 GRANT ALL PRIVILEGES ON SCHEMA inventory_schema TO CURRENT_USER;
+GRANT ALL PRIVILEGES ON SCHEMA shared_schema TO CURRENT_USER;
 
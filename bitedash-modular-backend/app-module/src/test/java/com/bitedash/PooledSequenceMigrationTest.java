@@ -0,0 +1,82 @@
+package com.bitedash;
+
+import com.bitedash.shared.entity.BaseEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every entity with a pooled sequence id must have its "{schema}.{table}_id_seq" stepped to the
+ * allocation size by a migration. The H2 tests create their own sequences, so they cannot catch a
+ * table left at the BIGSERIAL step of 1 on PostgreSQL.
+ */
+@DisplayName("Pooled sequence migration Tests")
+class PooledSequenceMigrationTest {
+
+    private static final Pattern INCREMENT_BY_50 =
+            Pattern.compile("ALTER SEQUENCE IF EXISTS (\\S+) INCREMENT BY 50;", Pattern.CASE_INSENSITIVE);
+
+    @Test
+    @DisplayName("Should step the id sequence of every sequence-backed entity by 50")
+    void everySequenceEntity_Covered() throws Exception {
+        Set<String> required = new TreeSet<>();
+        for (Class<?> entity : entities()) {
+            if (BaseEntity.class.isAssignableFrom(entity) || declaresSequenceId(entity)) {
+                Table table = entity.getAnnotation(Table.class);
+                required.add((table.schema() + "." + table.name() + "_id_seq").toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Set<String> stepped = new TreeSet<>();
+        for (Resource migration : new PathMatchingResourcePatternResolver().getResources("classpath:db/V*.sql")) {
+            Matcher matcher = INCREMENT_BY_50.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                stepped.add(matcher.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+
+        assertThat(required).contains("menu_schema.categories_id_seq", "inventory_schema.stock_log_id_seq");
+        assertThat(stepped).containsAll(required);
+    }
+
+    private static List<Class<?>> entities() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        List<Class<?>> entities = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.bitedash")) {
+            entities.add(ClassUtils.forName(candidate.getBeanClassName(), null));
+        }
+        return entities;
+    }
+
+    private static boolean declaresSequenceId(Class<?> entity) {
+        for (Field field : entity.getDeclaredFields()) {
+            GeneratedValue generated = field.getAnnotation(GeneratedValue.class);
+            if (generated != null && generated.strategy() == GenerationType.SEQUENCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bitedash.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies and outcomes for one load run and summarises them as
+ * throughput, p50/p99/max latency and error rate.
+ *
+ * Every sample is kept (in microseconds) rather than bucketed: a run is a few minutes of traffic
+ * from one JVM, so exact percentiles cost only a few megabytes.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records one call. A status of 0 means the call failed before a response arrived.
+     */
+    public void record(String endpoint, long elapsedNanos, int status) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).add(elapsedNanos / 1_000, status);
+    }
+
+    public long errorCount() {
+        return endpoints.values().stream().mapToLong(Endpoint::errors).sum();
+    }
+
+    public long callCount() {
+        return endpoints.values().stream().mapToLong(Endpoint::count).sum();
+    }
+
+    /**
+     * Summary per endpoint, sorted by name, ready to be written as JSON.
+     */
+    public Map<String, Object> summary(double elapsedSeconds) {
+        Map<String, Object> summary = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> summary.put(name, endpoint.summary(elapsedSeconds)));
+        return summary;
+    }
+
+    static Map<String, Object> percentiles(long[] sortedMicros) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50Ms", millis(percentile(sortedMicros, 0.50)));
+        latency.put("p90Ms", millis(percentile(sortedMicros, 0.90)));
+        latency.put("p99Ms", millis(percentile(sortedMicros, 0.99)));
+        latency.put("maxMs", millis(sortedMicros.length > 0 ? sortedMicros[sortedMicros.length - 1] : 0));
+        return latency;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static final class Endpoint {
+
+        private long[] micros = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        synchronized void add(long elapsedMicros, int status) {
+            if (count == micros.length) {
+                micros = Arrays.copyOf(micros, count * 2);
+            }
+            micros[count++] = elapsedMicros;
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+            statuses.merge(status == 0 ? "failed" : String.valueOf(status), 1, Integer::sum);
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized Map<String, Object> summary(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(micros, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("throughputPerSec", Math.round(count / elapsedSeconds * 100) / 100.0);
+            summary.putAll(percentiles(sorted));
+            summary.put("errors", errors);
+            summary.put("errorRate", count == 0 ? 0.0 : Math.round(errors * 10_000.0 / count) / 10_000.0);
+            summary.put("statuses", new TreeMap<>(statuses));
+            return summary;
+        }
+    }
+}
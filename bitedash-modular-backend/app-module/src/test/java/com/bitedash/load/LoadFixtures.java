@@ -0,0 +1,190 @@
+package com.bitedash.load;
+
+import com.bitedash.identity.entity.User;
+import com.bitedash.identity.repository.UserRepository;
+import com.bitedash.menu.entity.Category;
+import com.bitedash.menu.entity.MenuItem;
+import com.bitedash.menu.repository.CategoryRepository;
+import com.bitedash.menu.repository.MenuItemRepository;
+import com.bitedash.organisation.entity.Cafeteria;
+import com.bitedash.organisation.entity.Location;
+import com.bitedash.organisation.entity.Office;
+import com.bitedash.organisation.entity.Organization;
+import com.bitedash.organisation.entity.Vendor;
+import com.bitedash.organisation.entity.VendorCafeteriaMapping;
+import com.bitedash.organisation.entity.VendorPickupSlotConfig;
+import com.bitedash.organisation.repository.CafeteriaRepository;
+import com.bitedash.organisation.repository.LocationRepository;
+import com.bitedash.organisation.repository.OfficeRepository;
+import com.bitedash.organisation.repository.OrganizationRepository;
+import com.bitedash.organisation.repository.VendorPickupSlotConfigRepository;
+import com.bitedash.organisation.repository.VendorRepository;
+import com.bitedash.shared.enums.Role;
+import com.bitedash.shared.enums.UserStatus;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds one organisation with a food court of vendors, their menus and a crowd of employees with
+ * funded wallets, in the same way DatabaseInitializer seeds the demo data.
+ */
+final class LoadFixtures {
+
+    static final String PASSWORD = "LoadTest@123";
+
+    record MenuEntry(Long id, String name, BigDecimal price) { }
+
+    record VendorAccount(Long vendorId, String email, List<MenuEntry> menu) { }
+
+    record EmployeeAccount(Long userId, String email) { }
+
+    record Fixtures(Long organizationId, Long officeId, Long cafeteriaId,
+                    List<VendorAccount> vendors, List<EmployeeAccount> employees) { }
+
+    private LoadFixtures() {
+    }
+
+    static Fixtures seed(ApplicationContext context, int vendorCount, int employeeCount, int itemsPerVendor,
+                         int ordersPerSlot, BigDecimal openingBalance) {
+        UserRepository users = context.getBean(UserRepository.class);
+        VendorRepository vendors = context.getBean(VendorRepository.class);
+        CategoryRepository categories = context.getBean(CategoryRepository.class);
+        MenuItemRepository menuItems = context.getBean(MenuItemRepository.class);
+        VendorPickupSlotConfigRepository slotConfigs = context.getBean(VendorPickupSlotConfigRepository.class);
+        UserWalletRepository wallets = context.getBean(UserWalletRepository.class);
+
+        // BCrypt is deliberately slow; hashing once keeps seeding fast while every login still pays
+        // the full verification cost, as in production
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        // WHY line up vendor and owner ids? Vendor status updates and the live board are authorised
+        // by comparing the vendor id with the caller's user id, so each owner must get the same id
+        // as their vendor. Owners are saved first and the vendor identity restarted at the first
+        // owner's id (the default super admin already holds user id 1).
+        List<User> owners = new ArrayList<>();
+        for (int i = 1; i <= vendorCount; i++) {
+            User owner = user("Vendor Owner " + i, "vendor" + i + "@load.bitedash.test", passwordHash, Role.ROLE_VENDOR);
+            owner.setShopName("Stall " + i);
+            owners.add(owner);
+        }
+        owners = users.saveAll(owners);
+        context.getBean(JdbcTemplate.class).execute("ALTER TABLE organisation_schema.vendors ALTER COLUMN id RESTART WITH "
+            + owners.get(0).getId());
+
+        Organization organization = new Organization();
+        organization.setName("Load Test Corp");
+        organization = context.getBean(OrganizationRepository.class).save(organization);
+
+        Location location = new Location();
+        location.setOrganization(organization);
+        location.setCityName("Bangalore");
+        location.setState("Karnataka");
+        location = context.getBean(LocationRepository.class).save(location);
+
+        Office office = new Office();
+        office.setLocation(location);
+        office.setOfficeName("Load Test HQ");
+        office.setAddress("Tower L, Tech Park");
+        office = context.getBean(OfficeRepository.class).save(office);
+
+        Cafeteria cafeteria = new Cafeteria();
+        cafeteria.setOffice(office);
+        cafeteria.setName("Load Test Food Court");
+        cafeteria.setFloorNumber(1);
+        cafeteria.setCapacity(employeeCount);
+        cafeteria.setIsActive(true);
+        cafeteria = context.getBean(CafeteriaRepository.class).save(cafeteria);
+
+        List<VendorAccount> vendorAccounts = new ArrayList<>();
+        for (User owner : owners) {
+            Vendor vendor = new Vendor();
+            vendor.setOwnerUserId(owner.getId());
+            vendor.setName(owner.getShopName());
+            vendor.setContactPerson(owner.getEmail());
+            vendor.setIsActive(true);
+            VendorCafeteriaMapping mapping = new VendorCafeteriaMapping();
+            mapping.setVendor(vendor);
+            mapping.setCafeteria(cafeteria);
+            mapping.setStallNumber("S" + owner.getId());
+            mapping.setIsActive(true);
+            vendor.getCafeteriaMappings().add(mapping);
+            vendor = vendors.save(vendor);
+            if (!vendor.getId().equals(owner.getId())) {
+                throw new IllegalStateException("Vendor " + vendor.getId() + " does not share its owner's id "
+                    + owner.getId());
+            }
+
+            VendorPickupSlotConfig slotConfig = new VendorPickupSlotConfig();
+            slotConfig.setVendor(vendor);
+            slotConfig.setSlotMinutes(10);
+            slotConfig.setOrdersPerSlot(ordersPerSlot);
+            slotConfigs.save(slotConfig);
+
+            Category category = new Category();
+            category.setName("Lunch");
+            category.setVendorId(vendor.getId());
+            category = categories.save(category);
+
+            List<MenuEntry> menu = new ArrayList<>();
+            for (int i = 1; i <= itemsPerVendor; i++) {
+                MenuItem item = new MenuItem();
+                item.setName(vendor.getName() + " Dish " + i);
+                item.setDescription("Load test dish");
+                item.setPrice(BigDecimal.valueOf(40 + 10L * i));
+                item.setCategory(category);
+                item.setVendorId(vendor.getId());
+                item.setIsAvailable(true);
+                item.setIsVeg(i % 2 == 0);
+                item = menuItems.save(item);
+                menu.add(new MenuEntry(item.getId(), item.getName(), item.getPrice()));
+            }
+            vendorAccounts.add(new VendorAccount(vendor.getId(), owner.getEmail(), List.copyOf(menu)));
+        }
+
+        List<User> employees = new ArrayList<>();
+        for (int i = 1; i <= employeeCount; i++) {
+            User employee = user("Employee " + i, "employee" + i + "@load.bitedash.test", passwordHash,
+                Role.ROLE_EMPLOYEE);
+            employee.setEmployeeId(String.format("LOAD%05d", i));
+            employee.setOrganizationId(organization.getId());
+            employee.setOfficeId(office.getId());
+            employees.add(employee);
+        }
+        employees = users.saveAll(employees);
+
+        List<UserWallet> employeeWallets = new ArrayList<>();
+        List<EmployeeAccount> employeeAccounts = new ArrayList<>();
+        for (User employee : employees) {
+            UserWallet wallet = new UserWallet();
+            wallet.setUserId(employee.getId());
+            wallet.setBalance(openingBalance);
+            employeeWallets.add(wallet);
+            employeeAccounts.add(new EmployeeAccount(employee.getId(), employee.getEmail()));
+        }
+        wallets.saveAll(employeeWallets);
+
+        return new Fixtures(organization.getId(), office.getId(), cafeteria.getId(),
+            List.copyOf(vendorAccounts), List.copyOf(employeeAccounts));
+    }
+
+    private static User user(String fullName, String email, String passwordHash, Role role) {
+        User user = new User();
+        user.setUsername(email);
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setEmailVerified(true);
+        user.setPhoneVerified(true);
+        user.setProfileComplete(true);
+        return user;
+    }
+}
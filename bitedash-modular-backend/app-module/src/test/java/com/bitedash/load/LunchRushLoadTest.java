@@ -0,0 +1,219 @@
+package com.bitedash.load;
+
+import com.bitedash.load.LoadFixtures.EmployeeAccount;
+import com.bitedash.load.LoadFixtures.Fixtures;
+import com.bitedash.load.LoadFixtures.VendorAccount;
+import com.bitedash.shared.testing.RedisStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lunch-rush load harness: boots the whole application on H2 in PostgreSQL mode with an
+ * in-process Redis stand-in and Razorpay simulator, drives logins, menu browsing, checkouts,
+ * wallet top-ups and vendor status updates over HTTP while STOMP clients listen for order
+ * updates, then writes throughput, p50/p99 latency and error rate per endpoint to a JSON report.
+ *
+ * Tagged "load" and excluded from the normal build; run it with the load profile:
+ *
+ *   mvn -Pload -pl app-module -am test -Dtest=LunchRushLoadTest -Dsurefire.failIfNoSpecifiedTests=false
+ *
+ * Every load.* setting in application-load.yml can be overridden with -D, e.g.
+ * -Dload.duration-seconds=300 -Dload.employees=400.
+ *
+ * WHY H2 and not PostgreSQL? The harness has to run anywhere the build runs. Absolute numbers
+ * are therefore only comparable between runs of this harness on the same machine; use them to
+ * spot regressions and hot endpoints, not to size production.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@DisplayName("Lunch Rush Load Harness")
+class LunchRushLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LunchRushLoadTest.class);
+
+    private static final String RAZORPAY_KEY_SECRET = "load_sim_secret";
+
+    private static RedisStandIn redis;
+    private static RazorpaySimulator razorpay;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${load.duration-seconds}")
+    private long durationSeconds;
+
+    @Value("${load.employees}")
+    private int employees;
+
+    @Value("${load.vendors}")
+    private int vendors;
+
+    @Value("${load.items-per-vendor}")
+    private int itemsPerVendor;
+
+    @Value("${load.max-items-per-order}")
+    private int maxItemsPerOrder;
+
+    @Value("${load.orders-per-slot}")
+    private int ordersPerSlot;
+
+    @Value("${load.opening-balance}")
+    private BigDecimal openingBalance;
+
+    @Value("${load.think-time-ms}")
+    private long thinkTimeMillis;
+
+    @Value("${load.top-up-ratio}")
+    private double topUpRatio;
+
+    @Value("${load.top-up-amount}")
+    private BigDecimal topUpAmount;
+
+    @Value("${load.vendor-batch-limit}")
+    private int vendorBatchLimit;
+
+    @Value("${load.websocket.subscribers-per-vendor}")
+    private int subscribersPerVendor;
+
+    @Value("${load.websocket.employee-subscribers}")
+    private int employeeSubscribers;
+
+    @Value("${load.drain-ms}")
+    private long drainMillis;
+
+    @Value("${load.max-error-rate}")
+    private double maxErrorRate;
+
+    @Value("${load.report}")
+    private String reportPath;
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) throws IOException {
+        // Called before the context starts, so the stand-ins are listening by the time it connects
+        if (redis == null) {
+            redis = new RedisStandIn();
+            razorpay = new RazorpaySimulator(RAZORPAY_KEY_SECRET,
+                Long.getLong("load.razorpay-latency-ms", 50));
+        }
+        registry.add("spring.data.redis.port", redis::port);
+        registry.add("razorpay.base-url", razorpay::baseUrl);
+        registry.add("razorpay.key-secret", () -> RAZORPAY_KEY_SECRET);
+    }
+
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        if (razorpay != null) {
+            razorpay.close();
+        }
+        if (redis != null) {
+            redis.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Lunch rush stays within the error budget and produces a report")
+    void lunchRush() throws Exception {
+        Fixtures fixtures = LoadFixtures.seed(context, vendors, employees, itemsPerVendor, ordersPerSlot,
+            openingBalance);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (OrderUpdateSubscribers subscribers = new OrderUpdateSubscribers()) {
+            String wsUrl = "ws://localhost:" + port + "/ws/websocket";
+            for (VendorAccount vendor : fixtures.vendors()) {
+                for (int i = 0; i < subscribersPerVendor; i++) {
+                    subscribers.subscribe(wsUrl, "/topic/orders/vendor/" + vendor.vendorId());
+                }
+            }
+            for (EmployeeAccount employee : fixtures.employees().subList(0,
+                    Math.min(employeeSubscribers, fixtures.employees().size()))) {
+                subscribers.subscribe(wsUrl, "/queue/orders/user/" + employee.userId());
+            }
+
+            LunchRushTraffic traffic = new LunchRushTraffic("http://localhost:" + port, fixtures, razorpay, recorder,
+                new ObjectMapper(), new LunchRushTraffic.Settings(Duration.ofSeconds(durationSeconds),
+                    thinkTimeMillis, topUpRatio, maxItemsPerOrder, topUpAmount, vendorBatchLimit));
+
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            traffic.run();
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            // Let the outbox relay deliver the last events before the subscribers are counted
+            Thread.sleep(drainMillis);
+
+            Map<String, Object> report = report(startedAt, elapsedSeconds, recorder, subscribers);
+            Path path = Path.of(reportPath);
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path, objectMapper.writeValueAsBytes(report));
+            log.warn("Load report written to {}:\n{}", path.toAbsolutePath(), objectMapper.writeValueAsString(report));
+
+            double errorRate = recorder.callCount() == 0 ? 1.0 : (double) recorder.errorCount() / recorder.callCount();
+            assertThat(recorder.callCount()).as("requests sent").isPositive();
+            assertThat(errorRate).as("overall error rate").isLessThanOrEqualTo(maxErrorRate);
+            assertThat(subscribers.messageCount()).as("WebSocket order updates received").isPositive();
+        }
+    }
+
+    private Map<String, Object> report(Instant startedAt, double elapsedSeconds, LatencyRecorder recorder,
+                                       OrderUpdateSubscribers subscribers) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("employees", employees);
+        settings.put("vendors", vendors);
+        settings.put("itemsPerVendor", itemsPerVendor);
+        settings.put("thinkTimeMs", thinkTimeMillis);
+        settings.put("topUpRatio", topUpRatio);
+        settings.put("websocketSubscribers", subscribers.connected());
+        settings.put("database", "H2 (PostgreSQL mode)");
+
+        long calls = recorder.callCount();
+        long errors = recorder.errorCount();
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", calls);
+        totals.put("throughputPerSec", Math.round(calls / elapsedSeconds * 100) / 100.0);
+        totals.put("errors", errors);
+        totals.put("errorRate", calls == 0 ? 0.0 : Math.round(errors * 10_000.0 / calls) / 10_000.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", "lunch-rush");
+        report.put("startedAt", startedAt.toString());
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+        report.put("settings", settings);
+        report.put("totals", totals);
+        report.put("endpoints", recorder.summary(elapsedSeconds));
+        report.put("websocket", subscribers.summary(elapsedSeconds));
+        report.put("standIns", Map.of(
+            "redisCommands", redis.commandCount(),
+            "razorpayOrders", razorpay.orderCount()));
+        return report;
+    }
+}
@@ -0,0 +1,285 @@
+package com.bitedash.load;
+
+import com.bitedash.load.LoadFixtures.EmployeeAccount;
+import com.bitedash.load.LoadFixtures.Fixtures;
+import com.bitedash.load.LoadFixtures.MenuEntry;
+import com.bitedash.load.LoadFixtures.VendorAccount;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives lunch-rush traffic at a running application over real HTTP.
+ *
+ * Each employee repeats a session until the run ends: log in, browse the menus, place an order
+ * with an Idempotency-Key, sometimes top up the wallet through Razorpay, then pause. Each vendor
+ * logs in once and works its live board like a kitchen display: new orders go to PREPARING and
+ * PREPARING ones to READY one at a time, and READY orders are completed in one bulk update.
+ *
+ * Every call is recorded under its route template, e.g. "GET /menus/vendor/{vendorId}".
+ */
+class LunchRushTraffic {
+
+    record Settings(Duration duration, long thinkTimeMillis, double topUpRatio, int maxItemsPerOrder,
+                    BigDecimal topUpAmount, int vendorBatchLimit) { }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final Fixtures fixtures;
+    private final RazorpaySimulator razorpay;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final HttpClient http;
+
+    private volatile long deadlineNanos;
+
+    LunchRushTraffic(String baseUrl, Fixtures fixtures, RazorpaySimulator razorpay, LatencyRecorder recorder,
+                     ObjectMapper objectMapper, Settings settings) {
+        this.baseUrl = baseUrl;
+        this.fixtures = fixtures;
+        this.razorpay = razorpay;
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool(daemon("load-http")))
+            .build();
+    }
+
+    /**
+     * Runs every employee and vendor concurrently until the configured duration has passed.
+     */
+    void run() throws InterruptedException {
+        deadlineNanos = System.nanoTime() + settings.duration().toNanos();
+        int users = fixtures.employees().size() + fixtures.vendors().size();
+        ExecutorService pool = Executors.newFixedThreadPool(users, daemon("load-user"));
+        for (VendorAccount vendor : fixtures.vendors()) {
+            pool.submit(() -> runVendor(vendor));
+        }
+        for (EmployeeAccount employee : fixtures.employees()) {
+            pool.submit(() -> runEmployee(employee));
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(settings.duration().toSeconds() + 120, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+
+    private boolean running() {
+        return System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted();
+    }
+
+    private void runEmployee(EmployeeAccount employee) {
+        // Spread the first logins over one think time so the run does not open with a stampede
+        pause(ThreadLocalRandom.current().nextLong(settings.thinkTimeMillis() + 1));
+        while (running()) {
+            String token = login(employee.email());
+            if (token != null) {
+                VendorAccount vendor = pick(fixtures.vendors());
+                get("GET /menus/promoted", "/menus/promoted", token);
+                get("GET /menus/vendor/{vendorId}", "/menus/vendor/" + vendor.vendorId(), token);
+                get("GET /menus/categories/vendor/{vendorId}", "/menus/categories/vendor/" + vendor.vendorId(), token);
+                Call order = placeOrder(token, vendor);
+                if (!order.ok() || ThreadLocalRandom.current().nextDouble() < settings.topUpRatio()) {
+                    topUp(token);
+                }
+                get("GET /wallet/my-wallet", "/wallet/my-wallet", token);
+            }
+            pause(jitter(settings.thinkTimeMillis()));
+        }
+    }
+
+    private void runVendor(VendorAccount vendor) {
+        String token = null;
+        while (running() && token == null) {
+            token = login(vendor.email());
+        }
+        while (running()) {
+            Call live = get("GET /orders/vendor/{vendorId}/live", "/orders/vendor/" + vendor.vendorId() + "/live", token);
+            if (live.ok()) {
+                List<Long> pending = new ArrayList<>();
+                List<Long> preparing = new ArrayList<>();
+                List<Long> ready = new ArrayList<>();
+                for (JsonNode order : live.body().path("data")) {
+                    List<Long> bucket = switch (order.path("status").asText()) {
+                        case "PENDING" -> pending;
+                        case "PREPARING" -> preparing;
+                        case "READY" -> ready;
+                        default -> null;
+                    };
+                    if (bucket != null && bucket.size() < settings.vendorBatchLimit()) {
+                        bucket.add(order.path("id").asLong());
+                    }
+                }
+                for (Long orderId : pending) {
+                    updateStatus(token, orderId, "PREPARING");
+                }
+                for (Long orderId : preparing) {
+                    updateStatus(token, orderId, "READY");
+                }
+                if (!ready.isEmpty()) {
+                    send("PUT /orders/status", request("/orders/status", token)
+                        .PUT(json(Map.of("orderIds", ready, "status", "COMPLETED"))));
+                }
+            }
+            pause(jitter(Math.max(100, settings.thinkTimeMillis() / 4)));
+        }
+    }
+
+    private String login(String email) {
+        Call call = send("POST /auth/login", request("/auth/login", null)
+            .POST(json(Map.of("userIdentifier", email, "password", LoadFixtures.PASSWORD))));
+        if (!call.ok()) {
+            return null;
+        }
+        return call.headers().allValues("Set-Cookie").stream()
+            .filter(cookie -> cookie.startsWith("accessToken="))
+            .map(cookie -> cookie.substring("accessToken=".length(), cookie.indexOf(';')))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private Call placeOrder(String token, VendorAccount vendor) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(Math.min(settings.maxItemsPerOrder(), vendor.menu().size()));
+        List<Map<String, Object>> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        List<MenuEntry> menu = new ArrayList<>(vendor.menu());
+        for (int i = 0; i < lines; i++) {
+            MenuEntry entry = menu.remove(random.nextInt(menu.size()));
+            int quantity = 1 + random.nextInt(2);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("menuItemId", entry.id());
+            item.put("menuItemName", entry.name());
+            item.put("quantity", quantity);
+            item.put("unitPrice", entry.price());
+            items.add(item);
+            total = total.add(entry.price().multiply(BigDecimal.valueOf(quantity)));
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("vendorId", vendor.vendorId());
+        order.put("cafeteriaId", fixtures.cafeteriaId());
+        order.put("officeId", fixtures.officeId());
+        order.put("totalAmount", total);
+        order.put("orderType", "DINE_IN");
+        order.put("items", items);
+        return send("POST /orders", request("/orders", token)
+            .header("Idempotency-Key", UUID.randomUUID().toString())
+            .POST(json(order)));
+    }
+
+    private void topUp(String token) {
+        Call created = send("POST /payment/create-order", request("/payment/create-order", token)
+            .POST(json(Map.of("amount", settings.topUpAmount(), "description", "Wallet Top-up"))));
+        if (!created.ok()) {
+            return;
+        }
+        Map<String, String> checkout = razorpay.pay(created.body().path("id").asText());
+        send("POST /payment/verify", request("/payment/verify", token).POST(json(checkout)));
+    }
+
+    private void updateStatus(String token, Long orderId, String status) {
+        send("PUT /orders/{id}/status", request("/orders/" + orderId + "/status?status=" + status, token)
+            .PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private Call get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialise request body", e);
+        }
+    }
+
+    private Call send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            JsonNode body = response.body().length > 0 ? readBody(response.body()) : objectMapper.nullNode();
+            return new Call(response.statusCode(), body, response.headers());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+            return new Call(0, objectMapper.nullNode(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Call(0, objectMapper.nullNode(), null);
+        }
+    }
+
+    private JsonNode readBody(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.nullNode();
+        }
+    }
+
+    private record Call(int status, JsonNode body, HttpHeaders headers) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static long jitter(long millis) {
+        return millis / 2 + ThreadLocalRandom.current().nextLong(millis + 1);
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
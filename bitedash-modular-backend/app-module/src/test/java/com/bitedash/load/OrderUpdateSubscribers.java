@@ -0,0 +1,128 @@
+package com.bitedash.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP clients that stay subscribed to order updates for the whole run, like kitchen displays
+ * on vendor topics and employees waiting on their order queue.
+ *
+ * Delivery lag is measured per message as receive time minus the timestamp the server put in the
+ * payload; both clocks are this JVM's, so the figure is exact.
+ */
+public class OrderUpdateSubscribers implements AutoCloseable {
+
+    private final WebSocketStompClient stompClient;
+    private final ThreadPoolTaskScheduler heartbeats = new ThreadPoolTaskScheduler();
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong connectFailures = new AtomicLong();
+    private long[] lagMillis = new long[1024];
+    private int lagCount;
+
+    public OrderUpdateSubscribers() {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        heartbeats.setPoolSize(1);
+        heartbeats.setThreadNamePrefix("load-stomp-");
+        heartbeats.initialize();
+        stompClient.setTaskScheduler(heartbeats);
+    }
+
+    /**
+     * Opens one connection subscribed to the given destination, e.g. /topic/orders/vendor/1.
+     */
+    public void subscribe(String url, String destination) {
+        try {
+            StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() { })
+                .get(10, TimeUnit.SECONDS);
+            session.subscribe(destination, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return JsonNode.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received((JsonNode) payload);
+                }
+            });
+            synchronized (sessions) {
+                sessions.add(session);
+            }
+        } catch (Exception e) {
+            connectFailures.incrementAndGet();
+        }
+    }
+
+    private void received(JsonNode payload) {
+        long now = System.currentTimeMillis();
+        messages.incrementAndGet();
+        JsonNode batch = payload.get("updates");
+        updates.addAndGet(batch != null ? batch.size() : 1);
+        long sentAt = payload.path("timestamp").asLong(now);
+        synchronized (this) {
+            if (lagCount == lagMillis.length) {
+                lagMillis = Arrays.copyOf(lagMillis, lagCount * 2);
+            }
+            lagMillis[lagCount++] = Math.max(0, now - sentAt);
+        }
+    }
+
+    public int connected() {
+        synchronized (sessions) {
+            return (int) sessions.stream().filter(StompSession::isConnected).count();
+        }
+    }
+
+    public long messageCount() {
+        return messages.get();
+    }
+
+    public Map<String, Object> summary(double elapsedSeconds) {
+        long[] sortedMicros;
+        synchronized (this) {
+            sortedMicros = Arrays.stream(lagMillis, 0, lagCount).map(millis -> millis * 1_000).sorted().toArray();
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("subscribers", sessions.size());
+        summary.put("connectFailures", connectFailures.get());
+        summary.put("messages", messages.get());
+        summary.put("orderUpdates", updates.get());
+        summary.put("messagesPerSec", Math.round(messages.get() / elapsedSeconds * 100) / 100.0);
+        Map<String, Object> lag = LatencyRecorder.percentiles(sortedMicros);
+        lag.forEach((name, value) -> summary.put("deliveryLag" + Character.toUpperCase(name.charAt(0))
+            + name.substring(1), value));
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        synchronized (sessions) {
+            for (StompSession session : sessions) {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            }
+        }
+        stompClient.stop();
+        heartbeats.shutdown();
+    }
+}
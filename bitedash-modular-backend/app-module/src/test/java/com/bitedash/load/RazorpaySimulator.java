@@ -0,0 +1,166 @@
+package com.bitedash.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Razorpay simulator the application talks to in development
+ * (razorpay.base-url). Serves the calls RazorpayService makes - create order, fetch order, fetch
+ * payment - and plays the checkout page: {@link #pay(String)} completes an order and returns the
+ * ids and signature the browser would post to /payment/verify.
+ *
+ * An optional delay per API call approximates the round trip to the real gateway.
+ */
+public class RazorpaySimulator implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String keySecret;
+    private final long latencyMillis;
+    private final Map<String, Map<String, Object>> orders = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> payments = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RazorpaySimulator(String keySecret, long latencyMillis) throws IOException {
+        this.keySecret = keySecret;
+        this.latencyMillis = latencyMillis;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 200);
+        server.createContext("/v1/orders", this::orders);
+        server.createContext("/v1/payments", this::payments);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "razorpay-simulator");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Completes checkout for an order: marks it paid and returns the fields the frontend sends to
+     * POST /payment/verify.
+     */
+    public Map<String, String> pay(String orderId) {
+        Map<String, Object> order = orders.get(orderId);
+        if (order == null) {
+            throw new IllegalArgumentException("Unknown Razorpay order: " + orderId);
+        }
+        String paymentId = "pay_sim_" + sequence.incrementAndGet();
+        Map<String, Object> payment = new LinkedHashMap<>();
+        payment.put("id", paymentId);
+        payment.put("entity", "payment");
+        payment.put("amount", order.get("amount"));
+        payment.put("currency", "INR");
+        payment.put("status", "captured");
+        payment.put("order_id", orderId);
+        payments.put(paymentId, payment);
+        order.put("status", "paid");
+        order.put("amount_paid", order.get("amount"));
+        order.put("amount_due", 0L);
+
+        return Map.of(
+            "razorpay_order_id", orderId,
+            "razorpay_payment_id", paymentId,
+            "razorpay_signature", sign(orderId + "|" + paymentId));
+    }
+
+    public int orderCount() {
+        return orders.size();
+    }
+
+    private void orders(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        String id = idFromPath(exchange, "/v1/orders");
+        if ("POST".equals(exchange.getRequestMethod()) && id == null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> request = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            String orderId = "order_sim_" + sequence.incrementAndGet();
+            long amount = ((Number) request.get("amount")).longValue();
+            Map<String, Object> order = new ConcurrentHashMap<>();
+            order.put("id", orderId);
+            order.put("entity", "order");
+            order.put("amount", amount);
+            order.put("amount_paid", 0L);
+            order.put("amount_due", amount);
+            order.put("currency", request.getOrDefault("currency", "INR"));
+            order.put("receipt", request.getOrDefault("receipt", orderId));
+            order.put("status", "created");
+            order.put("attempts", 0);
+            order.put("created_at", System.currentTimeMillis() / 1000);
+            orders.put(orderId, order);
+            respond(exchange, 200, order);
+        } else if ("GET".equals(exchange.getRequestMethod()) && id != null && orders.containsKey(id)) {
+            respond(exchange, 200, orders.get(id));
+        } else {
+            respond(exchange, 404, Map.of("error", Map.of("code", "BAD_REQUEST_ERROR")));
+        }
+    }
+
+    private void payments(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        String id = idFromPath(exchange, "/v1/payments");
+        if ("GET".equals(exchange.getRequestMethod()) && id != null && payments.containsKey(id)) {
+            respond(exchange, 200, payments.get(id));
+        } else {
+            respond(exchange, 404, Map.of("error", Map.of("code", "BAD_REQUEST_ERROR")));
+        }
+    }
+
+    private static String idFromPath(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getPath();
+        String rest = path.length() > prefix.length() + 1 ? path.substring(prefix.length() + 1) : null;
+        return rest == null || rest.isEmpty() ? null : rest;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign payment", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
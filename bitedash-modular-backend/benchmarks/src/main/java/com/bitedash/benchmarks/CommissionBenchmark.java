@@ -0,0 +1,35 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.order.service.CommissionSplit;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal commission split computed for every order in createOrder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommissionBenchmark {
+
+    @Param({"540.00", "1234.57"})
+    private String total;
+
+    private BigDecimal totalAmount;
+    private final BigDecimal commissionRate = new BigDecimal("0.10");
+
+    @Setup
+    public void setUp() {
+        totalAmount = new BigDecimal(total);
+    }
+
+    @Benchmark
+    public CommissionSplit split() {
+        return CommissionSplit.of(totalAmount, commissionRate);
+    }
+}
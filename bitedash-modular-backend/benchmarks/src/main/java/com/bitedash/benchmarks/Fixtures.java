@@ -0,0 +1,37 @@
+package com.bitedash.benchmarks;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Sets up services outside a Spring context: benchmarks construct them directly and fill the
+ * fields Spring would inject from configuration.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * Runs a package-private {@code @PostConstruct} method.
+     */
+    static void invoke(Object target, String name) {
+        Method method = ReflectionUtils.findMethod(target.getClass(), name);
+        if (method == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no method " + name);
+        }
+        ReflectionUtils.makeAccessible(method);
+        ReflectionUtils.invokeMethod(method, target);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.shared.enums.Role;
+import com.bitedash.shared.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService runs on every authenticated request: the filter parses and validates the token and
+ * reads its claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        Fixtures.setField(jwtService, "secretKey", "benchmark-secret-key-that-is-at-least-256-bits-long");
+        Fixtures.setField(jwtService, "expiration", 86_400_000L);
+        token = jwtService.generateToken(10L, "employee@example.com", Role.ROLE_EMPLOYEE, 1L, 2L);
+        tamperedToken = token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtService.extractClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtService.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(10L, "employee@example.com", Role.ROLE_EMPLOYEE, 1L, 2L);
+    }
+}
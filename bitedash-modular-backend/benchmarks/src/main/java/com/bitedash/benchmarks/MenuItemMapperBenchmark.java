@@ -0,0 +1,57 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.menu.dto.mapper.MenuItemMapper;
+import com.bitedash.menu.dto.response.MenuItemResponse;
+import com.bitedash.menu.entity.Category;
+import com.bitedash.menu.entity.MenuItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MenuItemMapper.toResponseList maps a vendor's whole menu on every menu page load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuItemMapperBenchmark {
+
+    @Param({"20", "200"})
+    private int menuSize;
+
+    private List<MenuItem> menu;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Mains");
+
+        menu = new ArrayList<>(menuSize);
+        for (int i = 0; i < menuSize; i++) {
+            MenuItem item = new MenuItem();
+            item.setId((long) i);
+            item.setVendorId(5L);
+            item.setCategory(category);
+            item.setName("Item " + i);
+            item.setDescription("House special number " + i);
+            item.setPrice(new BigDecimal("120.00"));
+            item.setPromotionStartDate(LocalDateTime.now());
+            item.setSpiceLevel("MEDIUM");
+            item.setDietaryTags("[\"veg\"]");
+            menu.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<MenuItemResponse> toResponseList() {
+        return MenuItemMapper.toResponseList(menu);
+    }
+}
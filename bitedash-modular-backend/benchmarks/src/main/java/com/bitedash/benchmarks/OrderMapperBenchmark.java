@@ -0,0 +1,62 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.entity.OrderItem;
+import com.bitedash.order.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderMapper.toResponse runs for every order in every list, board and status response.
+ * Measured for a typical basket size and a large office order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    @Param({"3", "20"})
+    private int items;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order();
+        order.setId(42L);
+        order.setOrderNumber("ORD-2026-000042");
+        order.setQrCodeData("AQAAAAAAAAAqZf8AAP9hYmNkZWZnaGlqa2xtbm9w");
+        order.setUserId(10L);
+        order.setVendorId(5L);
+        order.setOrganizationId(1L);
+        order.setTotalAmount(new BigDecimal("540.00"));
+        order.setCommissionRate(new BigDecimal("0.10"));
+        order.setPlatformCommission(new BigDecimal("54.00"));
+        order.setVendorPayout(new BigDecimal("486.00"));
+        order.setStatus("PREPARING");
+        order.setPickupOtp("123456");
+        order.setScheduledTime(LocalDateTime.now().plusMinutes(30));
+        order.setSpecialInstructions("Less spicy");
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setMenuItemId(100L + i);
+            item.setMenuItemName("Item " + i);
+            item.setQuantity(1 + i % 3);
+            item.setUnitPrice(new BigDecimal("60.00"));
+            item.setSubtotal(new BigDecimal("60.00").multiply(BigDecimal.valueOf(1 + i % 3)));
+            order.addOrderItem(item);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return OrderMapper.toResponse(order);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.order.service.QRCodeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR tokens are issued with every order and verified at every pickup scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QRCodeServiceBenchmark {
+
+    private QRCodeService qrCodeService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        qrCodeService = new QRCodeService();
+        Fixtures.setField(qrCodeService, "secretKey", "benchmark-qr-secret");
+        Fixtures.invoke(qrCodeService, "init");
+        token = qrCodeService.generateQRCodeData(42L, "ORD-2026-000042");
+    }
+
+    @Benchmark
+    public String generate() {
+        return qrCodeService.generateQRCodeData(42L, "ORD-2026-000042");
+    }
+
+    @Benchmark
+    public Long verify() {
+        return qrCodeService.verifiedOrderId(token);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bitedash.benchmarks;
+
+import com.bitedash.shared.annotation.RequireRole;
+import com.bitedash.shared.aspect.RoleCheckAspect;
+import com.bitedash.shared.enums.Role;
+import com.bitedash.shared.util.UserContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoleCheckAspect.checkRole runs before every @RequireRole endpoint. The advice is called
+ * directly, so the proxy overhead is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoleCheckAspectBenchmark {
+
+    private final RoleCheckAspect aspect = new RoleCheckAspect();
+    private RequireRole firstRole;
+    private RequireRole lastRole;
+
+    @RequireRole(Role.ROLE_VENDOR)
+    public void vendorOnly() {
+    }
+
+    @RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN, Role.ROLE_VENDOR})
+    public void adminsOrVendor() {
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        firstRole = getClass().getMethod("vendorOnly").getAnnotation(RequireRole.class);
+        lastRole = getClass().getMethod("adminsOrVendor").getAnnotation(RequireRole.class);
+        UserContext.set(new UserContext.UserContextHolder("Bearer token", 5L, "vendor@example.com",
+                Role.ROLE_VENDOR.name(), 1L, 2L));
+    }
+
+    @TearDown
+    public void tearDown() {
+        UserContext.clear();
+    }
+
+    @Benchmark
+    public void singleRole() {
+        aspect.checkRole(firstRole);
+    }
+
+    @Benchmark
+    public void matchOnLastOfThreeRoles() {
+        aspect.checkRole(lastRole);
+    }
+}
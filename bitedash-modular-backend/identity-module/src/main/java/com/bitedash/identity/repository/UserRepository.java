@@ -4,6 +4,8 @@ import com.bitedash.identity.entity.User;
 import com.bitedash.shared.enums.Role;
 import com.bitedash.shared.enums.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,6 +28,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByOrganizationId(Long organizationId);
     long countByOrganizationIdAndRole(Long organizationId, Role role);
 
+    @Query("SELECT u.id FROM User u WHERE u.organizationId = :organizationId AND u.role = :role AND u.status = :status ORDER BY u.id")
+    List<Long> findIdsByOrganizationIdAndRoleAndStatus(@Param("organizationId") Long organizationId,
+                                                       @Param("role") Role role,
+                                                       @Param("status") UserStatus status);
+
     List<User> findByStatus(UserStatus status);
     List<User> findByStatusAndOrganizationId(UserStatus status, Long organizationId);
 }
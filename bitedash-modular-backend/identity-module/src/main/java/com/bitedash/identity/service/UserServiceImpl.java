@@ -54,6 +54,12 @@ public class UserServiceImpl implements UserService {
 		return (int) userRepository.countByOrganizationIdAndRole(organizationId, Role.ROLE_EMPLOYEE);
 	}
 
+	@Override
+	public List<Long> getActiveEmployeeIds(Long organizationId) {
+		return userRepository.findIdsByOrganizationIdAndRoleAndStatus(organizationId, Role.ROLE_EMPLOYEE,
+				UserStatus.ACTIVE);
+	}
+
 	@Override
 	public boolean existsByEmail(String email) {
 		return userRepository.existsByEmail(email);
@@ -112,6 +112,17 @@ class UserServiceImplTest {
 
             assertThat(count).isEqualTo(50);
         }
+
+        @Test
+        @DisplayName("Should list only active employees of an organization")
+        void getActiveEmployeeIds_ReturnsActiveEmployees() {
+            when(userRepository.findIdsByOrganizationIdAndRoleAndStatus(1L, Role.ROLE_EMPLOYEE, UserStatus.ACTIVE))
+                .thenReturn(List.of(3L, 8L));
+
+            List<Long> ids = userService.getActiveEmployeeIds(1L);
+
+            assertThat(ids).containsExactly(3L, 8L);
+        }
     }
 
     @Nested
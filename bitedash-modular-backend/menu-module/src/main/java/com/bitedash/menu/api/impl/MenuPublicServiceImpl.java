@@ -2,10 +2,16 @@ package com.bitedash.menu.api.impl;
 
 import com.bitedash.menu.entity.MenuItem;
 import com.bitedash.menu.repository.MenuItemRepository;
+import com.bitedash.shared.api.menu.MenuItemSnapshot;
 import com.bitedash.shared.api.menu.MenuPublicService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class MenuPublicServiceImpl implements MenuPublicService {
 
@@ -32,4 +38,17 @@ public class MenuPublicServiceImpl implements MenuPublicService {
             .map(item -> !item.getDeleted())
             .orElse(false);
     }
+
+    @Override
+    public Map<Long, MenuItemSnapshot> getMenuItemSnapshots(Collection<Long> menuItemIds) {
+        if (menuItemIds == null || menuItemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, MenuItemSnapshot> snapshots = new HashMap<>();
+        for (MenuItemSnapshot snapshot : menuItemRepository.findSnapshotsByIdIn(menuItemIds)) {
+            snapshots.put(snapshot.id(), snapshot);
+        }
+        return snapshots;
+    }
 }
@@ -16,6 +16,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
 	List<Category> findAllByOrderByDisplayOrderAsc();
 
+	// Items come with the categories: the response always carries each category's item count
+	@EntityGraph(value = "Category.withMenuItems", type = EntityGraph.EntityGraphType.LOAD)
 	List<Category> findByVendorIdOrderByDisplayOrderAsc(Long vendorId);
 
 	List<Category> findByIsFeaturedTrueOrderByDisplayOrderAsc();
@@ -1,6 +1,7 @@
 package com.bitedash.menu.repository;
 
 import com.bitedash.menu.entity.MenuItem;
+import com.bitedash.shared.api.menu.MenuItemSnapshot;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -66,4 +68,10 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 	// Cross-module query - get menu items by multiple vendor IDs
 	@EntityGraph(value = "MenuItem.withCategory", type = EntityGraph.EntityGraphType.LOAD)
 	List<MenuItem> findByVendorIdInAndDeletedFalseOrderByVendorIdAscDisplayOrderAsc(List<Long> vendorIds);
+
+	// Cross-module query - bulk snapshot for order validation/repricing (no entity hydration)
+	@Query("SELECT new com.bitedash.shared.api.menu.MenuItemSnapshot(m.id, m.name, m.price, m.vendorId, " +
+		   "CASE WHEN m.isAvailable = true THEN true ELSE false END) " +
+		   "FROM MenuItem m WHERE m.id IN :ids AND m.deleted = false")
+	List<MenuItemSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
 }
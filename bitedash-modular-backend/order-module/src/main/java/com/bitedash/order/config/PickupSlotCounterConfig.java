@@ -0,0 +1,27 @@
+package com.bitedash.order.config;
+
+import com.bitedash.order.service.RedisPickupSlotCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Pickup slot counters in Redis, shared by every node.
+ *
+ * Enabled with {@code order.pickup-slots.counter=redis}. Single-node deployments leave it at
+ * "local" and keep the counters in memory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.pickup-slots.counter", havingValue = "redis")
+public class PickupSlotCounterConfig {
+
+    @Bean
+    public RedisPickupSlotCounter redisPickupSlotCounter(
+            RedisConnectionFactory connectionFactory,
+            @Value("${order.pickup-slots.key-prefix:bitedash:slots:}") String keyPrefix) {
+        return new RedisPickupSlotCounter(new StringRedisTemplate(connectionFactory), keyPrefix);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bitedash.order.config;
+
+import com.bitedash.order.service.RedisVendorOrderBoardSync;
+import com.bitedash.order.service.VendorOrderBoard;
+import com.bitedash.order.websocket.RedisStompMessageRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Multi-node WebSocket delivery and vendor order board sharing through Redis pub/sub.
+ *
+ * Enabled with {@code order.websocket.cluster.mode=redis}. Each node keeps its in-memory STOMP
+ * broker and vendor order board for its own clients; Redis only carries messages between nodes.
+ * Single-node deployments leave the mode at "local" and need no Redis for WebSockets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.websocket.cluster.mode", havingValue = "redis")
+public class WebSocketClusterConfig {
+
+    @Bean
+    public RedisStompMessageRelay redisStompMessageRelay(
+            RedisConnectionFactory connectionFactory,
+            SimpMessagingTemplate messagingTemplate,
+            ObjectMapper objectMapper,
+            @Value("${order.websocket.cluster.channel:bitedash:ws:orders}") String channel) {
+        return new RedisStompMessageRelay(new StringRedisTemplate(connectionFactory), messagingTemplate,
+                objectMapper, channel);
+    }
+
+    @Bean
+    public RedisVendorOrderBoardSync redisVendorOrderBoardSync(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            VendorOrderBoard board,
+            @Value("${order.board.cluster-channel:bitedash:board:orders}") String channel) {
+        return new RedisVendorOrderBoardSync(new StringRedisTemplate(connectionFactory), objectMapper, board, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer webSocketRelayListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisStompMessageRelay relay,
+            RedisVendorOrderBoardSync boardSync,
+            @Value("${order.websocket.cluster.channel:bitedash:ws:orders}") String channel,
+            @Value("${order.board.cluster-channel:bitedash:board:orders}") String boardChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(channel));
+        container.addMessageListener(boardSync, new ChannelTopic(boardChannel));
+        return container;
+    }
+}
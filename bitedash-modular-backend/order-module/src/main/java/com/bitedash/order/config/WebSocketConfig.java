@@ -18,6 +18,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker
         // Clients subscribe to /topic for broadcast messages and /queue for user-specific messages
+        // Multi-node setups keep this broker per node and share messages via WebSocketClusterConfig
         config.enableSimpleBroker("/topic", "/queue");
 
         // Application destination prefix for messages from clients
@@ -1,25 +1,47 @@
 package com.bitedash.order.controller;
 
+import com.bitedash.order.dto.request.BulkOrderStatusRequest;
+import com.bitedash.order.dto.request.OrderPageRequest;
 import com.bitedash.order.dto.request.OrderRequest;
 import com.bitedash.order.dto.request.RateOrderRequest;
+import com.bitedash.order.dto.response.OrderPageResponse;
 import com.bitedash.order.dto.response.OrderResponse;
 import com.bitedash.order.dto.response.OrderStatusHistoryResponse;
+import com.bitedash.order.dto.response.PickupSlotResponse;
+import com.bitedash.order.dto.response.VendorRatingResponse;
+import com.bitedash.order.service.OrderCsvExporter;
 import com.bitedash.order.service.OrderService;
+import com.bitedash.order.service.OrderStatusConflictException;
 import com.bitedash.shared.annotation.RequireRole;
 import com.bitedash.shared.dto.ApiResponse;
 import com.bitedash.shared.enums.Role;
+import com.bitedash.shared.idempotency.IdempotencyService;
+import com.bitedash.shared.idempotency.OutcomeUnknownException;
 import com.bitedash.shared.util.UserContext;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/orders")
@@ -27,9 +49,21 @@ public class OrderController {
 
 	private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
+	private static final int MAX_BULK_VENDOR_IDS = 200;
+	private static final int MAX_BULK_ORDER_IDS = 100;
+
 	@Autowired
 	private OrderService orderService;
 
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private OrderCsvExporter orderCsvExporter;
+
+	@Value("${order.export.timeout-ms:1800000}")
+	private long exportTimeoutMillis;
+
 	/**
 	 * Helper method to get current user ID from context
 	 */
@@ -59,29 +93,41 @@ public class OrderController {
 		return "ROLE_SUPER_ADMIN".equals(role) || "ROLE_ORG_ADMIN".equals(role);
 	}
 
+	/**
+	 * Clients should send an Idempotency-Key header so a retried checkout cannot place the order twice.
+	 */
 	@PostMapping
-	public ResponseEntity<ApiResponse> createOrder(@Valid @RequestBody OrderRequest request) {
-		try {
-			log.info("Creating order for vendor: {}", request.getVendorId());
-
-			Long userId = getCurrentUserId();
-			Long organizationId = getCurrentUserOrgId();
-
-			if (organizationId == null) {
-				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-					.body(new ApiResponse(false, "Organization ID is required to create an order", null));
+	public ResponseEntity<ApiResponse> createOrder(
+		@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+		@Valid @RequestBody OrderRequest request
+	) {
+		return idempotencyService.execute("order.create", idempotencyKey, request, () -> {
+			try {
+				log.info("Creating order for vendor: {}", request.getVendorId());
+
+				Long userId = getCurrentUserId();
+				Long organizationId = getCurrentUserOrgId();
+
+				if (organizationId == null) {
+					return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+						.body(new ApiResponse(false, "Organization ID is required to create an order", null));
+				}
+
+				OrderResponse order = orderService.createOrder(request, userId, organizationId);
+
+				return ResponseEntity.status(HttpStatus.CREATED)
+					.body(new ApiResponse(true, "Order created successfully", order));
+
+			} catch (OutcomeUnknownException e) {
+				// The order may exist; IdempotencyService keeps the key so a retry cannot place it twice
+				log.error("Order creation outcome unknown: {}", e.getMessage(), e);
+				throw e;
+			} catch (Exception e) {
+				log.error("Error creating order: {}", e.getMessage(), e);
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body(new ApiResponse(false, "Failed to create order: " + e.getMessage(), null));
 			}
-
-			OrderResponse order = orderService.createOrder(request, userId, organizationId);
-
-			return ResponseEntity.status(HttpStatus.CREATED)
-				.body(new ApiResponse(true, "Order created successfully", order));
-
-		} catch (Exception e) {
-			log.error("Error creating order: {}", e.getMessage(), e);
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-				.body(new ApiResponse(false, "Failed to create order: " + e.getMessage(), null));
-		}
+		});
 	}
 
 	@GetMapping("/{id}")
@@ -191,6 +237,10 @@ public class OrderController {
 
 			return ResponseEntity.ok(new ApiResponse(true, "Order status updated successfully", order));
 
+		} catch (OrderStatusConflictException e) {
+			log.warn("Conflicting status update for order {}: {}", id, e.getMessage());
+			return ResponseEntity.status(HttpStatus.CONFLICT)
+				.body(new ApiResponse(false, e.getMessage(), null));
 		} catch (Exception e) {
 			log.error("Error updating order status for {}: {}", id, e.getMessage());
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -198,6 +248,39 @@ public class OrderController {
 		}
 	}
 
+	/**
+	 * Moves several orders to the same status at once, all or nothing.
+	 */
+	@PutMapping("/status")
+	@RequireRole(Role.ROLE_VENDOR)
+	public ResponseEntity<ApiResponse> updateOrderStatuses(@RequestBody BulkOrderStatusRequest request) {
+		try {
+			if (request.getOrderIds() == null || request.getOrderIds().isEmpty()) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, "At least one order ID is required", null));
+			}
+			if (request.getOrderIds().size() > MAX_BULK_ORDER_IDS) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, "At most " + MAX_BULK_ORDER_IDS + " order IDs per request", null));
+			}
+			log.info("Updating {} orders to status: {}", request.getOrderIds().size(), request.getStatus());
+
+			List<OrderResponse> orders = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus(),
+				getCurrentUserId(), getCurrentUserRole(), request.getRemarks());
+
+			return ResponseEntity.ok(new ApiResponse(true, "Order statuses updated successfully", orders));
+
+		} catch (OrderStatusConflictException e) {
+			log.warn("Conflicting bulk status update: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.CONFLICT)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		} catch (Exception e) {
+			log.error("Error updating order statuses: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
 	@GetMapping("/my-orders")
 	public ResponseEntity<ApiResponse> getMyOrders() {
 		try {
@@ -213,6 +296,28 @@ public class OrderController {
 		}
 	}
 
+	@GetMapping("/my-orders/page")
+	public ResponseEntity<ApiResponse> getMyOrdersPage(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
+		@RequestParam(required = false) String status,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+	) {
+		try {
+			Long userId = getCurrentUserId();
+			OrderPageResponse page = orderService.getUserOrdersPage(userId,
+				new OrderPageRequest(cursor, limit, status, from, to));
+
+			return ResponseEntity.ok(new ApiResponse(true, "Orders fetched successfully", page));
+
+		} catch (Exception e) {
+			log.error("Error fetching user orders page: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
 	@GetMapping("/vendor/{vendorId}")
 	public ResponseEntity<ApiResponse> getVendorOrders(@PathVariable Long vendorId) {
 		try {
@@ -239,6 +344,168 @@ public class OrderController {
 		}
 	}
 
+	@GetMapping("/vendor/{vendorId}/live")
+	public ResponseEntity<ApiResponse> getVendorLiveOrders(@PathVariable Long vendorId) {
+		try {
+			// Authorization check: Only the vendor themselves or admins can view vendor orders
+			Long currentUserId = getCurrentUserId();
+			String currentRole = getCurrentUserRole();
+
+			boolean isVendor = currentUserId.equals(vendorId) && "ROLE_VENDOR".equals(currentRole);
+			boolean isAdmin = isCurrentUserAdmin();
+
+			if (!isVendor && !isAdmin) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body(new ApiResponse(false, "Access denied: You can only view your own orders", null));
+			}
+
+			List<OrderResponse> orders = orderService.getVendorLiveOrders(vendorId);
+
+			return ResponseEntity.ok(new ApiResponse(true, "Live vendor orders fetched successfully", orders));
+
+		} catch (Exception e) {
+			log.error("Error fetching live vendor orders: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	@GetMapping("/vendor/{vendorId}/page")
+	public ResponseEntity<ApiResponse> getVendorOrdersPage(
+		@PathVariable Long vendorId,
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
+		@RequestParam(required = false) String status,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+	) {
+		try {
+			// Authorization check: Only the vendor themselves or admins can view vendor orders
+			Long currentUserId = getCurrentUserId();
+			String currentRole = getCurrentUserRole();
+
+			boolean isVendor = currentUserId.equals(vendorId) && "ROLE_VENDOR".equals(currentRole);
+			boolean isAdmin = isCurrentUserAdmin();
+
+			if (!isVendor && !isAdmin) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body(new ApiResponse(false, "Access denied: You can only view your own orders", null));
+			}
+
+			OrderPageResponse page = orderService.getVendorOrdersPage(vendorId,
+				new OrderPageRequest(cursor, limit, status, from, to));
+
+			return ResponseEntity.ok(new ApiResponse(true, "Vendor orders fetched successfully", page));
+
+		} catch (Exception e) {
+			log.error("Error fetching vendor orders page: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	@GetMapping("/organization/page")
+	@RequireRole({Role.ROLE_ORG_ADMIN, Role.ROLE_SUPER_ADMIN})
+	public ResponseEntity<ApiResponse> getOrganizationOrdersPage(
+		@RequestParam(required = false) Long organizationId,
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
+		@RequestParam(required = false) String status,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+	) {
+		try {
+			// Org admins are pinned to their own organization; super admins must name one
+			Long targetOrgId = organizationId;
+			if ("ROLE_ORG_ADMIN".equals(getCurrentUserRole())) {
+				Long ownOrgId = getCurrentUserOrgId();
+				if (targetOrgId != null && !targetOrgId.equals(ownOrgId)) {
+					return ResponseEntity.status(HttpStatus.FORBIDDEN)
+						.body(new ApiResponse(false, "Access denied: You can only view your organization's orders", null));
+				}
+				targetOrgId = ownOrgId;
+			}
+
+			if (targetOrgId == null) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, "Organization ID is required", null));
+			}
+
+			OrderPageResponse page = orderService.getOrganizationOrdersPage(targetOrgId,
+				new OrderPageRequest(cursor, limit, status, from, to));
+
+			return ResponseEntity.ok(new ApiResponse(true, "Organization orders fetched successfully", page));
+
+		} catch (Exception e) {
+			log.error("Error fetching organization orders page: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	/**
+	 * Streams the organization's orders created in [from, to) as CSV for spend reconciliation.
+	 * The body is written as it is read (chunked), so any range can be exported; with gzip=true
+	 * it is compressed on the fly and served as a .csv.gz download.
+	 *
+	 * WHY return Object? Spring MVC only streams a StreamingResponseBody it can see in the return
+	 * type; inside ResponseEntity<?> it falls back to message converters and fails. Errors are
+	 * still ResponseEntity, and the download headers go straight on the servlet response.
+	 */
+	@GetMapping("/organization/export")
+	@RequireRole({Role.ROLE_ORG_ADMIN, Role.ROLE_SUPER_ADMIN})
+	public Object exportOrganizationOrders(
+		@RequestParam(required = false) Long organizationId,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+		@RequestParam(defaultValue = "false") boolean gzip,
+		HttpServletRequest request,
+		HttpServletResponse response
+	) {
+		// Org admins are pinned to their own organization; super admins must name one
+		Long targetOrgId = organizationId;
+		if ("ROLE_ORG_ADMIN".equals(getCurrentUserRole())) {
+			Long ownOrgId = getCurrentUserOrgId();
+			if (targetOrgId != null && !targetOrgId.equals(ownOrgId)) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body(new ApiResponse(false, "Access denied: You can only export your organization's orders", null));
+			}
+			targetOrgId = ownOrgId;
+		}
+
+		if (targetOrgId == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, "Organization ID is required", null));
+		}
+		if (!from.isBefore(to)) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, "'from' must be before 'to'", null));
+		}
+
+		Long exportOrgId = targetOrgId;
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true);
+				orderCsvExporter.export(exportOrgId, from, to, compressed);
+				compressed.finish();
+			} else {
+				orderCsvExporter.export(exportOrgId, from, to, out);
+			}
+		};
+
+		String filename = "orders-" + exportOrgId + "-" + from.toLocalDate() + "-" + to.toLocalDate()
+			+ (gzip ? ".csv.gz" : ".csv");
+		response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+
+		// A year of orders takes longer than the app-wide async timeout; only this request gets the long one
+		AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+		if (asyncRequest != null) {
+			asyncRequest.setTimeout(exportTimeoutMillis);
+		}
+		return body;
+	}
+
 	@GetMapping("/vendor/{vendorId}/rating")
 	public ResponseEntity<ApiResponse> getVendorRating(@PathVariable Long vendorId) {
 		try {
@@ -252,4 +519,59 @@ public class OrderController {
 				.body(new ApiResponse(false, e.getMessage(), null));
 		}
 	}
+
+	@GetMapping("/vendor/{vendorId}/rating/summary")
+	public ResponseEntity<ApiResponse> getVendorRatingSummary(@PathVariable Long vendorId) {
+		try {
+			VendorRatingResponse rating = orderService.getVendorRating(vendorId);
+
+			return ResponseEntity.ok(new ApiResponse(true, "Vendor rating fetched successfully", rating));
+
+		} catch (Exception e) {
+			log.error("Error fetching vendor rating summary: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	/**
+	 * Ratings for every vendor on a page (e.g. a cafeteria) in one lookup.
+	 */
+	@GetMapping("/vendors/ratings")
+	public ResponseEntity<ApiResponse> getVendorRatings(@RequestParam List<Long> vendorIds) {
+		try {
+			if (vendorIds.size() > MAX_BULK_VENDOR_IDS) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, "At most " + MAX_BULK_VENDOR_IDS + " vendor IDs per request", null));
+			}
+			Map<Long, VendorRatingResponse> ratings = orderService.getVendorRatings(vendorIds);
+
+			return ResponseEntity.ok(new ApiResponse(true, "Vendor ratings fetched successfully", ratings));
+
+		} catch (Exception e) {
+			log.error("Error fetching vendor ratings: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	/**
+	 * Fill level of a vendor's remaining pickup slots for a day (default today), so the app can
+	 * steer customers to quieter slots.
+	 */
+	@GetMapping("/vendor/{vendorId}/pickup-slots")
+	public ResponseEntity<ApiResponse> getPickupSlots(
+			@PathVariable Long vendorId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		try {
+			List<PickupSlotResponse> slots = orderService.getPickupSlots(vendorId, date != null ? date : LocalDate.now());
+
+			return ResponseEntity.ok(new ApiResponse(true, "Pickup slots fetched successfully", slots));
+
+		} catch (Exception e) {
+			log.error("Error fetching pickup slots: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
 }
@@ -0,0 +1,42 @@
+package com.bitedash.order.dto.request;
+
+import java.util.List;
+
+public class BulkOrderStatusRequest {
+	private List<Long> orderIds;
+	private String status;
+	private String remarks;
+
+	public BulkOrderStatusRequest() {
+	}
+
+	public BulkOrderStatusRequest(List<Long> orderIds, String status, String remarks) {
+		this.orderIds = orderIds;
+		this.status = status;
+		this.remarks = remarks;
+	}
+
+	public List<Long> getOrderIds() {
+		return orderIds;
+	}
+
+	public void setOrderIds(List<Long> orderIds) {
+		this.orderIds = orderIds;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getRemarks() {
+		return remarks;
+	}
+
+	public void setRemarks(String remarks) {
+		this.remarks = remarks;
+	}
+}
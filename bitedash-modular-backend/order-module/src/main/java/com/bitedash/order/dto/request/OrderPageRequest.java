@@ -0,0 +1,33 @@
+package com.bitedash.order.dto.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset page request for order listings.
+ *
+ * cursor: opaque token from the previous page's nextCursor; null for the first page
+ * limit: page size, defaults to {@link #DEFAULT_LIMIT} and is capped at {@link #MAX_LIMIT}
+ * status: optional exact status filter
+ * from/to: optional createdAt range, from inclusive and to exclusive
+ */
+public record OrderPageRequest(
+	String cursor,
+	Integer limit,
+	String status,
+	LocalDateTime from,
+	LocalDateTime to
+) {
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 100;
+
+	public static OrderPageRequest firstPage() {
+		return new OrderPageRequest(null, null, null, null, null);
+	}
+
+	public int resolvedLimit() {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_LIMIT;
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+}
@@ -22,6 +22,7 @@ public class OrderResponse {
 	private String orderType;
 	private String pickupOtp;
 	private LocalDateTime scheduledTime;
+	private LocalDateTime pickupSlotStart;
 	private Integer preparationTime;
 	private String specialInstructions;
 	private Integer rating;
@@ -169,6 +170,14 @@ public class OrderResponse {
 		this.scheduledTime = scheduledTime;
 	}
 
+	public LocalDateTime getPickupSlotStart() {
+		return pickupSlotStart;
+	}
+
+	public void setPickupSlotStart(LocalDateTime pickupSlotStart) {
+		this.pickupSlotStart = pickupSlotStart;
+	}
+
 	public Integer getPreparationTime() {
 		return preparationTime;
 	}
@@ -0,0 +1,62 @@
+package com.bitedash.order.dto.response;
+
+import java.time.LocalDateTime;
+
+public class PickupSlotResponse {
+	private LocalDateTime slotStart;
+	private LocalDateTime slotEnd;
+	private int capacity;
+	private int claimed;
+	private int available;
+
+	public PickupSlotResponse() {
+	}
+
+	public PickupSlotResponse(LocalDateTime slotStart, LocalDateTime slotEnd, int capacity, int claimed) {
+		this.slotStart = slotStart;
+		this.slotEnd = slotEnd;
+		this.capacity = capacity;
+		this.claimed = claimed;
+		this.available = Math.max(0, capacity - claimed);
+	}
+
+	public LocalDateTime getSlotStart() {
+		return slotStart;
+	}
+
+	public void setSlotStart(LocalDateTime slotStart) {
+		this.slotStart = slotStart;
+	}
+
+	public LocalDateTime getSlotEnd() {
+		return slotEnd;
+	}
+
+	public void setSlotEnd(LocalDateTime slotEnd) {
+		this.slotEnd = slotEnd;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public int getClaimed() {
+		return claimed;
+	}
+
+	public void setClaimed(int claimed) {
+		this.claimed = claimed;
+	}
+
+	public int getAvailable() {
+		return available;
+	}
+
+	public void setAvailable(int available) {
+		this.available = available;
+	}
+}
@@ -0,0 +1,53 @@
+package com.bitedash.order.dto.response;
+
+import java.util.Map;
+
+public class VendorRatingResponse {
+	private Long vendorId;
+	private Double averageRating;
+	private long ratingCount;
+	// stars (1-5) -> number of orders rated with that many stars
+	private Map<Integer, Long> histogram;
+
+	public VendorRatingResponse() {
+	}
+
+	public VendorRatingResponse(Long vendorId, Double averageRating, long ratingCount, Map<Integer, Long> histogram) {
+		this.vendorId = vendorId;
+		this.averageRating = averageRating;
+		this.ratingCount = ratingCount;
+		this.histogram = histogram;
+	}
+
+	public Long getVendorId() {
+		return vendorId;
+	}
+
+	public void setVendorId(Long vendorId) {
+		this.vendorId = vendorId;
+	}
+
+	public Double getAverageRating() {
+		return averageRating;
+	}
+
+	public void setAverageRating(Double averageRating) {
+		this.averageRating = averageRating;
+	}
+
+	public long getRatingCount() {
+		return ratingCount;
+	}
+
+	public void setRatingCount(long ratingCount) {
+		this.ratingCount = ratingCount;
+	}
+
+	public Map<Integer, Long> getHistogram() {
+		return histogram;
+	}
+
+	public void setHistogram(Map<Integer, Long> histogram) {
+		this.histogram = histogram;
+	}
+}
@@ -73,6 +73,13 @@ public class Order extends BaseEntity {
 
 	private LocalDateTime scheduledTime;
 
+	// When the order was handed to the vendor queue. Null while a scheduled order is held back
+	// by ScheduledOrderReleaser; set at creation for everything else.
+	private LocalDateTime releasedAt;
+
+	// Start of the pickup slot claimed by PickupSlotAllocator; null if the vendor has no slot capacity
+	private LocalDateTime pickupSlotStart;
+
 	private Integer preparationTime;
 
 	@Column(columnDefinition = "TEXT")
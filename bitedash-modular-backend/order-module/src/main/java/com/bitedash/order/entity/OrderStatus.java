@@ -0,0 +1,66 @@
+package com.bitedash.order.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle and the transitions allowed between statuses.
+ *
+ * Kitchen flow: PENDING -> (CONFIRMED) -> PREPARING -> READY -> PICKED_UP / DELIVERED -> COMPLETED.
+ * Steps may be skipped forwards (e.g. a pre-packed item goes straight to READY), but an order
+ * never moves backwards, and DELIVERED, COMPLETED and CANCELLED are final. Orders can only be
+ * cancelled before they are ready.
+ */
+public enum OrderStatus {
+
+	PENDING,
+	CONFIRMED,
+	PREPARING,
+	READY,
+	PICKED_UP,
+	DELIVERED,
+	COMPLETED,
+	CANCELLED;
+
+	static {
+		PENDING.next = EnumSet.of(CONFIRMED, PREPARING, READY, CANCELLED);
+		CONFIRMED.next = EnumSet.of(PREPARING, READY, CANCELLED);
+		PREPARING.next = EnumSet.of(READY, CANCELLED);
+		READY.next = EnumSet.of(PICKED_UP, DELIVERED, COMPLETED);
+		PICKED_UP.next = EnumSet.of(DELIVERED, COMPLETED);
+		DELIVERED.next = EnumSet.of(COMPLETED);
+		COMPLETED.next = EnumSet.noneOf(OrderStatus.class);
+		CANCELLED.next = EnumSet.noneOf(OrderStatus.class);
+	}
+
+	private Set<OrderStatus> next;
+
+	public boolean canTransitionTo(OrderStatus target) {
+		return next.contains(target);
+	}
+
+	public boolean isFinal() {
+		return next.isEmpty();
+	}
+
+	/**
+	 * @return true while the order is still with the vendor: accepted or not, but not yet picked up
+	 */
+	public boolean isInKitchen() {
+		return !isFinal() && compareTo(PICKED_UP) < 0;
+	}
+
+	/**
+	 * @return the status with this name, or null if it is not a known status
+	 */
+	public static OrderStatus fromName(String name) {
+		if (name == null) {
+			return null;
+		}
+		try {
+			return valueOf(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -17,7 +17,7 @@ import jakarta.persistence.*;
 @NoArgsConstructor
 public class OrderStatusHistory {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
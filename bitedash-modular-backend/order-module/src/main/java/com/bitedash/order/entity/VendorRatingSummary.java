@@ -0,0 +1,70 @@
+package com.bitedash.order.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running rating totals for one vendor: how many orders were rated, the sum of their stars and
+ * how many got each of 1-5 stars.
+ *
+ * Kept current by rateOrder with atomic deltas and rebuilt from orders by
+ * VendorRatingService.rebuildAll, so reading a vendor's rating is a primary-key lookup.
+ */
+@Entity
+@Table(name = "vendor_rating_summary", schema = "order_schema")
+@Getter
+@Setter
+@NoArgsConstructor
+public class VendorRatingSummary {
+
+	@Id
+	@Column(name = "vendor_id")
+	private Long vendorId;
+
+	@Column(name = "rating_count", nullable = false)
+	private long ratingCount;
+
+	@Column(name = "rating_sum", nullable = false)
+	private long ratingSum;
+
+	@Column(name = "stars_1", nullable = false)
+	private long stars1;
+
+	@Column(name = "stars_2", nullable = false)
+	private long stars2;
+
+	@Column(name = "stars_3", nullable = false)
+	private long stars3;
+
+	@Column(name = "stars_4", nullable = false)
+	private long stars4;
+
+	@Column(name = "stars_5", nullable = false)
+	private long stars5;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt = LocalDateTime.now();
+
+	public VendorRatingSummary(Long vendorId) {
+		this.vendorId = vendorId;
+	}
+
+	/**
+	 * @return counts of 1 to 5 star ratings, index 0 holding the 1-star count
+	 */
+	public long[] histogram() {
+		return new long[] {stars1, stars2, stars3, stars4, stars5};
+	}
+
+	public void setHistogram(long[] histogram) {
+		stars1 = histogram[0];
+		stars2 = histogram[1];
+		stars3 = histogram[2];
+		stars4 = histogram[3];
+		stars5 = histogram[4];
+	}
+}
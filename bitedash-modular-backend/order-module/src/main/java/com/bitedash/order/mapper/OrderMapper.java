@@ -35,6 +35,7 @@ public class OrderMapper {
 		response.setOrderType(order.getOrderType());
 		response.setPickupOtp(order.getPickupOtp());
 		response.setScheduledTime(order.getScheduledTime());
+		response.setPickupSlotStart(order.getPickupSlotStart());
 		response.setPreparationTime(order.getPreparationTime());
 		response.setSpecialInstructions(order.getSpecialInstructions());
 		response.setRating(order.getRating());
@@ -1,18 +1,32 @@
 package com.bitedash.order.repository;
 
 import com.bitedash.order.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+	// Keyset pagination on (createdAt, id), newest first. The cursor bounds are always bound
+	// (OrderCursor.START for the first page), so each query is a plain range scan on the
+	// (owner, created_at, id) indexes rather than an OFFSET that re-reads skipped rows.
+	String KEYSET_FILTER = " AND o.deleted = false"
+		+ " AND (:status IS NULL OR o.status = :status)"
+		+ " AND o.createdAt >= :from AND o.createdAt < :to"
+		+ " AND o.createdAt <= :cursorCreatedAt"
+		+ " AND (o.createdAt < :cursorCreatedAt OR o.id < :cursorId)"
+		+ " ORDER BY o.createdAt DESC, o.id DESC";
+
 	@EntityGraph(value = "Order.withItems", type = EntityGraph.EntityGraphType.LOAD)
 	Optional<Order> findWithItemsById(Long id);
 
@@ -37,6 +51,72 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 	@EntityGraph(value = "Order.withItems", type = EntityGraph.EntityGraphType.LOAD)
 	List<Order> findByVendorIdAndStatusAndDeletedFalseOrderByCreatedAtDesc(Long vendorId, String status);
 
+	@EntityGraph(value = "Order.withItems", type = EntityGraph.EntityGraphType.LOAD)
+	List<Order> findByStatusInAndDeletedFalse(Collection<String> statuses);
+
+	// Live orders that are on the vendor queue, i.e. not scheduled orders still being held back
+	@EntityGraph(value = "Order.withItems", type = EntityGraph.EntityGraphType.LOAD)
+	List<Order> findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(Collection<String> statuses);
+
+	List<ScheduledOrderView> findByReleasedAtIsNullAndDeletedFalse();
+
+	// Returns 0 if the order was already released, by another node's releaser or by a status change
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Order o SET o.releasedAt = :releasedAt WHERE o.id = :id AND o.releasedAt IS NULL AND o.deleted = false")
+	int markReleased(@Param("id") Long id, @Param("releasedAt") LocalDateTime releasedAt);
+
+	// WHY select ids first? Applying a row limit to a query that fetches the orderItems
+	// collection makes Hibernate paginate in memory. The page of ids is cut in SQL, then
+	// those orders are loaded with their items via findByIdIn.
+	@Query("SELECT o.id FROM Order o WHERE o.userId = :ownerId" + KEYSET_FILTER)
+	List<Long> findUserOrderIdsPage(@Param("ownerId") Long userId, @Param("status") String status,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId, Limit limit);
+
+	@Query("SELECT o.id FROM Order o WHERE o.vendorId = :ownerId" + KEYSET_FILTER)
+	List<Long> findVendorOrderIdsPage(@Param("ownerId") Long vendorId, @Param("status") String status,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId, Limit limit);
+
+	@Query("SELECT o.id FROM Order o WHERE o.organizationId = :ownerId" + KEYSET_FILTER)
+	List<Long> findOrganizationOrderIdsPage(@Param("ownerId") Long organizationId, @Param("status") String status,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId, Limit limit);
+
+	@EntityGraph(value = "Order.withItems", type = EntityGraph.EntityGraphType.LOAD)
+	List<Order> findByIdIn(Collection<Long> ids);
+
+	Optional<OrderStatusView> findStatusViewById(Long id);
+
+	List<OrderStatusView> findStatusViewsByIdIn(Collection<Long> ids);
+
+	// Compare-and-set on (status, vendor): returns 0 if another request moved the order first,
+	// or if it belongs to a different vendor. Auditing listeners do not run for bulk updates,
+	// so updatedAt and updatedBy are set here. A vendor acting on a held scheduled order
+	// releases it early.
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :updatedAt, o.updatedBy = :updatedBy,"
+		+ " o.releasedAt = COALESCE(o.releasedAt, :updatedAt)"
+		+ " WHERE o.id = :id AND o.status = :expectedStatus AND o.vendorId = :vendorId AND o.deleted = false")
+	int transitionStatus(@Param("id") Long id, @Param("vendorId") Long vendorId,
+			@Param("expectedStatus") String expectedStatus, @Param("newStatus") String newStatus,
+			@Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+
+	// transitionStatus for a batch of one vendor's orders that were all in the same status. A count
+	// below ids.size() means at least one of them was moved by someone else in the meantime.
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :updatedAt, o.updatedBy = :updatedBy,"
+		+ " o.releasedAt = COALESCE(o.releasedAt, :updatedAt)"
+		+ " WHERE o.id IN :ids AND o.status = :expectedStatus AND o.vendorId = :vendorId AND o.deleted = false")
+	int transitionStatuses(@Param("ids") Collection<Long> ids, @Param("vendorId") Long vendorId,
+			@Param("expectedStatus") String expectedStatus, @Param("newStatus") String newStatus,
+			@Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+
+	// rows of [vendorId, pickupSlotStart, count] for the slots still holding orders, used to seed slot counters
+	@Query("SELECT o.vendorId, o.pickupSlotStart, COUNT(o) FROM Order o WHERE o.pickupSlotStart >= :from"
+		+ " AND o.status <> 'CANCELLED' AND o.deleted = false GROUP BY o.vendorId, o.pickupSlotStart")
+	List<Object[]> countOrdersByPickupSlot(@Param("from") LocalDateTime from);
+
 	long countByVendorIdAndDeletedFalse(Long vendorId);
 	long countByUserIdAndDeletedFalse(Long userId);
 	long countByOrganizationIdAndDeletedFalse(Long organizationId);
@@ -49,4 +129,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
 	@Query("SELECT AVG(o.rating) FROM Order o WHERE o.vendorId = :vendorId AND o.rating IS NOT NULL AND o.deleted = false")
 	Double findAverageRatingByVendorId(@Param("vendorId") Long vendorId);
+
+	@Query("SELECT DISTINCT o.vendorId FROM Order o WHERE o.rating IS NOT NULL AND o.deleted = false")
+	List<Long> findRatedVendorIds();
+
+	// rows of [rating, count] for one vendor, used to rebuild its rating summary
+	@Query("SELECT o.rating, COUNT(o) FROM Order o WHERE o.vendorId = :vendorId AND o.rating IS NOT NULL"
+		+ " AND o.deleted = false GROUP BY o.rating")
+	List<Object[]> countRatingsByStars(@Param("vendorId") Long vendorId);
 }
@@ -0,0 +1,21 @@
+package com.bitedash.order.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a status transition needs, read without loading the order's items or history.
+ */
+public interface OrderStatusView {
+
+	Long getId();
+
+	String getOrderNumber();
+
+	Long getUserId();
+
+	Long getVendorId();
+
+	String getStatus();
+
+	LocalDateTime getPickupSlotStart();
+}
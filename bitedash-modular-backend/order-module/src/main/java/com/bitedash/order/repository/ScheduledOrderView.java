@@ -0,0 +1,13 @@
+package com.bitedash.order.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scheduled order still waiting for release, read without loading the rest of the order.
+ */
+public interface ScheduledOrderView {
+
+	Long getId();
+
+	LocalDateTime getScheduledTime();
+}
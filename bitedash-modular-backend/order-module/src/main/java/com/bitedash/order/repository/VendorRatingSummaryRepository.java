@@ -0,0 +1,43 @@
+package com.bitedash.order.repository;
+
+import com.bitedash.order.entity.VendorRatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VendorRatingSummaryRepository extends JpaRepository<VendorRatingSummary, Long> {
+
+	List<VendorRatingSummary> findByVendorIdIn(Collection<Long> vendorIds);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM VendorRatingSummary s WHERE s.vendorId = :vendorId")
+	Optional<VendorRatingSummary> findForUpdate(@Param("vendorId") Long vendorId);
+
+	@Modifying
+	@Query(value = "INSERT INTO order_schema.vendor_rating_summary"
+		+ " (vendor_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)"
+		+ " VALUES (:vendorId, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+	int insertIfMissing(@Param("vendorId") Long vendorId);
+
+	// Deltas are added in SQL so concurrent ratings of the same vendor never overwrite each other
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE VendorRatingSummary s SET s.ratingCount = s.ratingCount + :countDelta,"
+		+ " s.ratingSum = s.ratingSum + :sumDelta,"
+		+ " s.stars1 = s.stars1 + :stars1, s.stars2 = s.stars2 + :stars2, s.stars3 = s.stars3 + :stars3,"
+		+ " s.stars4 = s.stars4 + :stars4, s.stars5 = s.stars5 + :stars5, s.updatedAt = :updatedAt"
+		+ " WHERE s.vendorId = :vendorId")
+	int applyDelta(@Param("vendorId") Long vendorId, @Param("countDelta") long countDelta,
+			@Param("sumDelta") long sumDelta, @Param("stars1") long stars1, @Param("stars2") long stars2,
+			@Param("stars3") long stars3, @Param("stars4") long stars4, @Param("stars5") long stars5,
+			@Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,21 @@
+package com.bitedash.order.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * How an order total is divided between the platform and the vendor.
+ *
+ * WHY commission-based revenue model? BiteDash takes a percentage of each order.
+ * Commission rate may vary by vendor agreement (stored in order entity).
+ * Platform commission calculated first, then vendor payout is remainder -
+ * ensuring we never overpay due to rounding. HALF_UP is standard financial rounding.
+ */
+public record CommissionSplit(BigDecimal platformCommission, BigDecimal vendorPayout) {
+
+	public static CommissionSplit of(BigDecimal totalAmount, BigDecimal commissionRate) {
+		BigDecimal platformCommission = totalAmount.multiply(commissionRate).setScale(2, RoundingMode.HALF_UP);
+		BigDecimal vendorPayout = totalAmount.subtract(platformCommission).setScale(2, RoundingMode.HALF_UP);
+		return new CommissionSplit(platformCommission, vendorPayout);
+	}
+}
@@ -0,0 +1,71 @@
+package com.bitedash.order.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-node slot counters: one AtomicInteger per (vendor, slot), claimed with compare-and-set.
+ * Rebuilt from the database by PickupSlotAllocator on startup.
+ */
+@Component
+@ConditionalOnProperty(name = "order.pickup-slots.counter", havingValue = "local", matchIfMissing = true)
+public class LocalPickupSlotCounter implements PickupSlotCounter {
+
+	private record SlotKey(Long vendorId, LocalDateTime slotStart) {
+	}
+
+	private final Map<SlotKey, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean tryClaim(Long vendorId, LocalDateTime slotStart, int capacity) {
+		AtomicInteger count = counts.computeIfAbsent(new SlotKey(vendorId, slotStart), key -> new AtomicInteger());
+		while (true) {
+			int current = count.get();
+			if (current >= capacity) {
+				return false;
+			}
+			if (count.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public void release(Long vendorId, LocalDateTime slotStart) {
+		AtomicInteger count = counts.get(new SlotKey(vendorId, slotStart));
+		if (count != null) {
+			count.getAndUpdate(current -> Math.max(0, current - 1));
+		}
+	}
+
+	@Override
+	public List<Integer> claimed(Long vendorId, List<LocalDateTime> slotStarts) {
+		List<Integer> claimed = new ArrayList<>(slotStarts.size());
+		for (LocalDateTime slotStart : slotStarts) {
+			AtomicInteger count = counts.get(new SlotKey(vendorId, slotStart));
+			claimed.add(count != null ? count.get() : 0);
+		}
+		return claimed;
+	}
+
+	@Override
+	public void restore(Long vendorId, LocalDateTime slotStart, int claimed) {
+		counts.computeIfAbsent(new SlotKey(vendorId, slotStart), key -> new AtomicInteger())
+			.accumulateAndGet(claimed, Math::max);
+	}
+
+	// Slots from previous days can no longer be claimed
+	@Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+	public void evictPastSlots() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+		counts.keySet().removeIf(key -> key.slotStart().isBefore(cutoff));
+	}
+}
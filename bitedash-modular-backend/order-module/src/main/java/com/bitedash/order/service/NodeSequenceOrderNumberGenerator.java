@@ -0,0 +1,134 @@
+package com.bitedash.order.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered, node-unique order numbers: {@code ORD-yyyyMMdd-XXXXXXXXXX}.
+ *
+ * The suffix is a fixed-width base-36 rendering of
+ * {@code millisOfDay (27 bits) | nodeId (10 bits) | sequence (12 bits)}, so numbers
+ * sort by creation time within a day and never need an existence check against the database.
+ *
+ * WHY a logical clock?
+ * The last issued (millis, sequence) pair lives in a single AtomicLong and is advanced with
+ * a CAS loop. If the wall clock stalls or steps backwards, or 4096 numbers are taken in one
+ * millisecond, the logical time simply moves ahead of the wall clock, so values on a node are
+ * strictly increasing and can never repeat.
+ *
+ * Each running instance must be given a distinct {@code order.number.node-id} (0-1023).
+ */
+@Component
+public class NodeSequenceOrderNumberGenerator implements OrderNumberGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(NodeSequenceOrderNumberGenerator.class);
+
+	static final int NODE_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
+	static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	private static final String PREFIX = "ORD-";
+	private static final int SUFFIX_WIDTH = 10;
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private final long nodeId;
+	private final Clock clock;
+	private final ZoneId zone;
+
+	// (logicalMillis << SEQUENCE_BITS) | sequence of the last issued number
+	private final AtomicLong lastState = new AtomicLong();
+
+	private volatile DayWindow currentDay;
+
+	@Autowired
+	public NodeSequenceOrderNumberGenerator(@Value("${order.number.node-id:0}") long nodeId) {
+		this(nodeId, Clock.systemDefaultZone());
+	}
+
+	NodeSequenceOrderNumberGenerator(long nodeId, Clock clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("order.number.node-id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.clock = clock;
+		this.zone = clock.getZone();
+		log.info("Order number generator initialised for node {}", nodeId);
+	}
+
+	@Override
+	public String nextOrderNumber() {
+		return format(nextState());
+	}
+
+	/**
+	 * Reserves the next (logicalMillis, sequence) pair. Values are strictly increasing per instance.
+	 */
+	long nextState() {
+		while (true) {
+			long previous = lastState.get();
+			long previousMillis = previous >>> SEQUENCE_BITS;
+			long now = clock.millis();
+
+			long next;
+			if (now > previousMillis) {
+				next = now << SEQUENCE_BITS;
+			} else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+				next = previous + 1;
+			} else {
+				next = (previousMillis + 1) << SEQUENCE_BITS;
+			}
+
+			if (lastState.compareAndSet(previous, next)) {
+				return next;
+			}
+		}
+	}
+
+	String format(long state) {
+		long millis = state >>> SEQUENCE_BITS;
+		long sequence = state & SEQUENCE_MASK;
+
+		DayWindow day = dayFor(millis);
+		long millisOfDay = millis - day.startMillis;
+		long suffix = (((millisOfDay << NODE_BITS) | nodeId) << SEQUENCE_BITS) | sequence;
+
+		String encoded = Long.toString(suffix, 36).toUpperCase();
+		StringBuilder sb = new StringBuilder(day.prefix.length() + SUFFIX_WIDTH).append(day.prefix);
+		for (int i = encoded.length(); i < SUFFIX_WIDTH; i++) {
+			sb.append('0');
+		}
+		return sb.append(encoded).toString();
+	}
+
+	private DayWindow dayFor(long millis) {
+		DayWindow day = currentDay;
+		if (day != null && millis >= day.startMillis && millis < day.endMillis) {
+			return day;
+		}
+		LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+		DayWindow fresh = new DayWindow(
+			PREFIX + date.format(DATE_FORMAT) + "-",
+			date.atStartOfDay(zone).toInstant().toEpochMilli(),
+			date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli()
+		);
+		// Only roll forward so a straggling thread on the previous day does not thrash the cache
+		if (day == null || fresh.startMillis > day.startMillis) {
+			currentDay = fresh;
+		}
+		return fresh;
+	}
+
+	private record DayWindow(String prefix, long startMillis, long endMillis) {
+	}
+}
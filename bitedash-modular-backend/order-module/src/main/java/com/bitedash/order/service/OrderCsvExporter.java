@@ -0,0 +1,216 @@
+package com.bitedash.order.service;
+
+import com.bitedash.shared.util.CsvFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams an organization's orders for a date range as CSV, one row per order with its items
+ * summarised in the last column.
+ *
+ * WHY not the repository? findByOrganizationIdAndDeletedFalseOrderByCreatedAtDesc loads every
+ * order and its items into the persistence context; a year of a large organization's orders does
+ * not fit in the heap. Here rows are read with a forward-only, read-only JDBC cursor (fetch size
+ * rows at a time) and written straight out as CSV text, so memory stays flat however long the range.
+ *
+ * WHY windows? A cursor on PostgreSQL only fetches lazily inside a transaction, and one cursor for
+ * the whole export would keep a transaction open on the primary for as long as the client takes to
+ * download. Orders are instead read in keyset windows of (created_at, id), each in its own short
+ * read-only transaction. A window's CSV is buffered and only written to the client after that
+ * transaction has ended, so a slow client never holds a transaction or a pooled connection open.
+ */
+@Service
+public class OrderCsvExporter {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderCsvExporter.class);
+
+	static final String HEADER = "order_number,created_at,status,order_type,user_id,vendor_id,cafeteria_id,"
+		+ "office_id,total_amount,platform_commission,vendor_payout,delivery_fee,item_count,items";
+
+	// The inner query picks the next window of orders by keyset; the join brings their items in
+	// order so each order's rows arrive together
+	private static final String WINDOW_SQL = """
+		SELECT o.id, o.order_number, o.created_at, o.status, o.order_type, o.user_id, o.vendor_id,
+			o.cafeteria_id, o.office_id, o.total_amount, o.platform_commission, o.vendor_payout, o.delivery_fee,
+			i.menu_item_name, i.quantity
+		FROM (
+			SELECT * FROM order_schema.orders
+			WHERE organization_id = ? AND deleted = false AND created_at < ?
+				AND (created_at > ? OR (created_at = ? AND id > ?))
+			ORDER BY created_at, id
+			LIMIT ?
+		) o
+		LEFT JOIN order_schema.order_items i ON i.order_id = o.id AND i.deleted = false
+		ORDER BY o.created_at, o.id, i.id
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int windowSize;
+	private final int fetchSize;
+
+	public OrderCsvExporter(JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${order.export.window-size:1000}") int windowSize,
+			@Value("${order.export.fetch-size:500}") int fetchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.windowSize = windowSize;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Writes the header and every non-deleted order of the organization created in [from, to),
+	 * oldest first. The stream is flushed after each window and left open.
+	 *
+	 * @return number of orders written
+	 */
+	public long export(Long organizationId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		writer.write(HEADER);
+		writer.write("\r\n");
+
+		// Starts just before the first order at `from`: ids are positive
+		Window window = new Window(from, 0L);
+		long total = 0;
+		while (true) {
+			Window current = window;
+			Window next = transactionTemplate.execute(status -> readWindow(organizationId, to, current));
+			if (next.orders == 0) {
+				break;
+			}
+			writer.write(next.csv.toString());
+			writer.flush();
+			total += next.orders;
+			if (next.orders < windowSize) {
+				break;
+			}
+			window = next;
+		}
+		writer.flush();
+		log.info("Exported {} orders of organization {} from {} to {}", total, organizationId, from, to);
+		return total;
+	}
+
+	private Window readWindow(Long organizationId, LocalDateTime to, Window after) {
+		Window window = new Window(after.lastCreatedAt, after.lastId);
+		OrderRow row = new OrderRow();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(WINDOW_SQL,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			statement.setLong(1, organizationId);
+			statement.setTimestamp(2, Timestamp.valueOf(to));
+			statement.setTimestamp(3, Timestamp.valueOf(after.lastCreatedAt));
+			statement.setTimestamp(4, Timestamp.valueOf(after.lastCreatedAt));
+			statement.setLong(5, after.lastId);
+			statement.setInt(6, windowSize);
+			return statement;
+		}, (ResultSet rs) -> {
+			long orderId = rs.getLong("id");
+			if (row.id == null || row.id != orderId) {
+				row.appendTo(window.csv);
+				row.start(rs);
+				window.orders++;
+				window.lastCreatedAt = row.createdAt;
+				window.lastId = orderId;
+			}
+			row.addItem(rs.getString("menu_item_name"), rs.getObject("quantity", Integer.class));
+		});
+		row.appendTo(window.csv);
+		return window;
+	}
+
+	/** Keyset position after the last order read, and the CSV of that window. */
+	private static final class Window {
+		private LocalDateTime lastCreatedAt;
+		private Long lastId;
+		private int orders;
+		private final StringBuilder csv = new StringBuilder();
+
+		private Window(LocalDateTime lastCreatedAt, Long lastId) {
+			this.lastCreatedAt = lastCreatedAt;
+			this.lastId = lastId;
+		}
+	}
+
+	/** The order currently being read; its items span consecutive result rows. */
+	private static final class OrderRow {
+		private Long id;
+		private LocalDateTime createdAt;
+		private final String[] fields = new String[12];
+		private int itemCount;
+		private final StringBuilder items = new StringBuilder();
+
+		void start(ResultSet rs) throws SQLException {
+			id = rs.getLong("id");
+			createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+			fields[0] = rs.getString("order_number");
+			fields[1] = createdAt.toString();
+			fields[2] = rs.getString("status");
+			fields[3] = rs.getString("order_type");
+			fields[4] = number(rs, "user_id");
+			fields[5] = number(rs, "vendor_id");
+			fields[6] = number(rs, "cafeteria_id");
+			fields[7] = number(rs, "office_id");
+			fields[8] = amount(rs.getBigDecimal("total_amount"));
+			fields[9] = amount(rs.getBigDecimal("platform_commission"));
+			fields[10] = amount(rs.getBigDecimal("vendor_payout"));
+			fields[11] = amount(rs.getBigDecimal("delivery_fee"));
+			itemCount = 0;
+			items.setLength(0);
+		}
+
+		void addItem(String name, Integer quantity) {
+			if (name == null && quantity == null) {
+				return; // order without items (LEFT JOIN)
+			}
+			int qty = quantity != null ? quantity : 1;
+			itemCount += qty;
+			if (!items.isEmpty()) {
+				items.append("; ");
+			}
+			items.append(qty).append(" x ").append(name != null ? name : "");
+		}
+
+		void appendTo(StringBuilder csv) {
+			if (id == null) {
+				return;
+			}
+			for (int i = 0; i < fields.length; i++) {
+				// Only the free-text columns can carry spreadsheet formulas
+				csv.append(i == 0 || i == 2 || i == 3 ? CsvFormat.text(fields[i]) : CsvFormat.escape(fields[i])).append(',');
+			}
+			csv.append(itemCount).append(',').append(CsvFormat.text(items.toString())).append("\r\n");
+			id = null;
+		}
+
+		private static String number(ResultSet rs, String column) throws SQLException {
+			long value = rs.getLong(column);
+			return rs.wasNull() ? null : Long.toString(value);
+		}
+
+		private static String amount(BigDecimal value) {
+			return value != null ? value.toPlainString() : null;
+		}
+	}
+}
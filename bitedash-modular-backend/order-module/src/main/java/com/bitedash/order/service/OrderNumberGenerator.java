@@ -0,0 +1,11 @@
+package com.bitedash.order.service;
+
+/**
+ * Strategy for producing human-readable order numbers.
+ * Implementations must return a value that is unique across all application
+ * nodes without consulting the database, and must keep the {@code ORD-yyyyMMdd-} prefix.
+ */
+public interface OrderNumberGenerator {
+
+	String nextOrderNumber();
+}
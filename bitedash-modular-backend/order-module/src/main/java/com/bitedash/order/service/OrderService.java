@@ -1,36 +1,65 @@
 package com.bitedash.order.service;
 
+import com.bitedash.order.dto.request.OrderPageRequest;
 import com.bitedash.order.dto.request.OrderRequest;
 import com.bitedash.order.dto.request.RateOrderRequest;
+import com.bitedash.order.dto.response.OrderPageResponse;
 import com.bitedash.order.dto.response.OrderResponse;
 import com.bitedash.order.dto.response.OrderStatusHistoryResponse;
+import com.bitedash.order.dto.response.PickupSlotResponse;
+import com.bitedash.order.dto.response.VendorRatingResponse;
 import com.bitedash.order.entity.Order;
+import com.bitedash.order.entity.OrderItem;
+import com.bitedash.order.entity.OrderStatus;
 import com.bitedash.order.entity.OrderStatusHistory;
 import com.bitedash.order.mapper.OrderMapper;
 import com.bitedash.order.repository.OrderRepository;
 import com.bitedash.order.repository.OrderStatusHistoryRepository;
-import com.bitedash.order.websocket.OrderUpdatePublisher;
+import com.bitedash.order.repository.OrderStatusView;
 import com.bitedash.shared.api.payment.PaymentPublicService;
 import com.bitedash.shared.api.wallet.WalletPublicService;
+import com.bitedash.shared.api.menu.MenuItemSnapshot;
 import com.bitedash.shared.api.menu.MenuPublicService;
+import com.bitedash.shared.event.OrderPlacedEvent;
+import com.bitedash.shared.event.OrderStatusChangedEvent;
+import com.bitedash.shared.idempotency.OutcomeUnknownException;
+import com.bitedash.shared.outbox.OutboxPublisher;
 import com.bitedash.shared.util.UserContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
 	private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
+	private static final LocalDateTime EARLIEST_ORDER_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
 	@Autowired
 	private OrderRepository orderRepository;
 
@@ -41,7 +70,22 @@ public class OrderService {
 	private QRCodeService qrCodeService;
 
 	@Autowired
-	private OrderUpdatePublisher orderUpdatePublisher;
+	private VendorRatingService vendorRatingService;
+
+	@Autowired
+	private OrderNumberGenerator orderNumberGenerator;
+
+	@Autowired
+	private OutboxPublisher outboxPublisher;
+
+	@Autowired
+	private VendorOrderBoard vendorOrderBoard;
+
+	@Autowired
+	private ScheduledOrderReleaser scheduledOrderReleaser;
+
+	@Autowired
+	private PickupSlotAllocator pickupSlotAllocator;
 
 	@Autowired
 	private PaymentPublicService paymentPublicService;
@@ -52,37 +96,38 @@ public class OrderService {
 	@Autowired
 	private MenuPublicService menuPublicService;
 
-	@Transactional
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * Places an order paid from the user's wallet.
+	 *
+	 * WHY is this not @Transactional? The wallet hold commits in its own transaction. Placed
+	 * inside the order transaction it would need a second pooled connection while the order's is
+	 * held, two per checkout at the lunch peak. So the hold is placed first, the order is written
+	 * in its own transaction, and the hold is captured once that has committed, or released if
+	 * it failed.
+	 */
 	public OrderResponse createOrder(OrderRequest request, Long userId, Long organizationId) {
 		log.info("Creating order for user: {}, vendor: {}", userId, request.getVendorId());
 
-		// Validate menu item availability
-		if (request.getItems() != null && !request.getItems().isEmpty()) {
-			for (var item : request.getItems()) {
-				if (item.getMenuItemId() != null) {
-					if (!menuPublicService.isMenuItemAvailable(item.getMenuItemId())) {
-						String itemName = menuPublicService.getMenuItemName(item.getMenuItemId());
-						String displayName = itemName != null ? itemName : "ID: " + item.getMenuItemId();
-						log.warn("Order creation failed: Menu item {} is not available", displayName);
-						throw new RuntimeException("Menu item '" + displayName + "' is currently unavailable");
-					}
-				}
-			}
-		}
+		// WHY one bulk lookup? Availability, name, price and vendor for the whole cart
+		// come back in a single query instead of 1-2 round trips per line item.
+		Map<Long, MenuItemSnapshot> menuItems = loadMenuItems(request);
 
 		log.info("All menu items are available");
 
 		// WHY server-side price recalculation? Critical security measure against price
-		// manipulation attacks where a malicious client modifies totalAmount before submission.
-		// We trust only item quantities from frontend and recalculate using verified menu prices.
+		// manipulation attacks where a malicious client modifies unitPrice or totalAmount
+		// before submission. We trust only item quantities from frontend and reprice
+		// every line using the menu price returned by the bulk lookup.
 		BigDecimal calculatedTotal = BigDecimal.ZERO;
-		if (request.getItems() != null && !request.getItems().isEmpty()) {
-			for (var item : request.getItems()) {
-				if (item.getQuantity() != null && item.getUnitPrice() != null) {
-					BigDecimal itemTotal = item.getUnitPrice().multiply(new BigDecimal(item.getQuantity()));
-					calculatedTotal = calculatedTotal.add(itemTotal);
-				}
+		for (var item : request.getItems()) {
+			if (item.getQuantity() == null || item.getQuantity() <= 0) {
+				throw new RuntimeException("Invalid quantity for menu item ID: " + item.getMenuItemId());
 			}
+			BigDecimal menuPrice = menuItems.get(item.getMenuItemId()).price();
+			calculatedTotal = calculatedTotal.add(menuPrice.multiply(BigDecimal.valueOf(item.getQuantity())));
 		}
 
 		// WHY 0.01 tolerance? Accommodates floating-point rounding differences between
@@ -99,88 +144,148 @@ public class OrderService {
 
 		log.info("Total amount validated: {}", calculatedTotal);
 
+		String orderNumber = orderNumberGenerator.nextOrderNumber();
+		BigDecimal totalAmount = calculatedTotal;
+
+		// WHY a hold instead of a debit? A debit in the order transaction would keep the wallet row
+		// locked until the order commits. The hold is one conditional UPDATE committed on its own,
+		// so the order is written without any wallet lock. The order id does not exist yet; the
+		// capture records it on the hold.
+		Long holdId;
+		try {
+			log.info("Attempting to hold {} on user {} wallet for order {}", totalAmount, userId, orderNumber);
+			holdId = walletPublicService.placeHold(userId, totalAmount, null, "ORDER",
+				"Payment for Order #" + orderNumber);
+			log.info("Successfully placed wallet hold {} for order: {}", holdId, orderNumber);
+		} catch (RuntimeException e) {
+			log.error("Wallet hold failed for order {}: {}", orderNumber, e.getMessage());
+			throw new RuntimeException("Order creation failed: " + e.getMessage(), e);
+		}
+
+		OrderResponse response;
+		try {
+			response = new TransactionTemplate(transactionManager).execute(status ->
+				writeOrder(request, userId, organizationId, menuItems, totalAmount, orderNumber, holdId));
+		} catch (CannotCreateTransactionException | UnexpectedRollbackException e) {
+			// No connection was obtained, or the transaction was rolled back: the order was never
+			// written, so the funds go back now instead of staying held until the hold expires
+			log.error("Order {} not written, releasing wallet hold {}: {}", orderNumber, holdId, e.getMessage());
+			walletPublicService.releaseHold(holdId);
+			throw e;
+		} catch (TransactionException e) {
+			// The commit itself failed, so the order may exist: its placed event captures the hold,
+			// otherwise the hold expires and its funds go back
+			log.error("Order {} commit outcome unknown, leaving wallet hold {} open: {}",
+				orderNumber, holdId, e.getMessage());
+			throw new OutcomeUnknownException("Order " + orderNumber
+				+ " may not have been placed. Check your orders before placing it again.", e);
+		} catch (RuntimeException e) {
+			walletPublicService.releaseHold(holdId);
+			throw e;
+		}
+
+		// A capture lost here is retried from the order's placed event
+		walletPublicService.captureHold(holdId, response.getId());
+		return response;
+	}
+
+	private OrderResponse writeOrder(OrderRequest request, Long userId, Long organizationId,
+			Map<Long, MenuItemSnapshot> menuItems, BigDecimal totalAmount, String orderNumber, Long holdId) {
 		Order order = OrderMapper.toEntity(request);
 		order.setUserId(userId);
 		order.setOrganizationId(organizationId);
 		order.setStatus("PENDING");
-
-		String orderNumber = generateUniqueOrderNumber();
+		order.setTotalAmount(totalAmount);
+		applyMenuPrices(order, menuItems);
 		order.setOrderNumber(orderNumber);
 
-		// WHY commission-based revenue model? BiteDash takes a percentage of each order.
-		// Commission rate may vary by vendor agreement (stored in order entity).
-		// Platform commission calculated first, then vendor payout is remainder -
-		// ensuring we never overpay due to rounding. HALF_UP is standard financial rounding.
-		BigDecimal totalAmount = request.getTotalAmount();
-		BigDecimal commissionRate = order.getCommissionRate();
-		BigDecimal platformCommission = totalAmount.multiply(commissionRate).setScale(2, RoundingMode.HALF_UP);
-		BigDecimal vendorPayout = totalAmount.subtract(platformCommission).setScale(2, RoundingMode.HALF_UP);
+		CommissionSplit split = CommissionSplit.of(totalAmount, order.getCommissionRate());
+		BigDecimal platformCommission = split.platformCommission();
 
 		order.setPlatformCommission(platformCommission);
-		order.setVendorPayout(vendorPayout);
+		order.setVendorPayout(split.vendorPayout());
 
 		order.setPickupOtp(generateOTP());
 
-		order.setCreatedBy(String.valueOf(userId));
+		// WHY claim a slot? Spreads the lunch peak: if the requested slot is full the order moves
+		// to the earliest later slot with room, which becomes its pickup time. A failed checkout
+		// gives the place back on rollback.
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime earliestPickup = order.getScheduledTime() != null && order.getScheduledTime().isAfter(now)
+			? order.getScheduledTime() : now;
+		LocalDateTime pickupSlot = pickupSlotAllocator.claim(order.getVendorId(), earliestPickup);
+		order.setPickupSlotStart(pickupSlot);
+		if (pickupSlot != null && pickupSlot.isAfter(earliestPickup)) {
+			order.setScheduledTime(pickupSlot);
+		}
 
-		order = orderRepository.save(order);
+		// Pre-orders stay off the vendor queue until shortly before pickup (see ScheduledOrderReleaser)
+		boolean held = scheduledOrderReleaser.shouldHold(order.getScheduledTime());
+		order.setReleasedAt(held ? null : now);
 
-		String qrCodeData = qrCodeService.generateQRCodeData(order.getId(), orderNumber);
-		order.setQrCodeData(qrCodeData);
+		order.setCreatedBy(String.valueOf(userId));
 
-		order = orderRepository.save(order);
+		attachStatusHistory(order, null, "PENDING", userId, "ROLE_EMPLOYEE", "Order created");
 
-		// Log commission with payment service
-		try {
-			paymentPublicService.logCommission(
-				order.getId(),
-				platformCommission,
-				request.getVendorId(),
-				organizationId
-			);
-			log.info("Commission logged for order: {}, amount: {}", order.getId(), platformCommission);
-		} catch (Exception e) {
-			log.error("Failed to log commission for order: {}, error: {}", order.getId(), e.getMessage());
-			// Don't fail order creation if commission logging fails
-		}
+		// WHY a single flush? Ids come from a pooled sequence, so save() only assigns them in
+		// memory. The QR payload (which needs the order ID) is set before anything is written,
+		// and the order, its items, the first history row and the QR go out as batched
+		// statements in one flush instead of a round trip per row.
+		order = orderRepository.save(order);
 
-		// Debit user's wallet for order payment
-		try {
-			log.info("Attempting to debit {} from user {} wallet for order {}", totalAmount, userId, orderNumber);
-			walletPublicService.debitForOrder(userId, totalAmount, order.getId(), orderNumber);
-			log.info("Successfully debited wallet for order: {}", orderNumber);
-		} catch (RuntimeException e) {
-			log.error("Wallet debit failed for order {}: {}", orderNumber, e.getMessage());
-			// Transaction will rollback due to @Transactional, so order won't be created
-			throw new RuntimeException("Order creation failed: " + e.getMessage(), e);
-		}
+		order.setQrCodeData(qrCodeService.generateQRCodeData(order.getId(), orderNumber));
+		orderRepository.flush();
 
-		addStatusHistory(order, null, "PENDING", userId, "ROLE_EMPLOYEE", "Order created");
+		// Queued in this transaction and applied to the platform wallet in batches by payment-module,
+		// so the commission commits or rolls back with the order and nothing waits on the wallet row
+		paymentPublicService.logCommission(
+			order.getId(),
+			platformCommission,
+			request.getVendorId(),
+			organizationId
+		);
 
 		log.info("Order created successfully: {}", order.getOrderNumber());
 
 		OrderResponse response = OrderMapper.toResponse(order);
-
-		// Publish new order notification via WebSocket
-		try {
-			orderUpdatePublisher.publishOrderUpdate(
-				order.getId(),
-				order.getStatus(),
-				order.getVendorId(),
-				order.getUserId()
-			);
-		} catch (Exception e) {
-			log.error("Failed to publish new order notification: {}", e.getMessage());
+		if (held) {
+			scheduledOrderReleaser.schedule(order.getId(), order.getScheduledTime());
+		} else {
+			vendorOrderBoard.track(response);
 		}
 
+		// WHY outbox instead of publishing here? The transaction is still open, so a direct
+		// WebSocket push could announce an order that later rolls back. The event commits with
+		// the order and the outbox relay delivers it afterwards.
+		outboxPublisher.publish(OutboxPublisher.AGGREGATE_ORDER, order.getId(), new OrderPlacedEvent(
+			order.getId(),
+			order.getOrderNumber(),
+			order.getUserId(),
+			null,
+			null,
+			order.getVendorId(),
+			order.getTotalAmount(),
+			order.getScheduledTime() != null ? order.getScheduledTime().toString() : null,
+			held,
+			holdId
+		));
+
 		return response;
 	}
 
+	/**
+	 * Moves an order to a new status if the state machine allows it.
+	 *
+	 * WHY a conditional update? Reading the order, checking it in Java and saving it lets two
+	 * staff members move the same order at once, with the last write silently winning. The
+	 * transition is instead applied as one UPDATE guarded by the status that was read and the
+	 * vendor, plus one history insert; zero affected rows means someone else got there first.
+	 */
 	@Transactional
 	public OrderResponse updateOrderStatus(Long orderId, String newStatus, Long changedBy, String changedByRole, String remarks) {
 		log.info("Updating order {} status to: {}", orderId, newStatus);
 
-		Order order = orderRepository.findById(orderId)
+		OrderStatusView current = orderRepository.findStatusViewById(orderId)
 			.orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
 
 		// Validate vendor ownership (admins can update any order)
@@ -189,36 +294,170 @@ public class OrderService {
 		    !"ROLE_SUPER_ADMIN".equals(userContext.role()) &&
 		    !"ROLE_ORG_ADMIN".equals(userContext.role())) {
 			// For vendors, verify they own this order
-			if (!order.getVendorId().equals(changedBy)) {
+			if (!current.getVendorId().equals(changedBy)) {
 				log.warn("Vendor {} attempted to update order {} belonging to vendor {}",
-					changedBy, orderId, order.getVendorId());
+					changedBy, orderId, current.getVendorId());
 				throw new RuntimeException("You do not have permission to update this order");
 			}
 		}
 
-		String previousStatus = order.getStatus();
-		order.setStatus(newStatus);
-		order.setUpdatedBy(String.valueOf(changedBy));
+		String previousStatus = current.getStatus();
+		OrderStatus from = OrderStatus.fromName(previousStatus);
+		OrderStatus to = OrderStatus.fromName(newStatus);
+		if (to == null) {
+			throw new RuntimeException("Unknown order status: " + newStatus);
+		}
+		if (from == null || !from.canTransitionTo(to)) {
+			throw new RuntimeException("Invalid status transition from " + previousStatus + " to " + newStatus);
+		}
 
-		order = orderRepository.save(order);
+		int updated = orderRepository.transitionStatus(orderId, current.getVendorId(), previousStatus, newStatus,
+			LocalDateTime.now(), String.valueOf(changedBy));
+		if (updated == 0) {
+			log.warn("Order {} changed while moving it from {} to {}", orderId, previousStatus, newStatus);
+			throw new OrderStatusConflictException("Order " + orderId + " is no longer " + previousStatus
+				+ "; reload it and try again");
+		}
 
-		addStatusHistory(order, previousStatus, newStatus, changedBy, changedByRole, remarks);
+		OrderStatusHistory history = new OrderStatusHistory();
+		history.setOrder(orderRepository.getReferenceById(orderId));
+		history.setPreviousStatus(previousStatus);
+		history.setNewStatus(newStatus);
+		history.setChangedBy(changedBy);
+		history.setChangedByRole(changedByRole);
+		history.setRemarks(remarks);
+		orderStatusHistoryRepository.save(history);
 
-		OrderResponse response = OrderMapper.toResponse(order);
+		if (to == OrderStatus.CANCELLED) {
+			pickupSlotAllocator.release(current.getVendorId(), current.getPickupSlotStart());
+		}
 
-		// Publish order status update via WebSocket
-		try {
-			orderUpdatePublisher.publishOrderUpdate(
+		// Read once, after the write, for the API response and the vendor board
+		OrderResponse response = orderRepository.findWithItemsById(orderId)
+			.map(OrderMapper::toResponse)
+			.orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
+		vendorOrderBoard.track(response);
+
+		// Delivered to WebSocket clients by the outbox relay once this transaction commits
+		outboxPublisher.publish(OutboxPublisher.AGGREGATE_ORDER, orderId, new OrderStatusChangedEvent(
+			orderId,
+			current.getOrderNumber(),
+			current.getUserId(),
+			null,
+			null,
+			current.getVendorId(),
+			previousStatus,
+			newStatus
+		));
+
+		return response;
+	}
+
+	/**
+	 * Moves several orders to the same status in one transaction, e.g. a vendor marking a tray
+	 * of orders READY at once. All or nothing: if any order is missing, belongs to another
+	 * vendor, cannot make the transition or was changed concurrently, none of them move.
+	 *
+	 * WHY not call updateOrderStatus in a loop? Each call reads its order, runs its own UPDATE
+	 * and history insert and notifies both parties separately. Here the orders are read and
+	 * validated with one query, moved with one conditional UPDATE per vendor and previous
+	 * status, and their history rows are inserted as one JDBC batch.
+	 *
+	 * WHY one outbox event per order? The relay keeps events in order only within one aggregate.
+	 * Each order's change therefore goes on that order's aggregate, behind any of its earlier
+	 * single-order events, so clients can never see an older status after this one. Grouping
+	 * happens when sending: the coalescing publisher sends each recipient one grouped message.
+	 */
+	@Transactional
+	public List<OrderResponse> updateOrderStatuses(Collection<Long> orderIds, String newStatus, Long changedBy,
+			String changedByRole, String remarks) {
+		Set<Long> ids = new LinkedHashSet<>(orderIds);
+		log.info("Updating {} orders to status: {}", ids.size(), newStatus);
+
+		OrderStatus to = OrderStatus.fromName(newStatus);
+		if (to == null) {
+			throw new RuntimeException("Unknown order status: " + newStatus);
+		}
+
+		Map<Long, OrderStatusView> current = orderRepository.findStatusViewsByIdIn(ids).stream()
+			.collect(Collectors.toMap(OrderStatusView::getId, Function.identity()));
+
+		var userContext = UserContext.get();
+		boolean admin = userContext.role() == null
+			|| "ROLE_SUPER_ADMIN".equals(userContext.role())
+			|| "ROLE_ORG_ADMIN".equals(userContext.role());
+		for (Long orderId : ids) {
+			OrderStatusView order = current.get(orderId);
+			if (order == null) {
+				throw new RuntimeException("Order not found with ID: " + orderId);
+			}
+			if (!admin && !order.getVendorId().equals(changedBy)) {
+				log.warn("Vendor {} attempted to update order {} belonging to vendor {}",
+					changedBy, orderId, order.getVendorId());
+				throw new RuntimeException("You do not have permission to update order " + orderId);
+			}
+			OrderStatus from = OrderStatus.fromName(order.getStatus());
+			if (from == null || !from.canTransitionTo(to)) {
+				throw new RuntimeException("Invalid status transition for order " + orderId + " from "
+					+ order.getStatus() + " to " + newStatus);
+			}
+		}
+
+		// One guarded UPDATE per (vendor, previous status); usually a single group
+		Map<Long, Map<String, List<Long>>> groups = ids.stream().collect(Collectors.groupingBy(
+			id -> current.get(id).getVendorId(), LinkedHashMap::new,
+			Collectors.groupingBy(id -> current.get(id).getStatus(), LinkedHashMap::new, Collectors.toList())));
+		LocalDateTime now = LocalDateTime.now();
+		groups.forEach((vendorId, byStatus) -> byStatus.forEach((previousStatus, groupIds) -> {
+			int updated = orderRepository.transitionStatuses(groupIds, vendorId, previousStatus, newStatus, now,
+				String.valueOf(changedBy));
+			if (updated != groupIds.size()) {
+				log.warn("{} of {} orders changed while moving them from {} to {}",
+					groupIds.size() - updated, groupIds.size(), previousStatus, newStatus);
+				throw new OrderStatusConflictException("Some of the orders are no longer " + previousStatus
+					+ "; reload them and try again");
+			}
+		}));
+
+		List<OrderStatusHistory> histories = new ArrayList<>(ids.size());
+		for (Long orderId : ids) {
+			OrderStatusHistory history = new OrderStatusHistory();
+			history.setOrder(orderRepository.getReferenceById(orderId));
+			history.setPreviousStatus(current.get(orderId).getStatus());
+			history.setNewStatus(newStatus);
+			history.setChangedBy(changedBy);
+			history.setChangedByRole(changedByRole);
+			history.setRemarks(remarks);
+			histories.add(history);
+		}
+		orderStatusHistoryRepository.saveAll(histories);
+
+		if (to == OrderStatus.CANCELLED) {
+			for (OrderStatusView order : current.values()) {
+				pickupSlotAllocator.release(order.getVendorId(), order.getPickupSlotStart());
+			}
+		}
+
+		Map<Long, OrderResponse> responses = orderRepository.findByIdIn(ids).stream()
+			.map(OrderMapper::toResponse)
+			.collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+		responses.values().forEach(vendorOrderBoard::track);
+
+		for (Long orderId : ids) {
+			OrderStatusView order = current.get(orderId);
+			outboxPublisher.publish(OutboxPublisher.AGGREGATE_ORDER, orderId, new OrderStatusChangedEvent(
 				orderId,
-				newStatus,
+				order.getOrderNumber(),
+				order.getUserId(),
+				null,
+				null,
 				order.getVendorId(),
-				order.getUserId()
-			);
-		} catch (Exception e) {
-			log.error("Failed to publish order status update: {}", e.getMessage());
+				order.getStatus(),
+				newStatus
+			));
 		}
 
-		return response;
+		return ids.stream().map(responses::get).filter(Objects::nonNull).toList();
 	}
 
 	@Transactional
@@ -237,11 +476,13 @@ public class OrderService {
 			throw new RuntimeException("Cannot rate order that is not completed");
 		}
 
+		Integer previousRating = order.getRating();
 		order.setRating(request.getRating());
 		order.setFeedback(request.getFeedback());
 		order.setUpdatedBy(String.valueOf(userId));
 
 		order = orderRepository.save(order);
+		vendorRatingService.recordRating(order.getVendorId(), previousRating, request.getRating());
 
 		log.info("Order rated successfully: {}", orderId);
 
@@ -258,11 +499,15 @@ public class OrderService {
 	public OrderResponse getOrderByQRCode(String qrCodeData) {
 		log.info("Looking up order by QR code");
 
-		if (!qrCodeService.verifyQRCodeData(qrCodeData)) {
+		Long orderId = qrCodeService.verifiedOrderId(qrCodeData);
+		if (orderId == null) {
 			throw new RuntimeException("Invalid QR code signature");
 		}
 
-		Order order = orderRepository.findByQrCodeData(qrCodeData)
+		// Look up by primary key; the stored token must still match, as the old lookup by
+		// qr_code_data required
+		Order order = orderRepository.findWithItemsById(orderId)
+			.filter(found -> qrCodeData.equals(found.getQrCodeData()))
 			.orElseThrow(() -> new RuntimeException("Order not found for QR code"));
 
 		return OrderMapper.toResponse(order);
@@ -274,36 +519,147 @@ public class OrderService {
 		return OrderMapper.toHistoryResponseList(orderStatusHistory);
 	}
 
+	// Legacy list endpoints: only the newest page is returned, so busy accounts no longer
+	// load every order they ever placed. Clients that need more use the paged variants.
 	public List<OrderResponse> getUserOrders(Long userId) {
-		List<Order> orders = orderRepository.findByUserIdAndDeletedFalseOrderByCreatedAtDesc(userId);
-		return OrderMapper.toResponseList(orders);
+		return getUserOrdersPage(userId, OrderPageRequest.firstPage()).getOrders();
 	}
 
 	public List<OrderResponse> getVendorOrders(Long vendorId) {
-		List<Order> orders = orderRepository.findByVendorIdAndDeletedFalseOrderByCreatedAtDesc(vendorId);
-		return OrderMapper.toResponseList(orders);
+		return getVendorOrdersPage(vendorId, OrderPageRequest.firstPage()).getOrders();
+	}
+
+	/**
+	 * Live (PENDING, CONFIRMED, PREPARING, READY) orders for a vendor, served from the in-memory board.
+	 */
+	public List<OrderResponse> getVendorLiveOrders(Long vendorId) {
+		return vendorOrderBoard.getActiveOrders(vendorId);
+	}
+
+	public OrderPageResponse getUserOrdersPage(Long userId, OrderPageRequest page) {
+		return findOrderPage(orderRepository::findUserOrderIdsPage, userId, page);
+	}
+
+	public OrderPageResponse getVendorOrdersPage(Long vendorId, OrderPageRequest page) {
+		return findOrderPage(orderRepository::findVendorOrderIdsPage, vendorId, page);
+	}
+
+	public OrderPageResponse getOrganizationOrdersPage(Long organizationId, OrderPageRequest page) {
+		return findOrderPage(orderRepository::findOrganizationOrderIdsPage, organizationId, page);
 	}
 
 	public Double getVendorAverageRating(Long vendorId) {
-		return orderRepository.findAverageRatingByVendorId(vendorId);
+		return vendorRatingService.getAverageRating(vendorId);
+	}
+
+	public VendorRatingResponse getVendorRating(Long vendorId) {
+		return vendorRatingService.getRating(vendorId);
+	}
+
+	public Map<Long, VendorRatingResponse> getVendorRatings(Collection<Long> vendorIds) {
+		return vendorRatingService.getRatings(vendorIds);
+	}
+
+	public List<PickupSlotResponse> getPickupSlots(Long vendorId, LocalDate day) {
+		return pickupSlotAllocator.getSlots(vendorId, day);
 	}
 
-	private String generateUniqueOrderNumber() {
-		int maxRetries = 5;
-		for (int i = 0; i < maxRetries; i++) {
-			String orderNumber = qrCodeService.generateOrderNumber();
-			if (!orderRepository.existsByOrderNumber(orderNumber)) {
-				return orderNumber;
+	/**
+	 * Fetches every menu item in the cart with one bulk lookup and rejects the order
+	 * if any item is unknown, unavailable or belongs to a different vendor.
+	 */
+	private Map<Long, MenuItemSnapshot> loadMenuItems(OrderRequest request) {
+		if (request.getItems() == null || request.getItems().isEmpty()) {
+			throw new RuntimeException("Order must contain at least one item");
+		}
+
+		Set<Long> menuItemIds = new LinkedHashSet<>();
+		for (var item : request.getItems()) {
+			if (item.getMenuItemId() == null) {
+				throw new RuntimeException("Menu item ID is required for every order item");
+			}
+			menuItemIds.add(item.getMenuItemId());
+		}
+
+		Map<Long, MenuItemSnapshot> menuItems = menuPublicService.getMenuItemSnapshots(menuItemIds);
+
+		for (Long menuItemId : menuItemIds) {
+			MenuItemSnapshot menuItem = menuItems.get(menuItemId);
+			if (menuItem == null || !menuItem.available()) {
+				String displayName = menuItem != null && menuItem.name() != null
+					? menuItem.name() : "ID: " + menuItemId;
+				log.warn("Order creation failed: Menu item {} is not available", displayName);
+				throw new RuntimeException("Menu item '" + displayName + "' is currently unavailable");
+			}
+			if (request.getVendorId() != null && !request.getVendorId().equals(menuItem.vendorId())) {
+				log.warn("Order creation failed: Menu item {} belongs to vendor {}, not {}",
+					menuItemId, menuItem.vendorId(), request.getVendorId());
+				throw new RuntimeException("Menu item '" + menuItem.name() + "' is not sold by this vendor");
 			}
 		}
-		throw new RuntimeException("Failed to generate unique order number after " + maxRetries + " attempts");
+
+		return menuItems;
+	}
+
+	/**
+	 * Overwrites client-supplied name, unit price and subtotal on each line item with
+	 * the values from the menu lookup.
+	 */
+	private void applyMenuPrices(Order order, Map<Long, MenuItemSnapshot> menuItems) {
+		for (OrderItem item : order.getOrderItems()) {
+			MenuItemSnapshot menuItem = menuItems.get(item.getMenuItemId());
+			item.setMenuItemName(menuItem.name());
+			item.setUnitPrice(menuItem.price());
+			item.setSubtotal(menuItem.price().multiply(BigDecimal.valueOf(item.getQuantity())));
+		}
+	}
+
+	private OrderPageResponse findOrderPage(OrderIdPageQuery query, Long ownerId, OrderPageRequest page) {
+		OrderCursor cursor = OrderCursor.decode(page.cursor());
+		int limit = page.resolvedLimit();
+		String status = page.status() == null || page.status().isBlank() ? null : page.status().trim().toUpperCase();
+		LocalDateTime from = page.from() != null ? page.from() : EARLIEST_ORDER_TIME;
+		LocalDateTime to = page.to() != null ? page.to() : OrderCursor.START.createdAt();
+		if (!from.isBefore(to)) {
+			throw new RuntimeException("Invalid date range: 'from' must be before 'to'");
+		}
+
+		// WHY limit + 1? The extra row tells us whether another page exists without a COUNT query.
+		List<Long> ids = query.find(ownerId, status, from, to, cursor.createdAt(), cursor.id(), Limit.of(limit + 1));
+		boolean hasMore = ids.size() > limit;
+		if (hasMore) {
+			ids = ids.subList(0, limit);
+		}
+		if (ids.isEmpty()) {
+			return new OrderPageResponse(List.of(), null, false);
+		}
+
+		Map<Long, Order> ordersById = orderRepository.findByIdIn(ids).stream()
+			.collect(Collectors.toMap(Order::getId, Function.identity()));
+		List<Order> orders = ids.stream()
+			.map(ordersById::get)
+			.filter(Objects::nonNull)
+			.toList();
+
+		String nextCursor = null;
+		if (hasMore && !orders.isEmpty()) {
+			Order last = orders.get(orders.size() - 1);
+			nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new OrderPageResponse(OrderMapper.toResponseList(orders), nextCursor, hasMore);
+	}
+
+	@FunctionalInterface
+	private interface OrderIdPageQuery {
+		List<Long> find(Long ownerId, String status, LocalDateTime from, LocalDateTime to,
+				LocalDateTime cursorCreatedAt, Long cursorId, Limit limit);
 	}
 
 	private String generateOTP() {
 		return String.format("%06d", new SecureRandom().nextInt(1000000));
 	}
 
-	private void addStatusHistory(Order order, String previousStatus, String newStatus, Long changedBy,
+	private void attachStatusHistory(Order order, String previousStatus, String newStatus, Long changedBy,
 			String changedByRole, String remarks) {
 		OrderStatusHistory history = new OrderStatusHistory();
 		history.setOrder(order);
@@ -314,6 +670,5 @@ public class OrderService {
 		history.setRemarks(remarks);
 
 		order.addStatusHistory(history);
-		orderRepository.save(order);
 	}
 }
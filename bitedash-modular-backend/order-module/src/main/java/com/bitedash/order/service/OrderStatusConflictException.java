@@ -0,0 +1,12 @@
+package com.bitedash.order.service;
+
+/**
+ * Thrown when an order's status changed between reading it and applying a transition, e.g. two
+ * staff members updating the same order at once. The client should reload the order and retry.
+ */
+public class OrderStatusConflictException extends RuntimeException {
+
+	public OrderStatusConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,219 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.PickupSlotResponse;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.shared.api.organisation.OrganisationService;
+import com.bitedash.shared.api.organisation.PickupSlotPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads a vendor's orders over fixed pickup slots (e.g. 20 orders per 10 minutes) so the
+ * lunch peak cannot bury the kitchen.
+ *
+ * WHY counters instead of counting orders? Counting the slot's orders under a lock on a vendor
+ * row would serialise every checkout for that vendor at exactly the moment everyone orders.
+ * Each slot is a counter claimed with a single atomic step (see PickupSlotCounter), so
+ * checkouts only contend when they race for the last place in the same slot.
+ *
+ * Capacity and opening hours come from organisation-module and are cached per vendor and day
+ * for order.pickup-slots.policy-cache-ms. Vendors without a capacity take orders without a slot.
+ * Counters are seeded from today's orders when the application is ready.
+ */
+@Component
+public class PickupSlotAllocator {
+
+	private static final Logger log = LoggerFactory.getLogger(PickupSlotAllocator.class);
+
+	private final PickupSlotCounter counter;
+	private final OrganisationService organisationService;
+	private final OrderRepository orderRepository;
+	private final long policyCacheMillis;
+
+	private record PolicyKey(Long vendorId, LocalDate day) {
+	}
+
+	// A null policy is cached too: most vendors have no capacity configured
+	private record CachedPolicy(PickupSlotPolicy policy, long loadedAt) {
+	}
+
+	private final Map<PolicyKey, CachedPolicy> policies = new ConcurrentHashMap<>();
+
+	public PickupSlotAllocator(PickupSlotCounter counter,
+			OrganisationService organisationService,
+			OrderRepository orderRepository,
+			@Value("${order.pickup-slots.policy-cache-ms:60000}") long policyCacheMillis) {
+		this.counter = counter;
+		this.organisationService = organisationService;
+		this.orderRepository = orderRepository;
+		this.policyCacheMillis = policyCacheMillis;
+	}
+
+	/**
+	 * Claims a place in the earliest slot that has room, starting with the slot containing the
+	 * requested pickup time. Inside a transaction the place is given back if it rolls back.
+	 *
+	 * @return start of the claimed slot, or null if the vendor does not limit orders per slot
+	 * @throws RuntimeException if the vendor is closed or every remaining slot that day is full
+	 */
+	public LocalDateTime claim(Long vendorId, LocalDateTime earliest) {
+		PickupSlotPolicy policy = policy(vendorId, earliest.toLocalDate());
+		if (policy == null) {
+			return null;
+		}
+		if (policy.closed()) {
+			throw new RuntimeException("Vendor is closed on " + earliest.getDayOfWeek());
+		}
+
+		for (LocalDateTime slotStart : slotsFrom(policy, earliest)) {
+			boolean claimed;
+			try {
+				claimed = counter.tryClaim(vendorId, slotStart, policy.ordersPerSlot());
+			} catch (Exception e) {
+				// Taking the order matters more than enforcing capacity while the counters are down
+				log.warn("Pickup slot counters unavailable, placing order for vendor {} without a slot: {}",
+					vendorId, e.getMessage());
+				return null;
+			}
+			if (claimed) {
+				releaseOnRollback(vendorId, slotStart);
+				return slotStart;
+			}
+		}
+		throw new RuntimeException("All pickup slots for this vendor are full for the rest of the day");
+	}
+
+	/**
+	 * Gives back a claimed place, e.g. when the order is cancelled. Inside a transaction the place
+	 * is given back only after commit.
+	 */
+	public void release(Long vendorId, LocalDateTime slotStart) {
+		if (slotStart == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					releaseNow(vendorId, slotStart);
+				}
+			});
+		} else {
+			releaseNow(vendorId, slotStart);
+		}
+	}
+
+	/**
+	 * Fill level of each remaining slot of a vendor's day, for steering customers to quieter
+	 * slots. Empty if the vendor does not limit orders per slot or is closed.
+	 */
+	public List<PickupSlotResponse> getSlots(Long vendorId, LocalDate day) {
+		PickupSlotPolicy policy = policy(vendorId, day);
+		if (policy == null || policy.closed()) {
+			return List.of();
+		}
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime from = day.equals(now.toLocalDate()) ? now : day.atStartOfDay();
+		List<LocalDateTime> slotStarts = slotsFrom(policy, from);
+		List<Integer> claimed = counter.claimed(vendorId, slotStarts);
+
+		List<PickupSlotResponse> slots = new ArrayList<>(slotStarts.size());
+		for (int i = 0; i < slotStarts.size(); i++) {
+			LocalDateTime slotStart = slotStarts.get(i);
+			slots.add(new PickupSlotResponse(slotStart, slotStart.plusMinutes(policy.slotMinutes()),
+				policy.ordersPerSlot(), claimed.get(i)));
+		}
+		return slots;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		try {
+			List<Object[]> rows = orderRepository.countOrdersByPickupSlot(LocalDate.now().atStartOfDay());
+			for (Object[] row : rows) {
+				counter.restore((Long) row[0], (LocalDateTime) row[1], ((Number) row[2]).intValue());
+			}
+			log.info("Pickup slot counters seeded for {} slots", rows.size());
+		} catch (Exception e) {
+			// Counters start empty; capacity is under-enforced until today's slots have passed
+			log.error("Failed to seed pickup slot counters: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Slot starts from the slot containing the given time to the vendor's closing time. Slots are
+	 * aligned to the opening time, or to midnight if the vendor has no hours for the day.
+	 */
+	static List<LocalDateTime> slotsFrom(PickupSlotPolicy policy, LocalDateTime from) {
+		LocalDate day = from.toLocalDate();
+		LocalDateTime open = day.atTime(policy.openTime() != null ? policy.openTime() : LocalTime.MIDNIGHT);
+		LocalDateTime close = policy.closeTime() != null ? day.atTime(policy.closeTime()) : day.plusDays(1).atStartOfDay();
+		if (!close.isAfter(open)) {
+			// Open past midnight
+			close = close.plusDays(1);
+		}
+
+		long slotMinutes = policy.slotMinutes();
+		LocalDateTime first = open;
+		if (from.isAfter(open)) {
+			long elapsed = Duration.between(open, from).toMinutes();
+			first = open.plusMinutes(elapsed - elapsed % slotMinutes);
+		}
+
+		List<LocalDateTime> slots = new ArrayList<>();
+		for (LocalDateTime slot = first; slot.isBefore(close); slot = slot.plusMinutes(slotMinutes)) {
+			slots.add(slot);
+		}
+		return slots;
+	}
+
+	private PickupSlotPolicy policy(Long vendorId, LocalDate day) {
+		PolicyKey key = new PolicyKey(vendorId, day);
+		long now = System.currentTimeMillis();
+		CachedPolicy cached = policies.get(key);
+		if (cached == null || now - cached.loadedAt() > policyCacheMillis) {
+			cached = new CachedPolicy(organisationService.getPickupSlotPolicy(vendorId, day.getDayOfWeek()), now);
+			policies.put(key, cached);
+			LocalDate today = LocalDate.now();
+			policies.keySet().removeIf(k -> k.day().isBefore(today));
+		}
+		return cached.policy();
+	}
+
+	private void releaseOnRollback(Long vendorId, LocalDateTime slotStart) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					releaseNow(vendorId, slotStart);
+				}
+			}
+		});
+	}
+
+	private void releaseNow(Long vendorId, LocalDateTime slotStart) {
+		try {
+			counter.release(vendorId, slotStart);
+		} catch (Exception e) {
+			log.warn("Failed to release pickup slot {} for vendor {}: {}", slotStart, vendorId, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.bitedash.order.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-slot order counters behind PickupSlotAllocator. Claims never take a database row lock.
+ *
+ * Implementations: {@link LocalPickupSlotCounter} (single node, default) and
+ * {@link RedisPickupSlotCounter} (shared by every node, order.pickup-slots.counter=redis).
+ */
+public interface PickupSlotCounter {
+
+	/**
+	 * Takes one place in a slot if fewer than capacity are taken.
+	 *
+	 * @return true if the place was claimed
+	 */
+	boolean tryClaim(Long vendorId, LocalDateTime slotStart, int capacity);
+
+	/**
+	 * Gives back a place taken by {@link #tryClaim}.
+	 */
+	void release(Long vendorId, LocalDateTime slotStart);
+
+	/**
+	 * Places taken in each slot, in the order of slotStarts.
+	 */
+	List<Integer> claimed(Long vendorId, List<LocalDateTime> slotStarts);
+
+	/**
+	 * Seeds a slot with the number of orders the database holds for it. Counters that already
+	 * know a slot keep the larger value.
+	 */
+	void restore(Long vendorId, LocalDateTime slotStart, int claimed);
+}
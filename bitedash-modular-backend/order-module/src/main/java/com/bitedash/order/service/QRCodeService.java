@@ -1,16 +1,32 @@
 package com.bitedash.order.service;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 
+/**
+ * Issues and verifies the signed pickup token encoded in an order's QR code.
+ *
+ * Current tokens (version 1) are a fixed 29-byte binary record, URL-safe Base64 encoded
+ * without padding (39 characters):
+ *
+ * <pre>
+ *   [version:1][orderId:8][issuedAt epoch seconds:4][HMAC-SHA256 truncated:16]
+ * </pre>
+ *
+ * WHY binary? Verification at the pickup counter only needs the order id and the issue time,
+ * so the token is read with fixed offsets instead of parsing JSON, and the order is then
+ * loaded by primary key.
+ *
+ * Legacy tokens (Base64 JSON with orderId, orderNumber, timestamp and a full signature) are
+ * still accepted until they expire.
+ */
 @Service
 public class QRCodeService {
 
@@ -19,27 +35,49 @@ public class QRCodeService {
 
 	private static final String HMAC_ALGORITHM = "HmacSHA256";
 
-	public String generateOrderNumber() {
-		LocalDate today = LocalDate.now();
-		String datePart = today.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-		String randomPart = String.format("%05d", new SecureRandom().nextInt(100000));
-		return "ORD-" + datePart + "-" + randomPart;
+	static final byte VERSION_1 = 1;
+	private static final int MAC_LENGTH = 16;
+	private static final int SIGNED_LENGTH = 1 + Long.BYTES + Integer.BYTES;
+	private static final int TOKEN_LENGTH = SIGNED_LENGTH + MAC_LENGTH;
+
+	private static final long MAX_AGE_MILLIS = 24 * 60 * 60 * 1000L;
+
+	// Every legacy token is Base64 of a JSON object starting with {"
+	private static final String LEGACY_PREFIX = "eyJ";
+
+	private SecretKeySpec signingKey;
+
+	// WHY per thread? Mac instances are not thread safe, and Mac.getInstance plus init is far
+	// more expensive than the HMAC itself. doFinal resets the Mac, so each thread reuses one.
+	private final ThreadLocal<Mac> threadMac = ThreadLocal.withInitial(this::newMac);
+
+	@PostConstruct
+	void init() {
+		signingKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
 	}
 
+	/**
+	 * Issues a version 1 token. The order number is not embedded: the token identifies the
+	 * order by id and the order number is read from the order itself.
+	 */
 	public String generateQRCodeData(Long orderId, String orderNumber) {
-		try {
-			long timestamp = System.currentTimeMillis();
-
-			String dataToSign = orderId + "|" + orderNumber + "|" + timestamp;
+		return generateQRCodeData(orderId, System.currentTimeMillis());
+	}
 
-			String signature = generateHMAC(dataToSign);
+	String generateQRCodeData(Long orderId, long issuedAtMillis) {
+		try {
+			byte[] token = new byte[TOKEN_LENGTH];
+			ByteBuffer.wrap(token)
+				.put(VERSION_1)
+				.putLong(orderId)
+				.putInt((int) (issuedAtMillis / 1000));
 
-			String jsonData = String.format(
-				"{\"orderId\":%d,\"orderNumber\":\"%s\",\"timestamp\":%d,\"signature\":\"%s\"}",
-				orderId, orderNumber, timestamp, signature
-			);
+			Mac mac = threadMac.get();
+			mac.update(token, 0, SIGNED_LENGTH);
+			byte[] signature = mac.doFinal();
+			System.arraycopy(signature, 0, token, SIGNED_LENGTH, MAC_LENGTH);
 
-			return Base64.getEncoder().encodeToString(jsonData.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
 
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to generate QR code: " + e.getMessage(), e);
@@ -47,39 +85,86 @@ public class QRCodeService {
 	}
 
 	public boolean verifyQRCodeData(String qrCodeData) {
-		try {
-			String jsonData = new String(Base64.getDecoder().decode(qrCodeData), StandardCharsets.UTF_8);
+		return verifiedOrderId(qrCodeData) != null;
+	}
 
-			Long orderId = extractValue(jsonData, "orderId", Long.class);
-			String orderNumber = extractValue(jsonData, "orderNumber", String.class);
-			Long timestamp = extractValue(jsonData, "timestamp", Long.class);
-			String providedSignature = extractValue(jsonData, "signature", String.class);
+	/**
+	 * Verifies the signature and age of a token, old or new format.
+	 *
+	 * @return the order id carried by the token, or null if the token is invalid or expired
+	 */
+	public Long verifiedOrderId(String qrCodeData) {
+		if (qrCodeData == null || qrCodeData.isEmpty()) {
+			return null;
+		}
+		try {
+			if (qrCodeData.startsWith(LEGACY_PREFIX)) {
+				return verifiedLegacyOrderId(qrCodeData);
+			}
 
-			long currentTime = System.currentTimeMillis();
-			long maxAge = 24 * 60 * 60 * 1000;
-			if (currentTime - timestamp > maxAge) {
-				return false;
+			byte[] token = Base64.getUrlDecoder().decode(qrCodeData);
+			if (token.length != TOKEN_LENGTH || token[0] != VERSION_1) {
+				return null;
 			}
 
-			String dataToSign = orderId + "|" + orderNumber + "|" + timestamp;
-			String expectedSignature = generateHMAC(dataToSign);
+			ByteBuffer buffer = ByteBuffer.wrap(token);
+			buffer.position(1);
+			long orderId = buffer.getLong();
+			long issuedAtMillis = Integer.toUnsignedLong(buffer.getInt()) * 1000;
+			if (isExpired(issuedAtMillis)) {
+				return null;
+			}
 
-			return expectedSignature.equals(providedSignature);
+			Mac mac = threadMac.get();
+			mac.update(token, 0, SIGNED_LENGTH);
+			byte[] expected = mac.doFinal();
+			return constantTimeEquals(expected, token, SIGNED_LENGTH, MAC_LENGTH) ? orderId : null;
 
 		} catch (Exception e) {
-			return false;
+			return null;
 		}
 	}
 
-	private String generateHMAC(String data) throws Exception {
-		Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-		SecretKeySpec secretKeySpec = new SecretKeySpec(
-			secretKey.getBytes(StandardCharsets.UTF_8),
-			HMAC_ALGORITHM
-		);
-		mac.init(secretKeySpec);
-		byte[] hmacBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-		return Base64.getEncoder().encodeToString(hmacBytes);
+	private Long verifiedLegacyOrderId(String qrCodeData) throws Exception {
+		String jsonData = new String(Base64.getDecoder().decode(qrCodeData), StandardCharsets.UTF_8);
+
+		Long orderId = extractValue(jsonData, "orderId", Long.class);
+		String orderNumber = extractValue(jsonData, "orderNumber", String.class);
+		Long timestamp = extractValue(jsonData, "timestamp", Long.class);
+		String providedSignature = extractValue(jsonData, "signature", String.class);
+
+		if (isExpired(timestamp)) {
+			return null;
+		}
+
+		String dataToSign = orderId + "|" + orderNumber + "|" + timestamp;
+		byte[] expected = threadMac.get().doFinal(dataToSign.getBytes(StandardCharsets.UTF_8));
+		byte[] provided = Base64.getDecoder().decode(providedSignature);
+
+		return provided.length == expected.length && constantTimeEquals(expected, provided, 0, expected.length)
+			? orderId : null;
+	}
+
+	private static boolean isExpired(long issuedAtMillis) {
+		return System.currentTimeMillis() - issuedAtMillis > MAX_AGE_MILLIS;
+	}
+
+	private static boolean constantTimeEquals(byte[] expected, byte[] actual, int offset, int length) {
+		int diff = 0;
+		for (int i = 0; i < length; i++) {
+			diff |= expected[i] ^ actual[offset + i];
+		}
+		return diff == 0;
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(signingKey);
+			return mac;
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to initialise QR code signer: " + e.getMessage(), e);
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -100,10 +185,20 @@ public class QRCodeService {
 		return null;
 	}
 
+	/**
+	 * Order id carried by a token, without verifying it.
+	 */
 	public Long extractOrderId(String qrCodeData) {
 		try {
-			String jsonData = new String(Base64.getDecoder().decode(qrCodeData), StandardCharsets.UTF_8);
-			return extractValue(jsonData, "orderId", Long.class);
+			if (qrCodeData.startsWith(LEGACY_PREFIX)) {
+				String jsonData = new String(Base64.getDecoder().decode(qrCodeData), StandardCharsets.UTF_8);
+				return extractValue(jsonData, "orderId", Long.class);
+			}
+			byte[] token = Base64.getUrlDecoder().decode(qrCodeData);
+			if (token.length != TOKEN_LENGTH || token[0] != VERSION_1) {
+				return null;
+			}
+			return ByteBuffer.wrap(token, 1, Long.BYTES).getLong();
 		} catch (Exception e) {
 			return null;
 		}
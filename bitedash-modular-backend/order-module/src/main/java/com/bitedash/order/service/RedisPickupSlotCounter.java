@@ -0,0 +1,84 @@
+package com.bitedash.order.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slot counters shared by every node, one Redis integer per (vendor, slot).
+ *
+ * A claim is INCR followed, if the slot turned out to be full, by DECR. Two concurrent claims
+ * for the last place can both see the slot as full for a moment and both be turned away, but a
+ * slot is never overbooked. Keys expire a day after their slot.
+ */
+public class RedisPickupSlotCounter implements PickupSlotCounter {
+
+	private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+	private static final Duration RETENTION = Duration.ofDays(1);
+
+	private final StringRedisTemplate redisTemplate;
+	private final String keyPrefix;
+
+	public RedisPickupSlotCounter(StringRedisTemplate redisTemplate, String keyPrefix) {
+		this.redisTemplate = redisTemplate;
+		this.keyPrefix = keyPrefix;
+	}
+
+	@Override
+	public boolean tryClaim(Long vendorId, LocalDateTime slotStart, int capacity) {
+		String key = key(vendorId, slotStart);
+		Long count = redisTemplate.opsForValue().increment(key);
+		if (count == null) {
+			return false;
+		}
+		if (count == 1) {
+			redisTemplate.expire(key, ttl(slotStart));
+		}
+		if (count > capacity) {
+			redisTemplate.opsForValue().decrement(key);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void release(Long vendorId, LocalDateTime slotStart) {
+		String key = key(vendorId, slotStart);
+		Long count = redisTemplate.opsForValue().decrement(key);
+		if (count != null && count < 0) {
+			// Released a slot this counter never saw claimed (e.g. the key expired)
+			redisTemplate.opsForValue().increment(key);
+		}
+	}
+
+	@Override
+	public List<Integer> claimed(Long vendorId, List<LocalDateTime> slotStarts) {
+		List<String> keys = slotStarts.stream().map(slotStart -> key(vendorId, slotStart)).toList();
+		List<String> values = redisTemplate.opsForValue().multiGet(keys);
+		List<Integer> claimed = new ArrayList<>(keys.size());
+		for (int i = 0; i < keys.size(); i++) {
+			String value = values != null ? values.get(i) : null;
+			claimed.add(value != null ? Math.max(0, Integer.parseInt(value)) : 0);
+		}
+		return claimed;
+	}
+
+	@Override
+	public void restore(Long vendorId, LocalDateTime slotStart, int claimed) {
+		// Redis keeps its counters across application restarts; only fill in slots it has lost
+		redisTemplate.opsForValue().setIfAbsent(key(vendorId, slotStart), String.valueOf(claimed), ttl(slotStart));
+	}
+
+	private String key(Long vendorId, LocalDateTime slotStart) {
+		return keyPrefix + vendorId + ":" + SLOT_FORMAT.format(slotStart);
+	}
+
+	private static Duration ttl(LocalDateTime slotStart) {
+		Duration untilSlot = Duration.between(LocalDateTime.now(), slotStart);
+		return (untilSlot.isNegative() ? Duration.ZERO : untilSlot).plus(RETENTION);
+	}
+}
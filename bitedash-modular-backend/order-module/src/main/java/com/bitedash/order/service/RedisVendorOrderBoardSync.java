@@ -0,0 +1,76 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Shares vendor order board changes between nodes through Redis pub/sub.
+ *
+ * WHY? Each node keeps its own board, but only the node that committed a change tracks it. A
+ * vendor whose polls land on another node would otherwise not see a new order until that node's
+ * next reconciliation sweep. Every committed change is published here and applied by all other
+ * nodes; the sweep still repairs anything lost while Redis was unreachable.
+ *
+ * Wire format: sending node id, '\n', order JSON. A node ignores its own messages, since it has
+ * already applied the change and a late echo could overwrite a newer one.
+ */
+public class RedisVendorOrderBoardSync implements MessageListener {
+
+	private static final Logger log = LoggerFactory.getLogger(RedisVendorOrderBoardSync.class);
+
+	private static final char SEPARATOR = '\n';
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final VendorOrderBoard board;
+	private final String channel;
+	private final String nodeId = UUID.randomUUID().toString();
+
+	public RedisVendorOrderBoardSync(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+			VendorOrderBoard board, String channel) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.board = board;
+		this.channel = channel;
+	}
+
+	public void publish(OrderResponse order) {
+		try {
+			redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + objectMapper.writeValueAsString(order));
+		} catch (JsonProcessingException e) {
+			log.error("Failed to serialize board change for order {}: {}", order.getId(), e.getMessage());
+		} catch (Exception e) {
+			// Other nodes pick the change up at their next reconciliation sweep
+			log.warn("Redis unavailable, board change for order {} stays on this node: {}",
+				order.getId(), e.getMessage());
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		int separator = body.indexOf(SEPARATOR);
+		if (separator <= 0) {
+			log.warn("Ignoring malformed board message on channel {}", channel);
+			return;
+		}
+		if (body.startsWith(nodeId) && separator == nodeId.length()) {
+			return;
+		}
+		try {
+			board.apply(objectMapper.readValue(body.substring(separator + 1), OrderResponse.class));
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable board message on channel {}: {}", channel, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,300 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.mapper.OrderMapper;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.order.repository.ScheduledOrderView;
+import com.bitedash.shared.event.OrderReleasedEvent;
+import com.bitedash.shared.outbox.OutboxPublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds scheduled orders back from the vendor queue until a configurable lead time before their
+ * pickup time (order.scheduled.release-lead-minutes).
+ *
+ * WHY? Pre-orders placed in the morning for lunch would otherwise sit on the kitchen board for
+ * hours between the orders the kitchen has to cook now. Each held order waits in a DelayQueue
+ * ordered by its release time; one worker thread sleeps until the earliest is due and releases
+ * everything due in a single transaction, so nothing polls the database per order.
+ *
+ * Releasing sets released_at with a conditional UPDATE. When several nodes hold the same order
+ * only one of them wins, and only the winner adds it to the vendor board and publishes an
+ * OrderReleasedEvent through the outbox. The queue is rebuilt from the database once the
+ * application is ready and resynced periodically, which also picks up orders placed on other
+ * nodes and retries releases that failed.
+ *
+ * Metrics:
+ * - order.scheduled.release.latency: how long after its release time an order was released
+ * - order.scheduled.backlog: held orders waiting in the queue
+ */
+@Component
+public class ScheduledOrderReleaser {
+
+	private static final Logger log = LoggerFactory.getLogger(ScheduledOrderReleaser.class);
+
+	private static final long POLL_MILLIS = 1000;
+	private static final int MAX_BATCH = 200;
+
+	private final OrderRepository orderRepository;
+	private final VendorOrderBoard vendorOrderBoard;
+	private final OutboxPublisher outboxPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final long leadMinutes;
+
+	private final DelayQueue<PendingRelease> queue = new DelayQueue<>();
+
+	// orderId -> release currently queued for it. Queue entries that no longer match are stale and skipped.
+	private final Map<Long, PendingRelease> pending = new ConcurrentHashMap<>();
+
+	private final Timer latencyTimer;
+
+	private Thread worker;
+	private volatile boolean running;
+
+	record PendingRelease(Long orderId, long releaseAtMillis) implements Delayed {
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(releaseAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(releaseAtMillis, ((PendingRelease) other).releaseAtMillis);
+		}
+	}
+
+	public ScheduledOrderReleaser(OrderRepository orderRepository,
+			VendorOrderBoard vendorOrderBoard,
+			OutboxPublisher outboxPublisher,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${order.scheduled.release-lead-minutes:30}") long leadMinutes) {
+		this.orderRepository = orderRepository;
+		this.vendorOrderBoard = vendorOrderBoard;
+		this.outboxPublisher = outboxPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.leadMinutes = leadMinutes;
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.latencyTimer = Timer.builder("order.scheduled.release.latency")
+			.description("Time from a scheduled order's release time to its release")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+		Gauge.builder("order.scheduled.backlog", pending, Map::size)
+			.description("Scheduled orders waiting for release")
+			.register(registry);
+	}
+
+	@PostConstruct
+	void start() {
+		running = true;
+		worker = new Thread(this::run, "scheduled-order-releaser");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	void stop() {
+		running = false;
+		if (worker != null) {
+			worker.interrupt();
+		}
+	}
+
+	/**
+	 * Whether an order scheduled for the given pickup time should be held back instead of going
+	 * to the vendor right away.
+	 */
+	public boolean shouldHold(LocalDateTime scheduledTime) {
+		return scheduledTime != null && releaseTime(scheduledTime).isAfter(LocalDateTime.now());
+	}
+
+	/**
+	 * Queues a held order for release. Inside a transaction the order is queued only after commit,
+	 * so an order that rolled back is never released.
+	 */
+	public void schedule(Long orderId, LocalDateTime scheduledTime) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enqueue(orderId, scheduledTime);
+				}
+			});
+		} else {
+			enqueue(orderId, scheduledTime);
+		}
+	}
+
+	int backlog() {
+		return pending.size();
+	}
+
+	void enqueue(Long orderId, LocalDateTime scheduledTime) {
+		// An order without a pickup time is released on the next pass
+		long releaseAtMillis = scheduledTime != null
+			? releaseTime(scheduledTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+			: System.currentTimeMillis();
+		PendingRelease release = new PendingRelease(orderId, releaseAtMillis);
+		if (!release.equals(pending.put(orderId, release))) {
+			queue.put(release);
+		}
+	}
+
+	private LocalDateTime releaseTime(LocalDateTime scheduledTime) {
+		return scheduledTime.minusMinutes(leadMinutes);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		try {
+			int loaded = resync();
+			log.info("Scheduled order releaser loaded {} held orders", loaded);
+		} catch (Exception e) {
+			// The resync will retry; a failed seed must not stop the application from starting
+			log.error("Failed to load held scheduled orders: {}", e.getMessage(), e);
+		}
+	}
+
+	@Scheduled(
+		fixedDelayString = "${order.scheduled.resync-interval-ms:60000}",
+		initialDelayString = "${order.scheduled.resync-interval-ms:60000}"
+	)
+	public void scheduledResync() {
+		try {
+			resync();
+		} catch (Exception e) {
+			log.error("Scheduled order resync failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Queues every order still held in the database. Orders already queued are left alone; orders
+	 * released elsewhere in the meantime are dropped when their turn comes.
+	 *
+	 * @return number of held orders found in the database
+	 */
+	int resync() {
+		List<ScheduledOrderView> held = orderRepository.findByReleasedAtIsNullAndDeletedFalse();
+		for (ScheduledOrderView order : held) {
+			enqueue(order.getId(), order.getScheduledTime());
+		}
+		return held.size();
+	}
+
+	private void run() {
+		while (running) {
+			PendingRelease first;
+			try {
+				first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				continue;
+			}
+			if (first != null) {
+				release(drainDue(first));
+			}
+		}
+	}
+
+	/**
+	 * Releases every order that is due now.
+	 *
+	 * @return number of orders released
+	 */
+	int releaseDue() {
+		return release(drainDue(null));
+	}
+
+	private List<PendingRelease> drainDue(PendingRelease first) {
+		List<PendingRelease> due = new ArrayList<>();
+		if (first != null) {
+			due.add(first);
+		}
+		queue.drainTo(due, MAX_BATCH - due.size());
+		return due;
+	}
+
+	private int release(List<PendingRelease> due) {
+		Map<Long, PendingRelease> claimed = new HashMap<>();
+		for (PendingRelease release : due) {
+			if (pending.remove(release.orderId(), release)) {
+				claimed.put(release.orderId(), release);
+			}
+		}
+		if (claimed.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			Integer released = transactionTemplate.execute(status -> {
+				LocalDateTime now = LocalDateTime.now();
+				List<Long> won = new ArrayList<>(claimed.size());
+				for (Long orderId : claimed.keySet()) {
+					if (orderRepository.markReleased(orderId, now) == 1) {
+						won.add(orderId);
+					}
+				}
+				if (won.isEmpty()) {
+					return 0;
+				}
+
+				long releasedAtMillis = System.currentTimeMillis();
+				for (Order order : orderRepository.findByIdIn(won)) {
+					latencyTimer.record(Math.max(0, releasedAtMillis - claimed.get(order.getId()).releaseAtMillis()),
+						TimeUnit.MILLISECONDS);
+
+					OrderResponse response = OrderMapper.toResponse(order);
+					vendorOrderBoard.track(response);
+					outboxPublisher.publish(OutboxPublisher.AGGREGATE_ORDER, order.getId(), new OrderReleasedEvent(
+						order.getId(),
+						order.getOrderNumber(),
+						order.getUserId(),
+						order.getVendorId(),
+						order.getStatus(),
+						order.getScheduledTime() != null ? order.getScheduledTime().toString() : null
+					));
+				}
+				return won.size();
+			});
+			if (released != null && released > 0) {
+				log.info("Released {} scheduled orders to vendor queues", released);
+			}
+			return released != null ? released : 0;
+
+		} catch (Exception e) {
+			// Still held in the database, so the next resync queues them again
+			log.error("Failed to release {} scheduled orders: {}", claimed.size(), e.getMessage(), e);
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.order.entity.OrderStatus;
+import com.bitedash.order.mapper.OrderMapper;
+import com.bitedash.order.repository.OrderRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory board of each vendor's live orders (PENDING, CONFIRMED, PREPARING, READY) for the kitchen display.
+ * Scheduled orders join the board when ScheduledOrderReleaser releases them.
+ *
+ * WHY in memory? Vendors poll their order list constantly during service, but only the handful of
+ * orders still in the kitchen matter. Keeping those per vendor turns every poll into a map lookup
+ * instead of a database query.
+ *
+ * The board is seeded from the database once the application is ready and kept current by
+ * OrderService after each commit. A periodic reconciliation sweep re-reads the active orders and
+ * repairs any drift (e.g. missed callbacks or out-of-order commits).
+ *
+ * Each node has its own board. With {@code order.websocket.cluster.mode=redis} every committed
+ * change is also published through RedisVendorOrderBoardSync and applied on the other nodes, so a
+ * vendor sees the same orders whichever node serves the poll. A change lost while Redis is down
+ * shows up on the other nodes at their next sweep.
+ */
+@Component
+public class VendorOrderBoard {
+
+	private static final Logger log = LoggerFactory.getLogger(VendorOrderBoard.class);
+
+	// Derived from the lifecycle so a new kitchen status cannot be left off the board
+	static final Set<String> ACTIVE_STATUSES = Arrays.stream(OrderStatus.values())
+		.filter(OrderStatus::isInKitchen)
+		.map(OrderStatus::name)
+		.collect(Collectors.toUnmodifiableSet());
+
+	private static final Comparator<OrderResponse> KITCHEN_ORDER = Comparator
+		.comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+		.thenComparing(OrderResponse::getId);
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	// Present only in cluster mode; resolved lazily because the sync applies changes back to this board
+	@Autowired
+	private ObjectProvider<RedisVendorOrderBoardSync> clusterSync;
+
+	// vendorId -> (orderId -> entry). Vendor maps are never removed, so writers can hold on to them safely.
+	private final Map<Long, Map<Long, BoardEntry>> boards = new ConcurrentHashMap<>();
+
+	// orderId -> nanoTime of eviction, so a sweep that read the database earlier cannot resurrect it
+	private final Map<Long, Long> evictedAt = new ConcurrentHashMap<>();
+
+	private record BoardEntry(OrderResponse order, long touchedAt) {
+	}
+
+	/**
+	 * Records the latest state of an order. Inside a transaction the change is applied only after
+	 * commit, so the board never shows an order that was rolled back. In cluster mode the change
+	 * is then shared with the other nodes.
+	 */
+	public void track(OrderResponse order) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					applyAndShare(order);
+				}
+			});
+		} else {
+			applyAndShare(order);
+		}
+	}
+
+	private void applyAndShare(OrderResponse order) {
+		apply(order);
+		RedisVendorOrderBoardSync sync = clusterSync != null ? clusterSync.getIfAvailable() : null;
+		if (sync != null && order != null && order.getId() != null) {
+			sync.publish(order);
+		}
+	}
+
+	/**
+	 * Live orders for a vendor, oldest first. Never touches the database.
+	 */
+	public List<OrderResponse> getActiveOrders(Long vendorId) {
+		Map<Long, BoardEntry> board = boards.get(vendorId);
+		if (board == null) {
+			return List.of();
+		}
+		return board.values().stream()
+			.map(BoardEntry::order)
+			.sorted(KITCHEN_ORDER)
+			.toList();
+	}
+
+	void apply(OrderResponse order) {
+		if (order == null || order.getId() == null || order.getVendorId() == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		Map<Long, BoardEntry> board = boards.computeIfAbsent(order.getVendorId(), id -> new ConcurrentHashMap<>());
+		if (ACTIVE_STATUSES.contains(order.getStatus())) {
+			board.put(order.getId(), new BoardEntry(order, now));
+			evictedAt.remove(order.getId());
+		} else {
+			board.remove(order.getId());
+			evictedAt.put(order.getId(), now);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		try {
+			int loaded = reconcile();
+			log.info("Vendor order board seeded with {} active orders", loaded);
+		} catch (Exception e) {
+			// The sweep will retry; a failed seed must not stop the application from starting
+			log.error("Failed to seed vendor order board: {}", e.getMessage(), e);
+		}
+	}
+
+	@Scheduled(
+		fixedDelayString = "${order.board.reconcile-interval-ms:60000}",
+		initialDelayString = "${order.board.reconcile-interval-ms:60000}"
+	)
+	public void scheduledReconcile() {
+		try {
+			reconcile();
+		} catch (Exception e) {
+			log.error("Vendor order board reconciliation failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Brings the board in line with the database. Entries written after the sweep started are
+	 * newer than the snapshot it read, so they are left alone.
+	 *
+	 * @return number of active orders found in the database
+	 */
+	int reconcile() {
+		long sweepStart = System.nanoTime();
+		Map<Long, OrderResponse> active = orderRepository.findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(ACTIVE_STATUSES).stream()
+			.map(OrderMapper::toResponse)
+			.collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+
+		int removed = 0;
+		for (Map<Long, BoardEntry> board : boards.values()) {
+			for (Map.Entry<Long, BoardEntry> entry : board.entrySet()) {
+				BoardEntry current = entry.getValue();
+				if (current.touchedAt() < sweepStart && !active.containsKey(entry.getKey())
+						&& board.remove(entry.getKey(), current)) {
+					removed++;
+				}
+			}
+		}
+
+		int repaired = 0;
+		for (OrderResponse order : active.values()) {
+			Long evicted = evictedAt.get(order.getId());
+			if (evicted != null && evicted >= sweepStart) {
+				continue;
+			}
+			Map<Long, BoardEntry> board = boards.computeIfAbsent(order.getVendorId(), id -> new ConcurrentHashMap<>());
+			BoardEntry current = board.get(order.getId());
+			if (current != null && (current.touchedAt() >= sweepStart
+					|| Objects.equals(current.order().getStatus(), order.getStatus()))) {
+				continue;
+			}
+			boolean replaced = current == null
+				? board.putIfAbsent(order.getId(), new BoardEntry(order, sweepStart)) == null
+				: board.replace(order.getId(), current, new BoardEntry(order, sweepStart));
+			if (replaced) {
+				repaired++;
+			}
+		}
+
+		// Tombstones only protect sweeps whose snapshot predates the eviction
+		evictedAt.values().removeIf(evicted -> evicted < sweepStart);
+
+		if (removed > 0 || repaired > 0) {
+			log.info("Vendor order board reconciled: {} added or refreshed, {} removed", repaired, removed);
+		}
+		return active.size();
+	}
+}
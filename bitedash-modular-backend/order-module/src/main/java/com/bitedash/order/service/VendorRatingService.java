@@ -0,0 +1,194 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.VendorRatingResponse;
+import com.bitedash.order.entity.VendorRatingSummary;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.order.repository.VendorRatingSummaryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-vendor rating aggregates (count, sum and a 1-5 star histogram).
+ *
+ * WHY aggregates? The vendor card with its rating appears in every menu listing. Averaging every
+ * rated order on each view grows with the vendor's history; the summary row is updated once per
+ * rating and read by primary key, and a whole cafeteria's vendors are read in one query.
+ *
+ * rateOrder applies deltas in SQL under the summary row lock. The repair job recounts each vendor
+ * from orders under the same lock, so a rating committed during the repair is neither lost nor
+ * counted twice.
+ */
+@Service
+public class VendorRatingService {
+
+	private static final Logger log = LoggerFactory.getLogger(VendorRatingService.class);
+
+	@Autowired
+	private VendorRatingSummaryRepository summaryRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * Adds a rating to the vendor's aggregates, replacing the order's previous rating if it had one.
+	 * Must run in the transaction that stores the rating on the order.
+	 */
+	@Transactional
+	public void recordRating(Long vendorId, Integer previousRating, int newRating) {
+		if (previousRating != null && previousRating == newRating) {
+			return;
+		}
+		long[] stars = new long[5];
+		stars[newRating - 1]++;
+		long countDelta = 1;
+		long sumDelta = newRating;
+		if (previousRating != null) {
+			stars[previousRating - 1]--;
+			countDelta = 0;
+			sumDelta -= previousRating;
+		}
+
+		summaryRepository.insertIfMissing(vendorId);
+		summaryRepository.applyDelta(vendorId, countDelta, sumDelta,
+			stars[0], stars[1], stars[2], stars[3], stars[4], LocalDateTime.now());
+	}
+
+	/**
+	 * @return the vendor's average rating, or null if no order has been rated
+	 */
+	public Double getAverageRating(Long vendorId) {
+		return getRating(vendorId).getAverageRating();
+	}
+
+	public VendorRatingResponse getRating(Long vendorId) {
+		return summaryRepository.findById(vendorId)
+			.map(VendorRatingService::toResponse)
+			.orElseGet(() -> emptyRating(vendorId));
+	}
+
+	/**
+	 * Ratings for many vendors from one query. Every requested vendor is present in the result,
+	 * in request order; vendors without ratings have a null average.
+	 */
+	public Map<Long, VendorRatingResponse> getRatings(Collection<Long> vendorIds) {
+		Set<Long> ids = new LinkedHashSet<>(vendorIds);
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Long, VendorRatingSummary> summaries = summaryRepository.findByVendorIdIn(ids).stream()
+			.collect(Collectors.toMap(VendorRatingSummary::getVendorId, Function.identity()));
+
+		Map<Long, VendorRatingResponse> ratings = new LinkedHashMap<>();
+		for (Long vendorId : ids) {
+			VendorRatingSummary summary = summaries.get(vendorId);
+			ratings.put(vendorId, summary != null ? toResponse(summary) : emptyRating(vendorId));
+		}
+		return ratings;
+	}
+
+	@Scheduled(cron = "${order.rating.repair-cron:0 30 3 * * *}")
+	public void scheduledRebuild() {
+		try {
+			int repaired = rebuildAll();
+			log.info("Vendor rating aggregates rebuilt, {} vendors corrected", repaired);
+		} catch (Exception e) {
+			log.error("Vendor rating rebuild failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Recounts every vendor's aggregates from orders, one vendor per transaction.
+	 *
+	 * @return number of vendors whose aggregates were wrong
+	 */
+	public int rebuildAll() {
+		Set<Long> vendorIds = new LinkedHashSet<>(orderRepository.findRatedVendorIds());
+		summaryRepository.findAll().forEach(summary -> vendorIds.add(summary.getVendorId()));
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		int repaired = 0;
+		for (Long vendorId : vendorIds) {
+			if (Boolean.TRUE.equals(transactionTemplate.execute(status -> rebuild(vendorId)))) {
+				repaired++;
+			}
+		}
+		return repaired;
+	}
+
+	/**
+	 * @return true if the stored aggregates differed from the recount
+	 */
+	boolean rebuild(Long vendorId) {
+		// Lock first: a concurrent rateOrder either committed before the recount (and is counted)
+		// or waits for this transaction and applies its delta on top of the recount
+		summaryRepository.insertIfMissing(vendorId);
+		VendorRatingSummary summary = summaryRepository.findForUpdate(vendorId)
+			.orElseThrow(() -> new RuntimeException("Rating summary missing for vendor " + vendorId));
+
+		long[] histogram = new long[5];
+		for (Object[] row : orderRepository.countRatingsByStars(vendorId)) {
+			int stars = ((Number) row[0]).intValue();
+			if (stars >= 1 && stars <= 5) {
+				histogram[stars - 1] = ((Number) row[1]).longValue();
+			}
+		}
+		long count = 0;
+		long sum = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			count += histogram[i];
+			sum += histogram[i] * (i + 1);
+		}
+
+		if (summary.getRatingCount() == count && summary.getRatingSum() == sum
+				&& Arrays.equals(summary.histogram(), histogram)) {
+			return false;
+		}
+		log.warn("Vendor {} rating aggregates drifted (count {} -> {}, sum {} -> {}); repairing",
+			vendorId, summary.getRatingCount(), count, summary.getRatingSum(), sum);
+		summary.setRatingCount(count);
+		summary.setRatingSum(sum);
+		summary.setHistogram(histogram);
+		summary.setUpdatedAt(LocalDateTime.now());
+		return true;
+	}
+
+	private static VendorRatingResponse toResponse(VendorRatingSummary summary) {
+		Map<Integer, Long> histogram = new LinkedHashMap<>();
+		long[] counts = summary.histogram();
+		for (int i = 0; i < counts.length; i++) {
+			histogram.put(i + 1, counts[i]);
+		}
+		Double average = summary.getRatingCount() > 0
+			? (double) summary.getRatingSum() / summary.getRatingCount()
+			: null;
+		return new VendorRatingResponse(summary.getVendorId(), average, summary.getRatingCount(), histogram);
+	}
+
+	private static VendorRatingResponse emptyRating(Long vendorId) {
+		Map<Integer, Long> histogram = new LinkedHashMap<>();
+		for (int stars = 1; stars <= 5; stars++) {
+			histogram.put(stars, 0L);
+		}
+		return new VendorRatingResponse(vendorId, null, 0, histogram);
+	}
+}
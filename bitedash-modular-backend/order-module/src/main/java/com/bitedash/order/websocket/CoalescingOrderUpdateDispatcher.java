@@ -0,0 +1,171 @@
+package com.bitedash.order.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Hands order updates to a single background thread and merges repeated updates for the same
+ * order that arrive within a short window, so only the latest status is sent.
+ *
+ * WHY? During the lunch rush a kitchen moves many orders PENDING -> PREPARING -> READY in quick
+ * succession. Sending on the request thread makes every status change wait for two broker sends,
+ * and clients only care about the latest status anyway.
+ *
+ * Everything sent after one window is handed to the sink together, in queue order, so the sink
+ * can group the updates per recipient (a bulk status change then reaches the vendor as one
+ * message). Each order appears at most once in a window, with its latest update. A newer update
+ * that leaves out a recipient (e.g. an order released to the vendor, after being placed with only
+ * the employee notified) keeps the earlier update's recipient, so nobody misses the order.
+ *
+ * The queue is bounded. When it is full, {@link #submit} returns the update so the caller can
+ * send it itself; updates are never dropped.
+ */
+class CoalescingOrderUpdateDispatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingOrderUpdateDispatcher.class);
+
+    // Latest pending update per order. An order id is in the queue only while it has an entry here.
+    private final Map<Long, OrderUpdateMessage> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> queue;
+    private final Consumer<List<OrderUpdateMessage>> sink;
+    private final long windowMillis;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    CoalescingOrderUpdateDispatcher(int queueCapacity, long windowMillis, Consumer<List<OrderUpdateMessage>> sink) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowMillis = windowMillis;
+        this.sink = sink;
+        this.worker = new Thread(this::run, "order-update-dispatcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues an update, replacing any update for the same order that has not been sent yet. The
+     * replacement still reaches the recipients of the update it replaces.
+     *
+     * @return null if queued, otherwise the update the caller must send itself because the queue is full
+     */
+    OrderUpdateMessage submit(OrderUpdateMessage update) {
+        if (!running) {
+            return update;
+        }
+        submitted.increment();
+        boolean[] replaced = new boolean[1];
+        pending.compute(update.orderId(), (orderId, previous) -> {
+            replaced[0] = previous != null;
+            return previous == null ? update : update.withRecipientsFrom(previous);
+        });
+        if (replaced[0]) {
+            // Already queued; the dispatcher will pick up this newer update instead
+            coalesced.increment();
+            return null;
+        }
+        if (!queue.offer(update.orderId())) {
+            overflowed.increment();
+            // Another thread may have replaced our entry in the meantime, so hand back whatever is latest
+            return pending.remove(update.orderId());
+        }
+        return null;
+    }
+
+    private void run() {
+        List<Long> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            Long first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            if (windowMillis > 0 && running) {
+                try {
+                    // Give follow-up updates for the queued orders a chance to merge
+                    Thread.sleep(windowMillis);
+                } catch (InterruptedException e) {
+                    // close() cuts the window short; send what we have
+                }
+            }
+            queue.drainTo(batch);
+            List<OrderUpdateMessage> updates = new ArrayList<>(batch.size());
+            for (Long orderId : batch) {
+                OrderUpdateMessage update = pending.remove(orderId);
+                if (update != null) {
+                    updates.add(update);
+                }
+            }
+            send(updates);
+            batch.clear();
+        }
+    }
+
+    private void send(List<OrderUpdateMessage> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            sink.accept(updates);
+        } catch (Exception e) {
+            log.error("Failed to dispatch {} order updates, error: {}", updates.size(), e.getMessage(), e);
+        }
+    }
+
+    long submittedCount() {
+        return submitted.sum();
+    }
+
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    long overflowCount() {
+        return overflowed.sum();
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Sends everything still queued without waiting for the merge window, then stops the worker.
+     * Updates submitted afterwards are handed back to the caller.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything submitted while the worker was stopping
+        List<OrderUpdateMessage> updates = new ArrayList<>();
+        for (Long orderId : pending.keySet()) {
+            OrderUpdateMessage update = pending.remove(orderId);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+        send(updates);
+    }
+}
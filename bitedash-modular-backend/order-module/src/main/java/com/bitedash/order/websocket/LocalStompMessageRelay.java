@@ -0,0 +1,24 @@
+package com.bitedash.order.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node relay: messages only reach clients connected to this instance.
+ */
+@Component
+@ConditionalOnProperty(name = "order.websocket.cluster.mode", havingValue = "local", matchIfMissing = true)
+public class LocalStompMessageRelay implements StompMessageRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalStompMessageRelay(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bitedash.order.websocket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * WebSocket payload grouping several order updates for one recipient, sent by the coalescing
+ * publisher when updates of several orders fall in the same window (a vendor moving many orders
+ * at once). Clients tell it apart from a single OrderUpdateMessage by its type.
+ * The timestamp is an ISO-8601 local date-time string, as on single updates.
+ */
+public record OrderBatchUpdateMessage(
+    String type,
+    List<OrderUpdateMessage> updates,
+    String timestamp
+) {
+
+    static final String TYPE = "ORDER_BATCH_UPDATE";
+
+    public static OrderBatchUpdateMessage of(List<OrderUpdateMessage> updates) {
+        return new OrderBatchUpdateMessage(TYPE, updates, LocalDateTime.now().toString());
+    }
+}
@@ -0,0 +1,57 @@
+package com.bitedash.order.websocket;
+
+import com.bitedash.shared.event.OrderPlacedEvent;
+import com.bitedash.shared.event.OrderReleasedEvent;
+import com.bitedash.shared.event.OrderStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards order events relayed from the outbox to WebSocket subscribers.
+ *
+ * WHY listen instead of publishing from OrderService? Events reach this listener only after the
+ * order transaction has committed, so clients are never told about an order that rolled back.
+ * Delivery is at-least-once; a repeated update just re-sends the same status.
+ */
+@Component
+public class OrderEventWebSocketListener {
+
+    // Orders are always placed in PENDING state
+    private static final String PLACED_STATUS = "PENDING";
+
+    @Autowired
+    private OrderUpdatePublisher orderUpdatePublisher;
+
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        // A held scheduled order reaches the vendor topic when it is released
+        orderUpdatePublisher.publishOrderUpdate(
+            event.getOrderId(),
+            PLACED_STATUS,
+            event.isHeldForRelease() ? null : event.getVendorId(),
+            event.getUserId()
+        );
+    }
+
+    @EventListener
+    public void onOrderReleased(OrderReleasedEvent event) {
+        // The customer was already told at placement; only the kitchen needs to hear about it now
+        orderUpdatePublisher.publishOrderUpdate(
+            event.getOrderId(),
+            event.getStatus(),
+            event.getVendorId(),
+            null
+        );
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        orderUpdatePublisher.publishOrderUpdate(
+            event.getOrderId(),
+            event.getNewStatus(),
+            event.getVendorId(),
+            event.getUserId()
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package com.bitedash.order.websocket;
+
+import java.time.LocalDateTime;
+
+/**
+ * WebSocket payload for an order update.
+ *
+ * WHY a record instead of a Map? The shape is fixed, so a record avoids building a HashMap per
+ * event and lets Jackson serialize from cached accessors. Field names match the old map keys,
+ * so clients see the same JSON. The timestamp keeps the old ISO-8601 local date-time string.
+ */
+public record OrderUpdateMessage(
+    Long orderId,
+    String status,
+    Long vendorId,
+    Long userId,
+    String timestamp,
+    String message
+) {
+
+    public static OrderUpdateMessage of(Long orderId, String status, Long vendorId, Long userId) {
+        return new OrderUpdateMessage(orderId, status, vendorId, userId, LocalDateTime.now().toString(),
+            notificationMessage(status));
+    }
+
+    /**
+     * This update, also addressed to any recipient of the earlier update that it leaves out.
+     */
+    OrderUpdateMessage withRecipientsFrom(OrderUpdateMessage earlier) {
+        if ((vendorId != null || earlier.vendorId() == null) && (userId != null || earlier.userId() == null)) {
+            return this;
+        }
+        return new OrderUpdateMessage(orderId, status,
+            vendorId != null ? vendorId : earlier.vendorId(),
+            userId != null ? userId : earlier.userId(),
+            timestamp, message);
+    }
+
+    /**
+     * Gets a user-friendly notification message based on order status.
+     */
+    static String notificationMessage(String status) {
+        if (status == null) {
+            return "Order status updated.";
+        }
+
+        return switch (status) {
+            case "PENDING" -> "Order placed successfully!";
+            case "PREPARING" -> "Your order is being prepared!";
+            case "READY" -> "Your order is ready for pickup!";
+            case "DELIVERED" -> "Order delivered successfully!";
+            case "CANCELLED" -> "Order has been cancelled.";
+            default -> "Order status updated.";
+        };
+    }
+}
@@ -1,13 +1,21 @@
 package com.bitedash.order.websocket;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,12 +27,63 @@ public class OrderUpdatePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(OrderUpdatePublisher.class);
 
+    static final String MODE_DIRECT = "direct";
+    static final String MODE_COALESCING = "coalescing";
+
+    private static final String VENDOR_TOPIC_PREFIX = "/topic/orders/vendor/";
+    private static final String USER_QUEUE_PREFIX = "/queue/orders/user/";
+
+    // Local in-memory broker, or the Redis cluster relay (order.websocket.cluster.mode)
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private StompMessageRelay messageRelay;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // direct: send on the caller's thread. coalescing: queue and merge (see CoalescingOrderUpdateDispatcher)
+    @Value("${order.websocket.publisher.mode:" + MODE_DIRECT + "}")
+    private String mode;
+
+    @Value("${order.websocket.publisher.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${order.websocket.publisher.coalesce-window-ms:50}")
+    private long coalesceWindowMillis;
+
+    private CoalescingOrderUpdateDispatcher dispatcher;
+
+    @PostConstruct
+    void startDispatcher() {
+        if (!MODE_COALESCING.equalsIgnoreCase(mode)) {
+            return;
+        }
+        dispatcher = new CoalescingOrderUpdateDispatcher(queueCapacity, coalesceWindowMillis, this::sendGrouped);
+        if (meterRegistry != null) {
+            CoalescingOrderUpdateDispatcher d = dispatcher;
+            Gauge.builder("order.websocket.queue.depth", d, CoalescingOrderUpdateDispatcher::queueDepth)
+                .register(meterRegistry);
+            FunctionCounter.builder("order.websocket.coalesced", d, CoalescingOrderUpdateDispatcher::coalescedCount)
+                .register(meterRegistry);
+            FunctionCounter.builder("order.websocket.overflow", d, CoalescingOrderUpdateDispatcher::overflowCount)
+                .register(meterRegistry);
+        }
+        log.info("Order updates use the coalescing publisher (queue {}, window {} ms)",
+            queueCapacity, coalesceWindowMillis);
+    }
+
+    @PreDestroy
+    void stopDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
 
     /**
      * Publishes order update to relevant subscribers.
      * Sends to vendor topic and user-specific queue.
+     * In coalescing mode the update is sent from the dispatcher thread and may be replaced by a
+     * newer update for the same order that arrives within the merge window. Updates of several
+     * orders sent in the same window reach each recipient as one OrderBatchUpdateMessage.
      *
      * @param orderId Order ID
      * @param status Order status
@@ -37,33 +96,64 @@ public class OrderUpdatePublisher {
             return;
         }
 
-        try {
-            // Create notification payload
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("orderId", orderId);
-            notification.put("status", status);
-            notification.put("vendorId", vendorId);
-            notification.put("userId", userId);
-            notification.put("timestamp", LocalDateTime.now().toString());
-            notification.put("message", getNotificationMessage(status));
+        OrderUpdateMessage update = OrderUpdateMessage.of(orderId, status, vendorId, userId);
+        if (dispatcher != null) {
+            // Queue full: send on this thread rather than drop the update
+            update = dispatcher.submit(update);
+            if (update == null) {
+                return;
+            }
+        }
+        send(update);
+    }
 
+    /**
+     * Sends updates for several orders, one message per recipient: the vendor topic gets every
+     * update of that vendor, each user queue only that user's updates. A recipient with a single
+     * update gets the plain OrderUpdateMessage.
+     */
+    void sendGrouped(List<OrderUpdateMessage> updates) {
+        Map<String, List<OrderUpdateMessage>> byDestination = new LinkedHashMap<>();
+        for (OrderUpdateMessage update : updates) {
+            if (update.vendorId() != null) {
+                byDestination.computeIfAbsent(VENDOR_TOPIC_PREFIX + update.vendorId(), d -> new ArrayList<>()).add(update);
+            }
+            if (update.userId() != null) {
+                byDestination.computeIfAbsent(USER_QUEUE_PREFIX + update.userId(), d -> new ArrayList<>()).add(update);
+            }
+        }
+
+        byDestination.forEach((destination, grouped) -> {
+            try {
+                messageRelay.send(destination, grouped.size() == 1 ? grouped.get(0) : OrderBatchUpdateMessage.of(grouped));
+            } catch (Exception e) {
+                log.error("Failed to publish {} order updates to {}, error: {}",
+                         grouped.size(), destination, e.getMessage(), e);
+            }
+        });
+        log.debug("Published {} order updates in {} messages", updates.size(), byDestination.size());
+    }
+
+    /**
+     * Sends one update to the vendor topic and the user queue.
+     */
+    void send(OrderUpdateMessage update) {
+        try {
             // Send to vendor topic (all vendor instances can receive)
-            if (vendorId != null) {
-                String vendorTopic = "/topic/orders/vendor/" + vendorId;
-                messagingTemplate.convertAndSend(vendorTopic, notification);
-                log.info("Published order update to vendor topic: {}, orderId: {}", vendorTopic, orderId);
+            if (update.vendorId() != null) {
+                messageRelay.send(VENDOR_TOPIC_PREFIX + update.vendorId(), update);
             }
 
             // Send to user-specific queue (only the specific user receives)
-            if (userId != null) {
-                String userQueue = "/queue/orders/user/" + userId;
-                messagingTemplate.convertAndSend(userQueue, notification);
-                log.info("Published order update to user queue: {}, orderId: {}", userQueue, orderId);
+            if (update.userId() != null) {
+                messageRelay.send(USER_QUEUE_PREFIX + update.userId(), update);
             }
 
+            log.debug("Published order update: orderId={}, status={}", update.orderId(), update.status());
+
         } catch (Exception e) {
             log.error("Failed to publish order update for orderId: {}, error: {}",
-                     orderId, e.getMessage(), e);
+                     update.orderId(), e.getMessage(), e);
         }
     }
 
@@ -99,7 +189,7 @@ public class OrderUpdatePublisher {
             // Send to vendor topic
             if (vendorId != null) {
                 String vendorTopic = "/topic/orders/vendor/" + vendorId;
-                messagingTemplate.convertAndSend(vendorTopic, notification);
+                messageRelay.send(vendorTopic, notification);
                 log.info("Published NEW order notification to vendor: {}, orderId: {}",
                         vendorId, orderId);
             }
@@ -130,18 +220,18 @@ public class OrderUpdatePublisher {
             notification.put("vendorId", vendorId);
             notification.put("userId", userId);
             notification.put("timestamp", LocalDateTime.now().toString());
-            notification.put("message", getNotificationMessage(newStatus));
+            notification.put("message", OrderUpdateMessage.notificationMessage(newStatus));
 
             // Send to vendor topic
             if (vendorId != null) {
                 String vendorTopic = "/topic/orders/vendor/" + vendorId;
-                messagingTemplate.convertAndSend(vendorTopic, notification);
+                messageRelay.send(vendorTopic, notification);
             }
 
             // Send to user queue
             if (userId != null) {
                 String userQueue = "/queue/orders/user/" + userId;
-                messagingTemplate.convertAndSend(userQueue, notification);
+                messageRelay.send(userQueue, notification);
             }
 
             log.info("Published status change: orderId={}, {} -> {}", orderId, previousStatus, newStatus);
@@ -151,25 +241,4 @@ public class OrderUpdatePublisher {
                      orderId, e.getMessage(), e);
         }
     }
-
-    /**
-     * Gets a user-friendly notification message based on order status.
-     *
-     * @param status Order status
-     * @return User-friendly message
-     */
-    private String getNotificationMessage(String status) {
-        if (status == null) {
-            return "Order status updated.";
-        }
-
-        return switch (status) {
-            case "PENDING" -> "Order placed successfully!";
-            case "PREPARING" -> "Your order is being prepared!";
-            case "READY" -> "Your order is ready for pickup!";
-            case "DELIVERED" -> "Order delivered successfully!";
-            case "CANCELLED" -> "Order has been cancelled.";
-            default -> "Order status updated.";
-        };
-    }
 }
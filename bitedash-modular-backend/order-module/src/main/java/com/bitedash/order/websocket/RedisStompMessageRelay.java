@@ -0,0 +1,94 @@
+package com.bitedash.order.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cluster relay: publishes each STOMP message to a Redis channel, and every node (including the
+ * sender) delivers what it receives to its own in-memory broker.
+ *
+ * WHY? The simple broker only knows the clients connected to its node. With several instances
+ * behind a load balancer, the vendor's kitchen screen and the employee's phone are usually on
+ * different nodes from the one that changed the order.
+ *
+ * The payload is serialized to JSON once, on the sending node. Receiving nodes pass the bytes
+ * straight to their broker without converting them again. Wire format: destination, '\n', JSON.
+ */
+public class RedisStompMessageRelay implements StompMessageRelay, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStompMessageRelay.class);
+
+    private static final byte SEPARATOR = '\n';
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    public RedisStompMessageRelay(StringRedisTemplate redisTemplate, SimpMessagingTemplate messagingTemplate,
+                                  ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize WebSocket payload for " + destination, e);
+        }
+
+        try {
+            redisTemplate.convertAndSend(channel, destination + (char) SEPARATOR + json);
+        } catch (Exception e) {
+            // Redis is down: local clients should still hear about the update
+            log.warn("Redis relay unavailable, delivering {} to local clients only: {}", destination, e.getMessage());
+            deliverLocally(destination, json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        byte[] body = message.getBody();
+        int separator = indexOf(body, SEPARATOR);
+        if (separator <= 0) {
+            log.warn("Ignoring malformed WebSocket relay message on channel {}", channel);
+            return;
+        }
+        String destination = new String(body, 0, separator, StandardCharsets.UTF_8);
+        deliverLocally(destination, Arrays.copyOfRange(body, separator + 1, body.length));
+    }
+
+    private void deliverLocally(String destination, byte[] json) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, headers.getMessageHeaders()));
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
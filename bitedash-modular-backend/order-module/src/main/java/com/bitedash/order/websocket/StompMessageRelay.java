@@ -0,0 +1,13 @@
+package com.bitedash.order.websocket;
+
+/**
+ * Delivers a STOMP message to subscribers of a broker destination.
+ *
+ * "local" sends straight to this node's in-memory broker. "redis" fans the message out to every
+ * node through Redis pub/sub (see RedisStompMessageRelay). Selected with
+ * {@code order.websocket.cluster.mode}.
+ */
+public interface StompMessageRelay {
+
+    void send(String destination, Object payload);
+}
@@ -4,8 +4,17 @@ import com.bitedash.order.dto.request.OrderRequest;
 import com.bitedash.order.dto.request.RateOrderRequest;
 import com.bitedash.order.dto.response.OrderResponse;
 import com.bitedash.order.dto.response.OrderStatusHistoryResponse;
+import com.bitedash.order.service.OrderCsvExporter;
 import com.bitedash.order.service.OrderService;
+import com.bitedash.order.service.VendorOrderBoard;
+import com.bitedash.order.service.PickupSlotAllocator;
+import com.bitedash.order.service.ScheduledOrderReleaser;
+import com.bitedash.order.service.VendorRatingService;
 import com.bitedash.shared.aspect.RoleCheckAspect;
+import com.bitedash.shared.exception.GlobalExceptionHandler;
+import com.bitedash.shared.idempotency.IdempotencyService;
+import com.bitedash.shared.idempotency.LocalIdempotencyStore;
+import com.bitedash.shared.idempotency.OutcomeUnknownException;
 import com.bitedash.shared.util.UserContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
@@ -19,17 +28,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -48,13 +65,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses JUnit 5 + MockMvc + Mockito for isolated controller testing.
  *
  * Note: This test uses a minimal Spring Boot configuration for the order-module.
- * The RoleCheckAspect is imported to test @RequireRole annotation behavior.
+ * The RoleCheckAspect is imported to test @RequireRole annotation behavior; denials reach
+ * the client through GlobalExceptionHandler, as in the application.
+ * The in-memory idempotency store backs the Idempotency-Key handling of createOrder.
+ * Servlet filters are off: authentication is the JWT filter's job (app-module), and these tests
+ * set the caller through UserContext, which the default Spring Security chain would reject.
  */
 @WebMvcTest(controllers = OrderController.class)
+@AutoConfigureMockMvc(addFilters = false)
 @ContextConfiguration(classes = {com.bitedash.order.config.TestApplication.class})
-@Import(RoleCheckAspect.class)
+@Import({OrderControllerTest.AspectConfig.class, RoleCheckAspect.class, GlobalExceptionHandler.class,
+    IdempotencyService.class, LocalIdempotencyStore.class})
 public class OrderControllerTest {
 
+    // A web slice leaves out AopAutoConfiguration, so @RequireRole would otherwise never be checked
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class AspectConfig {
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -64,6 +93,22 @@ public class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    // Picked up by the component scan; needs OrderRepository, which a web slice does not provide
+    @MockBean
+    private VendorOrderBoard vendorOrderBoard;
+
+    @MockBean
+    private VendorRatingService vendorRatingService;
+
+    @MockBean
+    private ScheduledOrderReleaser scheduledOrderReleaser;
+
+    @MockBean
+    private PickupSlotAllocator pickupSlotAllocator;
+
+    @MockBean
+    private OrderCsvExporter orderCsvExporter;
+
     // Test data constants
     private static final Long TEST_USER_ID = 100L;
     private static final Long OTHER_USER_ID = 200L;
@@ -254,6 +299,32 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Failed to create order: Insufficient wallet balance"));
         }
+
+        @Test
+        @DisplayName("Should not run a retry with the same key when the order's outcome is unknown")
+        void testCreateOrder_OutcomeUnknown_RetryNotRun() throws Exception {
+            // Why: the order may exist after a failed commit, so running the retry could place it twice
+            setupEmployeeContext();
+
+            OrderRequest request = createSampleOrderRequest();
+
+            when(orderService.createOrder(any(OrderRequest.class), eq(TEST_USER_ID), eq(TEST_ORG_ID)))
+                .thenThrow(new OutcomeUnknownException("Order ORD-2026-001 may not have been placed. "
+                    + "Check your orders before placing it again.", new RuntimeException("commit failed")));
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                mockMvc.perform(post("/orders")
+                        .header(IdempotencyService.HEADER, "checkout-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.message").value(
+                        "Order ORD-2026-001 may not have been placed. Check your orders before placing it again."));
+            }
+
+            verify(orderService, times(1)).createOrder(any(OrderRequest.class), eq(TEST_USER_ID), eq(TEST_ORG_ID));
+        }
     }
 
     // ========================================
@@ -618,7 +689,8 @@ public class OrderControllerTest {
 
             mockMvc.perform(put("/orders/{id}/status", TEST_ORDER_ID)
                     .param("status", "PREPARING"))
-                .andExpect(status().isInternalServerError()); // Aspect throws RuntimeException
+                .andExpect(status().isBadRequest()) // GlobalExceptionHandler maps the aspect's RuntimeException
+                .andExpect(jsonPath("$.message").value("Access Denied: Insufficient permissions"));
 
             verify(orderService, never()).updateOrderStatus(anyLong(), anyString(), anyLong(), anyString(), anyString());
         }
@@ -979,6 +1051,134 @@ public class OrderControllerTest {
         }
     }
 
+    // ========================================
+    // Test Suite: GET /orders/organization/export (exportOrganizationOrders)
+    // ========================================
+
+    @Nested
+    @DisplayName("GET /orders/organization/export - Export Organization Orders Tests")
+    class ExportOrganizationOrdersTests {
+
+        private static final String CSV = "order_number\r\nORD-2026-001\r\n";
+
+        private void exporterWrites(String csv) throws Exception {
+            when(orderCsvExporter.export(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(3);
+                out.write(csv.getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+        }
+
+        @Test
+        @DisplayName("Should stream the org admin's own orders as a CSV download")
+        void testExport_OrgAdminStreamsCsv() throws Exception {
+            // Why: Org admins reconcile their own organization's spend without naming it
+            setupOrgAdminContext();
+            exporterWrites(CSV);
+
+            MvcResult started = mockMvc.perform(get("/orders/organization/export")
+                    .param("from", "2026-01-01T00:00:00")
+                    .param("to", "2026-02-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            // Why: Only the export gets the long async timeout, not every async request
+            assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(1_800_000L);
+
+            mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                    containsString("orders-5-2026-01-01-2026-02-01.csv")))
+                .andExpect(content().string(CSV));
+
+            verify(orderCsvExporter).export(eq(TEST_ORG_ID), eq(LocalDateTime.of(2026, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2026, 2, 1, 0, 0)), any());
+        }
+
+        @Test
+        @DisplayName("Should gzip the stream when asked")
+        void testExport_Gzip() throws Exception {
+            // Why: A year of orders compresses well; gzip keeps the download small
+            setupOrgAdminContext();
+            exporterWrites(CSV);
+
+            MvcResult started = mockMvc.perform(get("/orders/organization/export")
+                    .param("from", "2026-01-01T00:00:00")
+                    .param("to", "2026-02-01T00:00:00")
+                    .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", containsString(".csv.gz")))
+                .andReturn();
+
+            byte[] body = result.getResponse().getContentAsByteArray();
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+            }
+        }
+
+        @Test
+        @DisplayName("Should deny org admins exporting another organization")
+        void testExport_OtherOrganizationForbidden() throws Exception {
+            // Why: IDOR protection - spend data is confidential to the organization
+            setupOrgAdminContext();
+
+            mockMvc.perform(get("/orders/organization/export")
+                    .param("organizationId", "99")
+                    .param("from", "2026-01-01T00:00:00")
+                    .param("to", "2026-02-01T00:00:00"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+            verifyNoInteractions(orderCsvExporter);
+        }
+
+        @Test
+        @DisplayName("Should require super admins to name an organization")
+        void testExport_SuperAdminWithoutOrganization() throws Exception {
+            setupSuperAdminContext();
+
+            mockMvc.perform(get("/orders/organization/export")
+                    .param("from", "2026-01-01T00:00:00")
+                    .param("to", "2026-02-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Organization ID is required"));
+        }
+
+        @Test
+        @DisplayName("Should reject an empty or inverted date range")
+        void testExport_InvalidRange() throws Exception {
+            setupOrgAdminContext();
+
+            mockMvc.perform(get("/orders/organization/export")
+                    .param("from", "2026-02-01T00:00:00")
+                    .param("to", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+            verifyNoInteractions(orderCsvExporter);
+        }
+
+        @Test
+        @DisplayName("Should deny employees")
+        void testExport_EmployeeForbidden() throws Exception {
+            // Why: Only admins may export organization orders
+            setupEmployeeContext();
+
+            mockMvc.perform(get("/orders/organization/export")
+                    .param("from", "2026-01-01T00:00:00")
+                    .param("to", "2026-02-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Access Denied: Insufficient permissions"));
+
+            verifyNoInteractions(orderCsvExporter);
+        }
+    }
+
     // ========================================
     // Additional Edge Case Tests
     // ========================================
@@ -1006,7 +1206,8 @@ public class OrderControllerTest {
             // Should be blocked by RoleCheckAspect before reaching controller
             mockMvc.perform(put("/orders/{id}/status", TEST_ORDER_ID)
                     .param("status", "PREPARING"))
-                .andExpect(status().isInternalServerError()); // Aspect throws RuntimeException
+                .andExpect(status().isBadRequest()) // GlobalExceptionHandler maps the aspect's RuntimeException
+                .andExpect(jsonPath("$.message").value("Access Denied: Insufficient permissions"));
 
             verify(orderService, never()).updateOrderStatus(anyLong(), anyString(), anyLong(), anyString(), anyString());
         }
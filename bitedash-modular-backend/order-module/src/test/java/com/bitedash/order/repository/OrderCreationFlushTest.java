@@ -0,0 +1,140 @@
+package com.bitedash.order.repository;
+
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.entity.OrderItem;
+import com.bitedash.order.entity.OrderStatusHistory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements needed to write one order with its items, first status history
+ * row and QR payload.
+ *
+ * "Before" replays the old createOrder shape: a flush per save and no JDBC batching, which is
+ * what IDENTITY ids forced. "After" is the current shape: pooled sequence ids, one save and a
+ * single batched flush.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orderflush;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.id.db_structure_naming_strategy=com.bitedash.shared.entity.TableSequenceNamingStrategy",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.order_updates=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = OrderJpaTestConfig.class)
+@DisplayName("Order creation flush Tests")
+class OrderCreationFlushTest {
+
+    private static final int ITEM_COUNT = 5;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // Warm the pooled sequences so neither measurement pays for the first block of ids
+        Order warmUp = newOrder("ORD-WARMUP");
+        attachHistory(warmUp);
+        orderRepository.saveAndFlush(warmUp);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Single batched flush should use fewer statements than per-save flushing")
+    void createOrder_SingleFlush_FewerStatements() {
+        long before = countStatements(this::writeOrderLegacyShape, 1);
+        long after = countStatements(this::writeOrderSingleFlush, 50);
+
+        // order insert + one insert per item + QR update + history insert
+        assertThat(before).isEqualTo(1 + ITEM_COUNT + 1 + 1);
+        // one batched insert per table, plus the QR update in the same flush
+        assertThat(after).isEqualTo(4);
+        assertThat(after).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should assign ids from the pooled sequence without inserting")
+    void save_AssignsIdWithoutInsert() {
+        statistics.clear();
+
+        Order order = orderRepository.save(newOrder("ORD-POOLED"));
+
+        assertThat(order.getId()).isNotNull();
+        assertThat(order.getOrderItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    private long countStatements(Runnable write, int jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        statistics.clear();
+        write.run();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private void writeOrderLegacyShape() {
+        Order order = orderRepository.saveAndFlush(newOrder("ORD-BEFORE"));
+        order.setQrCodeData("qr-" + order.getId());
+        order = orderRepository.saveAndFlush(order);
+        attachHistory(order);
+        orderRepository.saveAndFlush(order);
+    }
+
+    private void writeOrderSingleFlush() {
+        Order order = newOrder("ORD-AFTER");
+        attachHistory(order);
+        order = orderRepository.save(order);
+        order.setQrCodeData("qr-" + order.getId());
+        orderRepository.flush();
+    }
+
+    private Order newOrder(String orderNumber) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(10L);
+        order.setVendorId(5L);
+        order.setOrganizationId(1L);
+        order.setTotalAmount(new BigDecimal("500.00"));
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            OrderItem item = new OrderItem();
+            item.setMenuItemId((long) i + 1);
+            item.setMenuItemName("Item " + i);
+            item.setQuantity(1);
+            item.setUnitPrice(new BigDecimal("100.00"));
+            item.setSubtotal(new BigDecimal("100.00"));
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    private void attachHistory(Order order) {
+        OrderStatusHistory history = new OrderStatusHistory();
+        history.setNewStatus("PENDING");
+        history.setChangedBy(10L);
+        history.setChangedByRole("ROLE_EMPLOYEE");
+        order.addStatusHistory(history);
+    }
+}
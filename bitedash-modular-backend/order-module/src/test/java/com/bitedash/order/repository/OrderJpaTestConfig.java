@@ -0,0 +1,17 @@
+package com.bitedash.order.repository;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA slice configuration for order repository tests, used via @ContextConfiguration.
+ *
+ * Why not @Configuration? TestApplication component-scans com.bitedash.order, and a
+ * scanned @EnableJpaRepositories would break the @WebMvcTest controller tests.
+ */
+@EntityScan(basePackages = "com.bitedash.order.entity")
+@EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+@EnableJpaAuditing
+public class OrderJpaTestConfig {
+}
@@ -0,0 +1,114 @@
+package com.bitedash.order.repository;
+
+import com.bitedash.order.entity.Order;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orderkeyset;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = OrderJpaTestConfig.class)
+@DisplayName("Order keyset pagination Tests")
+class OrderKeysetPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 15, 12, 0);
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Two orders share a timestamp so the id tie-breaker is exercised
+        int[] minuteOffsets = {0, 1, 2, 2, 3, 4, 5};
+        String[] statuses = {"DELIVERED", "PENDING", "READY", "PENDING", "DELIVERED", "PENDING", "CANCELLED"};
+        for (int i = 0; i < minuteOffsets.length; i++) {
+            Order order = saveOrder(5L, statuses[i], BASE.plusMinutes(minuteOffsets[i]));
+            newestFirst.add(0, order.getId());
+        }
+        // Same-timestamp pair: higher id sorts first, matching the insertion order above
+        saveOrder(6L, "PENDING", BASE);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should walk every vendor order exactly once, newest first")
+    void findVendorOrderIdsPage_WalksAllPages() {
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime cursorCreatedAt = LATEST;
+        Long cursorId = Long.MAX_VALUE;
+
+        while (true) {
+            List<Long> page = orderRepository.findVendorOrderIdsPage(5L, null, EARLIEST, LATEST,
+                cursorCreatedAt, cursorId, Limit.of(3));
+            if (page.isEmpty()) {
+                break;
+            }
+            seen.addAll(page);
+            Order last = orderRepository.findById(page.get(page.size() - 1)).orElseThrow();
+            cursorCreatedAt = last.getCreatedAt();
+            cursorId = last.getId();
+        }
+
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    @Test
+    @DisplayName("Should apply status and date-range filters")
+    void findVendorOrderIdsPage_Filters() {
+        List<Long> pending = orderRepository.findVendorOrderIdsPage(5L, "PENDING", EARLIEST, LATEST,
+            LATEST, Long.MAX_VALUE, Limit.of(10));
+        List<Long> window = orderRepository.findVendorOrderIdsPage(5L, null, BASE.plusMinutes(2), BASE.plusMinutes(4),
+            LATEST, Long.MAX_VALUE, Limit.of(10));
+
+        assertThat(pending).containsExactly(newestFirst.get(1), newestFirst.get(3), newestFirst.get(5));
+        assertThat(window).containsExactly(newestFirst.get(2), newestFirst.get(3), newestFirst.get(4));
+    }
+
+    @Test
+    @DisplayName("Should load a page of orders with items by id")
+    void findByIdIn_LoadsRequestedOrders() {
+        List<Order> orders = orderRepository.findByIdIn(newestFirst.subList(0, 2));
+
+        assertThat(orders).extracting(Order::getId).containsExactlyInAnyOrderElementsOf(newestFirst.subList(0, 2));
+    }
+
+    private Order saveOrder(Long vendorId, String status, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-KEYSET-" + newestFirst.size() + "-" + vendorId);
+        order.setUserId(10L);
+        order.setVendorId(vendorId);
+        order.setOrganizationId(1L);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order = orderRepository.saveAndFlush(order);
+
+        // createdAt is set by auditing on insert, so pin it afterwards
+        entityManager.createQuery("UPDATE Order o SET o.createdAt = :createdAt WHERE o.id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("id", order.getId())
+            .executeUpdate();
+        return order;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bitedash.order.repository;
+
+import com.bitedash.order.entity.Order;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orderstatus;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = OrderJpaTestConfig.class)
+@DisplayName("Order status transition Tests")
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        Order order = new Order();
+        order.setOrderNumber("ORD-TRANSITION-1");
+        order.setUserId(10L);
+        order.setVendorId(5L);
+        order.setOrganizationId(1L);
+        order.setStatus("PENDING");
+        order.setTotalAmount(new BigDecimal("100.00"));
+        orderId = orderRepository.saveAndFlush(order).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should read the status view without loading the order")
+    void findStatusViewById_ReadsColumns() {
+        OrderStatusView view = orderRepository.findStatusViewById(orderId).orElseThrow();
+
+        assertThat(view.getStatus()).isEqualTo("PENDING");
+        assertThat(view.getVendorId()).isEqualTo(5L);
+        assertThat(view.getOrderNumber()).isEqualTo("ORD-TRANSITION-1");
+        assertThat(entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+            .isLoaded(entityManager.getReference(Order.class, orderId))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply the transition only while the expected status and vendor match")
+    void transitionStatus_ComparesAndSets() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(orderRepository.transitionStatus(orderId, 6L, "PENDING", "PREPARING", now, "6")).isZero();
+        assertThat(orderRepository.transitionStatus(orderId, 5L, "PENDING", "PREPARING", now, "5")).isEqualTo(1);
+        // A second request that also read PENDING loses the race
+        assertThat(orderRepository.transitionStatus(orderId, 5L, "PENDING", "CANCELLED", now, "5")).isZero();
+
+        entityManager.clear();
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo("PREPARING");
+        assertThat(order.getUpdatedBy()).isEqualTo("5");
+    }
+}
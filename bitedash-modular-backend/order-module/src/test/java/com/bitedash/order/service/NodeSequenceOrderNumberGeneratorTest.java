@@ -0,0 +1,194 @@
+package com.bitedash.order.service;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NodeSequenceOrderNumberGenerator Tests")
+class NodeSequenceOrderNumberGeneratorTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final Instant NOON = Instant.parse("2026-03-15T12:00:00Z");
+
+    @Nested
+    @DisplayName("Format")
+    class FormatTests {
+
+        @Test
+        @DisplayName("Should keep the ORD-yyyyMMdd- prefix with a fixed-width suffix")
+        void nextOrderNumber_HasDatePrefixAndFixedWidth() {
+            NodeSequenceOrderNumberGenerator generator =
+                new NodeSequenceOrderNumberGenerator(7, Clock.fixed(NOON, ZONE));
+
+            String orderNumber = generator.nextOrderNumber();
+
+            assertThat(orderNumber).matches("ORD-20260315-[0-9A-Z]{10}");
+            assertThat(orderNumber.length()).isLessThanOrEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Should sort lexicographically in issue order")
+        void nextOrderNumber_IsTimeOrdered() {
+            NodeSequenceOrderNumberGenerator generator =
+                new NodeSequenceOrderNumberGenerator(3, Clock.fixed(NOON, ZONE));
+
+            String[] numbers = new String[20_000];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = generator.nextOrderNumber();
+            }
+
+            String[] sorted = numbers.clone();
+            Arrays.sort(sorted);
+            assertThat(sorted).containsExactly(numbers);
+        }
+
+        @Test
+        @DisplayName("Should roll the date prefix at midnight")
+        void nextOrderNumber_RollsDateAtMidnight() {
+            MutableClock clock = new MutableClock(Instant.parse("2026-03-15T23:59:59.999Z"));
+            NodeSequenceOrderNumberGenerator generator = new NodeSequenceOrderNumberGenerator(1, clock);
+
+            String before = generator.nextOrderNumber();
+            clock.set(Instant.parse("2026-03-16T00:00:00Z"));
+            String after = generator.nextOrderNumber();
+
+            assertThat(before).startsWith("ORD-20260315-");
+            assertThat(after).startsWith("ORD-20260316-");
+        }
+
+        @Test
+        @DisplayName("Should reject node IDs outside 0-1023")
+        void constructor_InvalidNodeId_Throws() {
+            assertThatThrownBy(() -> new NodeSequenceOrderNumberGenerator(1024, Clock.fixed(NOON, ZONE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("order.number.node-id");
+            assertThatThrownBy(() -> new NodeSequenceOrderNumberGenerator(-1, Clock.fixed(NOON, ZONE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Uniqueness")
+    class UniquenessTests {
+
+        @Test
+        @DisplayName("Should never repeat when the wall clock goes backwards")
+        void nextOrderNumber_ClockStepsBack_StillIncreasing() {
+            MutableClock clock = new MutableClock(NOON);
+            NodeSequenceOrderNumberGenerator generator = new NodeSequenceOrderNumberGenerator(1, clock);
+
+            String first = generator.nextOrderNumber();
+            clock.set(NOON.minusSeconds(5));
+            String second = generator.nextOrderNumber();
+
+            assertThat(second).isGreaterThan(first);
+        }
+
+        @Test
+        @DisplayName("Should issue millions of distinct numbers across threads")
+        void nextState_ConcurrentThreads_AllDistinct() throws Exception {
+            // A frozen clock forces every number through the sequence/borrow path, the worst case for collisions
+            NodeSequenceOrderNumberGenerator generator =
+                new NodeSequenceOrderNumberGenerator(42, Clock.fixed(NOON, ZONE));
+            int threads = 8;
+            int perThread = 500_000;
+
+            long[][] issued = new long[threads][];
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(pool.submit(() -> {
+                        long[] values = new long[perThread];
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            values[i] = generator.nextState();
+                        }
+                        return values;
+                    }));
+                }
+                start.countDown();
+                for (int t = 0; t < threads; t++) {
+                    issued[t] = futures.get(t).get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                // Each thread must observe strictly increasing values
+                for (int i = 1; i < perThread; i++) {
+                    assertThat(issued[t][i]).isGreaterThan(issued[t][i - 1]);
+                }
+                System.arraycopy(issued[t], 0, all, t * perThread, perThread);
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                if (all[i] == all[i - 1]) {
+                    fail("Duplicate order number state issued: " + all[i]);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should not collide between nodes sharing the same clock")
+        void nextOrderNumber_TwoNodes_Disjoint() {
+            Clock clock = Clock.fixed(NOON, ZONE);
+            NodeSequenceOrderNumberGenerator nodeA = new NodeSequenceOrderNumberGenerator(1, clock);
+            NodeSequenceOrderNumberGenerator nodeB = new NodeSequenceOrderNumberGenerator(2, clock);
+
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < 50_000; i++) {
+                assertThat(seen.add(nodeA.nextOrderNumber())).isTrue();
+                assertThat(seen.add(nodeB.nextOrderNumber())).isTrue();
+            }
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        MutableClock(Instant instant) {
+            this.millis = new AtomicLong(instant.toEpochMilli());
+        }
+
+        void set(Instant instant) {
+            millis.set(instant.toEpochMilli());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+    }
+}
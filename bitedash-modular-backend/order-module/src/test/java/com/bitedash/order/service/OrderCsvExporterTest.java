@@ -0,0 +1,132 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.entity.OrderItem;
+import com.bitedash.order.repository.OrderJpaTestConfig;
+import com.bitedash.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ordercsvexport;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = OrderJpaTestConfig.class)
+@DisplayName("OrderCsvExporter Tests")
+class OrderCsvExporterTest {
+
+    private static final Long ORG_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int sequence;
+
+    private List<String> export(int windowSize, LocalDateTime from, LocalDateTime to) throws Exception {
+        OrderCsvExporter exporter = new OrderCsvExporter(jdbcTemplate, transactionManager, windowSize, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(ORG_ID, from, to, out);
+        return List.of(out.toString(StandardCharsets.UTF_8).split("\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should export every order in range exactly once, oldest first, across windows")
+    void export_WalksAllWindows() throws Exception {
+        // Two orders share a timestamp so the id tie-breaker between windows is exercised
+        int[] minuteOffsets = {0, 1, 1, 2, 3};
+        for (int offset : minuteOffsets) {
+            saveOrder(ORG_ID, BASE.plusMinutes(offset), false, item("Dosa", 1));
+        }
+        saveOrder(2L, BASE.plusMinutes(1), false, item("Dosa", 1));           // other organization
+        saveOrder(ORG_ID, BASE.plusMinutes(2), true, item("Dosa", 1));        // deleted
+        saveOrder(ORG_ID, BASE.plusMinutes(10), false, item("Dosa", 1));      // after the range
+        entityManager.clear();
+
+        List<String> lines = export(2, BASE, BASE.plusMinutes(10));
+
+        assertThat(lines.get(0)).isEqualTo(OrderCsvExporter.HEADER);
+        assertThat(lines.subList(1, lines.size()))
+            .extracting(line -> line.substring(0, line.indexOf(',')))
+            .containsExactly("ORD-CSV-1", "ORD-CSV-2", "ORD-CSV-3", "ORD-CSV-4", "ORD-CSV-5");
+    }
+
+    @Test
+    @DisplayName("Should summarise items on the order row and write amounts in plain notation")
+    void export_OrderRow() throws Exception {
+        saveOrder(ORG_ID, BASE, false, item("Masala Dosa", 2), item("Filter Coffee", 1));
+        saveOrder(ORG_ID, BASE.plusMinutes(1), false);
+        entityManager.clear();
+
+        List<String> lines = export(1000, BASE, BASE.plusDays(1));
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).isEqualTo(
+            "ORD-CSV-1,2026-03-15T12:00,PENDING,DINE_IN,10,5,,,150.00,0.00,0.00,0.00,3,2 x Masala Dosa; 1 x Filter Coffee");
+        assertThat(lines.get(2)).endsWith(",0,");
+    }
+
+    @Test
+    @DisplayName("Should return only the header when the range is empty")
+    void export_EmptyRange() throws Exception {
+        saveOrder(ORG_ID, BASE, false, item("Dosa", 1));
+        entityManager.clear();
+
+        assertThat(export(2, BASE.plusDays(1), BASE.plusDays(2))).containsExactly(OrderCsvExporter.HEADER);
+    }
+
+    private OrderItem item(String name, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setMenuItemId(100L);
+        item.setMenuItemName(name);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("50.00"));
+        item.setSubtotal(new BigDecimal("50.00").multiply(BigDecimal.valueOf(quantity)));
+        return item;
+    }
+
+    private void saveOrder(Long organizationId, LocalDateTime createdAt, boolean deleted, OrderItem... items) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-CSV-" + (++sequence));
+        order.setUserId(10L);
+        order.setVendorId(5L);
+        order.setOrganizationId(organizationId);
+        order.setTotalAmount(new BigDecimal("150.00"));
+        for (OrderItem item : items) {
+            order.addOrderItem(item);
+        }
+        order = orderRepository.saveAndFlush(order);
+
+        // createdAt is set by auditing on insert, so pin it afterwards
+        entityManager.createQuery("UPDATE Order o SET o.createdAt = :createdAt, o.deleted = :deleted WHERE o.id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("deleted", deleted)
+            .setParameter("id", order.getId())
+            .executeUpdate();
+    }
+}
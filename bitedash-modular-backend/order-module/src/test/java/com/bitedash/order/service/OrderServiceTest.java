@@ -1,35 +1,55 @@
 package com.bitedash.order.service;
 
 import com.bitedash.order.dto.request.OrderItemRequest;
+import com.bitedash.order.dto.request.OrderPageRequest;
 import com.bitedash.order.dto.request.OrderRequest;
 import com.bitedash.order.dto.request.RateOrderRequest;
+import com.bitedash.order.dto.response.OrderPageResponse;
 import com.bitedash.order.dto.response.OrderResponse;
 import com.bitedash.order.dto.response.OrderStatusHistoryResponse;
 import com.bitedash.order.entity.Order;
 import com.bitedash.order.entity.OrderStatusHistory;
 import com.bitedash.order.repository.OrderRepository;
 import com.bitedash.order.repository.OrderStatusHistoryRepository;
-import com.bitedash.order.websocket.OrderUpdatePublisher;
+import com.bitedash.order.repository.OrderStatusView;
+import com.bitedash.shared.api.menu.MenuItemSnapshot;
 import com.bitedash.shared.api.menu.MenuPublicService;
 import com.bitedash.shared.api.payment.PaymentPublicService;
 import com.bitedash.shared.api.wallet.WalletPublicService;
+import com.bitedash.shared.event.OrderPlacedEvent;
+import com.bitedash.shared.event.OrderStatusChangedEvent;
+import com.bitedash.shared.idempotency.OutcomeUnknownException;
+import com.bitedash.shared.outbox.OutboxPublisher;
 import com.bitedash.shared.util.UserContext;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -50,7 +70,22 @@ class OrderServiceTest {
     private QRCodeService qrCodeService;
 
     @Mock
-    private OrderUpdatePublisher orderUpdatePublisher;
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private VendorOrderBoard vendorOrderBoard;
+
+    @Mock
+    private VendorRatingService vendorRatingService;
+
+    @Mock
+    private ScheduledOrderReleaser scheduledOrderReleaser;
+
+    @Mock
+    private PickupSlotAllocator pickupSlotAllocator;
 
     @Mock
     private PaymentPublicService paymentPublicService;
@@ -61,6 +96,9 @@ class OrderServiceTest {
     @Mock
     private MenuPublicService menuPublicService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -92,6 +130,14 @@ class OrderServiceTest {
         }
     }
 
+    private void mockMenuItems(MenuItemSnapshot... snapshots) {
+        Map<Long, MenuItemSnapshot> byId = new HashMap<>();
+        for (MenuItemSnapshot snapshot : snapshots) {
+            byId.put(snapshot.id(), snapshot);
+        }
+        when(menuPublicService.getMenuItemSnapshots(anyCollection())).thenReturn(byId);
+    }
+
     private void mockUserContext(Long userId, String role, Long orgId) {
         userContextMock = mockStatic(UserContext.class);
         UserContext.UserContextHolder holder = new UserContext.UserContextHolder(
@@ -116,22 +162,127 @@ class OrderServiceTest {
             request.setTotalAmount(new BigDecimal("500.00"));
             request.setItems(Arrays.asList(itemRequest));
 
-            when(menuPublicService.isMenuItemAvailable(1L)).thenReturn(true);
-            when(menuPublicService.getMenuItemName(1L)).thenReturn("Butter Chicken");
-            when(qrCodeService.generateOrderNumber()).thenReturn("ORD-2026-001234");
-            when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
             when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
                 Order order = inv.getArgument(0);
                 order.setId(1L);
                 return order;
             });
             when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
+            when(walletPublicService.placeHold(eq(10L), any(BigDecimal.class), isNull(), eq("ORDER"), anyString()))
+                .thenReturn(99L);
 
             OrderResponse response = orderService.createOrder(request, 10L, 1L);
 
             assertThat(response).isNotNull();
-            verify(walletPublicService).debitForOrder(eq(10L), any(BigDecimal.class), anyLong(), anyString());
+            assertThat(response.getQrCodeData()).isEqualTo("qr-data");
+            verify(walletPublicService).placeHold(eq(10L), any(BigDecimal.class), isNull(), eq("ORDER"), anyString());
+            verify(walletPublicService).captureHold(99L, 1L);
             verify(paymentPublicService).logCommission(anyLong(), any(BigDecimal.class), eq(5L), eq(1L));
+            verify(outboxPublisher).publish(eq(OutboxPublisher.AGGREGATE_ORDER), eq(1L), any(OrderPlacedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should hold a scheduled order back from the vendor queue")
+        void createOrder_ScheduledOrder_HeldForRelease() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("250.00"));
+
+            LocalDateTime pickup = LocalDateTime.now().plusHours(4);
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setScheduledTime(pickup);
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+                Order order = inv.getArgument(0);
+                order.setId(1L);
+                return order;
+            });
+            when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
+            when(scheduledOrderReleaser.shouldHold(pickup)).thenReturn(true);
+
+            orderService.createOrder(request, 10L, 1L);
+
+            ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+            verify(orderRepository).save(saved.capture());
+            assertThat(saved.getValue().getReleasedAt()).isNull();
+            verify(scheduledOrderReleaser).schedule(1L, pickup);
+            verify(vendorOrderBoard, never()).track(any());
+            ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+            verify(outboxPublisher).publish(eq(OutboxPublisher.AGGREGATE_ORDER), eq(1L), event.capture());
+            assertThat(((OrderPlacedEvent) event.getValue()).isHeldForRelease()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should move the pickup time to the slot claimed when the requested slot is full")
+        void createOrder_RequestedSlotFull_PickupMovedToClaimedSlot() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("250.00"));
+
+            LocalDateTime requested = LocalDateTime.now().plusHours(2);
+            LocalDateTime nextSlot = requested.plusMinutes(10);
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setScheduledTime(requested);
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+                Order order = inv.getArgument(0);
+                order.setId(1L);
+                return order;
+            });
+            when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
+            when(pickupSlotAllocator.claim(5L, requested)).thenReturn(nextSlot);
+
+            OrderResponse response = orderService.createOrder(request, 10L, 1L);
+
+            assertThat(response.getPickupSlotStart()).isEqualTo(nextSlot);
+            assertThat(response.getScheduledTime()).isEqualTo(nextSlot);
+        }
+
+        @Test
+        @DisplayName("Should write order, items, first history row and QR with a single save and flush")
+        void createOrder_ValidRequest_SingleSaveAndFlush() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("250.00"));
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+                Order order = inv.getArgument(0);
+                order.setId(1L);
+                return order;
+            });
+            when(qrCodeService.generateQRCodeData(1L, "ORD-2026-001234")).thenReturn("qr-data");
+
+            orderService.createOrder(request, 10L, 1L);
+
+            ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+            verify(orderRepository, times(1)).save(saved.capture());
+            verify(orderRepository, times(1)).flush();
+            assertThat(saved.getValue().getOrderItems()).hasSize(1);
+            assertThat(saved.getValue().getStatusHistory()).singleElement()
+                .satisfies(history -> assertThat(history.getNewStatus()).isEqualTo("PENDING"));
+            assertThat(saved.getValue().getQrCodeData()).isEqualTo("qr-data");
         }
 
         @Test
@@ -147,8 +298,7 @@ class OrderServiceTest {
             request.setTotalAmount(new BigDecimal("500.00"));
             request.setItems(Arrays.asList(itemRequest));
 
-            when(menuPublicService.isMenuItemAvailable(1L)).thenReturn(false);
-            when(menuPublicService.getMenuItemName(1L)).thenReturn("Sold Out Item");
+            mockMenuItems(new MenuItemSnapshot(1L, "Sold Out Item", new BigDecimal("250.00"), 5L, false));
 
             assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
                 .isInstanceOf(RuntimeException.class)
@@ -168,7 +318,7 @@ class OrderServiceTest {
             request.setTotalAmount(new BigDecimal("600.00")); // Wrong total (should be 500)
             request.setItems(Arrays.asList(itemRequest));
 
-            when(menuPublicService.isMenuItemAvailable(1L)).thenReturn(true);
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
 
             assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
                 .isInstanceOf(RuntimeException.class)
@@ -188,21 +338,171 @@ class OrderServiceTest {
             request.setTotalAmount(new BigDecimal("500.00"));
             request.setItems(Arrays.asList(itemRequest));
 
-            when(menuPublicService.isMenuItemAvailable(1L)).thenReturn(true);
-            when(qrCodeService.generateOrderNumber()).thenReturn("ORD-2026-001234");
-            when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            doThrow(new RuntimeException("Insufficient balance"))
+                .when(walletPublicService).placeHold(anyLong(), any(BigDecimal.class), isNull(), anyString(), anyString());
+
+            assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Insufficient balance");
+            // No order transaction is opened without the funds
+            verify(transactionManager, never()).getTransaction(any());
+            verify(orderRepository, never()).save(any(Order.class));
+        }
+
+        @Test
+        @DisplayName("Should place the hold before the order transaction, capture it after commit and release it on failure")
+        void createOrder_HoldOutsideOrderTransaction() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("250.00"));
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+                Order order = inv.getArgument(0);
+                order.setId(1L);
+                return order;
+            }).thenThrow(new RuntimeException("Database unavailable"));
+            when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
+            when(walletPublicService.placeHold(anyLong(), any(BigDecimal.class), isNull(), anyString(), anyString()))
+                .thenReturn(99L, 100L);
+
+            orderService.createOrder(request, 10L, 1L);
+
+            InOrder committed = inOrder(walletPublicService, transactionManager);
+            committed.verify(walletPublicService).placeHold(anyLong(), any(BigDecimal.class), isNull(), anyString(), anyString());
+            committed.verify(transactionManager).getTransaction(any());
+            committed.verify(transactionManager).commit(any());
+            committed.verify(walletPublicService).captureHold(99L, 1L);
+
+            assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
+                .hasMessage("Database unavailable");
+            verify(transactionManager).rollback(any());
+            verify(walletPublicService).releaseHold(100L);
+            verify(walletPublicService, never()).captureHold(eq(100L), any());
+        }
+
+        @Test
+        @DisplayName("Should release the hold when no transaction could be opened and keep it when the commit fails")
+        void createOrder_TransactionFailure_ReleasesHoldOnlyIfNotWritten() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("250.00"));
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(walletPublicService.placeHold(anyLong(), any(BigDecimal.class), isNull(), anyString(), anyString()))
+                .thenReturn(99L, 100L);
             when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
                 Order order = inv.getArgument(0);
                 order.setId(1L);
                 return order;
             });
             when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
-            doThrow(new RuntimeException("Insufficient balance"))
-                .when(walletPublicService).debitForOrder(anyLong(), any(BigDecimal.class), anyLong(), anyString());
+            when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Connection pool exhausted"))
+                .thenReturn(new SimpleTransactionStatus());
+            doThrow(new TransactionSystemException("Connection reset during commit"))
+                .when(transactionManager).commit(any());
+
+            // Pool timeout: the order was never written
+            assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
+                .isInstanceOf(CannotCreateTransactionException.class);
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(walletPublicService).releaseHold(99L);
+
+            // Commit failure: the order may exist, so its placed event decides
+            assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
+                .isInstanceOf(OutcomeUnknownException.class)
+                .hasCauseInstanceOf(TransactionSystemException.class);
+            verify(walletPublicService, never()).releaseHold(100L);
+            verify(walletPublicService, never()).captureHold(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should reprice items from menu and ignore client unit price")
+        void createOrder_TamperedUnitPrice_RepricedFromMenu() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setMenuItemName("Cheap Chicken");
+            itemRequest.setQuantity(2);
+            itemRequest.setUnitPrice(new BigDecimal("1.00")); // Client claims 1.00, menu says 250.00
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("500.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 5L, true));
+            when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD-2026-001234");
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+                Order order = inv.getArgument(0);
+                order.setId(1L);
+                return order;
+            });
+            when(qrCodeService.generateQRCodeData(anyLong(), anyString())).thenReturn("qr-data");
+
+            OrderResponse response = orderService.createOrder(request, 10L, 1L);
+
+            assertThat(response.getTotalAmount()).isEqualByComparingTo("500.00");
+            assertThat(response.getOrderItems()).hasSize(1);
+            assertThat(response.getOrderItems().get(0).getUnitPrice()).isEqualByComparingTo("250.00");
+            assertThat(response.getOrderItems().get(0).getSubtotal()).isEqualByComparingTo("500.00");
+            assertThat(response.getOrderItems().get(0).getMenuItemName()).isEqualTo("Butter Chicken");
+            verify(menuPublicService, times(1)).getMenuItemSnapshots(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should reject item belonging to another vendor")
+        void createOrder_ItemFromOtherVendor_ThrowsException() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(1L);
+            itemRequest.setQuantity(1);
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("250.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems(new MenuItemSnapshot(1L, "Butter Chicken", new BigDecimal("250.00"), 7L, true));
 
             assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Insufficient balance");
+                .hasMessageContaining("not sold by this vendor");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown menu item")
+        void createOrder_UnknownItem_ThrowsException() {
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setMenuItemId(42L);
+            itemRequest.setQuantity(1);
+
+            OrderRequest request = new OrderRequest();
+            request.setVendorId(5L);
+            request.setTotalAmount(new BigDecimal("250.00"));
+            request.setItems(Arrays.asList(itemRequest));
+
+            mockMenuItems();
+
+            assertThatThrownBy(() -> orderService.createOrder(request, 10L, 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("ID: 42")
+                .hasMessageContaining("unavailable");
         }
     }
 
@@ -210,34 +510,69 @@ class OrderServiceTest {
     @DisplayName("Update Order Status Tests")
     class UpdateOrderStatusTests {
 
+        private void stubTransition(String fromStatus, String toStatus) {
+            when(orderRepository.findStatusViewById(1L)).thenReturn(Optional.of(statusView(fromStatus)));
+            when(orderRepository.transitionStatus(eq(1L), eq(5L), eq(fromStatus), eq(toStatus),
+                any(LocalDateTime.class), anyString())).thenReturn(1);
+            when(orderRepository.getReferenceById(1L)).thenReturn(testOrder);
+            testOrder.setStatus(toStatus);
+            when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+        }
+
+        @Test
+        @DisplayName("Should give the pickup slot back when an order is cancelled")
+        void updateOrderStatus_Cancelled_ReleasesPickupSlot() {
+            mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
+            stubTransition("PENDING", "CANCELLED");
+
+            orderService.updateOrderStatus(1L, "CANCELLED", 99L, "ROLE_SUPER_ADMIN", "Customer cancelled");
+
+            verify(pickupSlotAllocator).release(5L, null);
+        }
+
         @Test
         @DisplayName("Should update status by admin")
         void updateOrderStatus_Admin_UpdatesStatus() {
             mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
-
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-            when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+            stubTransition("PENDING", "PREPARING");
 
             OrderResponse response = orderService.updateOrderStatus(
                 1L, "PREPARING", 99L, "ROLE_SUPER_ADMIN", "Order accepted");
 
-            assertThat(response).isNotNull();
-            assertThat(testOrder.getStatus()).isEqualTo("PREPARING");
+            assertThat(response.getStatus()).isEqualTo("PREPARING");
+            verify(orderRepository).transitionStatus(eq(1L), eq(5L), eq("PENDING"), eq("PREPARING"),
+                any(LocalDateTime.class), eq("99"));
+            verify(orderRepository, never()).save(any(Order.class));
         }
 
         @Test
         @DisplayName("Should update status by owning vendor")
         void updateOrderStatus_OwnerVendor_UpdatesStatus() {
             mockUserContext(5L, "ROLE_VENDOR", 1L);
-
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-            when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+            stubTransition("PENDING", "PREPARING");
 
             OrderResponse response = orderService.updateOrderStatus(
                 1L, "PREPARING", 5L, "ROLE_VENDOR", "Started preparing");
 
-            assertThat(response).isNotNull();
-            assertThat(testOrder.getStatus()).isEqualTo("PREPARING");
+            assertThat(response.getStatus()).isEqualTo("PREPARING");
+        }
+
+        @Test
+        @DisplayName("Should write exactly one history row for the transition")
+        void updateOrderStatus_InsertsHistory() {
+            mockUserContext(5L, "ROLE_VENDOR", 1L);
+            stubTransition("PREPARING", "READY");
+
+            orderService.updateOrderStatus(1L, "READY", 5L, "ROLE_VENDOR", "Ready for pickup");
+
+            ArgumentCaptor<OrderStatusHistory> historyCaptor = ArgumentCaptor.forClass(OrderStatusHistory.class);
+            verify(orderStatusHistoryRepository).save(historyCaptor.capture());
+            OrderStatusHistory history = historyCaptor.getValue();
+            assertThat(history.getOrder()).isSameAs(testOrder);
+            assertThat(history.getPreviousStatus()).isEqualTo("PREPARING");
+            assertThat(history.getNewStatus()).isEqualTo("READY");
+            assertThat(history.getChangedBy()).isEqualTo(5L);
+            assertThat(history.getRemarks()).isEqualTo("Ready for pickup");
         }
 
         @Test
@@ -245,12 +580,14 @@ class OrderServiceTest {
         void updateOrderStatus_NonOwnerVendor_ThrowsException() {
             mockUserContext(99L, "ROLE_VENDOR", 1L); // Different vendor ID
 
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder)); // Order belongs to vendor 5
+            when(orderRepository.findStatusViewById(1L)).thenReturn(Optional.of(statusView("PENDING"))); // Order belongs to vendor 5
 
             assertThatThrownBy(() -> orderService.updateOrderStatus(
                 1L, "PREPARING", 99L, "ROLE_VENDOR", "Unauthorized"))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("permission");
+            verify(orderRepository, never()).transitionStatus(anyLong(), anyLong(), anyString(), anyString(),
+                any(LocalDateTime.class), anyString());
         }
 
         @Test
@@ -258,7 +595,7 @@ class OrderServiceTest {
         void updateOrderStatus_NonExisting_ThrowsException() {
             mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
 
-            when(orderRepository.findById(999L)).thenReturn(Optional.empty());
+            when(orderRepository.findStatusViewById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> orderService.updateOrderStatus(
                 999L, "PREPARING", 99L, "ROLE_SUPER_ADMIN", "Test"))
@@ -267,16 +604,172 @@ class OrderServiceTest {
         }
 
         @Test
-        @DisplayName("Should publish WebSocket update")
-        void updateOrderStatus_PublishesWebSocket() {
+        @DisplayName("Should reject a transition the state machine does not allow")
+        void updateOrderStatus_IllegalTransition_ThrowsException() {
             mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
 
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-            when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+            when(orderRepository.findStatusViewById(1L)).thenReturn(Optional.of(statusView("DELIVERED")));
+
+            assertThatThrownBy(() -> orderService.updateOrderStatus(
+                1L, "PENDING", 99L, "ROLE_SUPER_ADMIN", "Reopen"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid status transition from DELIVERED to PENDING");
+            verifyNoInteractions(orderStatusHistoryRepository, outboxPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown status")
+        void updateOrderStatus_UnknownStatus_ThrowsException() {
+            mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
+
+            when(orderRepository.findStatusViewById(1L)).thenReturn(Optional.of(statusView("PENDING")));
+
+            assertThatThrownBy(() -> orderService.updateOrderStatus(
+                1L, "EATEN", 99L, "ROLE_SUPER_ADMIN", null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Unknown order status");
+        }
+
+        @Test
+        @DisplayName("Should report a conflict when another update got there first")
+        void updateOrderStatus_ConcurrentChange_ThrowsConflict() {
+            mockUserContext(5L, "ROLE_VENDOR", 1L);
+
+            when(orderRepository.findStatusViewById(1L)).thenReturn(Optional.of(statusView("PREPARING")));
+            when(orderRepository.transitionStatus(eq(1L), eq(5L), eq("PREPARING"), eq("READY"),
+                any(LocalDateTime.class), anyString())).thenReturn(0);
+
+            assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "READY", 5L, "ROLE_VENDOR", null))
+                .isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("no longer PREPARING");
+            verifyNoInteractions(orderStatusHistoryRepository, outboxPublisher, vendorOrderBoard);
+        }
+
+        @Test
+        @DisplayName("Should record the status change in the outbox")
+        void updateOrderStatus_PublishesToOutbox() {
+            mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
+            stubTransition("PENDING", "READY");
 
             orderService.updateOrderStatus(1L, "READY", 99L, "ROLE_SUPER_ADMIN", "Ready for pickup");
 
-            verify(orderUpdatePublisher).publishOrderUpdate(1L, "READY", 5L, 10L);
+            ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+            verify(outboxPublisher).publish(eq(OutboxPublisher.AGGREGATE_ORDER), eq(1L), eventCaptor.capture());
+            OrderStatusChangedEvent event = (OrderStatusChangedEvent) eventCaptor.getValue();
+            assertThat(event.getOrderId()).isEqualTo(1L);
+            assertThat(event.getVendorId()).isEqualTo(5L);
+            assertThat(event.getUserId()).isEqualTo(10L);
+            assertThat(event.getOldStatus()).isEqualTo("PENDING");
+            assertThat(event.getNewStatus()).isEqualTo("READY");
+        }
+
+        @Test
+        @DisplayName("Should update the vendor order board")
+        void updateOrderStatus_TracksOnVendorBoard() {
+            mockUserContext(99L, "ROLE_SUPER_ADMIN", null);
+            stubTransition("PENDING", "READY");
+
+            OrderResponse response = orderService.updateOrderStatus(1L, "READY", 99L, "ROLE_SUPER_ADMIN", "Ready for pickup");
+
+            verify(vendorOrderBoard).track(response);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Update Order Status Tests")
+    class BulkUpdateOrderStatusTests {
+
+        private Order order(Long id, Long userId, String status) {
+            Order order = new Order();
+            order.setId(id);
+            order.setOrderNumber("ORD-" + id);
+            order.setUserId(userId);
+            order.setVendorId(5L);
+            order.setStatus(status);
+            order.setTotalAmount(new BigDecimal("100.00"));
+            return order;
+        }
+
+        @Test
+        @DisplayName("Should move every order with one update and one history batch, and an event per order")
+        void updateOrderStatuses_MovesAllTogether() {
+            mockUserContext(5L, "ROLE_VENDOR", 1L);
+            when(orderRepository.findStatusViewsByIdIn(anyCollection())).thenReturn(List.of(
+                statusView(1L, 10L, "PREPARING"), statusView(2L, 11L, "PREPARING"), statusView(3L, 10L, "PREPARING")));
+            when(orderRepository.transitionStatuses(eq(List.of(1L, 2L, 3L)), eq(5L), eq("PREPARING"), eq("READY"),
+                any(LocalDateTime.class), eq("5"))).thenReturn(3);
+            when(orderRepository.findByIdIn(anyCollection())).thenReturn(List.of(
+                order(3L, 10L, "READY"), order(1L, 10L, "READY"), order(2L, 11L, "READY")));
+
+            List<OrderResponse> responses = orderService.updateOrderStatuses(
+                List.of(1L, 2L, 3L, 1L), "READY", 5L, "ROLE_VENDOR", "Tray done");
+
+            assertThat(responses).extracting(OrderResponse::getId).containsExactly(1L, 2L, 3L);
+            verify(orderRepository, never()).transitionStatus(anyLong(), anyLong(), anyString(), anyString(),
+                any(LocalDateTime.class), anyString());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<OrderStatusHistory>> historyCaptor = ArgumentCaptor.forClass(List.class);
+            verify(orderStatusHistoryRepository).saveAll(historyCaptor.capture());
+            assertThat(historyCaptor.getValue()).hasSize(3)
+                .allSatisfy(history -> assertThat(history.getPreviousStatus()).isEqualTo("PREPARING"));
+            verify(vendorOrderBoard, times(3)).track(any(OrderResponse.class));
+
+            // One event per order, on the order's own aggregate, so it stays behind that order's earlier events
+            ArgumentCaptor<Long> aggregateCaptor = ArgumentCaptor.forClass(Long.class);
+            ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+            verify(outboxPublisher, times(3)).publish(eq(OutboxPublisher.AGGREGATE_ORDER), aggregateCaptor.capture(),
+                eventCaptor.capture());
+            assertThat(aggregateCaptor.getAllValues()).containsExactly(1L, 2L, 3L);
+            assertThat(eventCaptor.getAllValues()).map(OrderStatusChangedEvent.class::cast)
+                .extracting(OrderStatusChangedEvent::getOrderId, OrderStatusChangedEvent::getUserId,
+                    OrderStatusChangedEvent::getOldStatus, OrderStatusChangedEvent::getNewStatus)
+                .containsExactly(
+                    tuple(1L, 10L, "PREPARING", "READY"),
+                    tuple(2L, 11L, "PREPARING", "READY"),
+                    tuple(3L, 10L, "PREPARING", "READY"));
+        }
+
+        @Test
+        @DisplayName("Should move nothing if one order belongs to another vendor")
+        void updateOrderStatuses_ForeignOrder_NothingMoved() {
+            mockUserContext(7L, "ROLE_VENDOR", 1L);
+            when(orderRepository.findStatusViewsByIdIn(anyCollection())).thenReturn(List.of(
+                statusView(1L, 10L, "PREPARING"), statusView(2L, 11L, "PREPARING")));
+
+            assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(1L, 2L), "READY", 7L, "ROLE_VENDOR", null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("permission");
+            verify(orderRepository, never()).transitionStatuses(anyCollection(), anyLong(), anyString(), anyString(),
+                any(LocalDateTime.class), anyString());
+            verifyNoInteractions(orderStatusHistoryRepository, outboxPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject the batch if any order cannot make the transition")
+        void updateOrderStatuses_IllegalTransition_NothingMoved() {
+            mockUserContext(5L, "ROLE_VENDOR", 1L);
+            when(orderRepository.findStatusViewsByIdIn(anyCollection())).thenReturn(List.of(
+                statusView(1L, 10L, "PREPARING"), statusView(2L, 11L, "DELIVERED")));
+
+            assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(1L, 2L), "READY", 5L, "ROLE_VENDOR", null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("order 2 from DELIVERED to READY");
+            verifyNoInteractions(orderStatusHistoryRepository, outboxPublisher);
+        }
+
+        @Test
+        @DisplayName("Should report a conflict when any order changed concurrently")
+        void updateOrderStatuses_ConcurrentChange_ThrowsConflict() {
+            mockUserContext(5L, "ROLE_VENDOR", 1L);
+            when(orderRepository.findStatusViewsByIdIn(anyCollection())).thenReturn(List.of(
+                statusView(1L, 10L, "PREPARING"), statusView(2L, 11L, "PREPARING")));
+            when(orderRepository.transitionStatuses(anyCollection(), eq(5L), eq("PREPARING"), eq("READY"),
+                any(LocalDateTime.class), anyString())).thenReturn(1);
+
+            assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(1L, 2L), "READY", 5L, "ROLE_VENDOR", null))
+                .isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("no longer PREPARING");
+            verifyNoInteractions(orderStatusHistoryRepository, outboxPublisher, vendorOrderBoard);
         }
     }
 
@@ -301,6 +794,21 @@ class OrderServiceTest {
             assertThat(response).isNotNull();
             assertThat(testOrder.getRating()).isEqualTo(5);
             assertThat(testOrder.getFeedback()).isEqualTo("Excellent food!");
+            verify(vendorRatingService).recordRating(5L, null, 5);
+        }
+
+        @Test
+        @DisplayName("Should replace the previous rating in the vendor aggregates when re-rating")
+        void rateOrder_Rerate_PassesPreviousRating() {
+            testOrder.setStatus("DELIVERED");
+            testOrder.setRating(2);
+
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+            when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+            orderService.rateOrder(1L, new RateOrderRequest(4, null), 10L);
+
+            verify(vendorRatingService).recordRating(5L, 2, 4);
         }
 
         @Test
@@ -361,18 +869,30 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should get order by QR code")
         void getOrderByQRCode_ValidQR_ReturnsOrder() {
-            when(qrCodeService.verifyQRCodeData("valid-qr")).thenReturn(true);
-            when(orderRepository.findByQrCodeData("valid-qr")).thenReturn(Optional.of(testOrder));
+            when(qrCodeService.verifiedOrderId("qr-data-encoded")).thenReturn(1L);
+            when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
 
-            OrderResponse response = orderService.getOrderByQRCode("valid-qr");
+            OrderResponse response = orderService.getOrderByQRCode("qr-data-encoded");
 
             assertThat(response).isNotNull();
+            verify(orderRepository, never()).findByQrCodeData(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject a valid token that no longer matches the order")
+        void getOrderByQRCode_StaleToken_ThrowsException() {
+            when(qrCodeService.verifiedOrderId("old-qr")).thenReturn(1L);
+            when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+            assertThatThrownBy(() -> orderService.getOrderByQRCode("old-qr"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("not found");
         }
 
         @Test
         @DisplayName("Should reject invalid QR code")
         void getOrderByQRCode_InvalidQR_ThrowsException() {
-            when(qrCodeService.verifyQRCodeData("invalid-qr")).thenReturn(false);
+            when(qrCodeService.verifiedOrderId("invalid-qr")).thenReturn(null);
 
             assertThatThrownBy(() -> orderService.getOrderByQRCode("invalid-qr"))
                 .isInstanceOf(RuntimeException.class)
@@ -392,19 +912,21 @@ class OrderServiceTest {
             order2.setUserId(10L);
             order2.setStatus("DELIVERED");
 
-            when(orderRepository.findByUserIdAndDeletedFalseOrderByCreatedAtDesc(10L))
-                .thenReturn(Arrays.asList(testOrder, order2));
+            when(orderRepository.findUserOrderIdsPage(eq(10L), isNull(), any(), any(), any(), anyLong(), any(Limit.class)))
+                .thenReturn(Arrays.asList(1L, 2L));
+            when(orderRepository.findByIdIn(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(order2, testOrder));
 
             List<OrderResponse> orders = orderService.getUserOrders(10L);
 
-            assertThat(orders).hasSize(2);
+            assertThat(orders).extracting(OrderResponse::getId).containsExactly(1L, 2L);
         }
 
         @Test
         @DisplayName("Should get vendor orders")
         void getVendorOrders_ReturnsOrders() {
-            when(orderRepository.findByVendorIdAndDeletedFalseOrderByCreatedAtDesc(5L))
-                .thenReturn(Arrays.asList(testOrder));
+            when(orderRepository.findVendorOrderIdsPage(eq(5L), isNull(), any(), any(), any(), anyLong(), any(Limit.class)))
+                .thenReturn(Arrays.asList(1L));
+            when(orderRepository.findByIdIn(Arrays.asList(1L))).thenReturn(Arrays.asList(testOrder));
 
             List<OrderResponse> orders = orderService.getVendorOrders(5L);
 
@@ -414,12 +936,70 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should return empty list when no orders")
         void getUserOrders_NoOrders_ReturnsEmptyList() {
-            when(orderRepository.findByUserIdAndDeletedFalseOrderByCreatedAtDesc(99L))
+            when(orderRepository.findUserOrderIdsPage(eq(99L), isNull(), any(), any(), any(), anyLong(), any(Limit.class)))
                 .thenReturn(Arrays.asList());
 
             List<OrderResponse> orders = orderService.getUserOrders(99L);
 
             assertThat(orders).isEmpty();
+            verify(orderRepository, never()).findByIdIn(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should bound legacy listing to the default page size")
+        void getUserOrders_UsesDefaultLimit() {
+            when(orderRepository.findUserOrderIdsPage(eq(10L), isNull(), any(), any(), any(), anyLong(), any(Limit.class)))
+                .thenReturn(Arrays.asList());
+
+            orderService.getUserOrders(10L);
+
+            verify(orderRepository).findUserOrderIdsPage(eq(10L), isNull(), any(), any(), any(), anyLong(),
+                eq(Limit.of(OrderPageRequest.DEFAULT_LIMIT + 1)));
+        }
+
+        @Test
+        @DisplayName("Should return a cursor that resumes after the last order of a full page")
+        void getVendorOrdersPage_MoreRows_ReturnsNextCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2026, 3, 15, 12, 30, 0, 123456000);
+            Order first = new Order();
+            first.setId(9L);
+            first.setCreatedAt(createdAt.plusMinutes(1));
+            Order second = new Order();
+            second.setId(7L);
+            second.setCreatedAt(createdAt);
+
+            when(orderRepository.findVendorOrderIdsPage(eq(5L), eq("PENDING"), any(), any(), any(), anyLong(), eq(Limit.of(3))))
+                .thenReturn(Arrays.asList(9L, 7L, 4L));
+            when(orderRepository.findByIdIn(Arrays.asList(9L, 7L))).thenReturn(Arrays.asList(second, first));
+
+            OrderPageResponse page = orderService.getVendorOrdersPage(5L,
+                new OrderPageRequest(null, 2, "pending", null, null));
+
+            assertThat(page.isHasMore()).isTrue();
+            assertThat(page.getOrders()).extracting(OrderResponse::getId).containsExactly(9L, 7L);
+
+            orderService.getVendorOrdersPage(5L, new OrderPageRequest(page.getNextCursor(), 2, null, null, null));
+            verify(orderRepository).findVendorOrderIdsPage(eq(5L), isNull(), any(), any(), eq(createdAt), eq(7L), eq(Limit.of(3)));
+        }
+
+        @Test
+        @DisplayName("Should cap page size and reject malformed cursors and ranges")
+        void getOrganizationOrdersPage_InvalidInput() {
+            when(orderRepository.findOrganizationOrderIdsPage(eq(1L), isNull(), any(), any(), any(), anyLong(), any(Limit.class)))
+                .thenReturn(Arrays.asList());
+
+            orderService.getOrganizationOrdersPage(1L, new OrderPageRequest(null, 10_000, null, null, null));
+            verify(orderRepository).findOrganizationOrderIdsPage(eq(1L), isNull(), any(), any(), any(), anyLong(),
+                eq(Limit.of(OrderPageRequest.MAX_LIMIT + 1)));
+
+            assertThatThrownBy(() -> orderService.getOrganizationOrdersPage(1L,
+                    new OrderPageRequest("not-a-cursor", null, null, null, null)))
+                .hasMessageContaining("Invalid page cursor");
+
+            LocalDateTime now = LocalDateTime.now();
+            assertThatThrownBy(() -> orderService.getOrganizationOrdersPage(1L,
+                    new OrderPageRequest(null, null, null, now, now.minusDays(1))))
+                .hasMessageContaining("Invalid date range");
         }
     }
 
@@ -458,7 +1038,7 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should get vendor average rating")
         void getVendorAverageRating_ReturnsRating() {
-            when(orderRepository.findAverageRatingByVendorId(5L)).thenReturn(4.5);
+            when(vendorRatingService.getAverageRating(5L)).thenReturn(4.5);
 
             Double rating = orderService.getVendorAverageRating(5L);
 
@@ -468,11 +1048,26 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should return null for vendor with no ratings")
         void getVendorAverageRating_NoRatings_ReturnsNull() {
-            when(orderRepository.findAverageRatingByVendorId(99L)).thenReturn(null);
+            when(vendorRatingService.getAverageRating(99L)).thenReturn(null);
 
             Double rating = orderService.getVendorAverageRating(99L);
 
             assertThat(rating).isNull();
         }
     }
+
+    private OrderStatusView statusView(String status) {
+        return statusView(1L, 10L, status);
+    }
+
+    private OrderStatusView statusView(Long id, Long userId, String status) {
+        return new OrderStatusView() {
+            public Long getId() { return id; }
+            public String getOrderNumber() { return id == 1L ? "ORD-2026-001234" : "ORD-" + id; }
+            public Long getUserId() { return userId; }
+            public Long getVendorId() { return 5L; }
+            public String getStatus() { return status; }
+            public LocalDateTime getPickupSlotStart() { return null; }
+        };
+    }
 }
@@ -0,0 +1,147 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.PickupSlotResponse;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.shared.api.organisation.OrganisationService;
+import com.bitedash.shared.api.organisation.PickupSlotPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PickupSlotAllocator Tests")
+class PickupSlotAllocatorTest {
+
+    private static final Long VENDOR_ID = 5L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    @Mock
+    private OrganisationService organisationService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private final LocalPickupSlotCounter counter = new LocalPickupSlotCounter();
+    private PickupSlotAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new PickupSlotAllocator(counter, organisationService, orderRepository, 60_000);
+    }
+
+    private void policy(int slotMinutes, int ordersPerSlot, LocalTime open, LocalTime close) {
+        when(organisationService.getPickupSlotPolicy(eq(VENDOR_ID), any()))
+                .thenReturn(new PickupSlotPolicy(VENDOR_ID, slotMinutes, ordersPerSlot, open, close, false));
+    }
+
+    @Test
+    @DisplayName("Should claim the slot containing the requested time and spill into the next one when full")
+    void claim_FullSlot_MovesToEarliestSlotWithRoom() {
+        policy(10, 2, LocalTime.of(11, 0), LocalTime.of(15, 0));
+        LocalDateTime requested = DAY.atTime(12, 34);
+
+        assertThat(allocator.claim(VENDOR_ID, requested)).isEqualTo(DAY.atTime(12, 30));
+        assertThat(allocator.claim(VENDOR_ID, requested)).isEqualTo(DAY.atTime(12, 30));
+        assertThat(allocator.claim(VENDOR_ID, requested)).isEqualTo(DAY.atTime(12, 40));
+    }
+
+    @Test
+    @DisplayName("Should start at opening time and refuse once every slot up to closing is full")
+    void claim_BeforeOpening_UsesFirstSlotUntilClosing() {
+        policy(30, 1, LocalTime.of(11, 0), LocalTime.of(12, 0));
+
+        assertThat(allocator.claim(VENDOR_ID, DAY.atTime(9, 0))).isEqualTo(DAY.atTime(11, 0));
+        assertThat(allocator.claim(VENDOR_ID, DAY.atTime(9, 0))).isEqualTo(DAY.atTime(11, 30));
+        assertThatThrownBy(() -> allocator.claim(VENDOR_ID, DAY.atTime(9, 0)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("full");
+    }
+
+    @Test
+    @DisplayName("Should not assign slots for vendors without capacity and cache that answer")
+    void claim_NoPolicy_ReturnsNull() {
+        assertThat(allocator.claim(VENDOR_ID, DAY.atTime(12, 0))).isNull();
+        assertThat(allocator.claim(VENDOR_ID, DAY.atTime(12, 5))).isNull();
+
+        verify(organisationService, times(1)).getPickupSlotPolicy(VENDOR_ID, DAY.getDayOfWeek());
+    }
+
+    @Test
+    @DisplayName("Should never overbook a slot under concurrent checkouts")
+    void claim_Concurrent_NeverExceedsCapacity() throws Exception {
+        policy(10, 20, LocalTime.of(12, 0), LocalTime.of(12, 10));
+        int checkouts = 64;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < checkouts; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    return allocator.claim(VENDOR_ID, DAY.atTime(12, 0)) != null;
+                } catch (RuntimeException full) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int claimed = 0;
+        for (Future<Boolean> result : results) {
+            claimed += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertThat(claimed).isEqualTo(20);
+        assertThat(counter.claimed(VENDOR_ID, List.of(DAY.atTime(12, 0)))).containsExactly(20);
+    }
+
+    @Test
+    @DisplayName("Should report fill levels and free a place on release")
+    void getSlots_ReportsFillLevels() {
+        policy(30, 3, LocalTime.of(12, 0), LocalTime.of(13, 0));
+        LocalDateTime slot = allocator.claim(VENDOR_ID, DAY.atTime(12, 10));
+        allocator.claim(VENDOR_ID, DAY.atTime(12, 10));
+        allocator.release(VENDOR_ID, slot);
+
+        List<PickupSlotResponse> slots = allocator.getSlots(VENDOR_ID, DAY);
+
+        assertThat(slots).extracting(PickupSlotResponse::getSlotStart)
+                .containsExactly(DAY.atTime(12, 0), DAY.atTime(12, 30));
+        assertThat(slots).extracting(PickupSlotResponse::getClaimed).containsExactly(1, 0);
+        assertThat(slots).extracting(PickupSlotResponse::getAvailable).containsExactly(2, 3);
+    }
+
+    @Test
+    @DisplayName("Should seed counters from orders already holding slots")
+    void seed_RestoresCountsFromDatabase() {
+        policy(10, 2, null, null);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{VENDOR_ID, DAY.atTime(12, 0), 2L});
+        when(orderRepository.countOrdersByPickupSlot(any(LocalDateTime.class))).thenReturn(rows);
+
+        allocator.seed();
+
+        assertThat(allocator.claim(VENDOR_ID, DAY.atTime(12, 0))).isEqualTo(DAY.atTime(12, 10));
+    }
+}
@@ -0,0 +1,138 @@
+package com.bitedash.order.service;
+
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("QRCodeService Tests")
+class QRCodeServiceTest {
+
+    private static final String SECRET = "test-qr-secret";
+
+    private QRCodeService qrCodeService;
+
+    @BeforeEach
+    void setUp() {
+        qrCodeService = new QRCodeService();
+        ReflectionTestUtils.setField(qrCodeService, "secretKey", SECRET);
+        qrCodeService.init();
+    }
+
+    @Nested
+    @DisplayName("Compact token Tests")
+    class CompactTokenTests {
+
+        @Test
+        @DisplayName("Should issue a short URL-safe token that verifies to its order id")
+        void generate_RoundTrip() {
+            String token = qrCodeService.generateQRCodeData(123456789L, "ORD-2026-001234");
+
+            assertThat(token).hasSize(39).matches("[A-Za-z0-9_-]+");
+            assertThat(qrCodeService.verifiedOrderId(token)).isEqualTo(123456789L);
+            assertThat(qrCodeService.verifyQRCodeData(token)).isTrue();
+            assertThat(qrCodeService.extractOrderId(token)).isEqualTo(123456789L);
+        }
+
+        @Test
+        @DisplayName("Should reject a token whose order id was altered")
+        void verify_TamperedOrderId_Rejected() {
+            byte[] token = Base64.getUrlDecoder().decode(qrCodeService.generateQRCodeData(1L, "ORD-1"));
+            token[8] ^= 0x02;
+
+            String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+            assertThat(qrCodeService.verifiedOrderId(tampered)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a token signed with another key")
+        void verify_OtherKey_Rejected() {
+            QRCodeService other = new QRCodeService();
+            ReflectionTestUtils.setField(other, "secretKey", "another-secret");
+            other.init();
+
+            assertThat(qrCodeService.verifiedOrderId(other.generateQRCodeData(1L, "ORD-1"))).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void verify_Expired_Rejected() {
+            long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+            assertThat(qrCodeService.verifiedOrderId(qrCodeService.generateQRCodeData(1L, twoDaysAgo))).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject malformed input")
+        void verify_Malformed_Rejected() {
+            assertThat(qrCodeService.verifiedOrderId(null)).isNull();
+            assertThat(qrCodeService.verifiedOrderId("")).isNull();
+            assertThat(qrCodeService.verifiedOrderId("not a token")).isNull();
+            assertThat(qrCodeService.verifiedOrderId("AAAA")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should verify correctly from many threads at once")
+        void verify_Concurrent() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (long orderId = 1; orderId <= 200; orderId++) {
+                    long id = orderId;
+                    results.add(executor.submit(() ->
+                        Long.valueOf(id).equals(qrCodeService.verifiedOrderId(qrCodeService.generateQRCodeData(id, "ORD")))));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Legacy token Tests")
+    class LegacyTokenTests {
+
+        @Test
+        @DisplayName("Should still verify tokens in the old JSON format")
+        void verify_LegacyToken_Accepted() throws Exception {
+            String token = legacyToken(42L, "ORD-2026-000042", System.currentTimeMillis(), SECRET);
+
+            assertThat(qrCodeService.verifiedOrderId(token)).isEqualTo(42L);
+            assertThat(qrCodeService.extractOrderId(token)).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("Should reject legacy tokens with a bad signature or past their age")
+        void verify_LegacyToken_Rejected() throws Exception {
+            long expired = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+            assertThat(qrCodeService.verifiedOrderId(
+                legacyToken(42L, "ORD-2026-000042", System.currentTimeMillis(), "wrong-secret"))).isNull();
+            assertThat(qrCodeService.verifiedOrderId(legacyToken(42L, "ORD-2026-000042", expired, SECRET))).isNull();
+        }
+
+        // Mirrors the previous generateQRCodeData implementation
+        private String legacyToken(Long orderId, String orderNumber, long timestamp, String secret) throws Exception {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String signature = Base64.getEncoder().encodeToString(
+                mac.doFinal((orderId + "|" + orderNumber + "|" + timestamp).getBytes(StandardCharsets.UTF_8)));
+            String json = String.format(
+                "{\"orderId\":%d,\"orderNumber\":\"%s\",\"timestamp\":%d,\"signature\":\"%s\"}",
+                orderId, orderNumber, timestamp, signature);
+            return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bitedash.order.service;
+
+import com.bitedash.shared.testing.RedisStandIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two counter "nodes" share slot counts through the in-process {@link RedisStandIn}.
+ */
+@DisplayName("RedisPickupSlotCounter Tests")
+class RedisPickupSlotCounterTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(1).withHour(12).withMinute(30)
+            .withSecond(0).withNano(0);
+
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisPickupSlotCounter nodeA;
+    private RedisPickupSlotCounter nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RedisStandIn();
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+            LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        nodeA = new RedisPickupSlotCounter(new StringRedisTemplate(connectionFactory), "test:slots:");
+        nodeB = new RedisPickupSlotCounter(new StringRedisTemplate(connectionFactory), "test:slots:");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Should enforce one capacity across nodes and give places back on release")
+    void tryClaim_SharedAcrossNodes() {
+        assertThat(nodeA.tryClaim(5L, SLOT, 2)).isTrue();
+        assertThat(nodeB.tryClaim(5L, SLOT, 2)).isTrue();
+        assertThat(nodeA.tryClaim(5L, SLOT, 2)).isFalse();
+        assertThat(nodeB.claimed(5L, List.of(SLOT, SLOT.plusMinutes(10)))).containsExactly(2, 0);
+
+        nodeA.release(5L, SLOT);
+
+        assertThat(nodeB.tryClaim(5L, SLOT, 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only restore slots Redis does not know")
+    void restore_KeepsExistingCounts() {
+        nodeA.tryClaim(5L, SLOT, 10);
+
+        nodeB.restore(5L, SLOT, 7);
+        nodeB.restore(5L, SLOT.plusMinutes(10), 3);
+
+        assertThat(nodeA.claimed(5L, List.of(SLOT, SLOT.plusMinutes(10)))).containsExactly(1, 3);
+    }
+}
@@ -0,0 +1,119 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.shared.testing.RedisStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two board "nodes" share committed changes through the in-process {@link RedisStandIn}.
+ */
+@DisplayName("RedisVendorOrderBoardSync Tests")
+class RedisVendorOrderBoardSyncTest {
+
+    private static final String CHANNEL = "bitedash:board:orders";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private RedisStandIn redis;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RedisStandIn();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Should show an order tracked on one node on every node's board")
+    void track_SharedWithOtherNodes() throws Exception {
+        VendorOrderBoard nodeA = startNode();
+        VendorOrderBoard nodeB = startNode();
+        awaitSubscribers(2);
+
+        nodeA.track(response(1L, 5L, "PENDING"));
+
+        await(() -> nodeB.getActiveOrders(5L).size() == 1);
+        assertThat(nodeB.getActiveOrders(5L).get(0).getCreatedAt()).isEqualTo(LocalDateTime.of(2026, 3, 15, 12, 0));
+
+        nodeB.track(response(1L, 5L, "READY"));
+
+        await(() -> "READY".equals(nodeA.getActiveOrders(5L).get(0).getStatus()));
+
+        nodeA.track(response(1L, 5L, "PICKED_UP"));
+
+        await(() -> nodeB.getActiveOrders(5L).isEmpty());
+        assertThat(nodeA.getActiveOrders(5L)).isEmpty();
+    }
+
+    private VendorOrderBoard startNode() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+            LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        resources.add(connectionFactory::destroy);
+
+        VendorOrderBoard board = new VendorOrderBoard();
+        RedisVendorOrderBoardSync sync = new RedisVendorOrderBoardSync(new StringRedisTemplate(connectionFactory),
+            objectMapper, board, CHANNEL);
+        ReflectionTestUtils.setField(board, "clusterSync",
+            new StaticListableBeanFactory(Map.of("sync", sync)).getBeanProvider(RedisVendorOrderBoardSync.class));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(sync, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        resources.add(container::destroy);
+        return board;
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        await(() -> redis.subscriberCount(CHANNEL) >= expected);
+        assertThat(redis.subscriberCount(CHANNEL)).isEqualTo(expected);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private OrderResponse response(Long id, Long vendorId, String status) {
+        OrderResponse response = new OrderResponse();
+        response.setId(id);
+        response.setVendorId(vendorId);
+        response.setStatus(status);
+        response.setCreatedAt(LocalDateTime.of(2026, 3, 15, 12, 0));
+        return response;
+    }
+}
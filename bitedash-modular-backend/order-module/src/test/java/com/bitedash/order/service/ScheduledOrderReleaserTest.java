@@ -0,0 +1,168 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.order.repository.ScheduledOrderView;
+import com.bitedash.shared.event.OrderReleasedEvent;
+import com.bitedash.shared.outbox.OutboxPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScheduledOrderReleaser Tests")
+class ScheduledOrderReleaserTest {
+
+    private static final long LEAD_MINUTES = 30;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VendorOrderBoard vendorOrderBoard;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScheduledOrderReleaser releaser;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        // The worker thread is not started; tests release due orders with releaseDue()
+        releaser = new ScheduledOrderReleaser(orderRepository, vendorOrderBoard, outboxPublisher,
+                transactionManager, meterRegistryProvider, LEAD_MINUTES);
+    }
+
+    @Test
+    @DisplayName("Should hold only orders whose release time is still ahead")
+    void shouldHold_ComparesReleaseTimeWithNow() {
+        assertThat(releaser.shouldHold(LocalDateTime.now().plusHours(3))).isTrue();
+        assertThat(releaser.shouldHold(LocalDateTime.now().plusMinutes(LEAD_MINUTES - 5))).isFalse();
+        assertThat(releaser.shouldHold(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from held orders and release only those that are due")
+    void resync_ReleasesDueOrdersOnly() {
+        when(orderRepository.findByReleasedAtIsNullAndDeletedFalse()).thenReturn(List.of(
+                held(1L, LocalDateTime.now().plusMinutes(LEAD_MINUTES - 1)),
+                held(2L, LocalDateTime.now().plusHours(4))));
+        when(orderRepository.markReleased(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findByIdIn(List.of(1L))).thenReturn(List.of(order(1L)));
+
+        assertThat(releaser.resync()).isEqualTo(2);
+        assertThat(releaser.backlog()).isEqualTo(2);
+
+        assertThat(releaser.releaseDue()).isEqualTo(1);
+
+        verify(orderRepository, never()).markReleased(eq(2L), any());
+        ArgumentCaptor<OrderResponse> tracked = ArgumentCaptor.forClass(OrderResponse.class);
+        verify(vendorOrderBoard).track(tracked.capture());
+        assertThat(tracked.getValue().getId()).isEqualTo(1L);
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(outboxPublisher).publish(eq(OutboxPublisher.AGGREGATE_ORDER), eq(1L), event.capture());
+        assertThat(((OrderReleasedEvent) event.getValue()).getVendorId()).isEqualTo(5L);
+        assertThat(releaser.backlog()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.scheduled.backlog").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.scheduled.release.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not announce an order another node already released")
+    void releaseDue_AlreadyReleased_Skipped() {
+        releaser.enqueue(1L, LocalDateTime.now());
+        when(orderRepository.markReleased(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThat(releaser.releaseDue()).isZero();
+
+        verify(orderRepository, never()).findByIdIn(anyCollection());
+        verifyNoInteractions(vendorOrderBoard, outboxPublisher);
+        assertThat(releaser.backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release an order once when it is queued repeatedly")
+    void enqueue_Repeated_ReleasedOnce() {
+        LocalDateTime pickup = LocalDateTime.now().plusMinutes(LEAD_MINUTES);
+        releaser.enqueue(1L, pickup);
+        releaser.enqueue(1L, pickup);
+        when(orderRepository.markReleased(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findByIdIn(List.of(1L))).thenReturn(List.of(order(1L)));
+
+        assertThat(releaser.releaseDue()).isEqualTo(1);
+        assertThat(releaser.releaseDue()).isZero();
+
+        verify(orderRepository, times(1)).markReleased(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave orders held when the release fails so the next resync retries")
+    void releaseDue_Failure_RequeuedByResync() {
+        LocalDateTime pickup = LocalDateTime.now();
+        releaser.enqueue(1L, pickup);
+        when(orderRepository.markReleased(eq(1L), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        when(orderRepository.findByIdIn(List.of(1L))).thenReturn(List.of(order(1L)));
+        when(orderRepository.findByReleasedAtIsNullAndDeletedFalse()).thenReturn(List.of(held(1L, pickup)));
+
+        assertThat(releaser.releaseDue()).isZero();
+        releaser.resync();
+
+        assertThat(releaser.releaseDue()).isEqualTo(1);
+    }
+
+    private ScheduledOrderView held(Long id, LocalDateTime scheduledTime) {
+        return new ScheduledOrderView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getScheduledTime() {
+                return scheduledTime;
+            }
+        };
+    }
+
+    private Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setUserId(10L);
+        order.setVendorId(5L);
+        order.setStatus("PENDING");
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setScheduledTime(LocalDateTime.now().plusMinutes(LEAD_MINUTES));
+        return order;
+    }
+}
@@ -0,0 +1,191 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.OrderResponse;
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.repository.OrderRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VendorOrderBoard Tests")
+class VendorOrderBoardTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private VendorOrderBoard board;
+
+    @Nested
+    @DisplayName("Tracking Tests")
+    class TrackingTests {
+
+        @Test
+        @DisplayName("Should list a vendor's active orders oldest first")
+        void track_ActiveOrders_ListedOldestFirst() {
+            board.track(response(2L, 5L, "PREPARING", BASE.plusMinutes(5)));
+            board.track(response(1L, 5L, "PENDING", BASE));
+            board.track(response(3L, 6L, "PENDING", BASE));
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getId).containsExactly(1L, 2L);
+            assertThat(board.getActiveOrders(6L)).extracting(OrderResponse::getId).containsExactly(3L);
+            assertThat(board.getActiveOrders(7L)).isEmpty();
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should replace an order with its latest status")
+        void track_StatusChange_ReplacesEntry() {
+            board.track(response(1L, 5L, "PENDING", BASE));
+            board.track(response(1L, 5L, "READY", BASE));
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getStatus).containsExactly("READY");
+        }
+
+        @Test
+        @DisplayName("Should keep accepted orders on the board until they are picked up")
+        void track_Confirmed_StaysUntilPickedUp() {
+            board.track(response(1L, 5L, "PENDING", BASE));
+            board.track(response(1L, 5L, "CONFIRMED", BASE));
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getStatus).containsExactly("CONFIRMED");
+
+            board.track(response(1L, 5L, "PICKED_UP", BASE));
+
+            assertThat(board.getActiveOrders(5L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should evict delivered and cancelled orders")
+        void track_TerminalStatus_Evicts() {
+            board.track(response(1L, 5L, "READY", BASE));
+            board.track(response(2L, 5L, "PENDING", BASE));
+
+            board.track(response(1L, 5L, "DELIVERED", BASE));
+            board.track(response(2L, 5L, "CANCELLED", BASE));
+
+            assertThat(board.getActiveOrders(5L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should apply changes only after the transaction commits")
+        void track_InTransaction_AppliedAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                board.track(response(1L, 5L, "PENDING", BASE));
+                assertThat(board.getActiveOrders(5L)).isEmpty();
+
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getId).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should not show orders whose transaction rolled back")
+        void track_RolledBack_NotApplied() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                board.track(response(1L, 5L, "PENDING", BASE));
+                TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(board.getActiveOrders(5L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconciliation Tests")
+    class ReconciliationTests {
+
+        @Test
+        @DisplayName("Should seed the board from the database")
+        void seed_LoadsActiveOrders() {
+            when(orderRepository.findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(anyCollection()))
+                .thenReturn(List.of(order(1L, 5L, "PENDING"), order(2L, 6L, "READY")));
+
+            board.seed();
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getId).containsExactly(1L);
+            assertThat(board.getActiveOrders(6L)).extracting(OrderResponse::getId).containsExactly(2L);
+            verify(orderRepository).findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(
+                Set.of("PENDING", "CONFIRMED", "PREPARING", "READY"));
+        }
+
+        @Test
+        @DisplayName("Should repair missing, stale and finished entries")
+        void reconcile_RepairsDrift() {
+            board.track(response(1L, 5L, "PENDING", BASE));   // stale: now READY in the database
+            board.track(response(2L, 5L, "PREPARING", BASE)); // finished: no longer active
+            when(orderRepository.findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(anyCollection()))
+                .thenReturn(List.of(order(1L, 5L, "READY"), order(3L, 5L, "PENDING")));
+
+            board.reconcile();
+
+            assertThat(board.getActiveOrders(5L))
+                .extracting(OrderResponse::getId, OrderResponse::getStatus)
+                .containsExactlyInAnyOrder(tuple(1L, "READY"), tuple(3L, "PENDING"));
+        }
+
+        @Test
+        @DisplayName("Should not undo changes made while the sweep was reading")
+        void reconcile_ConcurrentChanges_Kept() {
+            board.track(response(1L, 5L, "PENDING", BASE));
+            when(orderRepository.findByStatusInAndReleasedAtIsNotNullAndDeletedFalse(anyCollection())).thenAnswer(invocation -> {
+                // Snapshot was taken before these commits landed on the board
+                List<Order> snapshot = new ArrayList<>(List.of(order(1L, 5L, "PENDING")));
+                board.track(response(1L, 5L, "DELIVERED", BASE));
+                board.track(response(2L, 5L, "PENDING", BASE));
+                return snapshot;
+            });
+
+            board.reconcile();
+
+            assertThat(board.getActiveOrders(5L)).extracting(OrderResponse::getId).containsExactly(2L);
+        }
+    }
+
+    private OrderResponse response(Long id, Long vendorId, String status, LocalDateTime createdAt) {
+        OrderResponse response = new OrderResponse();
+        response.setId(id);
+        response.setVendorId(vendorId);
+        response.setStatus(status);
+        response.setCreatedAt(createdAt);
+        return response;
+    }
+
+    private Order order(Long id, Long vendorId, String status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setUserId(10L);
+        order.setVendorId(vendorId);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setCreatedAt(BASE);
+        return order;
+    }
+}
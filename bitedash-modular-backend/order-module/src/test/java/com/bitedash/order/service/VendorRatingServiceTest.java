@@ -0,0 +1,132 @@
+package com.bitedash.order.service;
+
+import com.bitedash.order.dto.response.VendorRatingResponse;
+import com.bitedash.order.entity.Order;
+import com.bitedash.order.entity.VendorRatingSummary;
+import com.bitedash.order.repository.OrderJpaTestConfig;
+import com.bitedash.order.repository.OrderRepository;
+import com.bitedash.order.repository.VendorRatingSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:vendorrating;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {OrderJpaTestConfig.class, VendorRatingService.class})
+@DisplayName("VendorRatingService Tests")
+class VendorRatingServiceTest {
+
+    @Autowired
+    private VendorRatingService vendorRatingService;
+
+    @Autowired
+    private VendorRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int orderSequence;
+
+    @Test
+    @DisplayName("Should keep count, sum and histogram as ratings arrive")
+    void recordRating_Incremental() {
+        vendorRatingService.recordRating(5L, null, 5);
+        vendorRatingService.recordRating(5L, null, 4);
+        vendorRatingService.recordRating(5L, null, 4);
+        entityManager.clear();
+
+        VendorRatingResponse rating = vendorRatingService.getRating(5L);
+
+        assertThat(rating.getRatingCount()).isEqualTo(3);
+        assertThat(rating.getAverageRating()).isCloseTo(13.0 / 3, within(1e-9));
+        assertThat(rating.getHistogram()).containsExactly(
+            entry(1, 0L), entry(2, 0L), entry(3, 0L), entry(4, 2L), entry(5, 1L));
+    }
+
+    @Test
+    @DisplayName("Should move a re-rated order between histogram buckets without changing the count")
+    void recordRating_Rerate() {
+        vendorRatingService.recordRating(5L, null, 2);
+        vendorRatingService.recordRating(5L, 2, 5);
+        entityManager.clear();
+
+        VendorRatingResponse rating = vendorRatingService.getRating(5L);
+
+        assertThat(rating.getRatingCount()).isEqualTo(1);
+        assertThat(rating.getAverageRating()).isEqualTo(5.0);
+        assertThat(rating.getHistogram()).containsEntry(2, 0L).containsEntry(5, 1L);
+    }
+
+    @Test
+    @DisplayName("Should return every requested vendor from one bulk lookup")
+    void getRatings_Bulk() {
+        vendorRatingService.recordRating(5L, null, 3);
+        vendorRatingService.recordRating(6L, null, 5);
+        entityManager.clear();
+
+        Map<Long, VendorRatingResponse> ratings = vendorRatingService.getRatings(List.of(6L, 5L, 7L));
+
+        assertThat(ratings).containsOnlyKeys(6L, 5L, 7L);
+        assertThat(ratings.keySet()).containsExactly(6L, 5L, 7L);
+        assertThat(ratings.get(5L).getAverageRating()).isEqualTo(3.0);
+        assertThat(ratings.get(6L).getAverageRating()).isEqualTo(5.0);
+        assertThat(ratings.get(7L).getAverageRating()).isNull();
+        assertThat(ratings.get(7L).getRatingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild drifted aggregates from orders")
+    void rebuildAll_RepairsDrift() {
+        saveRatedOrder(5L, 5);
+        saveRatedOrder(5L, 3);
+        saveRatedOrder(6L, 1);
+        VendorRatingSummary wrong = new VendorRatingSummary(5L);
+        wrong.setRatingCount(10);
+        wrong.setRatingSum(10);
+        summaryRepository.saveAndFlush(wrong);
+        VendorRatingSummary stale = new VendorRatingSummary(8L);
+        stale.setRatingCount(1);
+        stale.setRatingSum(4);
+        summaryRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        int repaired = vendorRatingService.rebuildAll();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(repaired).isEqualTo(3);
+        assertThat(vendorRatingService.getRating(5L).getAverageRating()).isEqualTo(4.0);
+        assertThat(vendorRatingService.getRating(5L).getHistogram()).containsEntry(3, 1L).containsEntry(5, 1L);
+        assertThat(vendorRatingService.getRating(6L).getRatingCount()).isEqualTo(1);
+        assertThat(vendorRatingService.getRating(8L).getRatingCount()).isZero();
+        assertThat(vendorRatingService.rebuildAll()).isZero();
+    }
+
+    private void saveRatedOrder(Long vendorId, int rating) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-RATING-" + (++orderSequence));
+        order.setUserId(10L);
+        order.setVendorId(vendorId);
+        order.setOrganizationId(1L);
+        order.setStatus("DELIVERED");
+        order.setRating(rating);
+        order.setTotalAmount(new BigDecimal("100.00"));
+        orderRepository.saveAndFlush(order);
+    }
+}
@@ -0,0 +1,140 @@
+package com.bitedash.order.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("CoalescingOrderUpdateDispatcher Tests")
+class CoalescingOrderUpdateDispatcherTest {
+
+    private final List<OrderUpdateMessage> sent = new CopyOnWriteArrayList<>();
+    private final List<List<OrderUpdateMessage>> windows = new CopyOnWriteArrayList<>();
+    private CoalescingOrderUpdateDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send only the latest update for an order within the window")
+    void submit_RepeatedUpdates_Coalesced() {
+        dispatcher = new CoalescingOrderUpdateDispatcher(100, 200, this::record);
+
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PENDING", 5L, 10L));
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PREPARING", 5L, 10L));
+        dispatcher.submit(OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+        dispatcher.submit(OrderUpdateMessage.of(2L, "PENDING", 5L, 11L));
+        dispatcher.close();
+
+        assertThat(sent).extracting(OrderUpdateMessage::orderId, OrderUpdateMessage::status)
+            .containsExactlyInAnyOrder(
+                tuple(1L, "READY"),
+                tuple(2L, "PENDING"));
+        assertThat(dispatcher.coalescedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the recipients of a replaced update")
+    void submit_DifferentRecipients_Merged() {
+        dispatcher = new CoalescingOrderUpdateDispatcher(100, 200, this::record);
+
+        // Placed while held for release: only the employee hears about it
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PENDING", null, 10L));
+        // Released to the kitchen: only the vendor hears about it
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PENDING", 5L, null));
+        dispatcher.close();
+
+        assertThat(sent).extracting(OrderUpdateMessage::orderId, OrderUpdateMessage::vendorId, OrderUpdateMessage::userId)
+            .containsExactly(tuple(1L, 5L, 10L));
+    }
+
+    @Test
+    @DisplayName("Should hand every order of one window to the sink together")
+    void submit_OneWindow_SentTogether() {
+        dispatcher = new CoalescingOrderUpdateDispatcher(100, 200, this::record);
+
+        dispatcher.submit(OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+        dispatcher.submit(OrderUpdateMessage.of(2L, "READY", 5L, 11L));
+        dispatcher.submit(OrderUpdateMessage.of(3L, "READY", 5L, 10L));
+        dispatcher.close();
+
+        assertThat(windows).singleElement().satisfies(window ->
+            assertThat(window).extracting(OrderUpdateMessage::orderId).containsExactly(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should hand the update back when the queue is full")
+    void submit_QueueFull_ReturnsUpdate() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = new CoalescingOrderUpdateDispatcher(1, 0, updates -> {
+            awaitQuietly(release);
+            record(updates);
+        });
+
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PENDING", 5L, 10L));
+        // Wait until the worker has taken order 1 and is blocked sending it
+        while (dispatcher.queueDepth() > 0) {
+            Thread.sleep(5);
+        }
+        assertThat(dispatcher.submit(OrderUpdateMessage.of(2L, "PENDING", 5L, 10L))).isNull();
+
+        OrderUpdateMessage overflow = dispatcher.submit(OrderUpdateMessage.of(3L, "PENDING", 5L, 10L));
+
+        assertThat(overflow).isNotNull();
+        assertThat(overflow.orderId()).isEqualTo(3L);
+        assertThat(dispatcher.overflowCount()).isEqualTo(1);
+        release.countDown();
+        dispatcher.close();
+        assertThat(sent).extracting(OrderUpdateMessage::orderId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep the order of updates for one order across batches")
+    void submit_SequentialBatches_InOrder() throws InterruptedException {
+        dispatcher = new CoalescingOrderUpdateDispatcher(100, 0, this::record);
+
+        dispatcher.submit(OrderUpdateMessage.of(1L, "PREPARING", 5L, 10L));
+        while (sent.isEmpty()) {
+            Thread.sleep(5);
+        }
+        dispatcher.submit(OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+        dispatcher.close();
+
+        assertThat(sent).extracting(OrderUpdateMessage::status).containsExactly("PREPARING", "READY");
+    }
+
+    @Test
+    @DisplayName("Should hand updates back after close")
+    void submit_AfterClose_ReturnsUpdate() {
+        dispatcher = new CoalescingOrderUpdateDispatcher(100, 0, this::record);
+        dispatcher.close();
+
+        OrderUpdateMessage update = OrderUpdateMessage.of(1L, "READY", 5L, 10L);
+
+        assertThat(dispatcher.submit(update)).isSameAs(update);
+    }
+
+    private void record(List<OrderUpdateMessage> updates) {
+        windows.add(updates);
+        sent.addAll(updates);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.bitedash.order.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of the order update path during a simulated rush: many orders, each moving through
+ * its statuses in quick succession, published from several request threads.
+ *
+ * "legacy" replays the previous publishOrderUpdate body: a HashMap payload with an ISO timestamp.
+ * Its INFO logging is left out, so only payload and send cost are compared. "direct" sends the
+ * typed record on the caller thread; "coalescing" queues and merges. All paths serialize with
+ * Jackson, as the broker does.
+ */
+@DisplayName("OrderUpdatePublisher throughput benchmark")
+class OrderUpdatePublisherBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderUpdatePublisherBenchmarkTest.class);
+
+    private static final int THREADS = 4;
+    private static final int ORDERS_PER_THREAD = 2_000;
+    private static final String[] STATUSES = {"PENDING", "PREPARING", "READY", "DELIVERED"};
+    private static final int UPDATES = THREADS * ORDERS_PER_THREAD * STATUSES.length;
+
+    @Test
+    @DisplayName("Coalescing publisher should send fewer messages and deliver every final status")
+    void compareThroughput() throws Exception {
+        // Warm up each path once so JIT compilation is not measured
+        run("legacy", new CountingChannel(), true);
+        run("direct", new CountingChannel(), false);
+        runCoalescing(new CountingChannel());
+
+        CountingChannel legacyChannel = new CountingChannel();
+        double legacy = run("legacy", legacyChannel, true);
+        CountingChannel directChannel = new CountingChannel();
+        double direct = run("direct", directChannel, false);
+        CountingChannel coalescingChannel = new CountingChannel();
+        double coalescing = runCoalescing(coalescingChannel);
+
+        log.info("Order update publishing, {} updates on {} threads: legacy {} updates/s ({} messages sent), "
+            + "direct {} updates/s ({} messages sent), coalescing {} updates/s caller side ({} messages sent)",
+            UPDATES, THREADS, String.format("%,.0f", legacy), legacyChannel.sent.sum(),
+            String.format("%,.0f", direct), directChannel.sent.sum(),
+            String.format("%,.0f", coalescing), coalescingChannel.sent.sum());
+
+        assertThat(legacyChannel.sent.sum()).isEqualTo(2L * UPDATES);
+        assertThat(directChannel.sent.sum()).isEqualTo(2L * UPDATES);
+        assertThat(coalescingChannel.sent.sum()).isLessThanOrEqualTo(2L * UPDATES);
+        // Every order's last update must reach its clients
+        assertThat(coalescingChannel.lastStatus).hasSize(THREADS * ORDERS_PER_THREAD);
+        assertThat(coalescingChannel.lastStatus.values()).containsOnly("DELIVERED");
+    }
+
+    private double run(String mode, CountingChannel channel, boolean legacy) throws Exception {
+        SimpMessagingTemplate template = template(channel);
+        OrderUpdatePublisher publisher = publisher(template, OrderUpdatePublisher.MODE_DIRECT);
+        return timeUpdates((orderId, status) -> {
+            if (legacy) {
+                publishLegacy(template, orderId, status, 5L, orderId);
+            } else {
+                publisher.publishOrderUpdate(orderId, status, 5L, orderId);
+            }
+        });
+    }
+
+    private double runCoalescing(CountingChannel channel) throws Exception {
+        OrderUpdatePublisher publisher = publisher(template(channel), OrderUpdatePublisher.MODE_COALESCING);
+        double throughput = timeUpdates((orderId, status) -> publisher.publishOrderUpdate(orderId, status, 5L, orderId));
+        publisher.stopDispatcher();
+        return throughput;
+    }
+
+    private double timeUpdates(UpdateSink sink) throws Exception {
+        Thread[] threads = new Thread[THREADS];
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            long firstOrder = (long) t * ORDERS_PER_THREAD;
+            threads[t] = new Thread(() -> {
+                // Interleave orders the way a kitchen does: advance a small group together
+                for (long group = 0; group < ORDERS_PER_THREAD; group += 10) {
+                    for (String status : STATUSES) {
+                        for (long i = group; i < group + 10; i++) {
+                            sink.publish(firstOrder + i, status);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return UPDATES / (elapsed / 1_000_000_000.0);
+    }
+
+    private OrderUpdatePublisher publisher(SimpMessagingTemplate template, String mode) {
+        OrderUpdatePublisher publisher = new OrderUpdatePublisher();
+        ReflectionTestUtils.setField(publisher, "messageRelay", new LocalStompMessageRelay(template));
+        ReflectionTestUtils.setField(publisher, "mode", mode);
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(publisher, "coalesceWindowMillis", 5L);
+        publisher.startDispatcher();
+        return publisher;
+    }
+
+    private SimpMessagingTemplate template(MessageChannel channel) {
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        return template;
+    }
+
+    private void publishLegacy(SimpMessagingTemplate template, Long orderId, String status, Long vendorId, Long userId) {
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("orderId", orderId);
+        notification.put("status", status);
+        notification.put("vendorId", vendorId);
+        notification.put("userId", userId);
+        notification.put("timestamp", LocalDateTime.now().toString());
+        notification.put("message", OrderUpdateMessage.notificationMessage(status));
+        template.convertAndSend("/topic/orders/vendor/" + vendorId, notification);
+        template.convertAndSend("/queue/orders/user/" + userId, notification);
+    }
+
+    @FunctionalInterface
+    private interface UpdateSink {
+        void publish(Long orderId, String status);
+    }
+
+    private static final class CountingChannel implements MessageChannel {
+
+        private final LongAdder sent = new LongAdder();
+        private final Map<String, String> lastStatus = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            sent.increment();
+            // A grouped message carries several updates; record each one
+            String body = new String((byte[]) message.getPayload());
+            int start = body.indexOf("\"orderId\":");
+            while (start >= 0) {
+                start += 10;
+                String orderId = body.substring(start, body.indexOf(',', start));
+                int statusStart = body.indexOf("\"status\":\"", start) + 10;
+                lastStatus.put(orderId, body.substring(statusStart, body.indexOf('"', statusStart)));
+                start = body.indexOf("\"orderId\":", statusStart);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bitedash.order.websocket;
+
+import com.bitedash.shared.event.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderUpdatePublisher Tests")
+class OrderUpdatePublisherTest {
+
+    @Mock
+    private StompMessageRelay messageRelay;
+
+    @InjectMocks
+    private OrderUpdatePublisher publisher;
+
+    @AfterEach
+    void stopDispatcher() {
+        publisher.stopDispatcher();
+    }
+
+    @Test
+    @DisplayName("Should send one grouped message per recipient for several updates")
+    void sendGrouped_GroupsByRecipient() {
+        publisher.sendGrouped(List.of(
+            OrderUpdateMessage.of(1L, "READY", 5L, 10L),
+            OrderUpdateMessage.of(2L, "READY", 5L, 11L),
+            OrderUpdateMessage.of(3L, "READY", 5L, 10L)));
+
+        ArgumentCaptor<Object> vendor = ArgumentCaptor.forClass(Object.class);
+        verify(messageRelay).send(eq("/topic/orders/vendor/5"), vendor.capture());
+        assertThat(((OrderBatchUpdateMessage) vendor.getValue()).updates())
+            .extracting(OrderUpdateMessage::orderId).containsExactly(1L, 2L, 3L);
+
+        ArgumentCaptor<Object> user = ArgumentCaptor.forClass(Object.class);
+        verify(messageRelay).send(eq("/queue/orders/user/10"), user.capture());
+        OrderBatchUpdateMessage userMessage = (OrderBatchUpdateMessage) user.getValue();
+        assertThat(userMessage.type()).isEqualTo(OrderBatchUpdateMessage.TYPE);
+        assertThat(userMessage.updates()).extracting(OrderUpdateMessage::orderId).containsExactly(1L, 3L);
+
+        // A recipient with one update gets the plain message
+        verify(messageRelay).send(eq("/queue/orders/user/11"), isA(OrderUpdateMessage.class));
+        verifyNoMoreInteractions(messageRelay);
+    }
+
+    @Test
+    @DisplayName("Should never send a single update after a newer bulk update of the same order")
+    void coalescing_SingleThenBulk_LatestWins() {
+        ReflectionTestUtils.setField(publisher, "mode", OrderUpdatePublisher.MODE_COALESCING);
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 100);
+        ReflectionTestUtils.setField(publisher, "coalesceWindowMillis", 200L);
+        publisher.startDispatcher();
+        OrderEventWebSocketListener listener = new OrderEventWebSocketListener();
+        ReflectionTestUtils.setField(listener, "orderUpdatePublisher", publisher);
+
+        // A single update of order 1 still waits in its window when a bulk change moves orders 1 and 2
+        listener.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "ORD-1", 10L, null, null, 5L, "PENDING", "PREPARING"));
+        listener.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "ORD-1", 10L, null, null, 5L, "PREPARING", "READY"));
+        listener.onOrderStatusChanged(new OrderStatusChangedEvent(2L, "ORD-2", 11L, null, null, 5L, "PREPARING", "READY"));
+        publisher.stopDispatcher();
+
+        ArgumentCaptor<Object> vendor = ArgumentCaptor.forClass(Object.class);
+        verify(messageRelay).send(eq("/topic/orders/vendor/5"), vendor.capture());
+        assertThat(((OrderBatchUpdateMessage) vendor.getValue()).updates())
+            .extracting(OrderUpdateMessage::orderId, OrderUpdateMessage::status)
+            .containsExactly(tuple(1L, "READY"), tuple(2L, "READY"));
+
+        ArgumentCaptor<Object> user = ArgumentCaptor.forClass(Object.class);
+        verify(messageRelay).send(eq("/queue/orders/user/10"), user.capture());
+        assertThat(((OrderUpdateMessage) user.getValue()).status()).isEqualTo("READY");
+        verify(messageRelay).send(eq("/queue/orders/user/11"), isA(OrderUpdateMessage.class));
+        verifyNoMoreInteractions(messageRelay);
+    }
+
+    @Test
+    @DisplayName("Should keep the JSON shape of the old map payload, with an ISO-8601 timestamp")
+    void orderUpdateMessage_KeepsLegacyJson() throws Exception {
+        JsonNode json = new ObjectMapper().valueToTree(OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+
+        assertThat(json.fieldNames()).toIterable()
+            .containsExactlyInAnyOrder("orderId", "status", "vendorId", "userId", "timestamp", "message");
+        assertThat(json.get("timestamp").isTextual()).isTrue();
+        assertThat(LocalDateTime.parse(json.get("timestamp").asText())).isBeforeOrEqualTo(LocalDateTime.now());
+        assertThat(json.get("message").asText()).isEqualTo("Your order is ready for pickup!");
+    }
+}
@@ -0,0 +1,142 @@
+package com.bitedash.order.websocket;
+
+import com.bitedash.shared.testing.RedisStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two relay "nodes" share order updates through the in-process {@link RedisStandIn}.
+ */
+@DisplayName("RedisStompMessageRelay Tests")
+class RedisStompMessageRelayTest {
+
+    private static final String CHANNEL = "bitedash:ws:orders";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private RedisStandIn redis;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RedisStandIn();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver a message published on one node to clients of every node")
+    void send_DeliveredOnAllNodes() throws Exception {
+        Node nodeA = startNode();
+        Node nodeB = startNode();
+        awaitSubscribers(2);
+
+        nodeA.relay.send("/topic/orders/vendor/5", OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+
+        for (Node node : List.of(nodeA, nodeB)) {
+            Message<?> delivered = node.awaitMessage();
+            assertThat(SimpMessageHeaderAccessor.getDestination(delivered.getHeaders()))
+                .isEqualTo("/topic/orders/vendor/5");
+            String json = new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8);
+            assertThat(objectMapper.readTree(json).get("orderId").asLong()).isEqualTo(1L);
+            assertThat(objectMapper.readTree(json).get("status").asText()).isEqualTo("READY");
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to local delivery when Redis is unavailable")
+    void send_RedisDown_DeliversLocally() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        doThrow(new RedisConnectionFailureException("down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+        CapturingChannel channel = new CapturingChannel();
+        RedisStompMessageRelay relay = new RedisStompMessageRelay(redisTemplate, new SimpMessagingTemplate(channel),
+            objectMapper, CHANNEL);
+
+        relay.send("/queue/orders/user/10", OrderUpdateMessage.of(1L, "READY", 5L, 10L));
+
+        assertThat(channel.messages).hasSize(1);
+        assertThat(SimpMessageHeaderAccessor.getDestination(channel.messages.get(0).getHeaders()))
+            .isEqualTo("/queue/orders/user/10");
+    }
+
+    private Node startNode() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+            LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        resources.add(connectionFactory::destroy);
+
+        CapturingChannel channel = new CapturingChannel();
+        RedisStompMessageRelay relay = new RedisStompMessageRelay(new StringRedisTemplate(connectionFactory),
+            new SimpMessagingTemplate(channel), objectMapper, CHANNEL);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        resources.add(container::destroy);
+        return new Node(relay, channel);
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (redis.subscriberCount(CHANNEL) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(redis.subscriberCount(CHANNEL)).isEqualTo(expected);
+    }
+
+    private record Node(RedisStompMessageRelay relay, CapturingChannel channel) {
+
+        Message<?> awaitMessage() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (channel.messages.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(channel.messages).hasSize(1);
+            return channel.messages.get(0);
+        }
+    }
+
+    private static final class CapturingChannel implements MessageChannel {
+
+        private final List<Message<?>> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            messages.add(message);
+            return true;
+        }
+    }
+}
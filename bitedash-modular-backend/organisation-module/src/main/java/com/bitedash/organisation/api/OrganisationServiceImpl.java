@@ -17,8 +17,12 @@ import com.bitedash.organisation.repository.OfficeRepository;
 import com.bitedash.organisation.repository.OrganizationRepository;
 import com.bitedash.organisation.repository.VendorRepository;
 import com.bitedash.organisation.repository.VendorCafeteriaMappingRepository;
+import com.bitedash.organisation.repository.VendorOperatingHourRepository;
+import com.bitedash.organisation.repository.VendorPickupSlotConfigRepository;
 import com.bitedash.shared.api.organisation.OrganisationService;
+import com.bitedash.shared.api.organisation.PickupSlotPolicy;
 
+import java.time.DayOfWeek;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,6 +39,8 @@ public class OrganisationServiceImpl implements OrganisationService {
     private final CafeteriaRepository cafeteriaRepository;
     private final OfficeRepository officeRepository;
     private final VendorCafeteriaMappingRepository vendorCafeteriaMappingRepository;
+    private final VendorPickupSlotConfigRepository pickupSlotConfigRepository;
+    private final VendorOperatingHourRepository operatingHourRepository;
     private final VendorMapper vendorMapper;
     private final CafeteriaMapper cafeteriaMapper;
     private final OfficeMapper officeMapper;
@@ -46,6 +52,8 @@ public class OrganisationServiceImpl implements OrganisationService {
             CafeteriaRepository cafeteriaRepository,
             OfficeRepository officeRepository,
             VendorCafeteriaMappingRepository vendorCafeteriaMappingRepository,
+            VendorPickupSlotConfigRepository pickupSlotConfigRepository,
+            VendorOperatingHourRepository operatingHourRepository,
             VendorMapper vendorMapper,
             CafeteriaMapper cafeteriaMapper,
             OfficeMapper officeMapper,
@@ -55,6 +63,8 @@ public class OrganisationServiceImpl implements OrganisationService {
         this.cafeteriaRepository = cafeteriaRepository;
         this.officeRepository = officeRepository;
         this.vendorCafeteriaMappingRepository = vendorCafeteriaMappingRepository;
+        this.pickupSlotConfigRepository = pickupSlotConfigRepository;
+        this.operatingHourRepository = operatingHourRepository;
         this.vendorMapper = vendorMapper;
         this.cafeteriaMapper = cafeteriaMapper;
         this.officeMapper = officeMapper;
@@ -106,6 +116,17 @@ public class OrganisationServiceImpl implements OrganisationService {
                 .orElse(null);
     }
 
+    @Override
+    public PickupSlotPolicy getPickupSlotPolicy(Long vendorId, DayOfWeek day) {
+        return pickupSlotConfigRepository.findByVendor_Id(vendorId)
+                .map(config -> operatingHourRepository.findFirstByVendor_IdAndDayOfWeek(vendorId, day.getValue())
+                        .map(hours -> new PickupSlotPolicy(vendorId, config.getSlotMinutes(), config.getOrdersPerSlot(),
+                                hours.getOpenTime(), hours.getCloseTime(), Boolean.TRUE.equals(hours.getIsClosed())))
+                        .orElseGet(() -> new PickupSlotPolicy(vendorId, config.getSlotMinutes(),
+                                config.getOrdersPerSlot(), null, null, false)))
+                .orElse(null);
+    }
+
     // ===== Helper methods for internal use (returning full DTOs) =====
 
     public OrganizationResponse getOrganizationByIdDetailed(Long id) {
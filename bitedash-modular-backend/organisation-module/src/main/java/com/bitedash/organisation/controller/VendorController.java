@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,6 +15,7 @@ import com.bitedash.shared.dto.ApiResponse;
 import com.bitedash.shared.enums.Role;
 import com.bitedash.shared.util.UserContext;
 import com.bitedash.organisation.constant.OrganisationConstants.Message;
+import com.bitedash.organisation.dto.request.PickupSlotConfigRequest;
 import com.bitedash.organisation.dto.request.VendorRequest;
 import com.bitedash.organisation.service.VendorService;
 
@@ -78,4 +80,33 @@ public class VendorController {
 		return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse(true, "Vendor stats fetched successfully",
 				vendorService.getVendorStats(vendor.getId())));
 	}
+
+	@GetMapping("/{vendorId}/pickup-slots")
+	public ResponseEntity<ApiResponse> getPickupSlotConfig(@PathVariable Long vendorId) {
+		return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse(true, "Pickup slot capacity fetched successfully",
+				vendorService.getPickupSlotConfig(vendorId)));
+	}
+
+	@PutMapping("/{vendorId}/pickup-slots")
+	@RequireRole({Role.ROLE_VENDOR, Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
+	public ResponseEntity<ApiResponse> updatePickupSlotConfig(@PathVariable Long vendorId,
+			@RequestBody PickupSlotConfigRequest request) {
+		var context = UserContext.get();
+		boolean isAdmin = "ROLE_SUPER_ADMIN".equals(context.role()) || "ROLE_ORG_ADMIN".equals(context.role());
+		if (!isAdmin) {
+			// Vendors can only change their own capacity
+			var myVendor = vendorService.getVendorByOwnerUserId(context.userId());
+			if (myVendor == null || !myVendor.getId().equals(vendorId)) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body(new ApiResponse(false, "You can only change your own pickup slots", null));
+			}
+		}
+
+		try {
+			return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse(true, "Pickup slot capacity updated successfully",
+					vendorService.updatePickupSlotConfig(vendorId, request)));
+		} catch (RuntimeException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
 }
@@ -0,0 +1,4 @@
+package com.bitedash.organisation.dto.request;
+
+public record PickupSlotConfigRequest(Integer slotMinutes, Integer ordersPerSlot) {
+}
@@ -0,0 +1,15 @@
+package com.bitedash.organisation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickupSlotConfigResponse {
+
+	private Long vendorId;
+	private Integer slotMinutes;
+	private Integer ordersPerSlot;
+}
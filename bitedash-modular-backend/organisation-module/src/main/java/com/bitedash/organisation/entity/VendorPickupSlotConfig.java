@@ -0,0 +1,78 @@
+package com.bitedash.organisation.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.SQLRestriction;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import jakarta.persistence.EntityListeners;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+/**
+ * Pickup capacity of a vendor: at most ordersPerSlot orders per slotMinutes-long pickup slot,
+ * within the vendor's operating hours. Vendors without a row take orders without a limit.
+ */
+@Entity
+@Table(name = "vendor_pickup_slot_config", schema = "organisation_schema")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@SQLRestriction("deleted = false")
+public class VendorPickupSlotConfig {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@OneToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "vendor_id", nullable = false, unique = true)
+	@JsonIgnoreProperties({"operatingHours", "cafeteriaMappings"})
+	private Vendor vendor;
+
+	@Column(name = "slot_minutes", nullable = false)
+	private Integer slotMinutes = 10;
+
+	@Column(name = "orders_per_slot", nullable = false)
+	private Integer ordersPerSlot;
+
+	// Audit fields
+	@CreatedDate
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@LastModifiedDate
+	@Column(insertable = false)
+	private LocalDateTime updatedAt;
+
+	@CreatedBy
+	@Column(nullable = false, updatable = false)
+	private String createdBy;
+
+	@LastModifiedBy
+	@Column(insertable = false)
+	private String updatedBy;
+
+	@Column(nullable = false)
+	private Boolean deleted = false;
+}
@@ -4,6 +4,11 @@ import com.bitedash.organisation.entity.VendorOperatingHour;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface VendorOperatingHourRepository extends JpaRepository<VendorOperatingHour, Long> {
+
+	// dayOfWeek is ISO-8601: 1 = Monday ... 7 = Sunday
+	Optional<VendorOperatingHour> findFirstByVendor_IdAndDayOfWeek(Long vendorId, Integer dayOfWeek);
 }
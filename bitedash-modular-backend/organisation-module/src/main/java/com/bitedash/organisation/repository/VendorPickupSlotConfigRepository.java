@@ -0,0 +1,14 @@
+package com.bitedash.organisation.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bitedash.organisation.entity.VendorPickupSlotConfig;
+
+@Repository
+public interface VendorPickupSlotConfigRepository extends JpaRepository<VendorPickupSlotConfig, Long> {
+
+	Optional<VendorPickupSlotConfig> findByVendor_Id(Long vendorId);
+}
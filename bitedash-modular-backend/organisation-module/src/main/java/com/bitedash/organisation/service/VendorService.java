@@ -5,25 +5,35 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.bitedash.organisation.constant.OrganisationConstants.Error;
+import com.bitedash.organisation.dto.request.PickupSlotConfigRequest;
 import com.bitedash.organisation.dto.request.VendorRequest;
+import com.bitedash.organisation.dto.response.PickupSlotConfigResponse;
 import com.bitedash.organisation.dto.response.VendorResponse;
 import com.bitedash.organisation.dto.response.VendorStatsResponse;
 import com.bitedash.organisation.entity.Cafeteria;
 import com.bitedash.organisation.entity.Vendor;
+import com.bitedash.organisation.entity.VendorPickupSlotConfig;
 import com.bitedash.organisation.mapper.VendorMapper;
 import com.bitedash.organisation.repository.CafeteriaRepository;
+import com.bitedash.organisation.repository.VendorPickupSlotConfigRepository;
 import com.bitedash.organisation.repository.VendorRepository;
 
 @Service
 public class VendorService {
 	private final VendorRepository vendorRepository;
 	private final CafeteriaRepository cafeteriaRepository;
+	private final VendorPickupSlotConfigRepository pickupSlotConfigRepository;
 	private final VendorMapper vendorMapper;
 
+	// Slots must tile an hour so every day starts on a slot boundary
+	private static final int MIN_SLOT_MINUTES = 5;
+	private static final int MAX_SLOT_MINUTES = 60;
+
 	public VendorService(VendorRepository vendorRepository, CafeteriaRepository cafeteriaRepository,
-			VendorMapper vendorMapper) {
+			VendorPickupSlotConfigRepository pickupSlotConfigRepository, VendorMapper vendorMapper) {
 		this.vendorRepository = vendorRepository;
 		this.cafeteriaRepository = cafeteriaRepository;
+		this.pickupSlotConfigRepository = pickupSlotConfigRepository;
 		this.vendorMapper = vendorMapper;
 	}
 
@@ -63,4 +73,40 @@ public class VendorService {
 
 		return stats;
 	}
+
+	/**
+	 * Pickup slot capacity of a vendor, or null if orders are not limited.
+	 */
+	public PickupSlotConfigResponse getPickupSlotConfig(Long vendorId) {
+		return pickupSlotConfigRepository.findByVendor_Id(vendorId)
+				.map(config -> new PickupSlotConfigResponse(vendorId, config.getSlotMinutes(), config.getOrdersPerSlot()))
+				.orElse(null);
+	}
+
+	/**
+	 * Sets how many orders a vendor accepts per pickup slot. Order-module picks the change up
+	 * within its policy cache interval.
+	 */
+	public PickupSlotConfigResponse updatePickupSlotConfig(Long vendorId, PickupSlotConfigRequest req) {
+		int slotMinutes = req.slotMinutes() != null ? req.slotMinutes() : 10;
+		if (slotMinutes < MIN_SLOT_MINUTES || slotMinutes > MAX_SLOT_MINUTES || 60 % slotMinutes != 0) {
+			throw new RuntimeException("Slot length must divide an hour and be between "
+					+ MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES + " minutes");
+		}
+		if (req.ordersPerSlot() == null || req.ordersPerSlot() <= 0) {
+			throw new RuntimeException("Orders per slot must be positive");
+		}
+
+		VendorPickupSlotConfig config = pickupSlotConfigRepository.findByVendor_Id(vendorId).orElseGet(() -> {
+			Vendor vendor = vendorRepository.findById(vendorId)
+					.orElseThrow(() -> new RuntimeException("Vendor not found: " + vendorId));
+			VendorPickupSlotConfig created = new VendorPickupSlotConfig();
+			created.setVendor(vendor);
+			return created;
+		});
+		config.setSlotMinutes(slotMinutes);
+		config.setOrdersPerSlot(req.ordersPerSlot());
+		pickupSlotConfigRepository.save(config);
+		return new PickupSlotConfigResponse(vendorId, config.getSlotMinutes(), config.getOrdersPerSlot());
+	}
 }
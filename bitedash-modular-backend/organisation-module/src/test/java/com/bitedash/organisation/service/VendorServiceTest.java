@@ -1,12 +1,16 @@
 package com.bitedash.organisation.service;
 
+import com.bitedash.organisation.dto.request.PickupSlotConfigRequest;
 import com.bitedash.organisation.dto.request.VendorRequest;
+import com.bitedash.organisation.dto.response.PickupSlotConfigResponse;
 import com.bitedash.organisation.dto.response.VendorResponse;
 import com.bitedash.organisation.dto.response.VendorStatsResponse;
 import com.bitedash.organisation.entity.Cafeteria;
 import com.bitedash.organisation.entity.Vendor;
+import com.bitedash.organisation.entity.VendorPickupSlotConfig;
 import com.bitedash.organisation.mapper.VendorMapper;
 import com.bitedash.organisation.repository.CafeteriaRepository;
+import com.bitedash.organisation.repository.VendorPickupSlotConfigRepository;
 import com.bitedash.organisation.repository.VendorRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +40,9 @@ class VendorServiceTest {
     @Mock
     private CafeteriaRepository cafeteriaRepository;
 
+    @Mock
+    private VendorPickupSlotConfigRepository pickupSlotConfigRepository;
+
     @Mock
     private VendorMapper vendorMapper;
 
@@ -229,4 +236,33 @@ class VendorServiceTest {
             assertThat(results).hasSize(2);
         }
     }
+
+    @Nested
+    @DisplayName("Pickup Slot Capacity Tests")
+    class PickupSlotCapacityTests {
+
+        @Test
+        @DisplayName("Should create the vendor's slot capacity on first update")
+        void updatePickupSlotConfig_NewVendor_CreatesConfig() {
+            when(pickupSlotConfigRepository.findByVendor_Id(1L)).thenReturn(Optional.empty());
+            when(vendorRepository.findById(1L)).thenReturn(Optional.of(testVendor));
+
+            PickupSlotConfigResponse response = vendorService.updatePickupSlotConfig(1L,
+                new PickupSlotConfigRequest(15, 25));
+
+            verify(pickupSlotConfigRepository).save(argThat(config ->
+                config.getVendor() == testVendor && config.getSlotMinutes() == 15 && config.getOrdersPerSlot() == 25));
+            assertThat(response.getOrdersPerSlot()).isEqualTo(25);
+        }
+
+        @Test
+        @DisplayName("Should reject slot lengths that do not divide an hour")
+        void updatePickupSlotConfig_InvalidSlotLength_ThrowsException() {
+            assertThatThrownBy(() -> vendorService.updatePickupSlotConfig(1L, new PickupSlotConfigRequest(7, 10)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Slot length");
+
+            verify(pickupSlotConfigRepository, never()).save(any(VendorPickupSlotConfig.class));
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.bitedash.payment.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order commission waiting to be applied to the platform wallet.
+ *
+ * Written in the order's own transaction, so it exists if and only if the order does. The
+ * commission consumer deletes it in the same transaction that writes the revenue log and
+ * credits the wallet, so each commission is applied exactly once.
+ */
+@Entity
+@Table(name = "commission_events", schema = "payment_schema")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CommissionEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
+	private Long id;
+
+	@Column(name = "order_id", nullable = false, unique = true)
+	private Long orderId;
+
+	@Column(precision = 10, scale = 2, nullable = false)
+	private BigDecimal amount;
+
+	@Column(name = "vendor_id")
+	private Long vendorId;
+
+	@Column(name = "organization_id")
+	private Long organizationId;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt = LocalDateTime.now();
+
+	public static CommissionEvent of(Long orderId, BigDecimal amount, Long vendorId, Long organizationId) {
+		CommissionEvent event = new CommissionEvent();
+		event.setOrderId(orderId);
+		event.setAmount(amount);
+		event.setVendorId(vendorId);
+		event.setOrganizationId(organizationId);
+		return event;
+	}
+}
@@ -16,8 +16,9 @@ import lombok.AllArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PlatformRevenueLog {
+	// Pooled sequence rather than IDENTITY so commission batches are written as one batched insert
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
 	private Long id;
 
 	@Column(name = "revenue_type", nullable = false, length = 50)
@@ -0,0 +1,24 @@
+package com.bitedash.payment.repository;
+
+import com.bitedash.payment.entity.CommissionEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommissionEventRepository extends JpaRepository<CommissionEvent, Long> {
+
+	// SKIP LOCKED (lock timeout -2): consumers on other nodes take the next rows instead of
+	// waiting, and a row is never claimed by two consumers at once
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT e FROM CommissionEvent e ORDER BY e.id")
+	List<CommissionEvent> findPendingBatch(Limit limit);
+}
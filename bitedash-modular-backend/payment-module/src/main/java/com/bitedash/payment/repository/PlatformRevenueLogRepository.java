@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +21,9 @@ public interface PlatformRevenueLogRepository extends JpaRepository<PlatformReve
 
 	List<PlatformRevenueLog> findByOrderIdAndDeletedFalseOrderByCreatedAtDesc(Long orderId);
 
+	@Query("SELECT r.orderId FROM PlatformRevenueLog r WHERE r.revenueType = 'COMMISSION' AND r.orderId IN :orderIds")
+	List<Long> findCommissionOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
 	@Query("SELECT r FROM PlatformRevenueLog r WHERE r.createdAt BETWEEN :startDate AND :endDate " +
 		   "AND r.deleted = false " +
 		   "ORDER BY r.createdAt DESC")
@@ -2,9 +2,13 @@ package com.bitedash.payment.repository;
 
 import com.bitedash.payment.entity.PlatformWallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,6 +17,30 @@ public interface PlatformWalletRepository extends JpaRepository<PlatformWallet,
 	@Query("SELECT pw FROM PlatformWallet pw WHERE pw.id = 1")
 	Optional<PlatformWallet> findPlatformWallet();
 
+	// WHY a single UPDATE? A read-modify-write of the wallet entity can overwrite a concurrent
+	// change (e.g. a commission batch landing between the read and the save). Adding deltas in
+	// SQL keeps every writer's amount. Returns 0 if the wallet row does not exist yet.
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE PlatformWallet pw SET pw.balance = pw.balance + :balanceDelta,"
+		+ " pw.totalCommissionEarned = pw.totalCommissionEarned + :commissionDelta,"
+		+ " pw.totalGatewayMarkupEarned = pw.totalGatewayMarkupEarned + :gatewayMarkupDelta,"
+		+ " pw.totalPromotionSpent = pw.totalPromotionSpent + :promotionSpentDelta,"
+		+ " pw.updatedAt = :updatedAt WHERE pw.id = 1")
+	int applyDelta(@Param("balanceDelta") BigDecimal balanceDelta,
+			@Param("commissionDelta") BigDecimal commissionDelta,
+			@Param("gatewayMarkupDelta") BigDecimal gatewayMarkupDelta,
+			@Param("promotionSpentDelta") BigDecimal promotionSpentDelta,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	default void addDelta(BigDecimal balanceDelta, BigDecimal commissionDelta,
+			BigDecimal gatewayMarkupDelta, BigDecimal promotionSpentDelta) {
+		if (applyDelta(balanceDelta, commissionDelta, gatewayMarkupDelta, promotionSpentDelta, LocalDateTime.now()) == 0) {
+			getOrCreatePlatformWallet();
+			flush();
+			applyDelta(balanceDelta, commissionDelta, gatewayMarkupDelta, promotionSpentDelta, LocalDateTime.now());
+		}
+	}
+
 	default boolean platformWalletExists() {
 		return existsById(1L);
 	}
@@ -0,0 +1,134 @@
+package com.bitedash.payment.service;
+
+import com.bitedash.payment.entity.CommissionEvent;
+import com.bitedash.payment.entity.PlatformRevenueLog;
+import com.bitedash.payment.repository.CommissionEventRepository;
+import com.bitedash.payment.repository.PlatformRevenueLogRepository;
+import com.bitedash.payment.repository.PlatformWalletRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies queued order commissions (payment_schema.commission_events) to the platform wallet in
+ * batches.
+ *
+ * Each batch runs in one transaction: claim the events, write their revenue logs as one batched
+ * insert, add their sum to the platform wallet with a single UPDATE, and delete the events. A
+ * failure rolls all of it back and the events are claimed again by the next run, so no
+ * commission is lost, and a commission whose revenue log already exists is never counted
+ * twice.
+ *
+ * Metrics:
+ * - commission.pipeline.lag: time from queueing a commission to applying it
+ * - commission.pipeline.batch.size: commissions claimed per batch
+ */
+@Component
+public class CommissionBatchConsumer {
+
+	private static final Logger log = LoggerFactory.getLogger(CommissionBatchConsumer.class);
+
+	private final CommissionEventRepository commissionEventRepository;
+	private final PlatformRevenueLogRepository revenueLogRepository;
+	private final PlatformWalletRepository platformWalletRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	private final Timer lagTimer;
+	private final DistributionSummary batchSizeSummary;
+
+	public CommissionBatchConsumer(CommissionEventRepository commissionEventRepository,
+			PlatformRevenueLogRepository revenueLogRepository,
+			PlatformWalletRepository platformWalletRepository,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${payment.commission.batch-size:200}") int batchSize) {
+		this.commissionEventRepository = commissionEventRepository;
+		this.revenueLogRepository = revenueLogRepository;
+		this.platformWalletRepository = platformWalletRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.lagTimer = Timer.builder("commission.pipeline.lag")
+			.description("Time from queueing an order commission to applying it")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+		this.batchSizeSummary = DistributionSummary.builder("commission.pipeline.batch.size")
+			.description("Order commissions applied per batch")
+			.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${payment.commission.interval-ms:1000}")
+	public void drain() {
+		try {
+			// A full batch means more commissions are probably waiting, so keep going
+			int claimed;
+			do {
+				claimed = consumeBatch();
+			} while (claimed == batchSize);
+		} catch (Exception e) {
+			log.error("Commission batch failed and will be retried: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Claims and applies one batch in a single transaction.
+	 *
+	 * @return number of events claimed
+	 */
+	int consumeBatch() {
+		Integer claimed = transactionTemplate.execute(status -> {
+			List<CommissionEvent> batch = commissionEventRepository.findPendingBatch(Limit.of(batchSize));
+			if (batch.isEmpty()) {
+				return 0;
+			}
+			batchSizeSummary.record(batch.size());
+
+			List<Long> orderIds = batch.stream().map(CommissionEvent::getOrderId).toList();
+			Set<Long> logged = new HashSet<>(revenueLogRepository.findCommissionOrderIds(orderIds));
+
+			List<PlatformRevenueLog> revenueLogs = new ArrayList<>(batch.size());
+			BigDecimal total = BigDecimal.ZERO;
+			LocalDateTime now = LocalDateTime.now();
+			for (CommissionEvent event : batch) {
+				if (!logged.add(event.getOrderId())) {
+					log.warn("Commission for order {} was already applied; skipping duplicate", event.getOrderId());
+					continue;
+				}
+				revenueLogs.add(PlatformRevenueLog.commission(
+					event.getOrderId(), event.getAmount(), event.getVendorId(), event.getOrganizationId()));
+				total = total.add(event.getAmount());
+				lagTimer.record(Duration.between(event.getCreatedAt(), now));
+			}
+
+			revenueLogRepository.saveAll(revenueLogs);
+			if (total.signum() != 0) {
+				platformWalletRepository.addDelta(total, total, BigDecimal.ZERO, BigDecimal.ZERO);
+			}
+			commissionEventRepository.deleteAllByIdInBatch(batch.stream().map(CommissionEvent::getId).toList());
+
+			log.debug("Applied {} commissions totalling {}", revenueLogs.size(), total);
+			return batch.size();
+		});
+		return claimed != null ? claimed : 0;
+	}
+}
@@ -4,8 +4,10 @@ import com.bitedash.payment.dto.request.CommissionLogRequest;
 import com.bitedash.payment.dto.response.DailyRevenueResponse;
 import com.bitedash.payment.dto.response.PlatformRevenueStatsResponse;
 import com.bitedash.payment.dto.response.PlatformWalletResponse;
+import com.bitedash.payment.entity.CommissionEvent;
 import com.bitedash.payment.entity.PlatformRevenueLog;
 import com.bitedash.payment.entity.PlatformWallet;
+import com.bitedash.payment.repository.CommissionEventRepository;
 import com.bitedash.payment.repository.PlatformRevenueLogRepository;
 import com.bitedash.payment.repository.PlatformWalletRepository;
 import org.slf4j.Logger;
@@ -33,23 +35,25 @@ public class PlatformRevenueService {
 	@Autowired
 	private PlatformWalletRepository platformWalletRepository;
 
+	@Autowired
+	private CommissionEventRepository commissionEventRepository;
+
+	/**
+	 * Queues an order's commission. Called inside the order's transaction, so the commission is
+	 * committed or rolled back together with the order. {@link CommissionBatchConsumer} applies
+	 * queued commissions to the platform wallet in batches, instead of every order locking the
+	 * single platform wallet row.
+	 */
 	@Transactional
 	public void logCommission(CommissionLogRequest request) {
-		log.info("Logging commission for order: {}, amount: {}", request.getOrderId(), request.getAmount());
+		log.debug("Queueing commission for order: {}, amount: {}", request.getOrderId(), request.getAmount());
 
-		PlatformRevenueLog revenueLog = PlatformRevenueLog.commission(
+		commissionEventRepository.save(CommissionEvent.of(
 			request.getOrderId(),
 			request.getAmount(),
 			request.getVendorId(),
 			request.getOrganizationId()
-		);
-		revenueLogRepository.save(revenueLog);
-
-		PlatformWallet wallet = platformWalletRepository.getOrCreatePlatformWallet();
-		wallet.addCommission(request.getAmount());
-		platformWalletRepository.save(wallet);
-
-		log.info("Commission logged successfully. New platform balance: {}", wallet.getBalance());
+		));
 	}
 
 	@Transactional
@@ -59,11 +63,9 @@ public class PlatformRevenueService {
 		PlatformRevenueLog revenueLog = PlatformRevenueLog.gatewayMarkup(paymentId, amount, userId);
 		revenueLogRepository.save(revenueLog);
 
-		PlatformWallet wallet = platformWalletRepository.getOrCreatePlatformWallet();
-		wallet.addGatewayMarkup(amount);
-		platformWalletRepository.save(wallet);
+		platformWalletRepository.addDelta(amount, BigDecimal.ZERO, amount, BigDecimal.ZERO);
 
-		log.info("Gateway markup logged successfully. New platform balance: {}", wallet.getBalance());
+		log.info("Gateway markup logged successfully for payment: {}", paymentId);
 	}
 
 	@Transactional
@@ -73,11 +75,9 @@ public class PlatformRevenueService {
 		PlatformRevenueLog revenueLog = PlatformRevenueLog.promotionRevenue(vendorId, amount, promoType);
 		revenueLogRepository.save(revenueLog);
 
-		PlatformWallet wallet = platformWalletRepository.getOrCreatePlatformWallet();
-		wallet.addRevenue(amount);
-		platformWalletRepository.save(wallet);
+		platformWalletRepository.addDelta(amount, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
 
-		log.info("Promotion revenue logged successfully. New platform balance: {}", wallet.getBalance());
+		log.info("Promotion revenue logged successfully from vendor: {}", vendorId);
 	}
 
 	public PlatformRevenueStatsResponse getRevenueStats(LocalDateTime startDate, LocalDateTime endDate) {
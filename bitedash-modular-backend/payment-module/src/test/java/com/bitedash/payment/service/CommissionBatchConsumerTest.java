@@ -0,0 +1,152 @@
+package com.bitedash.payment.service;
+
+import com.bitedash.payment.entity.CommissionEvent;
+import com.bitedash.payment.entity.PlatformRevenueLog;
+import com.bitedash.payment.repository.CommissionEventRepository;
+import com.bitedash.payment.repository.PlatformRevenueLogRepository;
+import com.bitedash.payment.repository.PlatformWalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommissionBatchConsumer Tests")
+class CommissionBatchConsumerTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private CommissionEventRepository commissionEventRepository;
+
+    @Mock
+    private PlatformRevenueLogRepository revenueLogRepository;
+
+    @Mock
+    private PlatformWalletRepository platformWalletRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CommissionBatchConsumer consumer;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        consumer = new CommissionBatchConsumer(commissionEventRepository, revenueLogRepository,
+                platformWalletRepository, transactionManager, meterRegistryProvider, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should write the batch's revenue logs together and credit the wallet once with their sum")
+    @SuppressWarnings("unchecked")
+    void consumeBatch_AppliesSummedDelta() {
+        CommissionEvent first = event(100L, "12.50");
+        CommissionEvent second = event(101L, "7.25");
+        when(commissionEventRepository.findPendingBatch(Limit.of(BATCH_SIZE))).thenReturn(List.of(first, second));
+        when(revenueLogRepository.findCommissionOrderIds(List.of(100L, 101L))).thenReturn(List.of());
+
+        int claimed = consumer.consumeBatch();
+
+        ArgumentCaptor<List<PlatformRevenueLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(revenueLogRepository).saveAll(logs.capture());
+        assertThat(logs.getValue()).extracting(PlatformRevenueLog::getOrderId).containsExactly(100L, 101L);
+        assertThat(logs.getValue()).allSatisfy(log -> assertThat(log.getRevenueType()).isEqualTo("COMMISSION"));
+
+        BigDecimal total = new BigDecimal("19.75");
+        verify(platformWalletRepository).addDelta(total, total, BigDecimal.ZERO, BigDecimal.ZERO);
+        verify(commissionEventRepository).deleteAllByIdInBatch(List.of(first.getId(), second.getId()));
+        assertThat(claimed).isEqualTo(2);
+        assertThat(meterRegistry.get("commission.pipeline.batch.size").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip commissions that already have a revenue log but still remove their events")
+    @SuppressWarnings("unchecked")
+    void consumeBatch_AlreadyApplied_NotCountedTwice() {
+        CommissionEvent applied = event(100L, "10.00");
+        CommissionEvent fresh = event(101L, "5.00");
+        when(commissionEventRepository.findPendingBatch(Limit.of(BATCH_SIZE))).thenReturn(List.of(applied, fresh));
+        when(revenueLogRepository.findCommissionOrderIds(List.of(100L, 101L))).thenReturn(List.of(100L));
+
+        consumer.consumeBatch();
+
+        ArgumentCaptor<List<PlatformRevenueLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(revenueLogRepository).saveAll(logs.capture());
+        assertThat(logs.getValue()).extracting(PlatformRevenueLog::getOrderId).containsExactly(101L);
+        verify(platformWalletRepository).addDelta(new BigDecimal("5.00"), new BigDecimal("5.00"), BigDecimal.ZERO, BigDecimal.ZERO);
+        verify(commissionEventRepository).deleteAllByIdInBatch(List.of(applied.getId(), fresh.getId()));
+    }
+
+    @Test
+    @DisplayName("Should leave the events queued when applying the batch fails")
+    void consumeBatch_WalletFailure_EventsKept() {
+        when(commissionEventRepository.findPendingBatch(Limit.of(BATCH_SIZE))).thenReturn(List.of(event(100L, "10.00")));
+        when(revenueLogRepository.findCommissionOrderIds(anyList())).thenReturn(List.of());
+        doThrow(new RuntimeException("deadlock")).when(platformWalletRepository)
+                .addDelta(any(), any(), any(), any());
+
+        assertThatThrownBy(() -> consumer.consumeBatch()).hasMessageContaining("deadlock");
+
+        verify(commissionEventRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches come back full")
+    void drain_LoopsUntilPartialBatch() {
+        List<CommissionEvent> full = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            full.add(event(200L + i, "1.00"));
+        }
+        when(commissionEventRepository.findPendingBatch(Limit.of(BATCH_SIZE)))
+                .thenReturn(full)
+                .thenReturn(List.of(event(300L, "1.00")));
+        when(revenueLogRepository.findCommissionOrderIds(anyList())).thenReturn(List.of());
+
+        consumer.drain();
+
+        verify(commissionEventRepository, times(2)).findPendingBatch(Limit.of(BATCH_SIZE));
+        verify(platformWalletRepository, times(2)).addDelta(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no commissions are queued")
+    void consumeBatch_Empty_NoWrites() {
+        when(commissionEventRepository.findPendingBatch(Limit.of(BATCH_SIZE))).thenReturn(List.of());
+
+        assertThat(consumer.consumeBatch()).isZero();
+
+        verifyNoInteractions(revenueLogRepository, platformWalletRepository);
+    }
+
+    private CommissionEvent event(Long orderId, String amount) {
+        CommissionEvent event = CommissionEvent.of(orderId, new BigDecimal(amount), 5L, 1L);
+        event.setId(nextId++);
+        return event;
+    }
+}
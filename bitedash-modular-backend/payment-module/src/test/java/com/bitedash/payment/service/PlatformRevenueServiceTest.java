@@ -4,12 +4,15 @@ import com.bitedash.payment.dto.request.CommissionLogRequest;
 import com.bitedash.payment.dto.response.DailyRevenueResponse;
 import com.bitedash.payment.dto.response.PlatformRevenueStatsResponse;
 import com.bitedash.payment.dto.response.PlatformWalletResponse;
+import com.bitedash.payment.entity.CommissionEvent;
 import com.bitedash.payment.entity.PlatformRevenueLog;
 import com.bitedash.payment.entity.PlatformWallet;
+import com.bitedash.payment.repository.CommissionEventRepository;
 import com.bitedash.payment.repository.PlatformRevenueLogRepository;
 import com.bitedash.payment.repository.PlatformWalletRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -38,6 +41,9 @@ class PlatformRevenueServiceTest {
     @Mock
     private PlatformWalletRepository platformWalletRepository;
 
+    @Mock
+    private CommissionEventRepository commissionEventRepository;
+
     @InjectMocks
     private PlatformRevenueService revenueService;
 
@@ -58,44 +64,31 @@ class PlatformRevenueServiceTest {
     class LogCommissionTests {
 
         @Test
-        @DisplayName("Should log commission successfully")
-        void logCommission_ValidRequest_LogsCommission() {
+        @DisplayName("Should queue the commission for batched settlement")
+        void logCommission_ValidRequest_QueuesCommission() {
             CommissionLogRequest request = new CommissionLogRequest();
             request.setOrderId(100L);
             request.setAmount(new BigDecimal("50.00"));
             request.setVendorId(5L);
             request.setOrganizationId(1L);
 
-            when(revenueLogRepository.save(any(PlatformRevenueLog.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(platformWalletRepository.getOrCreatePlatformWallet()).thenReturn(testWallet);
-            when(platformWalletRepository.save(any(PlatformWallet.class))).thenReturn(testWallet);
-
             revenueService.logCommission(request);
 
-            verify(revenueLogRepository).save(any(PlatformRevenueLog.class));
-            verify(platformWalletRepository).save(any(PlatformWallet.class));
+            ArgumentCaptor<CommissionEvent> eventCaptor = ArgumentCaptor.forClass(CommissionEvent.class);
+            verify(commissionEventRepository).save(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getOrderId()).isEqualTo(100L);
+            assertThat(eventCaptor.getValue().getAmount()).isEqualByComparingTo("50.00");
+            assertThat(eventCaptor.getValue().getVendorId()).isEqualTo(5L);
         }
 
         @Test
-        @DisplayName("Should update platform wallet balance")
-        void logCommission_UpdatesWalletBalance() {
-            BigDecimal initialBalance = testWallet.getBalance();
-            BigDecimal commissionAmount = new BigDecimal("100.00");
-
-            CommissionLogRequest request = new CommissionLogRequest();
-            request.setOrderId(100L);
-            request.setAmount(commissionAmount);
-            request.setVendorId(5L);
-            request.setOrganizationId(1L);
-
-            when(revenueLogRepository.save(any(PlatformRevenueLog.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(platformWalletRepository.getOrCreatePlatformWallet()).thenReturn(testWallet);
-            when(platformWalletRepository.save(any(PlatformWallet.class))).thenReturn(testWallet);
+        @DisplayName("Should not touch the platform wallet on the order path")
+        void logCommission_DoesNotLockPlatformWallet() {
+            CommissionLogRequest request = new CommissionLogRequest(100L, new BigDecimal("100.00"), 5L, 1L);
 
             revenueService.logCommission(request);
 
-            // Verify wallet methods called
-            verify(platformWalletRepository).save(testWallet);
+            verifyNoInteractions(platformWalletRepository, revenueLogRepository);
         }
     }
 
@@ -107,13 +100,11 @@ class PlatformRevenueServiceTest {
         @DisplayName("Should log gateway markup successfully")
         void logGatewayMarkup_ValidRequest_LogsMarkup() {
             when(revenueLogRepository.save(any(PlatformRevenueLog.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(platformWalletRepository.getOrCreatePlatformWallet()).thenReturn(testWallet);
-            when(platformWalletRepository.save(any(PlatformWallet.class))).thenReturn(testWallet);
 
             revenueService.logGatewayMarkup(200L, new BigDecimal("5.00"), 10L);
 
             verify(revenueLogRepository).save(any(PlatformRevenueLog.class));
-            verify(platformWalletRepository).save(any(PlatformWallet.class));
+            verify(platformWalletRepository).addDelta(new BigDecimal("5.00"), BigDecimal.ZERO, new BigDecimal("5.00"), BigDecimal.ZERO);
         }
     }
 
@@ -125,13 +116,11 @@ class PlatformRevenueServiceTest {
         @DisplayName("Should log promotion revenue successfully")
         void logPromotionRevenue_ValidRequest_LogsRevenue() {
             when(revenueLogRepository.save(any(PlatformRevenueLog.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(platformWalletRepository.getOrCreatePlatformWallet()).thenReturn(testWallet);
-            when(platformWalletRepository.save(any(PlatformWallet.class))).thenReturn(testWallet);
 
             revenueService.logPromotionRevenue(5L, new BigDecimal("200.00"), "FEATURED_LISTING");
 
             verify(revenueLogRepository).save(any(PlatformRevenueLog.class));
-            verify(platformWalletRepository).save(any(PlatformWallet.class));
+            verify(platformWalletRepository).addDelta(new BigDecimal("200.00"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
         }
     }
 
@@ -3,6 +3,8 @@ package com.bitedash.shared.api.identity;
 import com.bitedash.shared.enums.Role;
 import com.bitedash.shared.enums.UserStatus;
 
+import java.util.List;
+
 /**
  * Public API for identity-module.
  * This interface is in shared-module to avoid circular dependencies.
@@ -25,6 +27,11 @@ public interface UserService {
      */
     Integer countEmployeesByOrganization(Long organizationId);
 
+    /**
+     * Ids of the active employees of an organization, in ascending order (for bulk wallet credits)
+     */
+    List<Long> getActiveEmployeeIds(Long organizationId);
+
     /**
      * Check if user exists by email
      */
@@ -0,0 +1,11 @@
+package com.bitedash.shared.api.menu;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only view of a menu item as seen by other modules at order time.
+ * Carries only what order placement needs: availability, display name,
+ * the authoritative price and the owning vendor.
+ */
+public record MenuItemSnapshot(Long id, String name, BigDecimal price, Long vendorId, boolean available) {
+}
@@ -1,5 +1,8 @@
 package com.bitedash.shared.api.menu;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Public API for menu-module.
  * This interface is in shared-module to avoid circular dependencies.
@@ -27,4 +30,12 @@ public interface MenuPublicService {
      * @return true if exists and not deleted
      */
     boolean menuItemExists(Long menuItemId);
+
+    /**
+     * Bulk lookup of availability, name, price and vendor for a set of menu items
+     * in a single query. Intended for validating and repricing a whole cart.
+     * @param menuItemIds Menu item IDs
+     * @return Snapshots keyed by menu item ID; deleted or unknown IDs are absent
+     */
+    Map<Long, MenuItemSnapshot> getMenuItemSnapshots(Collection<Long> menuItemIds);
 }
@@ -1,5 +1,6 @@
 package com.bitedash.shared.api.organisation;
 
+import java.time.DayOfWeek;
 import java.util.List;
 
 /**
@@ -45,4 +46,10 @@ public interface OrganisationService {
      * Returns null if not found
      */
     String getVendorNameById(Long vendorId);
+
+    /**
+     * Get a vendor's pickup slot capacity and opening hours for a day
+     * Returns null if the vendor has no slot capacity configured (unlimited)
+     */
+    PickupSlotPolicy getPickupSlotPolicy(Long vendorId, DayOfWeek day);
 }
@@ -0,0 +1,12 @@
+package com.bitedash.shared.api.organisation;
+
+import java.time.LocalTime;
+
+/**
+ * Pickup capacity of a vendor on one day, as seen by other modules at order time:
+ * at most ordersPerSlot orders per slotMinutes-long slot. openTime and closeTime
+ * bound the slots that day and are null when the vendor has no hours configured.
+ */
+public record PickupSlotPolicy(Long vendorId, int slotMinutes, int ordersPerSlot, LocalTime openTime,
+        LocalTime closeTime, boolean closed) {
+}
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 public interface PaymentPublicService {
 
     /**
-     * Log commission from an order
+     * Log commission from an order. The commission is queued in the caller's transaction and
+     * applied to the platform wallet asynchronously, in batches.
      */
     void logCommission(Long orderId, BigDecimal amount, Long vendorId, Long organizationId);
 }
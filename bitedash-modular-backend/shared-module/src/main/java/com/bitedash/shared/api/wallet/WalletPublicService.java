@@ -57,4 +57,32 @@ public interface WalletPublicService {
      * @return true if successful
      */
     boolean refundOrder(Long userId, BigDecimal amount, Long orderId, String orderNumber);
+
+    /**
+     * Set funds aside for a payment without spending them yet (authorize). The hold commits
+     * immediately, independent of the caller's transaction, and locks the wallet only for that
+     * one statement. Unresolved holds expire and their funds are returned.
+     * @param userId User ID
+     * @param amount Amount to hold
+     * @param referenceId Reference (e.g. order ID) the hold is for; null if it does not exist yet
+     * @param referenceType Reference type (e.g. ORDER)
+     * @param description Description for the wallet transaction
+     * @return hold ID, to capture or release later
+     * @throws RuntimeException if insufficient balance or wallet not found
+     */
+    Long placeHold(Long userId, BigDecimal amount, Long referenceId, String referenceType, String description);
+
+    /**
+     * Spend the funds of a hold (capture). Safe to repeat.
+     * @param holdId Hold ID
+     * @param referenceId Reference to record on a hold placed without one (e.g. the order ID); may be null
+     * @return true if this call captured the hold, false if it was already resolved
+     */
+    boolean captureHold(Long holdId, Long referenceId);
+
+    /**
+     * Return the funds of a hold to the available balance. Safe to repeat.
+     * @return true if this call released the hold, false if it was already resolved
+     */
+    boolean releaseHold(Long holdId);
 }
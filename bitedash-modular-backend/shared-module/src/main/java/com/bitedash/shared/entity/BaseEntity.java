@@ -17,8 +17,11 @@ import java.time.LocalDateTime;
 @SQLRestriction("deleted = false")
 public abstract class BaseEntity {
 
+    // WHY SEQUENCE over IDENTITY? IDENTITY forces an immediate INSERT per persist and disables
+    // JDBC batching. A pooled sequence hands out blocks of ids from memory, so a whole entity
+    // graph is written with batched inserts at flush time. See TableSequenceNamingStrategy.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
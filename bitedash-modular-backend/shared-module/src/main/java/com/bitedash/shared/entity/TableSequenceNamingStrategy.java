@@ -0,0 +1,69 @@
+package com.bitedash.shared.entity;
+
+import jakarta.persistence.Table;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.engine.jdbc.env.spi.IdentifierHelper;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Names the implicit id sequence of every entity "{schema}.{table}_id_seq".
+ *
+ * WHY? The schema scripts create ids as BIGSERIAL, which already backs each table with a
+ * sequence of exactly that name. Reusing it lets {@link BaseEntity} switch from IDENTITY to a
+ * pooled sequence without renumbering existing rows. Only the sequence step has to match the
+ * allocation size (see V3__pooled_id_sequences.sql).
+ *
+ * Enabled with {@code hibernate.id.db_structure_naming_strategy}.
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+    private final StandardNamingStrategy tableNaming = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String tableName = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (tableName == null) {
+            return tableNaming.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+
+        IdentifierHelper identifierHelper = serviceRegistry.requireService(JdbcEnvironment.class).getIdentifierHelper();
+        String tableSchema = tableSchema(configValues, serviceRegistry);
+        return new QualifiedSequenceName(
+                catalogName,
+                tableSchema != null ? identifierHelper.toIdentifier(tableSchema) : schemaName,
+                identifierHelper.toIdentifier(tableName + "_id_seq")
+        );
+    }
+
+    /**
+     * Hibernate only passes the default schema to sequence naming, but BIGSERIAL sequences
+     * live next to their table, so read the schema from the entity's {@link Table} mapping.
+     */
+    private String tableSchema(Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String entityName = ConfigurationHelper.getString(IdentifierGenerator.ENTITY_NAME, configValues);
+        if (entityName == null) {
+            return null;
+        }
+        Class<?> entityClass = serviceRegistry.requireService(ClassLoaderService.class).classForName(entityName);
+        Table table = entityClass.getAnnotation(Table.class);
+        return table != null && !table.schema().isEmpty() ? table.schema() : null;
+    }
+
+    @Override
+    public QualifiedName determineTableName(Identifier catalogName, Identifier schemaName,
+                                            Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        return tableNaming.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
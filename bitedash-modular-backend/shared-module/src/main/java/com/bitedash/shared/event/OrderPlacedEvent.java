@@ -22,4 +22,8 @@ public class OrderPlacedEvent {
     private Long vendorId;
     private BigDecimal totalAmount;
     private String deliveryTime;
+    // Scheduled order held back from the vendor queue; the vendor hears about it from OrderReleasedEvent
+    private boolean heldForRelease;
+    // Wallet hold paying for the order, captured from this event if the after-commit capture was lost
+    private Long walletHoldId;
 }
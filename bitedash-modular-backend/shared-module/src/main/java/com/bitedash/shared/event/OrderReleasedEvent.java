@@ -0,0 +1,21 @@
+package com.bitedash.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published when a held scheduled order is released to the vendor queue
+ * Used to show the order on the vendor's live board
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReleasedEvent {
+    private Long orderId;
+    private String orderNumber;
+    private Long userId;
+    private Long vendorId;
+    private String status;
+    private String scheduledTime;
+}
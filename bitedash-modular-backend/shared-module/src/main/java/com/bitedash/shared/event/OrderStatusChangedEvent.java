@@ -17,6 +17,7 @@ public class OrderStatusChangedEvent {
     private Long userId;
     private String userEmail;
     private String userName;
+    private Long vendorId;
     private String oldStatus;
     private String newStatus;
 }
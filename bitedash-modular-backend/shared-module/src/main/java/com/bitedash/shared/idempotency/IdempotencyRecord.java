@@ -0,0 +1,19 @@
+package com.bitedash.shared.idempotency;
+
+/**
+ * What an idempotency key stands for: a fingerprint of the request that first used it and, once
+ * that request has finished, its HTTP status and serialized response body.
+ */
+public record IdempotencyRecord(String requestHash, int status, String body) {
+
+    /**
+     * Reservation held while the first request with a key is still running.
+     */
+    public static IdempotencyRecord inFlight(String requestHash) {
+        return new IdempotencyRecord(requestHash, 0, null);
+    }
+
+    public boolean completed() {
+        return body != null;
+    }
+}
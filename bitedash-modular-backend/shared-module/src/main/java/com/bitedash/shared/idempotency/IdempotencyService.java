@@ -0,0 +1,215 @@
+package com.bitedash.shared.idempotency;
+
+import com.bitedash.shared.dto.ApiResponse;
+import com.bitedash.shared.util.UserContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST endpoints safe to retry: a client sends the same Idempotency-Key header on every
+ * attempt and the request runs at most once.
+ *
+ * The first request with a key reserves it in the IdempotencyStore, runs, and stores its status
+ * and response body under the key for idempotency.ttl-minutes. A retry gets that stored response
+ * back (marked with Idempotent-Replayed: true) without touching the database. A concurrent
+ * duplicate waits up to idempotency.wait-ms for the first one to finish, then gets 409.
+ *
+ * Keys are scoped per endpoint and per user, and remember a hash of the request they were used
+ * with: reusing a key for a different request gets 422. Only successful responses are kept; after
+ * an error the key is freed so the retry runs again. Requests without the header run as before.
+ *
+ * The exception is an OutcomeUnknownException (e.g. the commit itself failed): the work may have
+ * been done, so the 500 it answers with is kept like a success and replayed to retries. The client
+ * checks what happened and sends a new key if it still wants the request to run.
+ *
+ * Each attempt reserves the key with its own random token, and stores or frees it only while that
+ * token still holds it. A request that outlives idempotency.in-flight-ttl-ms therefore cannot
+ * overwrite or free the reservation of a retry that took the key after it expired.
+ *
+ * Metrics:
+ * - idempotency.requests{scope,outcome}: executed, replayed, in_progress, mismatch, outcome_unknown
+ */
+@Component
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final long POLL_MILLIS = 25;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+    private final long waitMillis;
+
+    public IdempotencyService(IdempotencyStore store,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${idempotency.in-flight-ttl-ms:30000}") long inFlightTtlMillis,
+                              @Value("${idempotency.wait-ms:5000}") long waitMillis) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.inFlightTtl = Duration.ofMillis(inFlightTtlMillis);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Runs the action once per idempotency key and replays its response for retries.
+     *
+     * @param scope   endpoint the key belongs to, e.g. "order.create"
+     * @param key     value of the Idempotency-Key header; null runs the action unconditionally
+     * @param request everything that identifies the request, hashed to detect reused keys
+     */
+    public ResponseEntity<ApiResponse> execute(String scope, String key, Object request,
+                                               Supplier<ResponseEntity<ApiResponse>> action) {
+        if (key == null || key.isBlank()) {
+            try {
+                return action.get();
+            } catch (OutcomeUnknownException e) {
+                count(scope, "outcome_unknown");
+                return outcomeUnknown(e);
+            }
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        UserContext.UserContextHolder user = UserContext.get();
+        String storeKey = scope + ":" + (user != null ? user.userId() : "anonymous") + ":" + key;
+        String requestHash = fingerprint(request);
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitMillis;
+
+        while (true) {
+            IdempotencyRecord existing = store.reserve(storeKey, requestHash, token, inFlightTtl);
+            if (existing == null) {
+                count(scope, "executed");
+                return runAndRemember(scope, storeKey, requestHash, token, action);
+            }
+            if (!existing.requestHash().equals(requestHash)) {
+                count(scope, "mismatch");
+                return ResponseEntity.unprocessableEntity()
+                        .body(ApiResponse.error(HEADER + " was already used for a different request"));
+            }
+            if (existing.completed()) {
+                count(scope, "replayed");
+                return replay(existing);
+            }
+            if (System.currentTimeMillis() >= deadline || !pause()) {
+                count(scope, "in_progress");
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("A request with this " + HEADER + " is still being processed"));
+            }
+        }
+    }
+
+    private ResponseEntity<ApiResponse> runAndRemember(String scope, String storeKey, String requestHash,
+                                                       String token, Supplier<ResponseEntity<ApiResponse>> action) {
+        ResponseEntity<ApiResponse> response;
+        try {
+            response = action.get();
+        } catch (OutcomeUnknownException e) {
+            // Freeing the key would let the retry do the work a second time
+            count(scope, "outcome_unknown");
+            response = outcomeUnknown(e);
+            remember(storeKey, requestHash, token, response);
+            return response;
+        } catch (RuntimeException e) {
+            release(storeKey, token);
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(storeKey, token);
+            return response;
+        }
+        remember(storeKey, requestHash, token, response);
+        return response;
+    }
+
+    private void remember(String storeKey, String requestHash, String token, ResponseEntity<ApiResponse> response) {
+        try {
+            boolean stored = store.complete(storeKey, token, new IdempotencyRecord(requestHash,
+                    response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody())), ttl);
+            if (!stored) {
+                log.warn("Reservation of idempotency key {} expired before its response was stored; "
+                        + "a retry may run the request again", storeKey);
+            }
+        } catch (Exception e) {
+            // The reservation expires after idempotency.in-flight-ttl-ms; until then retries get 409
+            log.warn("Failed to store response for idempotency key {}: {}", storeKey, e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<ApiResponse> outcomeUnknown(OutcomeUnknownException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+    }
+
+    private void release(String storeKey, String token) {
+        if (!store.release(storeKey, token)) {
+            log.warn("Reservation of idempotency key {} expired before the request failed; left the key as is", storeKey);
+        }
+    }
+
+    private ResponseEntity<ApiResponse> replay(IdempotencyRecord record) {
+        try {
+            return ResponseEntity.status(record.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(record.body(), ApiResponse.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable", e);
+        }
+    }
+
+    /**
+     * Compact hash of the request: the first 16 bytes of SHA-256 over its JSON form.
+     */
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String scope, String outcome) {
+        registry.counter("idempotency.requests", "scope", scope, "outcome", outcome).increment();
+    }
+}
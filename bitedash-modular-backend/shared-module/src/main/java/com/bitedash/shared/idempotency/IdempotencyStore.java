@@ -0,0 +1,35 @@
+package com.bitedash.shared.idempotency;
+
+import java.time.Duration;
+
+/**
+ * TTL store for idempotency keys.
+ *
+ * Implementations:
+ * - LocalIdempotencyStore: in-process map (single node, default)
+ * - RedisIdempotencyStore: keys shared by every node (idempotency.store=redis)
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves a key for a request that is about to run, unless the key is already taken.
+     *
+     * @param token unique to this attempt; complete and release only act while it still holds the key
+     * @return null if the caller now owns the key, otherwise the record already stored under it
+     */
+    IdempotencyRecord reserve(String key, String requestHash, String token, Duration ttl);
+
+    /**
+     * Replaces the reservation with the finished response, if the token still holds it.
+     *
+     * @return false if the reservation expired first (the key was freed or taken by a retry)
+     */
+    boolean complete(String key, String token, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Frees a reserved key so a retry runs the request again, if the token still holds it.
+     *
+     * @return false if the reservation expired first (the key was freed or taken by a retry)
+     */
+    boolean release(String key, String token);
+}
@@ -0,0 +1,67 @@
+package com.bitedash.shared.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Idempotency keys held in memory. Only correct on a single node: a retry routed to another
+ * node runs again. Completing or releasing a key checks the owner's token under the map's
+ * per-key lock. Expired keys are swept periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    /**
+     * token is the owning attempt's while the entry is a reservation, null once it is complete.
+     */
+    private record Entry(IdempotencyRecord record, String token, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public IdempotencyRecord reserve(String key, String requestHash, String token, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Entry reservation = new Entry(IdempotencyRecord.inFlight(requestHash), token, now + ttl.toMillis());
+        Entry current = entries.compute(key, (k, existing) ->
+                existing == null || existing.expiresAtMillis() <= now ? reservation : existing);
+        return current == reservation ? null : current.record();
+    }
+
+    @Override
+    public boolean complete(String key, String token, IdempotencyRecord record, Duration ttl) {
+        Entry completed = new Entry(record, null, System.currentTimeMillis() + ttl.toMillis());
+        return entries.computeIfPresent(key, (k, existing) ->
+                token.equals(existing.token()) ? completed : existing) == completed;
+    }
+
+    @Override
+    public boolean release(String key, String token) {
+        AtomicBoolean released = new AtomicBoolean();
+        entries.computeIfPresent(key, (k, existing) -> {
+            if (!token.equals(existing.token())) {
+                return existing;
+            }
+            released.set(true);
+            return null;
+        });
+        return released.get();
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.local.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.bitedash.shared.idempotency;
+
+/**
+ * Thrown when a request may or may not have taken effect, e.g. when the commit of its transaction
+ * failed midway. Running it again could do the work twice.
+ *
+ * IdempotencyService answers with 500 and, unlike other failures, keeps the key with that answer
+ * instead of freeing it, so a retry with the same Idempotency-Key is not run a second time.
+ */
+public class OutcomeUnknownException extends RuntimeException {
+
+    public OutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
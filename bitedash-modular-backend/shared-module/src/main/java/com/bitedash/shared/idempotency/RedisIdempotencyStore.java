@@ -0,0 +1,87 @@
+package com.bitedash.shared.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency keys shared by every node through Redis.
+ *
+ * A key is reserved with SET NX and a short expiry, so only one node runs a request and a node
+ * that dies mid-request frees the key once the expiry passes. The finished response overwrites
+ * the reservation with the full TTL. Values are "hash\ntoken" while reserved, and
+ * "hash\nstatus\nbody" once complete.
+ *
+ * WHY Lua for complete and release? A request can outlive its reservation while a retry takes the
+ * key. A plain SET or DEL would then overwrite or free the retry's reservation. The scripts check
+ * the token and write in one step, so only the reservation's owner can touch it.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    // True when KEYS[1] still holds the reservation ending in ARGV[1] ("\n" + token). A finished
+    // response never ends that way: serialized JSON has no raw newline.
+    private static final String HELD_BY_TOKEN =
+            "local value = redis.call('GET', KEYS[1]) "
+            + "local held = value and string.sub(value, -string.len(ARGV[1])) == ARGV[1] ";
+
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(HELD_BY_TOKEN
+            + "if held then redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0", Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(HELD_BY_TOKEN
+            + "if held then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate,
+                                 @Value("${idempotency.redis.key-prefix:bitedash:idem:}") String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, String requestHash, String token, Duration ttl) {
+        String redisKey = keyPrefix + key;
+        while (true) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, requestHash + "\n" + token, ttl))) {
+                return null;
+            }
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value != null) {
+                return decode(value);
+            }
+            // Expired or released between SET and GET; try to take it
+        }
+    }
+
+    @Override
+    public boolean complete(String key, String token, IdempotencyRecord record, Duration ttl) {
+        Long completed = redisTemplate.execute(COMPLETE_SCRIPT, List.of(keyPrefix + key), "\n" + token,
+                record.requestHash() + "\n" + record.status() + "\n" + record.body(), String.valueOf(ttl.toMillis()));
+        return completed != null && completed == 1;
+    }
+
+    @Override
+    public boolean release(String key, String token) {
+        Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(keyPrefix + key), "\n" + token);
+        return released != null && released == 1;
+    }
+
+    static IdempotencyRecord decode(String value) {
+        // Serialized JSON never contains a raw newline, so the body is everything after the second one;
+        // a reservation has only one (before its token)
+        String[] parts = value.split("\n", 3);
+        if (parts.length < 3) {
+            return IdempotencyRecord.inFlight(parts[0]);
+        }
+        return new IdempotencyRecord(parts[0], Integer.parseInt(parts[1]), parts[2]);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bitedash.shared.outbox;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting to be relayed, written in the same transaction as the change it describes.
+ * See {@link OutboxPublisher} and {@link OutboxRelay}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events", schema = "shared_schema")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    // Fully qualified class name of the event, used to deserialize the payload
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the relay has delivered the event
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // Set while a relay is delivering the event; other relays skip it until then
+    private LocalDateTime claimedUntil;
+}
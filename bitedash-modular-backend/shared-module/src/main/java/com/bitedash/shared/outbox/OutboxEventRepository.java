@@ -0,0 +1,52 @@
+package com.bitedash.shared.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // WHY SKIP LOCKED (lock timeout -2)? Every node runs a relay. Rows claimed by one relay are
+    // skipped by the others instead of blocking them, so nodes drain different events in parallel.
+    //
+    // WHY only the oldest event of each aggregate? Claims are held across several transactions and
+    // nodes, so two events of one order could otherwise be delivered at the same time on different
+    // nodes. An event is claimable only once every earlier live event of its aggregate is published;
+    // events without an aggregate are never held back.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts
+              AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)
+              AND NOT EXISTS (
+                SELECT 1 FROM OutboxEvent earlier
+                WHERE earlier.aggregateType = e.aggregateType AND earlier.aggregateId = e.aggregateId
+                  AND earlier.id < e.id AND earlier.publishedAt IS NULL AND earlier.attempts < :maxAttempts)
+            ORDER BY e.id""")
+    List<OutboxEvent> findClaimableBatch(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :lastError, e.claimedUntil = NULL WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("lastError") String lastError);
+}
@@ -0,0 +1,53 @@
+package com.bitedash.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records domain events in the outbox table.
+ *
+ * WHY an outbox? Publishing straight to listeners or WebSocket clients while the transaction is
+ * still open can announce a change that later rolls back, and publishing after commit can lose
+ * the event if the node dies in between. Writing the event in the same transaction makes it
+ * commit or roll back together with the change. {@link OutboxRelay} delivers it afterwards.
+ */
+@Component
+public class OutboxPublisher {
+
+    public static final String AGGREGATE_ORDER = "ORDER";
+    public static final String AGGREGATE_WALLET = "WALLET";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Must be called inside the transaction that makes the change the event describes.
+     *
+     * @param aggregateType Kind of entity the event is about (e.g. ORDER)
+     * @param aggregateId Id of that entity; events of one aggregate are delivered in order
+     * @param event Event object from com.bitedash.shared.event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, Long aggregateId, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(event.getClass().getName());
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event: " + event.getClass().getSimpleName(), e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bitedash.shared.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox table in batches and publishes each event to in-process listeners
+ * (Spring {@code @EventListener}s, including the order WebSocket publisher).
+ *
+ * Each batch runs in three steps:
+ * - claim: a short transaction leases the batch (claimed_until) so no other node picks it up
+ * - deliver: each event gets its own transaction, so a listener that throws rolls back only its own work
+ * - record: a separate transaction marks delivered events published and counts failed attempts
+ *
+ * Events of one aggregate (e.g. one order) are delivered in order, across nodes: only the oldest
+ * unpublished event of an aggregate can be claimed, so the next one waits until it is published or
+ * has used up its attempts.
+ *
+ * Delivery is at-least-once: an event is marked published only after its listeners return, so a
+ * crash mid-batch redelivers it once its lease runs out. Listeners must tolerate duplicates.
+ *
+ * Metrics:
+ * - outbox.relay.lag: time from writing an event to delivering it
+ * - outbox.relay.batch.size: events claimed per batch
+ * - outbox.relay.failures: deliveries that threw and will be retried
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Only shared event classes may be instantiated from a stored type name
+    private static final String EVENT_PACKAGE = "com.bitedash.shared.event.";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter failureCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ObjectMapper objectMapper,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       ObjectProvider<MeterRegistry> meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.lease-ms:60000}") long leaseMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMillis);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time from writing an outbox event to delivering it")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Outbox events claimed per relay batch")
+                .register(registry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("Outbox deliveries that failed and will be retried")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:250}")
+    public void drain() {
+        try {
+            // A full batch means more events are probably waiting, so keep going
+            int claimed;
+            do {
+                claimed = relayBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claims one batch, delivers each event in its own transaction, then records the outcomes.
+     *
+     * @return number of events claimed
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> claimable = outboxEventRepository.findClaimableBatch(maxAttempts, now, Limit.of(batchSize));
+            if (!claimable.isEmpty()) {
+                outboxEventRepository.claim(claimable.stream().map(OutboxEvent::getId).toList(), now.plus(lease));
+            }
+            return claimable;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        batchSizeSummary.record(batch.size());
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            try {
+                Object payload = deserialize(event);
+                // WHY a transaction per event? Listeners write through repositories that join it. A
+                // listener that throws marks it rollback-only; sharing one transaction would undo the
+                // rest of the batch and the bookkeeping with it, and redeliver a poison event forever.
+                transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(payload));
+                delivered.add(event.getId());
+                lagTimer.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception e) {
+                recordFailure(event, e);
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+            }
+            for (OutboxEvent event : failed) {
+                outboxEventRepository.recordFailure(event.getId(), event.getLastError());
+            }
+        });
+        return batch.size();
+    }
+
+    private Object deserialize(OutboxEvent event) throws Exception {
+        if (!event.getEventType().startsWith(EVENT_PACKAGE)) {
+            throw new IllegalStateException("Unsupported outbox event type: " + event.getEventType());
+        }
+        Class<?> type = ClassUtils.forName(event.getEventType(), getClass().getClassLoader());
+        return objectMapper.readValue(event.getPayload(), type);
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        failureCounter.increment();
+        event.setAttempts(event.getAttempts() + 1);
+        String message = String.valueOf(e.getMessage());
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Outbox event {} ({}) failed {} times and will not be retried: {}",
+                    event.getId(), event.getEventType(), event.getAttempts(), message);
+        } else {
+            log.warn("Outbox event {} ({}) failed, attempt {}: {}",
+                    event.getId(), event.getEventType(), event.getAttempts(), message);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bitedash.shared.util;
+
+/**
+ * Field formatting for the CSV exports (RFC 4180, CRLF line endings).
+ */
+public final class CsvFormat {
+
+	private CsvFormat() {
+	}
+
+	/**
+	 * Escapes free text, and prefixes values a spreadsheet would evaluate as a formula
+	 * (leading =, +, -, @) with a quote so they open as plain text.
+	 */
+	public static String text(String value) {
+		if (value != null && !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+			value = "'" + value;
+		}
+		return escape(value);
+	}
+
+	/**
+	 * RFC 4180: fields containing a comma, quote or line break are quoted, with quotes doubled.
+	 * Null is written as an empty field.
+	 */
+	public static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,264 @@
+package com.bitedash.shared.idempotency;
+
+import com.bitedash.shared.dto.ApiResponse;
+import com.bitedash.shared.util.UserContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "wallet.credit";
+    private static final Map<String, Object> REQUEST = Map.of("userId", 7, "amount", "250.00");
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalIdempotencyStore store = new LocalIdempotencyStore();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        service = new IdempotencyService(store, new ObjectMapper(), meterRegistryProvider, 60, 30_000, 2_000);
+        asUser(1L);
+    }
+
+    @AfterEach
+    void clearUserContext() {
+        UserContext.clear();
+    }
+
+    private void asUser(Long userId) {
+        UserContext.set(new UserContext.UserContextHolder("Bearer token", userId, "admin@example.com",
+                "ROLE_ORG_ADMIN", 5L, 1L));
+    }
+
+    private ResponseEntity<ApiResponse> credit() {
+        int execution = executions.incrementAndGet();
+        return ResponseEntity.ok(new ApiResponse(true, "Wallet credited successfully", Map.of("transactionId", execution)));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("idempotency.requests", "scope", SCOPE, "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should replay the first response for a retry without running the action again")
+    void execute_Retry_ReplaysFirstResponse() {
+        ResponseEntity<ApiResponse> first = service.execute(SCOPE, "key-1", REQUEST, this::credit);
+        ResponseEntity<ApiResponse> retry = service.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(new ApiResponse(true, "Wallet credited successfully",
+                Map.of("transactionId", 1)));
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(count("replayed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run requests without a key, and keys of different users, independently")
+    void execute_NoKeyOrOtherUser_RunsAgain() {
+        service.execute(SCOPE, null, REQUEST, this::credit);
+        service.execute(SCOPE, null, REQUEST, this::credit);
+        service.execute(SCOPE, "key-1", REQUEST, this::credit);
+        asUser(2L);
+        service.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void execute_DifferentRequest_Unprocessable() {
+        service.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        ResponseEntity<ApiResponse> reused = service.execute(SCOPE, "key-1",
+                Map.of("userId", 7, "amount", "999.00"), this::credit);
+
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should free the key after a failed response so the retry runs")
+    void execute_Failure_NotRemembered() {
+        ResponseEntity<ApiResponse> failed = service.execute(SCOPE, "key-1", REQUEST, () ->
+                ResponseEntity.badRequest().body(ApiResponse.error("Wallet not found")));
+        ResponseEntity<ApiResponse> retry = service.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the key when the outcome is unknown so the retry does not run again")
+    void execute_OutcomeUnknown_KeyKept() {
+        ResponseEntity<ApiResponse> failed = service.execute(SCOPE, "key-1", REQUEST, () -> {
+            executions.incrementAndGet();
+            throw new OutcomeUnknownException("Credit may not have been applied", new RuntimeException("commit failed"));
+        });
+        ResponseEntity<ApiResponse> retry = service.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody().getMessage()).isEqualTo("Credit may not have been applied");
+        assertThat(executions).hasValue(1);
+        assertThat(count("outcome_unknown")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run concurrent requests with the same key once and give every caller its response")
+    void execute_Concurrent_RunsOnce() throws Exception {
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<ApiResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                asUser(1L);
+                start.await();
+                return service.execute(SCOPE, "key-1", REQUEST, () -> {
+                    sleep(100);
+                    return credit();
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<ResponseEntity<ApiResponse>> result : results) {
+            ResponseEntity<ApiResponse> response = result.get(10, TimeUnit.SECONDS);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getData()).isEqualTo(Map.of("transactionId", 1));
+        }
+        pool.shutdown();
+
+        assertThat(executions).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("replayed")).isEqualTo(callers - 1);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 while the first request is still running past the wait")
+    void execute_StillRunning_Conflict() {
+        store.reserve(SCOPE + ":1:key-1", fingerprintOfRequest(), "first", Duration.ofMinutes(1));
+        IdempotencyService impatient = new IdempotencyService(store, new ObjectMapper(), meterRegistryProvider,
+                60, 30_000, 50);
+
+        ResponseEntity<ApiResponse> response = impatient.execute(SCOPE, "key-1", REQUEST, this::credit);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should let a reservation expire and sweep expired keys")
+    void localStore_ExpiresReservations() throws Exception {
+        assertThat(store.reserve("k", "hash", "first", Duration.ofMillis(20))).isNull();
+        assertThat(store.reserve("k", "hash", "second", Duration.ofMillis(20))).isEqualTo(IdempotencyRecord.inFlight("hash"));
+
+        Thread.sleep(40);
+        store.sweep();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.reserve("k", "hash", "third", Duration.ofMillis(20))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should only complete or release a reservation with the token that holds it")
+    void localStore_ChecksToken() {
+        IdempotencyRecord done = new IdempotencyRecord("hash", 200, "{}");
+        store.reserve("k", "hash", "owner", Duration.ofMinutes(1));
+
+        assertThat(store.complete("k", "other", done, Duration.ofMinutes(1))).isFalse();
+        assertThat(store.release("k", "other")).isFalse();
+        assertThat(store.complete("k", "owner", done, Duration.ofMinutes(1))).isTrue();
+        assertThat(store.release("k", "owner")).isFalse();
+        assertThat(store.reserve("k", "hash", "retry", Duration.ofMinutes(1))).isEqualTo(done);
+    }
+
+    @Test
+    @DisplayName("Should leave a retry's reservation alone when the first request outlives its own")
+    void execute_ReservationExpired_RetryKeepsKey() {
+        IdempotencyService slow = new IdempotencyService(store, new ObjectMapper(), meterRegistryProvider,
+                60, 20, 2_000);
+        String storeKey = SCOPE + ":1:key-1";
+
+        ResponseEntity<ApiResponse> succeeded = slow.execute(SCOPE, "key-1", REQUEST, () -> {
+            sleep(40);
+            assertThat(store.reserve(storeKey, "retry", "retry", Duration.ofMinutes(1))).isNull();
+            return credit();
+        });
+        ResponseEntity<ApiResponse> failed = slow.execute(SCOPE, "key-2", REQUEST, () -> {
+            sleep(40);
+            assertThat(store.reserve(SCOPE + ":1:key-2", "retry", "retry", Duration.ofMinutes(1))).isNull();
+            return ResponseEntity.badRequest().body(ApiResponse.error("Wallet not found"));
+        });
+
+        assertThat(succeeded.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(store.reserve(storeKey, "probe", "probe", Duration.ofMinutes(1)))
+                .isEqualTo(IdempotencyRecord.inFlight("retry"));
+        assertThat(store.reserve(SCOPE + ":1:key-2", "probe", "probe", Duration.ofMinutes(1)))
+                .isEqualTo(IdempotencyRecord.inFlight("retry"));
+    }
+
+    @Test
+    @DisplayName("Should decode Redis values for reservations and finished responses")
+    void redisStore_Decode() {
+        assertThat(RedisIdempotencyStore.decode("abc\n6f1c")).isEqualTo(IdempotencyRecord.inFlight("abc"));
+        assertThat(RedisIdempotencyStore.decode("abc\n201\n{\"message\":\"a\\nb\"}"))
+                .isEqualTo(new IdempotencyRecord("abc", 201, "{\"message\":\"a\\nb\"}"));
+    }
+
+    /**
+     * The reservation a concurrent first request would hold for REQUEST; captured by letting it
+     * run once under a different key and reading the stored hash.
+     */
+    private String fingerprintOfRequest() {
+        service.execute(SCOPE, "probe", REQUEST, () -> ResponseEntity.ok(ApiResponse.success("probe")));
+        IdempotencyRecord probe = store.reserve(SCOPE + ":1:probe", "other", "probe", Duration.ofMinutes(1));
+        return probe.requestHash();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
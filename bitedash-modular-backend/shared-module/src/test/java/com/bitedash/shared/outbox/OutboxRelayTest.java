@@ -0,0 +1,156 @@
+package com.bitedash.shared.outbox;
+
+import com.bitedash.shared.event.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        relay = new OutboxRelay(outboxEventRepository, objectMapper, eventPublisher, transactionManager,
+                meterRegistryProvider, BATCH_SIZE, MAX_ATTEMPTS, 60_000);
+    }
+
+    @Test
+    @DisplayName("Should deliver a batch and mark it published")
+    void relayBatch_DeliversAndMarksPublished() throws Exception {
+        OutboxEvent first = statusChanged(1L, "PENDING", "PREPARING");
+        OutboxEvent second = statusChanged(2L, "PREPARING", "READY");
+        when(outboxEventRepository.findClaimableBatch(eq(MAX_ATTEMPTS), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(List.of(first, second));
+
+        int claimed = relay.relayBatch();
+
+        ArgumentCaptor<Object> delivered = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(delivered.capture());
+        assertThat(delivered.getAllValues())
+                .extracting(event -> ((OrderStatusChangedEvent) event).getNewStatus())
+                .containsExactly("PREPARING", "READY");
+        verify(outboxEventRepository).claim(eq(List.of(first.getId(), second.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(first.getId(), second.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).recordFailure(any(), any());
+        assertThat(claimed).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.relay.batch.size").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.relay.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should roll back only the failing delivery and record its attempt separately")
+    void relayBatch_Failure_IsolatedAndRecorded() throws Exception {
+        OutboxEvent failing = statusChanged(1L, "PENDING", "PREPARING");
+        OutboxEvent otherOrder = statusChanged(2L, "PENDING", "CANCELLED");
+        when(outboxEventRepository.findClaimableBatch(eq(MAX_ATTEMPTS), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(List.of(failing, otherOrder));
+        doThrow(new IllegalStateException("listener down")).doNothing().when(eventPublisher).publishEvent(any(Object.class));
+
+        relay.relayBatch();
+
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+        // Claim, two deliveries and the outcome each run in their own transaction; only the failed delivery rolls back
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(outboxEventRepository).markPublished(eq(List.of(otherOrder.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).recordFailure(failing.getId(), "listener down");
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getLastError()).isEqualTo("listener down");
+        assertThat(meterRegistry.get("outbox.relay.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse payload types outside the shared event package")
+    void relayBatch_UnknownType_NotDelivered() {
+        OutboxEvent event = statusChanged(1L, "PENDING", "READY");
+        event.setEventType("java.lang.ProcessBuilder");
+        when(outboxEventRepository.findClaimableBatch(eq(MAX_ATTEMPTS), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(List.of(event));
+
+        relay.relayBatch();
+
+        verifyNoInteractions(eventPublisher);
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+        verify(outboxEventRepository).recordFailure(event.getId(), "Unsupported outbox event type: java.lang.ProcessBuilder");
+        assertThat(event.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches come back full")
+    void drain_FullBatches_KeepsGoing() throws Exception {
+        List<OutboxEvent> full = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            full.add(statusChanged((long) i, "PENDING", "READY"));
+        }
+        when(outboxEventRepository.findClaimableBatch(anyInt(), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(full)
+                .thenReturn(List.of(statusChanged(9L, "PENDING", "READY")))
+                .thenReturn(List.of());
+
+        relay.drain();
+
+        verify(outboxEventRepository, times(2)).findClaimableBatch(anyInt(), any(LocalDateTime.class), any(Limit.class));
+        verify(eventPublisher, times(BATCH_SIZE + 1)).publishEvent(any(Object.class));
+    }
+
+    private OutboxEvent statusChanged(Long orderId, String oldStatus, String newStatus) {
+        OrderStatusChangedEvent payload = new OrderStatusChangedEvent(
+                orderId, "ORD-" + orderId, 10L, null, null, 5L, oldStatus, newStatus);
+        OutboxEvent event = new OutboxEvent();
+        event.setId(nextId++);
+        event.setAggregateType(OutboxPublisher.AGGREGATE_ORDER);
+        event.setAggregateId(orderId);
+        event.setEventType(OrderStatusChangedEvent.class.getName());
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,357 @@
+package com.bitedash.shared.testing;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process Redis stand-in for tests: speaks RESP2 and implements what the application sends
+ * when its Redis-backed modes are on - pub/sub for the WebSocket cluster relay, SET NX with expiry
+ * for idempotency keys, INCR/DECR/MGET/EXPIRE for pickup slot counters, GET/SET/SETEX/DEL for the
+ * wallet balance cache and OTPs. Expired keys are dropped when next read. Everything else (CLIENT,
+ * SELECT, ...) is acknowledged with OK, and HELLO is rejected so clients fall back to RESP2.
+ *
+ * Published in this module's test-jar; modules that test against Redis depend on it with
+ * {@code <type>test-jar</type>} and {@code <scope>test</scope>}.
+ *
+ * WHY not an embedded Redis? None is available to the build.
+ */
+public class RedisStandIn implements AutoCloseable {
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NIL = "$-1\r\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Set<Client>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Client> clients = new CopyOnWriteArraySet<>();
+    private final Map<String, Entry> values = new ConcurrentHashMap<>();
+    private final AtomicLong commands = new AtomicLong();
+    private volatile boolean running = true;
+
+    private record Entry(String value, long expiresAt) {
+
+        boolean expired(long now) {
+            return expiresAt > 0 && expiresAt <= now;
+        }
+    }
+
+    public RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "redis-stand-in-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int subscriberCount(String channel) {
+        return subscribers.getOrDefault(channel, Set.of()).size();
+    }
+
+    /**
+     * Commands served so far, e.g. to report alongside load test numbers.
+     */
+    public long commandCount() {
+        return commands.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Client client = new Client(serverSocket.accept());
+                clients.add(client);
+                Thread reader = new Thread(client::serve, "redis-stand-in-client");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                // Server socket closed
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Client client : clients) {
+            client.close();
+        }
+    }
+
+    private String get(String key) {
+        Entry entry = values.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired(System.currentTimeMillis())) {
+            values.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private boolean set(String key, String value, long ttlMillis, boolean onlyIfAbsent) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(value, ttlMillis > 0 ? now + ttlMillis : 0);
+        if (!onlyIfAbsent) {
+            values.put(key, entry);
+            return true;
+        }
+        boolean[] stored = new boolean[1];
+        values.compute(key, (k, current) -> {
+            if (current == null || current.expired(now)) {
+                stored[0] = true;
+                return entry;
+            }
+            return current;
+        });
+        return stored[0];
+    }
+
+    private long add(String key, long delta) {
+        long now = System.currentTimeMillis();
+        Entry updated = values.compute(key, (k, current) -> current == null || current.expired(now)
+                ? new Entry(String.valueOf(delta), 0)
+                : new Entry(String.valueOf(Long.parseLong(current.value()) + delta), current.expiresAt()));
+        return Long.parseLong(updated.value());
+    }
+
+    private boolean expire(String key, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Entry updated = values.computeIfPresent(key, (k, current) -> current.expired(now)
+                ? null
+                : new Entry(current.value(), now + ttlMillis));
+        return updated != null;
+    }
+
+    private final class Client {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        void serve() {
+            try {
+                List<byte[]> command;
+                while ((command = readCommand()) != null) {
+                    commands.incrementAndGet();
+                    handle(command);
+                }
+            } catch (IOException e) {
+                // Client went away
+            } finally {
+                close();
+            }
+        }
+
+        private void handle(List<byte[]> command) throws IOException {
+            String name = string(command, 0).toUpperCase();
+            switch (name) {
+                case "HELLO" -> write("-ERR unknown command 'HELLO'\r\n".getBytes(StandardCharsets.UTF_8));
+                case "PING" -> write(channels.isEmpty()
+                        ? "+PONG\r\n".getBytes(StandardCharsets.UTF_8)
+                        : array(bulk("pong"), bulk("")));
+                case "SUBSCRIBE" -> {
+                    for (int i = 1; i < command.size(); i++) {
+                        String channel = string(command, i);
+                        channels.add(channel);
+                        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(this);
+                        write(array(bulk("subscribe"), bulk(channel), integer(channels.size())));
+                    }
+                }
+                case "UNSUBSCRIBE" -> {
+                    List<String> targets = new ArrayList<>();
+                    for (int i = 1; i < command.size(); i++) {
+                        targets.add(string(command, i));
+                    }
+                    if (targets.isEmpty()) {
+                        targets.addAll(channels);
+                    }
+                    if (targets.isEmpty()) {
+                        write(array(bulk("unsubscribe"), NIL, integer(0)));
+                    }
+                    for (String channel : targets) {
+                        unsubscribe(channel);
+                        write(array(bulk("unsubscribe"), bulk(channel), integer(channels.size())));
+                    }
+                }
+                case "PUBLISH" -> {
+                    String channel = string(command, 1);
+                    byte[] message = array(bulk("message"), bulk(channel), bulk(command.get(2)));
+                    Set<Client> targets = subscribers.getOrDefault(channel, Set.of());
+                    for (Client target : targets) {
+                        target.write(message);
+                    }
+                    write(integer(targets.size()));
+                }
+                case "GET" -> write(nullableBulk(get(string(command, 1))));
+                case "MGET" -> {
+                    List<byte[]> replies = new ArrayList<>();
+                    for (int i = 1; i < command.size(); i++) {
+                        replies.add(nullableBulk(get(string(command, i))));
+                    }
+                    write(array(replies.toArray(new byte[0][])));
+                }
+                case "SET" -> {
+                    boolean onlyIfAbsent = false;
+                    long ttlMillis = 0;
+                    for (int i = 3; i < command.size(); i++) {
+                        String option = string(command, i).toUpperCase();
+                        switch (option) {
+                            case "NX" -> onlyIfAbsent = true;
+                            case "EX" -> ttlMillis = Long.parseLong(string(command, ++i)) * 1000;
+                            case "PX" -> ttlMillis = Long.parseLong(string(command, ++i));
+                            default -> {
+                                // KEEPTTL, GET, XX: not sent by the application
+                            }
+                        }
+                    }
+                    boolean stored = set(string(command, 1), string(command, 2), ttlMillis, onlyIfAbsent);
+                    write(stored ? OK : NIL);
+                }
+                case "SETEX", "PSETEX" -> {
+                    long ttl = Long.parseLong(string(command, 2));
+                    set(string(command, 1), string(command, 3), "SETEX".equals(name) ? ttl * 1000 : ttl, false);
+                    write(OK);
+                }
+                case "INCR" -> write(integer(add(string(command, 1), 1)));
+                case "DECR" -> write(integer(add(string(command, 1), -1)));
+                case "DEL" -> {
+                    int removed = 0;
+                    for (int i = 1; i < command.size(); i++) {
+                        removed += values.remove(string(command, i)) != null ? 1 : 0;
+                    }
+                    write(integer(removed));
+                }
+                case "EXPIRE" -> write(integer(expire(string(command, 1), Long.parseLong(string(command, 2)) * 1000) ? 1 : 0));
+                case "PEXPIRE" -> write(integer(expire(string(command, 1), Long.parseLong(string(command, 2))) ? 1 : 0));
+                default -> write(OK);
+            }
+        }
+
+        private void unsubscribe(String channel) {
+            channels.remove(channel);
+            Set<Client> set = subscribers.get(channel);
+            if (set != null) {
+                set.remove(this);
+            }
+        }
+
+        private List<byte[]> readCommand() throws IOException {
+            String header = readLine();
+            if (header == null) {
+                return null;
+            }
+            if (header.charAt(0) != '*') {
+                // Inline command
+                List<byte[]> parts = new ArrayList<>();
+                for (String part : header.trim().split(" +")) {
+                    parts.add(part.getBytes(StandardCharsets.UTF_8));
+                }
+                return parts;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<byte[]> parts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(readLine().substring(1));
+                byte[] data = in.readNBytes(length);
+                in.readNBytes(2);
+                parts.add(data);
+            }
+            return parts;
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    in.read();
+                    return line.toString();
+                }
+                line.append((char) b);
+            }
+            return line.length() == 0 ? null : line.toString();
+        }
+
+        private synchronized void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            out.flush();
+        }
+
+        void close() {
+            for (String channel : channels) {
+                unsubscribe(channel);
+            }
+            clients.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    private static String string(List<byte[]> command, int index) {
+        return new String(command.get(index), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] nullableBulk(String value) {
+        return value != null ? bulk(value) : NIL;
+    }
+
+    private static byte[] bulk(String value) {
+        return bulk(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bulk(byte[] value) {
+        byte[] prefix = ("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[prefix.length + value.length + 2];
+        System.arraycopy(prefix, 0, result, 0, prefix.length);
+        System.arraycopy(value, 0, result, prefix.length, value.length);
+        result[result.length - 2] = '\r';
+        result[result.length - 1] = '\n';
+        return result;
+    }
+
+    private static byte[] integer(long value) {
+        return (":" + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] array(byte[]... elements) {
+        int length = 0;
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        byte[] prefix = ("*" + elements.length + "\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[prefix.length + length];
+        System.arraycopy(prefix, 0, result, 0, prefix.length);
+        int offset = prefix.length;
+        for (byte[] element : elements) {
+            System.arraycopy(element, 0, result, offset, element.length);
+            offset += element.length;
+        }
+        return result;
+    }
+}
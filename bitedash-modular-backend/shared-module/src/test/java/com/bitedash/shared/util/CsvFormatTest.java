@@ -0,0 +1,22 @@
+package com.bitedash.shared.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvFormat Tests")
+class CsvFormatTest {
+
+    @Test
+    @DisplayName("Should quote separators and neutralise spreadsheet formulas")
+    void text_Escaping() {
+        assertThat(CsvFormat.escape(null)).isEmpty();
+        assertThat(CsvFormat.escape("plain")).isEqualTo("plain");
+        assertThat(CsvFormat.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(CsvFormat.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(CsvFormat.escape("two\nlines")).isEqualTo("\"two\nlines\"");
+        assertThat(CsvFormat.text("=SUM(A1:A9)")).isEqualTo("'=SUM(A1:A9)");
+        assertThat(CsvFormat.text("@cmd,x")).isEqualTo("\"'@cmd,x\"");
+    }
+}
@@ -2,6 +2,8 @@ package com.bitedash.wallet.api.impl;
 
 import com.bitedash.shared.api.wallet.WalletPublicService;
 import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.bitedash.wallet.service.WalletHoldService;
+import com.bitedash.wallet.service.WalletLedger;
 import com.bitedash.wallet.service.WalletService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +20,12 @@ public class WalletPublicServiceImpl implements WalletPublicService {
     @Autowired
     private WalletService walletService;
 
+    @Autowired
+    private WalletLedger walletLedger;
+
+    @Autowired
+    private WalletHoldService walletHoldService;
+
     @Override
     public boolean initWallet(Long userId) {
         try {
@@ -52,7 +60,7 @@ public class WalletPublicServiceImpl implements WalletPublicService {
     @Override
     public boolean deductBalance(Long userId, BigDecimal amount) {
         try {
-            walletService.debit(userId, amount, "Balance deduction", null, null);
+            walletLedger.debit(userId, amount, "Balance deduction", null, null);
             return true;
         } catch (Exception e) {
             log.error("Failed to deduct balance for user {}: {}", userId, e.getMessage());
@@ -63,7 +71,7 @@ public class WalletPublicServiceImpl implements WalletPublicService {
     @Override
     public boolean addBalance(Long userId, BigDecimal amount) {
         try {
-            walletService.credit(userId, amount, "Balance addition", null, null);
+            walletLedger.credit(userId, amount, "Balance addition", null, null);
             return true;
         } catch (Exception e) {
             log.error("Failed to add balance for user {}: {}", userId, e.getMessage());
@@ -75,7 +83,7 @@ public class WalletPublicServiceImpl implements WalletPublicService {
     public boolean debitForOrder(Long userId, BigDecimal amount, Long orderId, String orderNumber) {
         try {
             String description = "Payment for Order #" + orderNumber;
-            walletService.debit(userId, amount, description, orderId, "ORDER");
+            walletLedger.debit(userId, amount, description, orderId, "ORDER");
             log.info("Successfully debited {} from user {} wallet for order {}", amount, userId, orderNumber);
             return true;
         } catch (RuntimeException e) {
@@ -91,7 +99,7 @@ public class WalletPublicServiceImpl implements WalletPublicService {
     public boolean refundOrder(Long userId, BigDecimal amount, Long orderId, String orderNumber) {
         try {
             String description = "Refund for Order #" + orderNumber;
-            walletService.credit(userId, amount, description, orderId, "ORDER_REFUND");
+            walletLedger.credit(userId, amount, description, orderId, "ORDER_REFUND");
             log.info("Successfully refunded {} to user {} wallet for order {}", amount, userId, orderNumber);
             return true;
         } catch (Exception e) {
@@ -99,4 +107,37 @@ public class WalletPublicServiceImpl implements WalletPublicService {
             return false;
         }
     }
+
+    @Override
+    public Long placeHold(Long userId, BigDecimal amount, Long referenceId, String referenceType, String description) {
+        try {
+            Long holdId = walletHoldService.placeHold(userId, amount, referenceId, referenceType, description);
+            log.info("Placed hold {} of {} on user {} wallet for {} {}", holdId, amount, userId, referenceType, referenceId);
+            return holdId;
+        } catch (RuntimeException e) {
+            log.error("Failed to place hold for {} {}: {}", referenceType, referenceId, e.getMessage());
+            throw e; // Re-throw so the caller does not go ahead without the funds
+        }
+    }
+
+    @Override
+    public boolean captureHold(Long holdId, Long referenceId) {
+        try {
+            return walletHoldService.capture(holdId, referenceId);
+        } catch (Exception e) {
+            // The hold stays open; the placed-order event or the expiry sweep resolves it later
+            log.error("Failed to capture hold {}: {}", holdId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean releaseHold(Long holdId) {
+        try {
+            return walletHoldService.release(holdId);
+        } catch (Exception e) {
+            log.error("Failed to release hold {}: {}", holdId, e.getMessage());
+            return false;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.bitedash.wallet.config;
+
+import com.bitedash.wallet.service.RedisWalletBalanceTier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Redis tier of the wallet balance cache, shared by every node.
+ *
+ * Enabled with {@code wallet.balance-cache.store=redis}. Single-node deployments leave it at
+ * "local" and cache wallets in memory only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.balance-cache.store", havingValue = "redis")
+public class WalletBalanceCacheConfig {
+
+	@Bean
+	public RedisWalletBalanceTier redisWalletBalanceTier(
+			RedisConnectionFactory connectionFactory,
+			ObjectMapper objectMapper,
+			@Value("${wallet.balance-cache.redis.key-prefix:bitedash:wallet:}") String keyPrefix,
+			@Value("${wallet.balance-cache.redis.ttl-ms:300000}") long ttlMillis) {
+		return new RedisWalletBalanceTier(new StringRedisTemplate(connectionFactory), objectMapper,
+			keyPrefix, Duration.ofMillis(ttlMillis));
+	}
+}
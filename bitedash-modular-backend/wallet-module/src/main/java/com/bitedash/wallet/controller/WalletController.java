@@ -3,22 +3,43 @@ package com.bitedash.wallet.controller;
 import com.bitedash.shared.annotation.RequireRole;
 import com.bitedash.shared.dto.ApiResponse;
 import com.bitedash.shared.enums.Role;
+import com.bitedash.shared.idempotency.IdempotencyService;
 import com.bitedash.shared.util.UserContext;
-import com.bitedash.wallet.dto.response.BalanceHistoryResponse;
+import com.bitedash.wallet.dto.request.DisbursementRequest;
+import com.bitedash.wallet.dto.request.WalletHistoryPageRequest;
+import com.bitedash.wallet.dto.response.BalanceHistoryPageResponse;
+import com.bitedash.wallet.dto.response.DisbursementResponse;
 import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.bitedash.wallet.dto.response.WalletMonthlyTotalResponse;
+import com.bitedash.wallet.dto.response.WalletSummaryResponse;
+import com.bitedash.wallet.dto.response.WalletTransactionPageResponse;
 import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+import com.bitedash.wallet.service.WalletDisbursementService;
+import com.bitedash.wallet.service.WalletLedger;
 import com.bitedash.wallet.service.WalletService;
+import com.bitedash.wallet.service.WalletTransactionCsvExporter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/wallet")
@@ -26,9 +47,27 @@ public class WalletController {
 
 	private static final Logger log = LoggerFactory.getLogger(WalletController.class);
 
+	private static final LocalDateTime EXPORT_EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private static final LocalDateTime EXPORT_LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
 	@Autowired
 	private WalletService walletService;
 
+	@Autowired
+	private WalletLedger walletLedger;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private WalletTransactionCsvExporter transactionCsvExporter;
+
+	@Autowired
+	private WalletDisbursementService disbursementService;
+
+	@Value("${wallet.export.timeout-ms:1800000}")
+	private long exportTimeoutMillis;
+
 	/**
 	 * Helper method to get current user ID from context
 	 */
@@ -51,6 +90,34 @@ public class WalletController {
 		return "ROLE_SUPER_ADMIN".equals(role) || "ROLE_ORG_ADMIN".equals(role);
 	}
 
+	/**
+	 * Organization an admin's disbursements are limited to: their own for org admins, none for super admins
+	 */
+	private Long getDisbursementScope() {
+		if ("ROLE_SUPER_ADMIN".equals(getCurrentUserRole())) {
+			return null;
+		}
+		Long orgId = UserContext.get().orgId();
+		if (orgId == null) {
+			throw new RuntimeException("Access denied: no organization for the current user");
+		}
+		return orgId;
+	}
+
+	/**
+	 * Parameters of a credit or debit, fingerprinted to detect a reused Idempotency-Key
+	 */
+	private Map<String, Object> walletRequest(Long userId, BigDecimal amount, String description,
+			Long referenceId, String referenceType) {
+		Map<String, Object> request = new LinkedHashMap<>();
+		request.put("userId", userId);
+		request.put("amount", amount);
+		request.put("description", description);
+		request.put("referenceId", referenceId);
+		request.put("referenceType", referenceType);
+		return request;
+	}
+
 	@PostMapping("/init/{userId}")
 	@RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
 	public ResponseEntity<ApiResponse> initWallet(@PathVariable Long userId) {
@@ -104,45 +171,53 @@ public class WalletController {
 	@PostMapping("/credit")
 	@RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
 	public ResponseEntity<ApiResponse> creditWallet(
+		@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
 		@RequestParam Long userId,
 		@RequestParam BigDecimal amount,
 		@RequestParam String description,
 		@RequestParam(required = false) Long referenceId,
 		@RequestParam(required = false) String referenceType
 	) {
-		try {
-			log.info("Crediting wallet for user: {}, amount: {}", userId, amount);
-			WalletTransactionResponse transaction = walletService.credit(
-				userId, amount, description, referenceId, referenceType
-			);
-			return ResponseEntity.ok(new ApiResponse(true, "Wallet credited successfully", transaction));
-		} catch (Exception e) {
-			log.error("Error crediting wallet: {}", e.getMessage());
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-				.body(new ApiResponse(false, e.getMessage(), null));
-		}
+		Map<String, Object> request = walletRequest(userId, amount, description, referenceId, referenceType);
+		return idempotencyService.execute("wallet.credit", idempotencyKey, request, () -> {
+			try {
+				log.info("Crediting wallet for user: {}, amount: {}", userId, amount);
+				WalletTransactionResponse transaction = walletLedger.credit(
+					userId, amount, description, referenceId, referenceType
+				);
+				return ResponseEntity.ok(new ApiResponse(true, "Wallet credited successfully", transaction));
+			} catch (Exception e) {
+				log.error("Error crediting wallet: {}", e.getMessage());
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, e.getMessage(), null));
+			}
+		});
 	}
 
 	@PostMapping("/debit")
 	@RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
 	public ResponseEntity<ApiResponse> debitWallet(
+		@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
 		@RequestParam Long userId,
 		@RequestParam BigDecimal amount,
 		@RequestParam String description,
 		@RequestParam(required = false) Long referenceId,
 		@RequestParam(required = false) String referenceType
 	) {
-		try {
-			log.info("Debiting wallet for user: {}, amount: {}", userId, amount);
-			WalletTransactionResponse transaction = walletService.debit(
-				userId, amount, description, referenceId, referenceType
-			);
-			return ResponseEntity.ok(new ApiResponse(true, "Wallet debited successfully", transaction));
-		} catch (Exception e) {
-			log.error("Error debiting wallet: {}", e.getMessage());
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-				.body(new ApiResponse(false, e.getMessage(), null));
-		}
+		Map<String, Object> request = walletRequest(userId, amount, description, referenceId, referenceType);
+		return idempotencyService.execute("wallet.debit", idempotencyKey, request, () -> {
+			try {
+				log.info("Debiting wallet for user: {}, amount: {}", userId, amount);
+				WalletTransactionResponse transaction = walletLedger.debit(
+					userId, amount, description, referenceId, referenceType
+				);
+				return ResponseEntity.ok(new ApiResponse(true, "Wallet debited successfully", transaction));
+			} catch (Exception e) {
+				log.error("Error debiting wallet: {}", e.getMessage());
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(new ApiResponse(false, e.getMessage(), null));
+			}
+		});
 	}
 
 	@GetMapping("/transactions")
@@ -159,15 +234,21 @@ public class WalletController {
 		}
 	}
 
+	/**
+	 * Balance changes between startDate and endDate (both inclusive), oldest first within a page.
+	 * Pass the returned nextCursor to fetch the page of earlier changes while hasMore is true.
+	 */
 	@GetMapping("/balance-history")
 	public ResponseEntity<ApiResponse> getBalanceHistory(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
 		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
 		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
 	) {
 		try {
 			Long userId = getCurrentUserId();
 			log.info("Fetching balance history for user: {}", userId);
-			List<BalanceHistoryResponse> history = walletService.getBalanceHistory(userId, startDate, endDate);
+			BalanceHistoryPageResponse history = walletService.getBalanceHistory(userId, cursor, limit, startDate, endDate);
 			return ResponseEntity.ok(new ApiResponse(true, "Balance history fetched successfully", history));
 		} catch (Exception e) {
 			log.error("Error fetching balance history: {}", e.getMessage());
@@ -176,6 +257,99 @@ public class WalletController {
 		}
 	}
 
+	@GetMapping("/transactions/page")
+	public ResponseEntity<ApiResponse> getTransactionsPage(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+	) {
+		try {
+			Long userId = getCurrentUserId();
+			WalletTransactionPageResponse page = walletService.getTransactionsPage(userId,
+				new WalletHistoryPageRequest(cursor, limit, from, to));
+			return ResponseEntity.ok(new ApiResponse(true, "Transactions fetched successfully", page));
+		} catch (Exception e) {
+			log.error("Error fetching transactions page: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	@GetMapping("/balance-history/page")
+	public ResponseEntity<ApiResponse> getBalanceHistoryPage(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) Integer limit,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+	) {
+		try {
+			Long userId = getCurrentUserId();
+			BalanceHistoryPageResponse page = walletService.getBalanceHistoryPage(userId,
+				new WalletHistoryPageRequest(cursor, limit, from, to));
+			return ResponseEntity.ok(new ApiResponse(true, "Balance history fetched successfully", page));
+		} catch (Exception e) {
+			log.error("Error fetching balance history page: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	/**
+	 * Streams the current user's transactions created in [from, to) as CSV, the whole history
+	 * when no range is given. The body is written as it is read (chunked); with gzip=true it is
+	 * compressed on the fly and served as a .csv.gz download.
+	 *
+	 * Returns the bare StreamingResponseBody, as the order export does: Spring MVC cannot stream
+	 * one wrapped in ResponseEntity<?>.
+	 */
+	@GetMapping("/transactions/export")
+	public Object exportTransactions(
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+		@RequestParam(defaultValue = "false") boolean gzip,
+		HttpServletRequest request,
+		HttpServletResponse response
+	) {
+		Long userId = getCurrentUserId();
+		Long walletId;
+		try {
+			walletId = walletService.getWalletByUserId(userId).getId();
+		} catch (Exception e) {
+			log.error("Error exporting transactions: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+
+		LocalDateTime exportFrom = from != null ? from : EXPORT_EARLIEST;
+		LocalDateTime exportTo = to != null ? to : EXPORT_LATEST;
+		if (!exportFrom.isBefore(exportTo)) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, "'from' must be before 'to'", null));
+		}
+
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true);
+				transactionCsvExporter.export(walletId, exportFrom, exportTo, compressed);
+				compressed.finish();
+			} else {
+				transactionCsvExporter.export(walletId, exportFrom, exportTo, out);
+			}
+		};
+
+		String filename = "wallet-transactions-" + userId + (gzip ? ".csv.gz" : ".csv");
+		response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+
+		// Years of history can outlast the app-wide async timeout; only this request gets the long one
+		AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+		if (asyncRequest != null) {
+			asyncRequest.setTimeout(exportTimeoutMillis);
+		}
+		return body;
+	}
+
 	@GetMapping("/balance")
 	public ResponseEntity<ApiResponse> getBalance() {
 		try {
@@ -214,4 +388,69 @@ public class WalletController {
 				.body(new ApiResponse(false, e.getMessage(), null));
 		}
 	}
+
+	@GetMapping("/summary")
+	public ResponseEntity<ApiResponse> getSummary() {
+		try {
+			Long userId = getCurrentUserId();
+			WalletSummaryResponse summary = walletService.getSummary(userId);
+			return ResponseEntity.ok(new ApiResponse(true, "Wallet summary fetched successfully", summary));
+		} catch (Exception e) {
+			log.error("Error fetching wallet summary: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	@GetMapping("/monthly-totals")
+	public ResponseEntity<ApiResponse> getMonthlyTotals(@RequestParam(defaultValue = "12") int months) {
+		try {
+			Long userId = getCurrentUserId();
+			List<WalletMonthlyTotalResponse> totals = walletService.getMonthlyTotals(userId, Math.min(months, 120));
+			return ResponseEntity.ok(new ApiResponse(true, "Monthly totals fetched successfully", totals));
+		} catch (Exception e) {
+			log.error("Error fetching monthly totals: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	/**
+	 * Credits the same amount to every active employee of an organization, or to a list of users.
+	 * Runs in the background; poll GET /wallet/disbursements/{disbursementId} for progress.
+	 * Submitting the same disbursementId again never credits anyone twice, and resumes it if it
+	 * did not finish.
+	 */
+	@PostMapping("/disbursements")
+	@RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
+	public ResponseEntity<ApiResponse> startDisbursement(@RequestBody DisbursementRequest request) {
+		try {
+			Long scope = getDisbursementScope();
+			if (scope != null && request.organizationId() != null && !scope.equals(request.organizationId())) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body(new ApiResponse(false, "Access denied: You can only disburse to your own organization", null));
+			}
+			log.info("Starting disbursement {} of {}", request.disbursementId(), request.amount());
+			DisbursementResponse disbursement = disbursementService.start(request, getCurrentUserId(), scope);
+			return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.body(new ApiResponse(true, "Disbursement accepted", disbursement));
+		} catch (Exception e) {
+			log.error("Error starting disbursement: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
+
+	@GetMapping("/disbursements/{disbursementId}")
+	@RequireRole({Role.ROLE_SUPER_ADMIN, Role.ROLE_ORG_ADMIN})
+	public ResponseEntity<ApiResponse> getDisbursement(@PathVariable String disbursementId) {
+		try {
+			DisbursementResponse disbursement = disbursementService.getProgress(disbursementId, getDisbursementScope());
+			return ResponseEntity.ok(new ApiResponse(true, "Disbursement fetched successfully", disbursement));
+		} catch (Exception e) {
+			log.error("Error fetching disbursement: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.body(new ApiResponse(false, e.getMessage(), null));
+		}
+	}
 }
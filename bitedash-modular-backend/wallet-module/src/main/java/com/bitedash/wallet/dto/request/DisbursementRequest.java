@@ -0,0 +1,20 @@
+package com.bitedash.wallet.dto.request;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Bulk credit of the same amount to many wallets.
+ *
+ * disbursementId: caller-chosen id (e.g. "acme-allowance-2026-10"); repeating a request with the
+ * same id returns the existing disbursement, resuming it if it did not finish
+ * organizationId / userIds: exactly one of them; an organization means all its active employees
+ */
+public record DisbursementRequest(
+	String disbursementId,
+	Long organizationId,
+	List<Long> userIds,
+	BigDecimal amount,
+	String description
+) {
+}
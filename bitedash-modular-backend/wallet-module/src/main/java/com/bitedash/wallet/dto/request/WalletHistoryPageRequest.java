@@ -0,0 +1,31 @@
+package com.bitedash.wallet.dto.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset page request for a wallet's transactions and balance history.
+ *
+ * cursor: opaque token from the previous page's nextCursor; null for the first page
+ * limit: page size, defaults to {@link #DEFAULT_LIMIT} and is capped at {@link #MAX_LIMIT}
+ * from/to: optional createdAt range, from inclusive and to exclusive
+ */
+public record WalletHistoryPageRequest(
+	String cursor,
+	Integer limit,
+	LocalDateTime from,
+	LocalDateTime to
+) {
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 100;
+
+	public static WalletHistoryPageRequest firstPage() {
+		return new WalletHistoryPageRequest(null, null, null, null);
+	}
+
+	public int resolvedLimit() {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_LIMIT;
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+}
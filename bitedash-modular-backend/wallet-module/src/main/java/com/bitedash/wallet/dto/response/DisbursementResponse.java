@@ -0,0 +1,29 @@
+package com.bitedash.wallet.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A disbursement and its progress. Counts are read from its recipients, so they are current
+ * while it runs; credited + skipped + pending = recipients.
+ */
+@Data
+@NoArgsConstructor
+public class DisbursementResponse {
+	private String disbursementId;
+	private Long organizationId;
+	private BigDecimal amount;
+	private String description;
+	private String status;
+	private int recipients;
+	private long credited;
+	private long skipped;
+	private long pending;
+	private BigDecimal creditedAmount;
+	private String lastError;
+	private LocalDateTime createdAt;
+	private LocalDateTime completedAt;
+}
@@ -0,0 +1,17 @@
+package com.bitedash.wallet.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletMonthlyTotalResponse {
+	private LocalDate month;
+	private BigDecimal credits;
+	private BigDecimal debits;
+}
@@ -0,0 +1,28 @@
+package com.bitedash.wallet.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSummaryResponse {
+	private Long walletId;
+	private Long userId;
+	private BigDecimal balance;
+	private BigDecimal heldBalance;
+	private BigDecimal totalCredits;
+	private BigDecimal totalDebits;
+	private LocalDate month;
+	private BigDecimal monthCredits;
+	private BigDecimal monthDebits;
+
+	@JsonIgnore
+	private LocalDateTime totalsAsOf;
+}
@@ -0,0 +1,16 @@
+package com.bitedash.wallet.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionPageResponse {
+	private List<WalletTransactionResponse> transactions;
+	private String nextCursor;
+	private boolean hasMore;
+}
@@ -1,8 +1,10 @@
 package com.bitedash.wallet.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import com.bitedash.shared.entity.BaseEntity;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -18,5 +20,23 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class UserWallet extends BaseEntity {
 	private Long userId;
+
+	// Available to spend; funds under an open hold have already been moved to heldBalance
 	private BigDecimal balance;
+
+	@Column(name = "held_balance", precision = 15, scale = 2, nullable = false)
+	private BigDecimal heldBalance = BigDecimal.ZERO;
+
+	// Lifetime settled credits and debits, kept in step with every operation so the wallet
+	// summary never sums the transaction history (see WalletMonthlyTotal for the monthly split)
+	@Column(name = "total_credited", precision = 15, scale = 2, nullable = false)
+	private BigDecimal totalCredited = BigDecimal.ZERO;
+
+	@Column(name = "total_debited", precision = 15, scale = 2, nullable = false)
+	private BigDecimal totalDebited = BigDecimal.ZERO;
+
+	// When the totals were last recounted from history; null until WalletTotalsBackfill has
+	// covered a wallet that predates them
+	@Column(name = "totals_as_of")
+	private LocalDateTime totalsAsOf;
 }
@@ -0,0 +1,63 @@
+package com.bitedash.wallet.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bitedash.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One bulk credit of the same amount to many wallets, e.g. an organization's monthly meal
+ * allowance, identified by the caller's disbursement id.
+ *
+ * Its recipients are fixed when it is created (see {@link WalletDisbursementRecipient}) and
+ * credited chunk by chunk. It is RUNNING until every recipient is credited or skipped, then
+ * COMPLETED; FAILED when a chunk could not be applied, until it is resumed.
+ */
+@Entity
+@Table(name = "wallet_disbursements", schema = "wallet_schema")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletDisbursement extends BaseEntity {
+
+	public static final String RUNNING = "RUNNING";
+	public static final String COMPLETED = "COMPLETED";
+	public static final String FAILED = "FAILED";
+
+	@Column(name = "disbursement_key", nullable = false, unique = true, length = 100)
+	private String disbursementKey;
+
+	// Hash of amount, organization and recipients, to reject a disbursement id reused for another request
+	@Column(name = "request_hash", nullable = false, length = 64)
+	private String requestHash;
+
+	@Column(name = "organization_id")
+	private Long organizationId;
+
+	@Column(precision = 15, scale = 2, nullable = false)
+	private BigDecimal amount;
+
+	private String description;
+
+	@Column(nullable = false, length = 20)
+	private String status = RUNNING;
+
+	@Column(name = "recipient_count", nullable = false)
+	private int recipientCount;
+
+	@Column(name = "chunk_count", nullable = false)
+	private int chunkCount;
+
+	@Column(name = "requested_by")
+	private Long requestedBy;
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+}
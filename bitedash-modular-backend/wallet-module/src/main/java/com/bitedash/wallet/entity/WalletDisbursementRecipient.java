@@ -0,0 +1,57 @@
+package com.bitedash.wallet.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user to be credited by a disbursement, and whether that has happened.
+ *
+ * Rows are written in batches when the disbursement is created and only ever move from PENDING
+ * to CREDITED (in the same transaction as the credit) or SKIPPED (no wallet). A chunk only
+ * credits rows it finds PENDING under a row lock, which is what makes re-running a chunk safe.
+ */
+@Entity
+@Table(name = "wallet_disbursement_recipients", schema = "wallet_schema",
+	indexes = @Index(name = "idx_wallet_disbursement_recipients_chunk", columnList = "disbursement_id, chunk_no"))
+@IdClass(WalletDisbursementRecipient.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletDisbursementRecipient {
+
+	public static final String PENDING = "PENDING";
+	public static final String CREDITED = "CREDITED";
+	public static final String SKIPPED = "SKIPPED";
+
+	@Id
+	@Column(name = "disbursement_id")
+	private Long disbursementId;
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "chunk_no", nullable = false)
+	private int chunkNo;
+
+	@Column(nullable = false, length = 20)
+	private String status = PENDING;
+
+	@Column(name = "processed_at")
+	private LocalDateTime processedAt;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private Long disbursementId;
+		private Long userId;
+	}
+}
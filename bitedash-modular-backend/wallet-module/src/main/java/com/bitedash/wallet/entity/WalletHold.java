@@ -0,0 +1,59 @@
+package com.bitedash.wallet.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.bitedash.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Funds set aside on a wallet for a payment that is not final yet (authorize, then capture).
+ *
+ * Placing a hold moves the amount from the wallet's balance to its held balance. The hold then
+ * ends exactly once: CAPTURED when the payment is confirmed, RELEASED when it is abandoned, or
+ * EXPIRED when nobody resolved it before expiresAt, in which case the sweeper gives the funds
+ * back.
+ */
+@Entity
+@Table(name = "wallet_holds", schema = "wallet_schema")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletHold extends BaseEntity {
+
+	public static final String HELD = "HELD";
+	public static final String CAPTURED = "CAPTURED";
+	public static final String RELEASED = "RELEASED";
+	public static final String EXPIRED = "EXPIRED";
+
+	@Column(name = "wallet_id", nullable = false)
+	private Long walletId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Column(precision = 15, scale = 2, nullable = false)
+	private BigDecimal amount;
+
+	@Column(nullable = false, length = 20)
+	private String status = HELD;
+
+	@Column(name = "reference_id")
+	private Long referenceId;
+
+	@Column(name = "reference_type", length = 50)
+	private String referenceType;
+
+	// The DEBIT recorded when the hold was placed; it turns SUCCESS on capture
+	@Column(name = "transaction_id")
+	private Long transactionId;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	@Column(name = "resolved_at")
+	private LocalDateTime resolvedAt;
+}
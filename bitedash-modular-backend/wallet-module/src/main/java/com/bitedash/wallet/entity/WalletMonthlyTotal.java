@@ -0,0 +1,58 @@
+package com.bitedash.wallet.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Credits and debits of one wallet in one calendar month.
+ *
+ * Maintained alongside the lifetime totals on UserWallet by every operation that settles money on
+ * the wallet, always under that wallet's row lock, so the month row is never written by two
+ * transactions at once.
+ */
+@Entity
+@Table(name = "wallet_monthly_totals", schema = "wallet_schema",
+	uniqueConstraints = @UniqueConstraint(columnNames = {"wallet_id", "month_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletMonthlyTotal {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
+	private Long id;
+
+	@Column(name = "wallet_id", nullable = false)
+	private Long walletId;
+
+	// First day of the month
+	@Column(name = "month_start", nullable = false)
+	private LocalDate monthStart;
+
+	@Column(precision = 15, scale = 2, nullable = false)
+	private BigDecimal credited = BigDecimal.ZERO;
+
+	@Column(precision = 15, scale = 2, nullable = false)
+	private BigDecimal debited = BigDecimal.ZERO;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt = LocalDateTime.now();
+
+	public static WalletMonthlyTotal of(Long walletId, LocalDate monthStart, BigDecimal credited, BigDecimal debited) {
+		WalletMonthlyTotal total = new WalletMonthlyTotal();
+		total.setWalletId(walletId);
+		total.setMonthStart(monthStart);
+		total.setCredited(credited);
+		total.setDebited(debited);
+		return total;
+	}
+
+	public static LocalDate monthOf(LocalDate day) {
+		return day.withDayOfMonth(1);
+	}
+}
@@ -0,0 +1,11 @@
+package com.bitedash.wallet.repository;
+
+/**
+ * Number of a disbursement's recipients in one status, for progress reporting.
+ */
+public interface DisbursementStatusCount {
+
+	String getStatus();
+
+	long getRecipients();
+}
@@ -1,13 +1,20 @@
 package com.bitedash.wallet.repository;
 
+import com.bitedash.wallet.dto.response.WalletSummaryResponse;
 import com.bitedash.wallet.entity.UserWallet;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,5 +30,52 @@ public interface UserWalletRepository extends JpaRepository<UserWallet, Long> {
 	@Query("SELECT w FROM UserWallet w WHERE w.userId = :userId AND w.deleted = false")
 	Optional<UserWallet> findByUserIdForUpdate(@Param("userId") Long userId);
 
+	/**
+	 * Locks the wallets of many users at once, in id order so concurrent batches cannot deadlock.
+	 * Used by StripedWalletLedger to apply a batch of operations in one transaction.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT w FROM UserWallet w WHERE w.userId IN :userIds AND w.deleted = false ORDER BY w.id")
+	List<UserWallet> findByUserIdInForUpdate(@Param("userIds") Collection<Long> userIds);
+
+	/**
+	 * Moves an amount from the available balance to the held balance if the wallet can cover it.
+	 * The row is locked only for this statement's transaction, not for a read-check-write round
+	 * trip. Returns 0 if the balance is too low or the wallet does not exist.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE UserWallet w SET w.balance = w.balance - :amount, w.heldBalance = w.heldBalance + :amount "
+		+ "WHERE w.userId = :userId AND w.deleted = false AND w.balance >= :amount")
+	int placeHold(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+
+	/** Spends a held amount: it leaves the held balance and does not come back. */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE UserWallet w SET w.heldBalance = w.heldBalance - :amount, w.totalDebited = w.totalDebited + :amount "
+		+ "WHERE w.id = :walletId AND w.heldBalance >= :amount")
+	int captureHeld(@Param("walletId") Long walletId, @Param("amount") BigDecimal amount);
+
+	/** Returns a held amount to the available balance. */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE UserWallet w SET w.heldBalance = w.heldBalance - :amount, w.balance = w.balance + :amount "
+		+ "WHERE w.id = :walletId AND w.heldBalance >= :amount")
+	int releaseHeld(@Param("walletId") Long walletId, @Param("amount") BigDecimal amount);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT w FROM UserWallet w WHERE w.id = :id")
+	Optional<UserWallet> findByIdForUpdate(@Param("id") Long id);
+
+	@Query("SELECT w.id FROM UserWallet w WHERE w.totalsAsOf IS NULL AND w.id > :afterId ORDER BY w.id")
+	List<Long> findIdsWithoutTotals(@Param("afterId") Long afterId, Limit limit);
+
+	/**
+	 * Everything the wallet screen shows, from the wallet row and its current month row in one
+	 * query. Empty if the user has no wallet.
+	 */
+	@Query("SELECT new com.bitedash.wallet.dto.response.WalletSummaryResponse(w.id, w.userId, w.balance, w.heldBalance, "
+		+ "w.totalCredited, w.totalDebited, m.monthStart, m.credited, m.debited, w.totalsAsOf) "
+		+ "FROM UserWallet w LEFT JOIN WalletMonthlyTotal m ON m.walletId = w.id AND m.monthStart = :monthStart "
+		+ "WHERE w.userId = :userId AND w.deleted = false")
+	Optional<WalletSummaryResponse> findSummary(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart);
+
 	boolean existsByUserId(Long userId);
 }
@@ -0,0 +1,43 @@
+package com.bitedash.wallet.repository;
+
+import com.bitedash.wallet.entity.WalletDisbursementRecipient;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WalletDisbursementRecipientRepository
+		extends JpaRepository<WalletDisbursementRecipient, WalletDisbursementRecipient.Key> {
+
+	/**
+	 * Locks the chunk's recipients that are still to be credited. A second worker on the same
+	 * chunk waits here and then finds nothing left.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM WalletDisbursementRecipient r WHERE r.disbursementId = :disbursementId "
+		+ "AND r.chunkNo = :chunkNo AND r.status = 'PENDING' ORDER BY r.userId")
+	List<WalletDisbursementRecipient> findPendingForUpdate(@Param("disbursementId") Long disbursementId,
+			@Param("chunkNo") int chunkNo);
+
+	@Query("SELECT DISTINCT r.chunkNo FROM WalletDisbursementRecipient r WHERE r.disbursementId = :disbursementId "
+		+ "AND r.status = 'PENDING' ORDER BY r.chunkNo")
+	List<Integer> findPendingChunks(@Param("disbursementId") Long disbursementId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletDisbursementRecipient r SET r.status = :status, r.processedAt = :now "
+		+ "WHERE r.disbursementId = :disbursementId AND r.userId IN :userIds AND r.status = 'PENDING'")
+	int markProcessed(@Param("disbursementId") Long disbursementId, @Param("userIds") Collection<Long> userIds,
+			@Param("status") String status, @Param("now") LocalDateTime now);
+
+	@Query("SELECT r.status AS status, COUNT(r) AS recipients FROM WalletDisbursementRecipient r "
+		+ "WHERE r.disbursementId = :disbursementId GROUP BY r.status")
+	List<DisbursementStatusCount> countByStatus(@Param("disbursementId") Long disbursementId);
+}
@@ -0,0 +1,36 @@
+package com.bitedash.wallet.repository;
+
+import com.bitedash.wallet.entity.WalletDisbursement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WalletDisbursementRepository extends JpaRepository<WalletDisbursement, Long> {
+
+	Optional<WalletDisbursement> findByDisbursementKey(String disbursementKey);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletDisbursement d SET d.status = :status, d.lastError = :lastError, d.completedAt = :completedAt, "
+		+ "d.updatedAt = :now WHERE d.id = :id AND d.status <> 'COMPLETED'")
+	int finish(@Param("id") Long id, @Param("status") String status, @Param("lastError") String lastError,
+			@Param("completedAt") LocalDateTime completedAt, @Param("now") LocalDateTime now);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletDisbursement d SET d.status = 'RUNNING', d.updatedAt = :now WHERE d.id = :id AND d.status <> 'COMPLETED'")
+	int markRunning(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	// Heartbeat after each chunk, so other nodes can tell a running disbursement from an abandoned one
+	@Modifying
+	@Query("UPDATE WalletDisbursement d SET d.updatedAt = :now WHERE d.id = :id")
+	int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	@Query("SELECT d.id FROM WalletDisbursement d WHERE d.status = 'RUNNING' AND d.updatedAt < :staleBefore ORDER BY d.id")
+	List<Long> findStaleRunningIds(@Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,34 @@
+package com.bitedash.wallet.repository;
+
+import com.bitedash.wallet.entity.WalletHold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WalletHoldRepository extends JpaRepository<WalletHold, Long> {
+
+	// WHY conditional on the current status? Capture, release and the expiry sweep can race for
+	// the same hold; exactly one of them sees a row updated and moves the funds
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletHold h SET h.status = :to, h.resolvedAt = :now, h.updatedAt = :now "
+		+ "WHERE h.id = :id AND h.status = :from")
+	int transition(@Param("id") Long id, @Param("from") String from, @Param("to") String to,
+			@Param("now") LocalDateTime now);
+
+	@Query("SELECT h.id FROM WalletHold h WHERE h.status = 'HELD' AND h.expiresAt < :now ORDER BY h.expiresAt")
+	List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletHold h SET h.referenceId = :referenceId, h.updatedAt = CURRENT_TIMESTAMP "
+		+ "WHERE h.id = :id AND h.referenceId IS NULL")
+	int linkReference(@Param("id") Long id, @Param("referenceId") Long referenceId);
+
+	List<WalletHold> findByReferenceIdAndReferenceTypeAndDeletedFalse(Long referenceId, String referenceType);
+}
@@ -0,0 +1,70 @@
+package com.bitedash.wallet.repository;
+
+import com.bitedash.wallet.entity.WalletMonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface WalletMonthlyTotalRepository extends JpaRepository<WalletMonthlyTotal, Long> {
+
+	List<WalletMonthlyTotal> findByWalletIdAndMonthStartGreaterThanEqualOrderByMonthStartDesc(Long walletId, LocalDate from);
+
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE WalletMonthlyTotal m SET m.credited = m.credited + :credited, m.debited = m.debited + :debited,"
+		+ " m.updatedAt = :updatedAt WHERE m.walletId = :walletId AND m.monthStart = :monthStart")
+	int applyDelta(@Param("walletId") Long walletId, @Param("monthStart") LocalDate monthStart,
+			@Param("credited") BigDecimal credited, @Param("debited") BigDecimal debited,
+			@Param("updatedAt") LocalDateTime updatedAt);
+
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE WalletMonthlyTotal m SET m.credited = m.credited + :credited, m.updatedAt = :updatedAt "
+		+ "WHERE m.walletId IN :walletIds AND m.monthStart = :monthStart")
+	int applyCreditToAll(@Param("walletIds") Collection<Long> walletIds, @Param("monthStart") LocalDate monthStart,
+			@Param("credited") BigDecimal credited, @Param("updatedAt") LocalDateTime updatedAt);
+
+	@Query("SELECT m.walletId FROM WalletMonthlyTotal m WHERE m.walletId IN :walletIds AND m.monthStart = :monthStart")
+	List<Long> findWalletIdsWithMonth(@Param("walletIds") Collection<Long> walletIds,
+			@Param("monthStart") LocalDate monthStart);
+
+	@Modifying(flushAutomatically = true)
+	@Query("DELETE FROM WalletMonthlyTotal m WHERE m.walletId = :walletId")
+	int deleteByWalletId(@Param("walletId") Long walletId);
+
+	// WHY update-then-insert without ON CONFLICT? Callers hold the wallet's row lock, so nobody
+	// else can insert this wallet's month row between the two statements.
+	default void addDelta(Long walletId, LocalDate day, BigDecimal credited, BigDecimal debited) {
+		LocalDate monthStart = WalletMonthlyTotal.monthOf(day);
+		if (applyDelta(walletId, monthStart, credited, debited, LocalDateTime.now()) == 0) {
+			save(WalletMonthlyTotal.of(walletId, monthStart, credited, debited));
+		}
+	}
+
+	/**
+	 * Credits the same amount to the month rows of many wallets: one UPDATE for the rows that
+	 * exist and batched inserts for the rest. Callers hold the row locks of all the wallets.
+	 */
+	default void addCreditToAll(Collection<Long> walletIds, LocalDate day, BigDecimal credited) {
+		LocalDate monthStart = WalletMonthlyTotal.monthOf(day);
+		applyCreditToAll(walletIds, monthStart, credited, LocalDateTime.now());
+		Set<Long> existing = new HashSet<>(findWalletIdsWithMonth(walletIds, monthStart));
+		List<WalletMonthlyTotal> created = new ArrayList<>();
+		for (Long walletId : walletIds) {
+			if (!existing.contains(walletId)) {
+				created.add(WalletMonthlyTotal.of(walletId, monthStart, credited, BigDecimal.ZERO));
+			}
+		}
+		saveAll(created);
+	}
+}
@@ -1,7 +1,10 @@
 package com.bitedash.wallet.repository;
 
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
 import com.bitedash.wallet.entity.WalletTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,8 +15,6 @@ import java.util.List;
 @Repository
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
 
-	List<WalletTransaction> findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(Long walletId);
-
 	List<WalletTransaction> findByWalletIdAndTxnTypeAndDeletedFalseOrderByCreatedAtDesc(Long walletId, String txnType);
 
 	List<WalletTransaction> findByReferenceIdAndReferenceTypeAndDeletedFalse(Long referenceId, String referenceType);
@@ -26,26 +27,49 @@ public interface WalletTransactionRepository extends JpaRepository<WalletTransac
 														@Param("startDate") LocalDateTime startDate,
 														@Param("endDate") LocalDateTime endDate);
 
-	@Query("SELECT wt FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
+	/**
+	 * One keyset page of a wallet's transactions, newest first, projected straight into the
+	 * response DTO. The cursor bounds are always bound (WalletCursor.START for the first page),
+	 * so a page is a bounded range scan on (wallet_id, created_at, id) rather than an OFFSET
+	 * that re-reads skipped rows.
+	 *
+	 * WHY a constructor expression? Selecting entities puts each row in the persistence
+	 * context with a snapshot for dirty checking; a read-only listing needs neither.
+	 */
+	@Query("SELECT new com.bitedash.wallet.dto.response.WalletTransactionResponse(" +
+		   "wt.id, wt.walletId, wt.amount, wt.balanceBefore, wt.balanceAfter, wt.txnType, wt.referenceId, " +
+		   "wt.referenceType, wt.status, wt.description, wt.providerReferenceId, wt.createdAt) " +
+		   "FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
 		   "AND wt.deleted = false " +
-		   "ORDER BY wt.createdAt ASC")
-	List<WalletTransaction> getBalanceHistory(@Param("walletId") Long walletId);
+		   "AND wt.createdAt >= :from AND wt.createdAt < :to " +
+		   "AND wt.createdAt <= :cursorCreatedAt " +
+		   "AND (wt.createdAt < :cursorCreatedAt OR wt.id < :cursorId) " +
+		   "ORDER BY wt.createdAt DESC, wt.id DESC")
+	List<WalletTransactionResponse> findPage(@Param("walletId") Long walletId,
+											  @Param("from") LocalDateTime from,
+											  @Param("to") LocalDateTime to,
+											  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+											  @Param("cursorId") Long cursorId,
+											  Limit limit);
 
-	@Query("SELECT wt FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
-		   "AND wt.createdAt BETWEEN :startDate AND :endDate " +
-		   "AND wt.deleted = false " +
-		   "ORDER BY wt.createdAt ASC")
-	List<WalletTransaction> getBalanceHistoryByDateRange(@Param("walletId") Long walletId,
-														  @Param("startDate") LocalDateTime startDate,
-														  @Param("endDate") LocalDateTime endDate);
-
-	@Query("SELECT SUM(wt.amount) FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
-		   "AND wt.txnType = 'CREDIT' AND wt.deleted = false")
-	Double getTotalCreditsByWallet(@Param("walletId") Long walletId);
-
-	@Query("SELECT SUM(wt.amount) FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
-		   "AND wt.txnType = 'DEBIT' AND wt.deleted = false")
-	Double getTotalDebitsByWallet(@Param("walletId") Long walletId);
+	/**
+	 * Settled amounts of a wallet per transaction type and month: rows of
+	 * [txnType, year, month, sum]. Used to recount the running totals on UserWallet.
+	 */
+	@Query("SELECT wt.txnType, EXTRACT(YEAR FROM wt.createdAt), EXTRACT(MONTH FROM wt.createdAt), SUM(wt.amount) " +
+		   "FROM WalletTransaction wt WHERE wt.walletId = :walletId " +
+		   "AND wt.status = 'SUCCESS' AND wt.deleted = false " +
+		   "GROUP BY wt.txnType, EXTRACT(YEAR FROM wt.createdAt), EXTRACT(MONTH FROM wt.createdAt)")
+	List<Object[]> sumSettledByMonth(@Param("walletId") Long walletId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletTransaction wt SET wt.status = :status, wt.updatedAt = CURRENT_TIMESTAMP WHERE wt.id = :id")
+	int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE WalletTransaction wt SET wt.referenceId = :referenceId, wt.updatedAt = CURRENT_TIMESTAMP "
+		+ "WHERE wt.id = :id AND wt.referenceId IS NULL")
+	int linkReference(@Param("id") Long id, @Param("referenceId") Long referenceId);
 
 	long countByWalletIdAndDeletedFalse(Long walletId);
 	long countByWalletIdAndTxnTypeAndDeletedFalse(Long walletId, String txnType);
@@ -0,0 +1,34 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Default ledger: each operation locks the wallet row (SELECT ... FOR UPDATE) and joins the
+ * caller's transaction, so the lock is held until that transaction commits.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.ledger.mode", havingValue = "locking", matchIfMissing = true)
+public class LockingWalletLedger implements WalletLedger {
+
+	private final WalletService walletService;
+
+	public LockingWalletLedger(WalletService walletService) {
+		this.walletService = walletService;
+	}
+
+	@Override
+	public WalletTransactionResponse credit(Long userId, BigDecimal amount, String description,
+											Long referenceId, String referenceType) {
+		return walletService.credit(userId, amount, description, referenceId, referenceType);
+	}
+
+	@Override
+	public WalletTransactionResponse debit(Long userId, BigDecimal amount, String description,
+										   Long referenceId, String referenceType) {
+		return walletService.debit(userId, amount, description, referenceId, referenceType);
+	}
+}
@@ -0,0 +1,74 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Shared tier of {@link WalletBalanceCache}: one Redis string per user holding the wallet as JSON,
+ * or a tombstone for a short while after the wallet was evicted.
+ *
+ * Fills use SET NX, so a fill never replaces a tombstone or a value another node cached first.
+ * Entries expire after wallet.balance-cache.redis.ttl-ms, which bounds how long a lost eviction
+ * (e.g. Redis unreachable at commit) can serve an old balance.
+ */
+public class RedisWalletBalanceTier {
+
+	private static final String TOMBSTONE = "-";
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final String keyPrefix;
+	private final Duration ttl;
+
+	public RedisWalletBalanceTier(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+			String keyPrefix, Duration ttl) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.keyPrefix = keyPrefix;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * @return the cached wallet, or null if there is none or it was evicted recently
+	 */
+	UserWalletResponse get(Long userId) {
+		String value = redisTemplate.opsForValue().get(key(userId));
+		if (value == null || TOMBSTONE.equals(value)) {
+			return null;
+		}
+		try {
+			return objectMapper.readValue(value, UserWalletResponse.class);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unreadable cached wallet for user " + userId, e);
+		}
+	}
+
+	/**
+	 * @return true if the wallet was cached; false if the key was taken (a value or a tombstone)
+	 */
+	boolean putIfAbsent(Long userId, UserWalletResponse wallet) {
+		String value;
+		try {
+			value = objectMapper.writeValueAsString(wallet);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize wallet of user " + userId, e);
+		}
+		return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key(userId), value, ttl));
+	}
+
+	void evict(Long userId, Duration tombstoneTtl) {
+		if (tombstoneTtl.isZero() || tombstoneTtl.isNegative()) {
+			redisTemplate.delete(key(userId));
+			return;
+		}
+		redisTemplate.opsForValue().set(key(userId), TOMBSTONE, tombstoneTtl);
+	}
+
+	private String key(Long userId) {
+		return keyPrefix + userId;
+	}
+}
@@ -0,0 +1,396 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ledger that serializes wallet operations in memory and group-commits them.
+ *
+ * WHY? On the locking path every debit takes the wallet row lock inside the caller's transaction
+ * and holds it until that transaction commits - for an order, through commission logging and the
+ * history saves. Here every wallet belongs to one lane (userId modulo the lane count) and each
+ * lane has a single writer thread. The writer takes whatever operations have queued up, applies
+ * them in arrival order in one short transaction - one locking SELECT for all their wallets, one
+ * batched UPDATE, one batched INSERT of wallet transactions - and commits. Under load a commit
+ * carries many operations, so the database sees one round trip per batch instead of a lock
+ * and a commit per operation.
+ *
+ * Guarantees are unchanged:
+ * - No negative balance: a lane applies a wallet's operations one after another, and a debit
+ *   larger than the balance at that point is rejected on its own without failing the batch.
+ *   The rows are still locked for the batch, so writers on the locking path or on other nodes
+ *   cannot interleave.
+ * - Durability: callers block until the batch holding their operation has committed.
+ * - Atomicity: a caller already inside a transaction gets the locking path
+ *   ({@link WalletService}) in that transaction, so the operation commits or rolls back with the
+ *   caller's other writes. Only callers outside a transaction are batched.
+ *
+ * WHY not batch transactional callers too? A lane commits on its own, so the caller's rollback
+ * would need a compensating entry, and that entry is lost if the node stops in between (or,
+ * for a credit already spent, cannot be applied at all).
+ *
+ * WHY a timeout? A lane needs a pooled connection to commit. Until a lane has its connection and
+ * claims an operation, the caller may give up (wallet.ledger.timeout-ms); the operation is then
+ * dropped, never applied. Once claimed, the caller waits at most that long again, which is also
+ * the batch's transaction timeout, before reporting the outcome as unknown.
+ *
+ * Enabled with wallet.ledger.mode=striped.
+ *
+ * Metrics:
+ * - wallet.ledger.batch.size: operations committed per batch
+ * - wallet.ledger.commit: time to apply and commit one batch
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.ledger.mode", havingValue = "striped")
+public class StripedWalletLedger implements WalletLedger {
+
+	private static final Logger log = LoggerFactory.getLogger(StripedWalletLedger.class);
+
+	private static final long POLL_MILLIS = 500;
+
+	private static final int PENDING = 0;
+	private static final int CLAIMED = 1;
+	private static final int CANCELLED = 2;
+
+	private final UserWalletRepository userWalletRepository;
+	private final WalletTransactionRepository transactionRepository;
+	private final WalletMonthlyTotalRepository monthlyTotalRepository;
+	private final WalletService walletService;
+	private final WalletBalanceCache balanceCache;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxBatch;
+	private final long timeoutMillis;
+	private final Lane[] lanes;
+
+	private final DistributionSummary batchSizeSummary;
+	private final Timer commitTimer;
+
+	private volatile boolean running;
+
+	/** One credit or debit waiting in a lane. The lane completes the result after commit. */
+	static final class Operation {
+		private final Long userId;
+		private final BigDecimal amount;
+		private final String txnType;
+		private final String description;
+		private final Long referenceId;
+		private final String referenceType;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		private final CompletableFuture<WalletTransactionResponse> result = new CompletableFuture<>();
+
+		private WalletTransactionResponse applied;
+		private RuntimeException rejected;
+
+		Operation(Long userId, BigDecimal amount, String txnType, String description,
+				  Long referenceId, String referenceType) {
+			this.userId = userId;
+			this.amount = amount;
+			this.txnType = txnType;
+			this.description = description;
+			this.referenceId = referenceId;
+			this.referenceType = referenceType;
+		}
+	}
+
+	private final class Lane implements Runnable {
+		private final BlockingQueue<Operation> queue = new LinkedBlockingQueue<>();
+		private final Thread thread;
+
+		Lane(int index) {
+			this.thread = new Thread(this, "wallet-ledger-" + index);
+			this.thread.setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			List<Operation> batch = new ArrayList<>(maxBatch);
+			while (running) {
+				try {
+					Operation first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						continue;
+					}
+					batch.add(first);
+					queue.drainTo(batch, maxBatch - 1);
+					commit(batch);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				} catch (RuntimeException e) {
+					log.error("Wallet ledger lane {} failed: {}", thread.getName(), e.getMessage(), e);
+				} finally {
+					batch.clear();
+				}
+			}
+			Operation left;
+			while ((left = queue.poll()) != null) {
+				left.result.completeExceptionally(new RuntimeException("Wallet ledger is shutting down"));
+			}
+		}
+	}
+
+	public StripedWalletLedger(UserWalletRepository userWalletRepository,
+			WalletTransactionRepository transactionRepository,
+			WalletMonthlyTotalRepository monthlyTotalRepository,
+			WalletService walletService,
+			WalletBalanceCache balanceCache,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${wallet.ledger.lanes:4}") int laneCount,
+			@Value("${wallet.ledger.max-batch:200}") int maxBatch,
+			@Value("${wallet.ledger.timeout-ms:5000}") long timeoutMillis) {
+		this.userWalletRepository = userWalletRepository;
+		this.transactionRepository = transactionRepository;
+		this.monthlyTotalRepository = monthlyTotalRepository;
+		this.walletService = walletService;
+		this.balanceCache = balanceCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+		this.maxBatch = maxBatch;
+		this.timeoutMillis = timeoutMillis;
+		this.lanes = new Lane[laneCount];
+		for (int i = 0; i < laneCount; i++) {
+			lanes[i] = new Lane(i);
+		}
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.batchSizeSummary = DistributionSummary.builder("wallet.ledger.batch.size")
+			.description("Wallet operations committed per batch")
+			.register(registry);
+		this.commitTimer = Timer.builder("wallet.ledger.commit")
+			.description("Time to apply and commit one batch of wallet operations")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+	}
+
+	@PostConstruct
+	void start() {
+		running = true;
+		for (Lane lane : lanes) {
+			lane.thread.start();
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		running = false;
+		for (Lane lane : lanes) {
+			lane.thread.interrupt();
+		}
+		for (Lane lane : lanes) {
+			try {
+				lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public WalletTransactionResponse credit(Long userId, BigDecimal amount, String description,
+											Long referenceId, String referenceType) {
+		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new RuntimeException("Credit amount must be positive");
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return walletService.credit(userId, amount, description, referenceId, referenceType);
+		}
+		return submit(new Operation(userId, amount, "CREDIT", description, referenceId, referenceType));
+	}
+
+	@Override
+	public WalletTransactionResponse debit(Long userId, BigDecimal amount, String description,
+										   Long referenceId, String referenceType) {
+		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new RuntimeException("Debit amount must be positive");
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return walletService.debit(userId, amount, description, referenceId, referenceType);
+		}
+		return submit(new Operation(userId, amount, "DEBIT", description, referenceId, referenceType));
+	}
+
+	private Lane lane(Long userId) {
+		return lanes[Math.floorMod(Long.hashCode(userId), lanes.length)];
+	}
+
+	private WalletTransactionResponse submit(Operation operation) {
+		if (!running) {
+			throw new RuntimeException("Wallet ledger is not running");
+		}
+		lane(operation.userId).queue.add(operation);
+		return await(operation);
+	}
+
+	private WalletTransactionResponse await(Operation operation) {
+		try {
+			try {
+				return operation.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (operation.state.compareAndSet(PENDING, CANCELLED)) {
+					throw new RuntimeException("Wallet is busy, please retry");
+				}
+				// Already claimed by a lane: its batch is committing, bounded by the transaction timeout
+				return operation.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new RuntimeException("Wallet operation failed: " + e.getCause().getMessage(), e.getCause());
+		} catch (TimeoutException e) {
+			throw new RuntimeException("Wallet operation did not finish in time; check the wallet history before retrying");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (operation.state.compareAndSet(PENDING, CANCELLED)) {
+				throw new RuntimeException("Interrupted while waiting for the wallet ledger");
+			}
+			throw new RuntimeException("Interrupted while a wallet operation was committing; check the wallet history before retrying");
+		}
+	}
+
+	private void commit(List<Operation> batch) {
+		List<Operation> claimed;
+		long start = System.nanoTime();
+		try {
+			claimed = transactionTemplate.execute(status -> apply(batch));
+		} catch (RuntimeException e) {
+			// Rolled back: nothing from this batch was written
+			log.error("Wallet ledger batch of {} failed: {}", batch.size(), e.getMessage());
+			for (Operation operation : batch) {
+				operation.result.completeExceptionally(e);
+			}
+			return;
+		}
+		commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		batchSizeSummary.record(claimed.size());
+
+		// Outcomes are only published once the batch is durable
+		for (Operation operation : claimed) {
+			if (operation.rejected != null) {
+				operation.result.completeExceptionally(operation.rejected);
+			} else {
+				operation.result.complete(operation.applied);
+			}
+		}
+	}
+
+	/**
+	 * Applies a batch in the current transaction. Runs after the transaction has its connection,
+	 * so callers that gave up before this point are skipped.
+	 *
+	 * @return the operations that were claimed, each either applied or rejected
+	 */
+	private List<Operation> apply(List<Operation> batch) {
+		List<Operation> claimed = new ArrayList<>(batch.size());
+		Set<Long> userIds = new LinkedHashSet<>();
+		for (Operation operation : batch) {
+			if (operation.state.compareAndSet(PENDING, CLAIMED)) {
+				claimed.add(operation);
+				userIds.add(operation.userId);
+			}
+		}
+		if (claimed.isEmpty()) {
+			return claimed;
+		}
+
+		Map<Long, UserWallet> wallets = userWalletRepository.findByUserIdInForUpdate(userIds).stream()
+			.collect(Collectors.toMap(UserWallet::getUserId, Function.identity()));
+
+		List<WalletTransaction> transactions = new ArrayList<>(claimed.size());
+		List<Operation> appliedOperations = new ArrayList<>(claimed.size());
+		Map<Long, BigDecimal> credited = new HashMap<>();
+		Map<Long, BigDecimal> debited = new HashMap<>();
+		for (Operation operation : claimed) {
+			UserWallet wallet = wallets.get(operation.userId);
+			if (wallet == null) {
+				operation.rejected = new RuntimeException("Wallet not found for user: " + operation.userId);
+				continue;
+			}
+			BigDecimal balanceBefore = wallet.getBalance();
+			BigDecimal balanceAfter;
+			if ("DEBIT".equals(operation.txnType)) {
+				if (balanceBefore.compareTo(operation.amount) < 0) {
+					operation.rejected = new RuntimeException(
+						"Insufficient wallet balance. Current balance: " + balanceBefore);
+					continue;
+				}
+				balanceAfter = balanceBefore.subtract(operation.amount);
+				wallet.setTotalDebited(wallet.getTotalDebited().add(operation.amount));
+				debited.merge(wallet.getId(), operation.amount, BigDecimal::add);
+			} else {
+				balanceAfter = balanceBefore.add(operation.amount);
+				wallet.setTotalCredited(wallet.getTotalCredited().add(operation.amount));
+				credited.merge(wallet.getId(), operation.amount, BigDecimal::add);
+			}
+			wallet.setBalance(balanceAfter);
+
+			WalletTransaction transaction = new WalletTransaction(
+				wallet.getId(),
+				operation.amount,
+				operation.txnType,
+				balanceBefore,
+				balanceAfter
+			);
+			transaction.setDescription(operation.description);
+			transaction.setReferenceId(operation.referenceId);
+			transaction.setReferenceType(operation.referenceType);
+			transaction.setStatus("SUCCESS");
+			transactions.add(transaction);
+			appliedOperations.add(operation);
+		}
+
+		// Dirty wallets and new transactions are flushed together at commit as batched statements
+		transactionRepository.saveAll(transactions);
+		// One month row update per wallet in the batch, not per operation
+		LocalDate today = LocalDate.now();
+		Set<Long> touched = new LinkedHashSet<>(credited.keySet());
+		touched.addAll(debited.keySet());
+		for (Long walletId : touched) {
+			monthlyTotalRepository.addDelta(walletId, today,
+				credited.getOrDefault(walletId, BigDecimal.ZERO), debited.getOrDefault(walletId, BigDecimal.ZERO));
+		}
+		for (int i = 0; i < transactions.size(); i++) {
+			appliedOperations.get(i).applied = walletService.toTransactionResponse(transactions.get(i));
+			balanceCache.evictAfterCommit(appliedOperations.get(i).userId);
+		}
+		return claimed;
+	}
+}
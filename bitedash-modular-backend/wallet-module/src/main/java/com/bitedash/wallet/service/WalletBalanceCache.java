@@ -0,0 +1,226 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.dto.response.UserWalletResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of users' wallets (balance included), in front of the wallet and balance
+ * endpoints the employee app calls on every page.
+ *
+ * Two tiers: an in-memory map on every node, and optionally Redis shared by every node
+ * (wallet.balance-cache.store=redis, see {@link RedisWalletBalanceTier}). With Redis the local
+ * tier only absorbs bursts and keeps entries for wallet.balance-cache.redis.near-ttl-ms, since a
+ * write on another node evicts Redis but not this node's memory.
+ *
+ * WHY evict after commit instead of writing the new balance through? Writers only touch the cache
+ * once their transaction has committed, so a rolled-back credit or debit never leaves a value
+ * behind. Putting the new balance would need after-commit callbacks of two transactions on the
+ * same wallet to run in commit order, which nothing guarantees; an eviction is correct in any order.
+ *
+ * WHY tombstones? A read that loaded the wallet just before a write committed must not put its
+ * old value back after the write's eviction. An eviction leaves a tombstone for
+ * wallet.balance-cache.tombstone-ms, and fills only ever insert where there is nothing, so such a
+ * late fill loses. Reads meanwhile go to the database. Reads inside a transaction that may have
+ * written (not read-only) never fill, as they can see uncommitted balances.
+ *
+ * Metrics:
+ * - wallet.balance.cache.requests: lookups, tagged by tier (local, redis) and result (hit, miss, error)
+ * - wallet.balance.cache.evictions: wallets evicted after a committed balance change
+ * - wallet.balance.cache.size: entries in the local tier, tombstones included
+ */
+@Component
+public class WalletBalanceCache {
+
+	private static final Logger log = LoggerFactory.getLogger(WalletBalanceCache.class);
+
+	/** A cached wallet, or a tombstone when wallet is null. */
+	private record Entry(UserWalletResponse wallet, long expiresAtMillis) {
+
+		boolean liveAt(long now) {
+			return expiresAtMillis > now;
+		}
+	}
+
+	private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+	private final RedisWalletBalanceTier redisTier;
+	private final boolean enabled;
+	private final long localTtlMillis;
+	private final long tombstoneMillis;
+	private final int maxEntries;
+
+	private final Counter localHits;
+	private final Counter localMisses;
+	private final Counter redisHits;
+	private final Counter redisMisses;
+	private final Counter redisErrors;
+	private final Counter evictions;
+
+	public WalletBalanceCache(ObjectProvider<RedisWalletBalanceTier> redisTier,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${wallet.balance-cache.enabled:true}") boolean enabled,
+			@Value("${wallet.balance-cache.local-ttl-ms:60000}") long localTtlMillis,
+			@Value("${wallet.balance-cache.redis.near-ttl-ms:1000}") long nearTtlMillis,
+			@Value("${wallet.balance-cache.tombstone-ms:2000}") long tombstoneMillis,
+			@Value("${wallet.balance-cache.max-entries:100000}") int maxEntries) {
+		this.redisTier = redisTier.getIfAvailable();
+		this.enabled = enabled;
+		this.localTtlMillis = this.redisTier != null ? nearTtlMillis : localTtlMillis;
+		this.tombstoneMillis = tombstoneMillis;
+		this.maxEntries = maxEntries;
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.localHits = requests(registry, "local", "hit");
+		this.localMisses = requests(registry, "local", "miss");
+		this.redisHits = requests(registry, "redis", "hit");
+		this.redisMisses = requests(registry, "redis", "miss");
+		this.redisErrors = requests(registry, "redis", "error");
+		this.evictions = Counter.builder("wallet.balance.cache.evictions")
+			.description("Cached wallets evicted after a committed balance change")
+			.register(registry);
+		Gauge.builder("wallet.balance.cache.size", entries, Map::size)
+			.description("Entries in the local wallet balance cache")
+			.register(registry);
+	}
+
+	/**
+	 * The user's wallet from the cache, or from loader (which should throw if there is no wallet)
+	 * on a miss. A loaded wallet is cached unless a write to it committed in the meantime.
+	 */
+	public UserWalletResponse get(Long userId, Supplier<UserWalletResponse> loader) {
+		if (!enabled) {
+			return loader.get();
+		}
+
+		long now = System.currentTimeMillis();
+		Entry local = entries.get(userId);
+		if (local != null && local.liveAt(now) && local.wallet() != null) {
+			localHits.increment();
+			return local.wallet();
+		}
+		localMisses.increment();
+		boolean evictedRecently = local != null && local.liveAt(now);
+
+		if (redisTier != null && !evictedRecently) {
+			try {
+				UserWalletResponse shared = redisTier.get(userId);
+				if (shared != null) {
+					redisHits.increment();
+					fillLocal(userId, shared);
+					return shared;
+				}
+				redisMisses.increment();
+			} catch (RuntimeException e) {
+				redisErrors.increment();
+				log.warn("Wallet balance cache read from Redis failed for user {}: {}", userId, e.getMessage());
+			}
+		}
+
+		UserWalletResponse loaded = loader.get();
+		if (!evictedRecently && mayFill()) {
+			fill(userId, loaded);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Evicts the user's wallet once the current transaction commits, or right away outside a
+	 * transaction. Nothing happens if the transaction rolls back.
+	 */
+	public void evictAfterCommit(Long userId) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(userId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(userId);
+			}
+		});
+	}
+
+	void evict(Long userId) {
+		entries.put(userId, new Entry(null, System.currentTimeMillis() + tombstoneMillis));
+		evictions.increment();
+		if (redisTier != null) {
+			try {
+				redisTier.evict(userId, Duration.ofMillis(tombstoneMillis));
+			} catch (RuntimeException e) {
+				// The committed write stands; Redis serves the old balance until its entry expires
+				redisErrors.increment();
+				log.error("Failed to evict wallet of user {} from Redis: {}", userId, e.getMessage());
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${wallet.balance-cache.sweep-interval-ms:60000}")
+	public void sweep() {
+		long now = System.currentTimeMillis();
+		entries.values().removeIf(entry -> !entry.liveAt(now));
+	}
+
+	private void fill(Long userId, UserWalletResponse wallet) {
+		if (redisTier != null) {
+			try {
+				if (!redisTier.putIfAbsent(userId, wallet)) {
+					// Another node cached it first, or evicted it while we were loading
+					return;
+				}
+			} catch (RuntimeException e) {
+				redisErrors.increment();
+				log.warn("Wallet balance cache write to Redis failed for user {}: {}", userId, e.getMessage());
+				return;
+			}
+		}
+		fillLocal(userId, wallet);
+	}
+
+	private void fillLocal(Long userId, UserWalletResponse wallet) {
+		if (entries.size() >= maxEntries) {
+			sweep();
+			if (entries.size() >= maxEntries) {
+				return;
+			}
+		}
+		long now = System.currentTimeMillis();
+		Entry filled = new Entry(wallet, now + localTtlMillis);
+		entries.compute(userId, (id, current) -> current == null || !current.liveAt(now) ? filled : current);
+	}
+
+	// A transaction that may have written can see its own uncommitted balance
+	private static boolean mayFill() {
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+			|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	private static Counter requests(MeterRegistry registry, String tier, String result) {
+		return Counter.builder("wallet.balance.cache.requests")
+			.description("Wallet balance cache lookups")
+			.tag("tier", tier)
+			.tag("result", result)
+			.register(registry);
+	}
+
+	int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,37 @@
+package com.bitedash.wallet.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last transaction on a page, handed to clients as an opaque token.
+ * Pages are ordered by (createdAt DESC, id DESC); the id breaks ties between
+ * transactions recorded in the same instant.
+ */
+record WalletCursor(LocalDateTime createdAt, Long id) {
+
+	/** Sorts after every real transaction, so the first page needs no special-casing in SQL. */
+	static final WalletCursor START = new WalletCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+	String encode() {
+		String raw = createdAt + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static WalletCursor decode(String token) {
+		if (token == null || token.isBlank()) {
+			return START;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf('|');
+			return new WalletCursor(
+				LocalDateTime.parse(raw.substring(0, separator)),
+				Long.parseLong(raw.substring(separator + 1))
+			);
+		} catch (RuntimeException e) {
+			throw new RuntimeException("Invalid page cursor");
+		}
+	}
+}
@@ -0,0 +1,477 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.api.identity.UserService;
+import com.bitedash.wallet.dto.request.DisbursementRequest;
+import com.bitedash.wallet.dto.response.DisbursementResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletDisbursement;
+import com.bitedash.wallet.entity.WalletDisbursementRecipient;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.DisbursementStatusCount;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletDisbursementRecipientRepository;
+import com.bitedash.wallet.repository.WalletDisbursementRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk credits ("disbursements") of the same amount to every active employee of an organization
+ * or to a list of users, e.g. monthly meal allowances, instead of one POST /wallet/credit per
+ * employee.
+ *
+ * Creating a disbursement writes it and its recipients (batched inserts) in one transaction,
+ * each recipient in a chunk of wallet.disbursement.chunk-size users. The chunks are then
+ * credited in parallel on wallet.disbursement.parallelism worker threads, one transaction per
+ * chunk: it locks the chunk's PENDING recipients and their wallets (in id order, as the striped
+ * ledger does), updates the wallets and inserts their CREDIT transactions as JDBC batches at
+ * flush, credits the month rows with one UPDATE, and marks the recipients CREDITED, or SKIPPED
+ * when the user has no wallet.
+ *
+ * WHY is this idempotent? A recipient is credited in the same transaction that moves it out of
+ * PENDING, and only while holding its row lock, so running a chunk twice, on one node or two,
+ * credits nobody twice. Submitting the same disbursement id again therefore returns a finished
+ * disbursement as it is and resumes an unfinished one with whatever is still pending. A
+ * disbursement whose node died stops sending heartbeats and is resumed by the sweep once it has
+ * been quiet for wallet.disbursement.stale-after-ms.
+ *
+ * Metrics:
+ * - wallet.disbursement.credited: wallets credited by disbursements
+ * - wallet.disbursement.chunk: time to credit and commit one chunk
+ * - wallet.disbursement.active: disbursements running on this node
+ */
+@Service
+public class WalletDisbursementService {
+
+	private static final Logger log = LoggerFactory.getLogger(WalletDisbursementService.class);
+
+	static final String REFERENCE_TYPE = "DISBURSEMENT";
+
+	private static final int MAX_KEY_LENGTH = 100;
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	private static final String INSERT_RECIPIENT_SQL = """
+		INSERT INTO wallet_schema.wallet_disbursement_recipients (disbursement_id, user_id, chunk_no, status)
+		VALUES (?, ?, ?, 'PENDING')
+		""";
+
+	private final UserWalletRepository userWalletRepository;
+	private final WalletTransactionRepository transactionRepository;
+	private final WalletMonthlyTotalRepository monthlyTotalRepository;
+	private final WalletDisbursementRepository disbursementRepository;
+	private final WalletDisbursementRecipientRepository recipientRepository;
+	private final WalletBalanceCache balanceCache;
+	private final UserService userService;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+	private final long staleAfterMillis;
+	private final ExecutorService workers;
+
+	// Disbursement id -> its run on this node, completed when every chunk has been tried
+	private final Map<Long, CompletableFuture<Void>> active = new ConcurrentHashMap<>();
+
+	private final Counter creditedCounter;
+	private final Timer chunkTimer;
+
+	public WalletDisbursementService(UserWalletRepository userWalletRepository,
+			WalletTransactionRepository transactionRepository,
+			WalletMonthlyTotalRepository monthlyTotalRepository,
+			WalletDisbursementRepository disbursementRepository,
+			WalletDisbursementRecipientRepository recipientRepository,
+			WalletBalanceCache balanceCache,
+			UserService userService,
+			JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${wallet.disbursement.chunk-size:500}") int chunkSize,
+			@Value("${wallet.disbursement.parallelism:4}") int parallelism,
+			@Value("${wallet.disbursement.stale-after-ms:300000}") long staleAfterMillis) {
+		this.userWalletRepository = userWalletRepository;
+		this.transactionRepository = transactionRepository;
+		this.monthlyTotalRepository = monthlyTotalRepository;
+		this.disbursementRepository = disbursementRepository;
+		this.recipientRepository = recipientRepository;
+		this.balanceCache = balanceCache;
+		this.userService = userService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+		this.staleAfterMillis = staleAfterMillis;
+
+		AtomicInteger threads = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(parallelism, task -> {
+			Thread thread = new Thread(task, "wallet-disbursement-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.creditedCounter = Counter.builder("wallet.disbursement.credited")
+			.description("Wallets credited by disbursements")
+			.register(registry);
+		this.chunkTimer = Timer.builder("wallet.disbursement.chunk")
+			.description("Time to credit and commit one chunk of a disbursement")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+		Gauge.builder("wallet.disbursement.active", active, Map::size)
+			.description("Disbursements running on this node")
+			.register(registry);
+	}
+
+	@PreDestroy
+	void stop() {
+		// Chunks not started yet stay PENDING and are resumed by the next sweep
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Creates the disbursement and starts crediting it in the background, or returns the existing
+	 * one with this id, resuming it if it did not finish.
+	 *
+	 * @param organizationScope organization an org admin is limited to; null for super admins
+	 * @throws RuntimeException if the request is invalid, or the id was used for a different request
+	 */
+	public DisbursementResponse start(DisbursementRequest request, Long requestedBy, Long organizationScope) {
+		validate(request);
+		Long organizationId = organizationScope != null ? organizationScope : request.organizationId();
+		String requestHash = requestHash(request, organizationId);
+
+		WalletDisbursement disbursement = disbursementRepository.findByDisbursementKey(request.disbursementId())
+			.orElse(null);
+		if (disbursement == null) {
+			List<Long> userIds = resolveRecipients(request, organizationScope);
+			try {
+				disbursement = create(request, organizationId, requestHash, userIds, requestedBy);
+			} catch (DataIntegrityViolationException e) {
+				// Submitted twice at once and the other request created it
+				disbursement = disbursementRepository.findByDisbursementKey(request.disbursementId())
+					.orElseThrow(() -> e);
+			}
+		}
+		if (!disbursement.getRequestHash().equals(requestHash)) {
+			throw new RuntimeException("Disbursement id " + request.disbursementId()
+				+ " was already used for a different request");
+		}
+
+		if (!WalletDisbursement.COMPLETED.equals(disbursement.getStatus())) {
+			resume(disbursement.getId());
+		}
+		return getProgress(request.disbursementId(), organizationScope);
+	}
+
+	/**
+	 * The disbursement and how many of its recipients have been credited so far.
+	 *
+	 * @throws RuntimeException if there is no such disbursement within the caller's organization
+	 */
+	public DisbursementResponse getProgress(String disbursementId, Long organizationScope) {
+		WalletDisbursement disbursement = disbursementRepository.findByDisbursementKey(disbursementId)
+			.filter(found -> organizationScope == null || organizationScope.equals(found.getOrganizationId()))
+			.orElseThrow(() -> new RuntimeException("Disbursement not found: " + disbursementId));
+
+		DisbursementResponse response = new DisbursementResponse();
+		response.setDisbursementId(disbursement.getDisbursementKey());
+		response.setOrganizationId(disbursement.getOrganizationId());
+		response.setAmount(disbursement.getAmount());
+		response.setDescription(disbursement.getDescription());
+		response.setStatus(disbursement.getStatus());
+		response.setRecipients(disbursement.getRecipientCount());
+		response.setLastError(disbursement.getLastError());
+		response.setCreatedAt(disbursement.getCreatedAt());
+		response.setCompletedAt(disbursement.getCompletedAt());
+		for (DisbursementStatusCount count : recipientRepository.countByStatus(disbursement.getId())) {
+			switch (count.getStatus()) {
+				case WalletDisbursementRecipient.CREDITED -> response.setCredited(count.getRecipients());
+				case WalletDisbursementRecipient.SKIPPED -> response.setSkipped(count.getRecipients());
+				default -> response.setPending(count.getRecipients());
+			}
+		}
+		response.setCreditedAmount(disbursement.getAmount().multiply(BigDecimal.valueOf(response.getCredited())));
+		return response;
+	}
+
+	/**
+	 * Resumes disbursements that are RUNNING but have not reported progress for a while, because
+	 * the node running them stopped.
+	 */
+	@Scheduled(
+		fixedDelayString = "${wallet.disbursement.resume-interval-ms:60000}",
+		initialDelayString = "${wallet.disbursement.resume-interval-ms:60000}"
+	)
+	public void resumeStale() {
+		try {
+			LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfterMillis, ChronoUnit.MILLIS);
+			for (Long id : disbursementRepository.findStaleRunningIds(staleBefore)) {
+				if (!active.containsKey(id)) {
+					log.info("Resuming stalled disbursement {}", id);
+					resume(id);
+				}
+			}
+		} catch (Exception e) {
+			log.error("Disbursement resume sweep failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Credits every chunk that still has pending recipients, in parallel. Returns the run already
+	 * in progress on this node, if any.
+	 */
+	CompletableFuture<Void> resume(Long disbursementId) {
+		CompletableFuture<Void> run = new CompletableFuture<>();
+		CompletableFuture<Void> current = active.putIfAbsent(disbursementId, run);
+		if (current != null) {
+			return current;
+		}
+
+		try {
+			WalletDisbursement disbursement = transactionTemplate.execute(status -> {
+				if (disbursementRepository.markRunning(disbursementId, LocalDateTime.now()) == 0) {
+					return null;
+				}
+				return disbursementRepository.findById(disbursementId).orElseThrow();
+			});
+			if (disbursement == null) {
+				done(disbursementId, run);
+				return run;
+			}
+
+			List<Integer> chunks = recipientRepository.findPendingChunks(disbursementId);
+			log.info("Crediting disbursement {} ({}): {} chunks pending", disbursement.getDisbursementKey(),
+				disbursementId, chunks.size());
+			AtomicReference<String> error = new AtomicReference<>();
+			CompletableFuture<?>[] tasks = chunks.stream()
+				.map(chunk -> CompletableFuture.runAsync(() -> runChunk(disbursement, chunk, error), workers))
+				.toArray(CompletableFuture[]::new);
+			CompletableFuture.allOf(tasks).whenComplete((result, failure) -> {
+				try {
+					finish(disbursement, failure != null ? failure.getMessage() : error.get());
+				} catch (Exception e) {
+					log.error("Failed to record the outcome of disbursement {}: {}", disbursementId, e.getMessage(), e);
+				} finally {
+					done(disbursementId, run);
+				}
+			});
+		} catch (RuntimeException e) {
+			done(disbursementId, run);
+			throw e;
+		}
+		return run;
+	}
+
+	private void done(Long disbursementId, CompletableFuture<Void> run) {
+		active.remove(disbursementId, run);
+		run.complete(null);
+	}
+
+	private void runChunk(WalletDisbursement disbursement, int chunkNo, AtomicReference<String> error) {
+		try {
+			int credited = chunkTimer.record(() -> creditChunk(disbursement, chunkNo));
+			creditedCounter.increment(credited);
+			transactionTemplate.executeWithoutResult(status ->
+				disbursementRepository.touch(disbursement.getId(), LocalDateTime.now()));
+		} catch (Exception e) {
+			// The chunk rolled back and stays PENDING for the next attempt
+			error.set("Chunk " + chunkNo + ": " + e.getMessage());
+			log.error("Disbursement {} chunk {} failed: {}", disbursement.getId(), chunkNo, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Credits the chunk's pending recipients in one transaction.
+	 *
+	 * @return number of wallets credited
+	 */
+	int creditChunk(WalletDisbursement disbursement, int chunkNo) {
+		Integer credited = transactionTemplate.execute(status -> {
+			Long disbursementId = disbursement.getId();
+			BigDecimal amount = disbursement.getAmount();
+			List<WalletDisbursementRecipient> pending = recipientRepository.findPendingForUpdate(disbursementId, chunkNo);
+			if (pending.isEmpty()) {
+				return 0;
+			}
+			List<Long> userIds = pending.stream().map(WalletDisbursementRecipient::getUserId).toList();
+
+			List<UserWallet> wallets = userWalletRepository.findByUserIdInForUpdate(userIds);
+			List<WalletTransaction> transactions = new ArrayList<>(wallets.size());
+			List<Long> walletIds = new ArrayList<>(wallets.size());
+			Set<Long> creditedUserIds = new HashSet<>();
+			for (UserWallet wallet : wallets) {
+				BigDecimal balanceBefore = wallet.getBalance();
+				BigDecimal balanceAfter = balanceBefore.add(amount);
+				wallet.setBalance(balanceAfter);
+				wallet.setTotalCredited(wallet.getTotalCredited().add(amount));
+
+				WalletTransaction transaction = new WalletTransaction(
+					wallet.getId(),
+					amount,
+					"CREDIT",
+					balanceBefore,
+					balanceAfter
+				);
+				transaction.setDescription(disbursement.getDescription());
+				transaction.setReferenceId(disbursementId);
+				transaction.setReferenceType(REFERENCE_TYPE);
+				transaction.setStatus("SUCCESS");
+				transactions.add(transaction);
+				walletIds.add(wallet.getId());
+				creditedUserIds.add(wallet.getUserId());
+			}
+
+			// Dirty wallets and new transactions are flushed together as batched statements
+			transactionRepository.saveAll(transactions);
+			LocalDateTime now = LocalDateTime.now();
+			if (!walletIds.isEmpty()) {
+				monthlyTotalRepository.addCreditToAll(walletIds, now.toLocalDate(), amount);
+				recipientRepository.markProcessed(disbursementId, creditedUserIds,
+					WalletDisbursementRecipient.CREDITED, now);
+			}
+			List<Long> skipped = userIds.stream().filter(userId -> !creditedUserIds.contains(userId)).toList();
+			if (!skipped.isEmpty()) {
+				recipientRepository.markProcessed(disbursementId, skipped, WalletDisbursementRecipient.SKIPPED, now);
+				log.warn("Disbursement {} skipped {} users without a wallet: {}", disbursementId, skipped.size(), skipped);
+			}
+			creditedUserIds.forEach(balanceCache::evictAfterCommit);
+			return creditedUserIds.size();
+		});
+		return credited != null ? credited : 0;
+	}
+
+	/**
+	 * COMPLETED once nothing is pending, FAILED if a chunk failed. Otherwise another node is still
+	 * working on it, and it stays RUNNING.
+	 */
+	private void finish(WalletDisbursement disbursement, String error) {
+		long pending = recipientRepository.countByStatus(disbursement.getId()).stream()
+			.filter(count -> WalletDisbursementRecipient.PENDING.equals(count.getStatus()))
+			.mapToLong(DisbursementStatusCount::getRecipients)
+			.sum();
+		LocalDateTime now = LocalDateTime.now();
+		if (pending == 0) {
+			transactionTemplate.executeWithoutResult(status ->
+				disbursementRepository.finish(disbursement.getId(), WalletDisbursement.COMPLETED, null, now, now));
+			log.info("Disbursement {} completed", disbursement.getDisbursementKey());
+		} else if (error != null) {
+			String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+			transactionTemplate.executeWithoutResult(status ->
+				disbursementRepository.finish(disbursement.getId(), WalletDisbursement.FAILED, lastError, null, now));
+			log.error("Disbursement {} failed with {} recipients pending: {}", disbursement.getDisbursementKey(),
+				pending, error);
+		}
+	}
+
+	private WalletDisbursement create(DisbursementRequest request, Long organizationId, String requestHash,
+			List<Long> userIds, Long requestedBy) {
+		return transactionTemplate.execute(status -> {
+			WalletDisbursement disbursement = new WalletDisbursement();
+			disbursement.setDisbursementKey(request.disbursementId());
+			disbursement.setRequestHash(requestHash);
+			disbursement.setOrganizationId(organizationId);
+			disbursement.setAmount(request.amount());
+			disbursement.setDescription(request.description() != null ? request.description() : "Allowance");
+			disbursement.setRecipientCount(userIds.size());
+			disbursement.setChunkCount((userIds.size() + chunkSize - 1) / chunkSize);
+			disbursement.setRequestedBy(requestedBy);
+			disbursement = disbursementRepository.saveAndFlush(disbursement);
+
+			Long disbursementId = disbursement.getId();
+			List<Integer> positions = IntStream.range(0, userIds.size()).boxed().toList();
+			jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, positions, chunkSize, (statement, position) -> {
+				statement.setLong(1, disbursementId);
+				statement.setLong(2, userIds.get(position));
+				statement.setInt(3, position / chunkSize);
+			});
+			log.info("Created disbursement {} of {} to {} users in {} chunks", request.disbursementId(),
+				request.amount(), userIds.size(), disbursement.getChunkCount());
+			return disbursement;
+		});
+	}
+
+	private List<Long> resolveRecipients(DisbursementRequest request, Long organizationScope) {
+		List<Long> userIds;
+		if (request.organizationId() != null) {
+			userIds = userService.getActiveEmployeeIds(request.organizationId());
+		} else {
+			userIds = request.userIds().stream().filter(Objects::nonNull).distinct().sorted().toList();
+			if (organizationScope != null) {
+				Set<Long> employees = new HashSet<>(userService.getActiveEmployeeIds(organizationScope));
+				List<Long> outsiders = userIds.stream().filter(userId -> !employees.contains(userId)).toList();
+				if (!outsiders.isEmpty()) {
+					throw new RuntimeException("Not active employees of your organization: " + outsiders);
+				}
+			}
+		}
+		if (userIds.isEmpty()) {
+			throw new RuntimeException("Disbursement has no recipients");
+		}
+		return userIds;
+	}
+
+	private static void validate(DisbursementRequest request) {
+		if (request.disbursementId() == null || request.disbursementId().isBlank()
+				|| request.disbursementId().length() > MAX_KEY_LENGTH) {
+			throw new RuntimeException("Disbursement id is required, at most " + MAX_KEY_LENGTH + " characters");
+		}
+		if (request.amount() == null || request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+			throw new RuntimeException("Disbursement amount must be positive");
+		}
+		boolean hasUsers = request.userIds() != null && !request.userIds().isEmpty();
+		if ((request.organizationId() != null) == hasUsers) {
+			throw new RuntimeException("Give either an organizationId or a list of userIds");
+		}
+	}
+
+	private static String requestHash(DisbursementRequest request, Long organizationId) {
+		StringBuilder fingerprint = new StringBuilder()
+			.append(request.amount().stripTrailingZeros().toPlainString())
+			.append('|').append(organizationId);
+		if (request.userIds() != null) {
+			for (Long userId : new TreeSet<>(request.userIds().stream().filter(Objects::nonNull).toList())) {
+				fingerprint.append('|').append(userId);
+			}
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,314 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.event.OrderPlacedEvent;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletHold;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletHoldRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Authorize-then-capture payments against user wallets.
+ *
+ * WHY holds instead of debiting inside the order transaction? A debit locks the wallet row from
+ * the moment it runs until the whole order transaction commits, so a second order from the same
+ * wallet waits for the first one's inserts, flush and commit. A hold is one conditional UPDATE
+ * (balance >= amount) committed in its own short transaction: the row is locked for that
+ * statement only. The caller persists its order without any wallet lock and then captures the
+ * hold after commit, or releases it if the order rolls back.
+ *
+ * Every operation runs in a new transaction, independent of the caller's. A hold is resolved
+ * exactly once; capture, release and expiry race through a conditional status update and only
+ * the winner moves funds. Holds nobody resolves (e.g. the node died between commit and capture)
+ * expire after wallet.holds.ttl-minutes and the sweeper returns their funds. A placed order is
+ * also captured from its OrderPlacedEvent, which commits with the order, so a lost after-commit
+ * capture is recovered well before the hold expires.
+ *
+ * Orders place their hold before the order transaction opens, so the order id does not exist
+ * yet; it is recorded on the hold and its DEBIT when the hold is captured.
+ *
+ * Metrics:
+ * - wallet.hold.resolved: holds resolved, tagged by outcome (captured, released, expired)
+ * - wallet.hold.age: time from placing a hold to resolving it
+ */
+@Service
+public class WalletHoldService {
+
+	private static final Logger log = LoggerFactory.getLogger(WalletHoldService.class);
+
+	private static final String ORDER_REFERENCE = "ORDER";
+	private static final String HOLD_RELEASE_REFERENCE = "HOLD_RELEASE";
+
+	private final UserWalletRepository userWalletRepository;
+	private final WalletHoldRepository holdRepository;
+	private final WalletTransactionRepository transactionRepository;
+	private final WalletMonthlyTotalRepository monthlyTotalRepository;
+	private final WalletBalanceCache balanceCache;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration ttl;
+	private final int sweepBatchSize;
+
+	private final MeterRegistry registry;
+	private final Timer ageTimer;
+
+	public WalletHoldService(UserWalletRepository userWalletRepository,
+			WalletHoldRepository holdRepository,
+			WalletTransactionRepository transactionRepository,
+			WalletMonthlyTotalRepository monthlyTotalRepository,
+			WalletBalanceCache balanceCache,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${wallet.holds.ttl-minutes:15}") long ttlMinutes,
+			@Value("${wallet.holds.sweep-batch-size:100}") int sweepBatchSize) {
+		this.userWalletRepository = userWalletRepository;
+		this.holdRepository = holdRepository;
+		this.transactionRepository = transactionRepository;
+		this.monthlyTotalRepository = monthlyTotalRepository;
+		this.balanceCache = balanceCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.ttl = Duration.ofMinutes(ttlMinutes);
+		this.sweepBatchSize = sweepBatchSize;
+
+		this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.ageTimer = Timer.builder("wallet.hold.age")
+			.description("Time from placing a wallet hold to resolving it")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+	}
+
+	/**
+	 * Sets funds aside for a payment. Commits before returning, whatever the caller's transaction.
+	 *
+	 * @return the hold id, to capture or release later
+	 * @throws RuntimeException if the wallet does not exist or cannot cover the amount
+	 */
+	public Long placeHold(Long userId, BigDecimal amount, Long referenceId, String referenceType, String description) {
+		if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new RuntimeException("Hold amount must be positive");
+		}
+
+		return transactionTemplate.execute(status -> {
+			if (userWalletRepository.placeHold(userId, amount) == 0) {
+				UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
+					.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
+				throw new RuntimeException("Insufficient wallet balance. Current balance: " + wallet.getBalance());
+			}
+
+			// Our UPDATE still holds the row lock, so this read is exactly the balance it left
+			UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId).orElseThrow();
+			BigDecimal balanceAfter = wallet.getBalance();
+
+			WalletTransaction transaction = new WalletTransaction(
+				wallet.getId(),
+				amount,
+				"DEBIT",
+				balanceAfter.add(amount),
+				balanceAfter
+			);
+			transaction.setDescription(description);
+			transaction.setReferenceId(referenceId);
+			transaction.setReferenceType(referenceType);
+			transaction.setStatus(WalletHold.HELD);
+			transaction = transactionRepository.save(transaction);
+
+			WalletHold hold = new WalletHold();
+			hold.setWalletId(wallet.getId());
+			hold.setUserId(userId);
+			hold.setAmount(amount);
+			hold.setReferenceId(referenceId);
+			hold.setReferenceType(referenceType);
+			hold.setTransactionId(transaction.getId());
+			hold.setExpiresAt(LocalDateTime.now().plus(ttl));
+			hold = holdRepository.save(hold);
+			balanceCache.evictAfterCommit(userId);
+
+			log.info("Placed hold {} of {} on wallet of user {}. Available balance: {}",
+				hold.getId(), amount, userId, balanceAfter);
+			return hold.getId();
+		});
+	}
+
+	/**
+	 * Confirms the payment: the held funds are spent and the hold's DEBIT becomes SUCCESS.
+	 *
+	 * @return true if this call captured the hold; false if it was already resolved
+	 */
+	public boolean capture(Long holdId) {
+		return capture(holdId, null);
+	}
+
+	/**
+	 * Captures the hold and records referenceId on it and its DEBIT if it was placed without one.
+	 *
+	 * @return true if this call captured the hold; false if it was already resolved
+	 */
+	public boolean capture(Long holdId, Long referenceId) {
+		Boolean captured = transactionTemplate.execute(status -> {
+			WalletHold hold = holdRepository.findById(holdId)
+				.orElseThrow(() -> new RuntimeException("Wallet hold not found: " + holdId));
+			if (holdRepository.transition(holdId, WalletHold.HELD, WalletHold.CAPTURED, LocalDateTime.now()) == 0) {
+				return false;
+			}
+			if (userWalletRepository.captureHeld(hold.getWalletId(), hold.getAmount()) == 0) {
+				throw new IllegalStateException("Held balance of wallet " + hold.getWalletId()
+					+ " does not cover hold " + holdId);
+			}
+			// The debit counts towards the wallet's totals from now on (captureHeld added it to the lifetime total)
+			monthlyTotalRepository.addDelta(hold.getWalletId(), LocalDate.now(), BigDecimal.ZERO, hold.getAmount());
+			transactionRepository.updateStatus(hold.getTransactionId(), "SUCCESS");
+			if (referenceId != null && hold.getReferenceId() == null) {
+				holdRepository.linkReference(holdId, referenceId);
+				transactionRepository.linkReference(hold.getTransactionId(), referenceId);
+			}
+			recordResolved(hold, "captured");
+			return true;
+		});
+		return Boolean.TRUE.equals(captured);
+	}
+
+	/**
+	 * Abandons the payment and returns the held funds to the available balance.
+	 *
+	 * @return true if this call released the hold; false if it was already resolved
+	 */
+	public boolean release(Long holdId) {
+		return release(holdId, WalletHold.RELEASED);
+	}
+
+	/**
+	 * Captures the open holds of a reference, e.g. all holds for an order. Safe to repeat.
+	 *
+	 * @return number of holds captured by this call
+	 */
+	public int captureForReference(Long referenceId, String referenceType) {
+		int captured = 0;
+		for (WalletHold hold : holdRepository.findByReferenceIdAndReferenceTypeAndDeletedFalse(referenceId, referenceType)) {
+			if (captureOpen(hold, referenceId)) {
+				captured++;
+			}
+		}
+		return captured;
+	}
+
+	/**
+	 * Backstop for a capture lost between the order commit and the after-commit callback. The
+	 * event is written in the order's transaction, so it exists only for committed orders.
+	 * Events from before orders carried their hold id find the hold by order id.
+	 */
+	@EventListener
+	public void onOrderPlaced(OrderPlacedEvent event) {
+		int captured;
+		if (event.getWalletHoldId() != null) {
+			captured = holdRepository.findById(event.getWalletHoldId())
+				.filter(hold -> captureOpen(hold, event.getOrderId()))
+				.isPresent() ? 1 : 0;
+		} else {
+			captured = captureForReference(event.getOrderId(), ORDER_REFERENCE);
+		}
+		if (captured > 0) {
+			log.warn("Captured {} wallet hold(s) for order {} from its placed event", captured, event.getOrderNumber());
+		}
+	}
+
+	private boolean captureOpen(WalletHold hold, Long referenceId) {
+		if (WalletHold.HELD.equals(hold.getStatus())) {
+			return capture(hold.getId(), referenceId);
+		}
+		if (WalletHold.EXPIRED.equals(hold.getStatus())) {
+			// The payment was confirmed after its hold lapsed and the funds went back
+			log.error("Hold {} for {} {} expired before it was captured; {} must be collected manually",
+				hold.getId(), hold.getReferenceType(), referenceId, hold.getAmount());
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the funds of holds past their expiry. Each hold is released in its own short
+	 * transaction so the sweep never locks many wallets at once.
+	 */
+	@Scheduled(fixedDelayString = "${wallet.holds.sweep-interval-ms:60000}")
+	public void sweepExpired() {
+		try {
+			List<Long> expired;
+			do {
+				expired = holdRepository.findExpiredIds(LocalDateTime.now(), Limit.of(sweepBatchSize));
+				for (Long holdId : expired) {
+					release(holdId, WalletHold.EXPIRED);
+				}
+			} while (expired.size() == sweepBatchSize);
+		} catch (Exception e) {
+			log.error("Wallet hold sweep failed and will be retried: {}", e.getMessage(), e);
+		}
+	}
+
+	private boolean release(Long holdId, String outcome) {
+		Boolean released = transactionTemplate.execute(status -> {
+			WalletHold hold = holdRepository.findById(holdId)
+				.orElseThrow(() -> new RuntimeException("Wallet hold not found: " + holdId));
+			if (holdRepository.transition(holdId, WalletHold.HELD, outcome, LocalDateTime.now()) == 0) {
+				return false;
+			}
+			if (userWalletRepository.releaseHeld(hold.getWalletId(), hold.getAmount()) == 0) {
+				throw new IllegalStateException("Held balance of wallet " + hold.getWalletId()
+					+ " does not cover hold " + holdId);
+			}
+			BigDecimal balanceAfter = userWalletRepository.findById(hold.getWalletId()).orElseThrow().getBalance();
+
+			// The hold's DEBIT and this CREDIT cancel out; neither counts towards wallet totals
+			transactionRepository.updateStatus(hold.getTransactionId(), outcome);
+			WalletTransaction transaction = new WalletTransaction(
+				hold.getWalletId(),
+				hold.getAmount(),
+				"CREDIT",
+				balanceAfter.subtract(hold.getAmount()),
+				balanceAfter
+			);
+			transaction.setDescription(WalletHold.EXPIRED.equals(outcome) ? "Expired hold returned" : "Hold released");
+			transaction.setReferenceId(hold.getReferenceId());
+			transaction.setReferenceType(HOLD_RELEASE_REFERENCE);
+			transaction.setStatus(outcome);
+			transactionRepository.save(transaction);
+			balanceCache.evictAfterCommit(hold.getUserId());
+
+			recordResolved(hold, outcome.toLowerCase());
+			log.info("Hold {} {}; {} returned to wallet {}", holdId, outcome.toLowerCase(), hold.getAmount(), hold.getWalletId());
+			return true;
+		});
+		return Boolean.TRUE.equals(released);
+	}
+
+	private void recordResolved(WalletHold hold, String outcome) {
+		Counter.builder("wallet.hold.resolved")
+			.description("Wallet holds resolved")
+			.tag("outcome", outcome)
+			.register(registry)
+			.increment();
+		if (hold.getCreatedAt() != null) {
+			ageTimer.record(Duration.between(hold.getCreatedAt(), LocalDateTime.now()));
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+
+import java.math.BigDecimal;
+
+/**
+ * Applies credits and debits to user wallets. Selected with wallet.ledger.mode:
+ * - locking (default): {@link LockingWalletLedger}, a row lock per operation in the caller's transaction
+ * - striped: {@link StripedWalletLedger}, single-writer lanes that group-commit many operations
+ *
+ * Both return only once the operation is committed (or will commit with the caller's transaction),
+ * and both reject a debit larger than the balance.
+ */
+public interface WalletLedger {
+
+	WalletTransactionResponse credit(Long userId, BigDecimal amount, String description,
+									 Long referenceId, String referenceType);
+
+	/**
+	 * @throws RuntimeException if the wallet does not exist or its balance is below the amount
+	 */
+	WalletTransactionResponse debit(Long userId, BigDecimal amount, String description,
+									Long referenceId, String referenceType);
+}
@@ -1,20 +1,33 @@
 package com.bitedash.wallet.service;
 
+import com.bitedash.shared.event.WalletRechargedEvent;
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.dto.request.WalletHistoryPageRequest;
+import com.bitedash.wallet.dto.response.BalanceHistoryPageResponse;
 import com.bitedash.wallet.dto.response.BalanceHistoryResponse;
 import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.bitedash.wallet.dto.response.WalletMonthlyTotalResponse;
+import com.bitedash.wallet.dto.response.WalletSummaryResponse;
+import com.bitedash.wallet.dto.response.WalletTransactionPageResponse;
 import com.bitedash.wallet.dto.response.WalletTransactionResponse;
 import com.bitedash.wallet.entity.UserWallet;
 import com.bitedash.wallet.entity.WalletTransaction;
 import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
 import com.bitedash.wallet.repository.WalletTransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,12 +36,26 @@ public class WalletService {
 
 	private static final Logger log = LoggerFactory.getLogger(WalletService.class);
 
+	private static final LocalDateTime EARLIEST_TRANSACTION_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
 	@Autowired
 	private UserWalletRepository userWalletRepository;
 
 	@Autowired
 	private WalletTransactionRepository transactionRepository;
 
+	@Autowired
+	private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+	@Autowired
+	private WalletTotalsBackfill walletTotalsBackfill;
+
+	@Autowired
+	private WalletBalanceCache balanceCache;
+
+	@Autowired
+	private OutboxPublisher outboxPublisher;
+
 	@Transactional
 	public UserWalletResponse initWallet(Long userId) {
 		log.info("Initializing wallet for user: {}", userId);
@@ -40,6 +67,8 @@ public class WalletService {
 		UserWallet wallet = new UserWallet();
 		wallet.setUserId(userId);
 		wallet.setBalance(BigDecimal.ZERO);
+		// Nothing to backfill: the totals start at zero with the wallet
+		wallet.setTotalsAsOf(LocalDateTime.now());
 		wallet = userWalletRepository.save(wallet);
 
 		log.info("Wallet initialized successfully for user: {}", userId);
@@ -48,9 +77,7 @@ public class WalletService {
 
 	public UserWalletResponse getWalletByUserId(Long userId) {
 		log.info("Fetching wallet for user: {}", userId);
-		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
-			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
-		return toWalletResponse(wallet);
+		return balanceCache.get(userId, () -> loadWallet(userId));
 	}
 
 	@Transactional
@@ -70,7 +97,10 @@ public class WalletService {
 		BigDecimal balanceAfter = balanceBefore.add(amount);
 
 		wallet.setBalance(balanceAfter);
+		wallet.setTotalCredited(wallet.getTotalCredited().add(amount));
 		userWalletRepository.save(wallet);
+		monthlyTotalRepository.addDelta(wallet.getId(), LocalDate.now(), amount, BigDecimal.ZERO);
+		balanceCache.evictAfterCommit(userId);
 
 		WalletTransaction transaction = new WalletTransaction(
 			wallet.getId(),
@@ -116,7 +146,10 @@ public class WalletService {
 		BigDecimal balanceAfter = balanceBefore.subtract(amount);
 
 		wallet.setBalance(balanceAfter);
+		wallet.setTotalDebited(wallet.getTotalDebited().add(amount));
 		userWalletRepository.save(wallet);
+		monthlyTotalRepository.addDelta(wallet.getId(), LocalDate.now(), BigDecimal.ZERO, amount);
+		balanceCache.evictAfterCommit(userId);
 
 		WalletTransaction transaction = new WalletTransaction(
 			wallet.getId(),
@@ -135,34 +168,42 @@ public class WalletService {
 		return toTransactionResponse(transaction);
 	}
 
+	/**
+	 * The user's most recent transactions, newest first: the first page of getTransactionsPage.
+	 */
 	public List<WalletTransactionResponse> getTransactions(Long userId) {
-		log.info("Fetching transactions for user: {}", userId);
-
-		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
-			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
-
-		List<WalletTransaction> transactions = transactionRepository
-			.findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(wallet.getId());
-
-		return transactions.stream()
-			.map(this::toTransactionResponse)
-			.collect(Collectors.toList());
+		return getTransactionsPage(userId, WalletHistoryPageRequest.firstPage()).getTransactions();
 	}
 
-	public List<BalanceHistoryResponse> getBalanceHistory(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+	/**
+	 * Balance changes between startDate and endDate, both inclusive, one keyset page at a time.
+	 * Pages walk back in time through nextCursor like getBalanceHistoryPage, but each page is
+	 * listed oldest first for charting.
+	 */
+	public BalanceHistoryPageResponse getBalanceHistory(Long userId, String cursor, Integer limit,
+		LocalDateTime startDate, LocalDateTime endDate) {
 		log.info("Fetching balance history for user: {} from {} to {}", userId, startDate, endDate);
+		// WHY one microsecond? Pages take an exclusive end, and timestamps are stored to the microsecond
+		LocalDateTime to = endDate != null ? endDate.plus(1, ChronoUnit.MICROS) : null;
+		BalanceHistoryPageResponse page = getBalanceHistoryPage(userId,
+			new WalletHistoryPageRequest(cursor, limit, startDate, to));
+		List<BalanceHistoryResponse> history = new ArrayList<>(page.getHistory());
+		Collections.reverse(history);
+		page.setHistory(history);
+		return page;
+	}
 
-		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
-			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
-
-		List<WalletTransaction> transactions;
-		if (startDate != null && endDate != null) {
-			transactions = transactionRepository.getBalanceHistoryByDateRange(wallet.getId(), startDate, endDate);
-		} else {
-			transactions = transactionRepository.getBalanceHistory(wallet.getId());
-		}
+	public WalletTransactionPageResponse getTransactionsPage(Long userId, WalletHistoryPageRequest page) {
+		log.info("Fetching transactions for user: {}", userId);
+		return findTransactionPage(userId, page);
+	}
 
-		return transactions.stream()
+	/**
+	 * Balance after each transaction, newest first, paged like getTransactionsPage.
+	 */
+	public BalanceHistoryPageResponse getBalanceHistoryPage(Long userId, WalletHistoryPageRequest page) {
+		WalletTransactionPageResponse transactions = findTransactionPage(userId, page);
+		List<BalanceHistoryResponse> history = transactions.getTransactions().stream()
 			.map(txn -> {
 				BigDecimal change = "CREDIT".equals(txn.getTxnType()) ? txn.getAmount() : txn.getAmount().negate();
 				return new BalanceHistoryResponse(
@@ -174,29 +215,68 @@ public class WalletService {
 				);
 			})
 			.collect(Collectors.toList());
+		return new BalanceHistoryPageResponse(history, transactions.getNextCursor(), transactions.isHasMore());
 	}
 
 	public BigDecimal getBalance(Long userId) {
 		log.info("Fetching balance for user: {}", userId);
-		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
-			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
-		return wallet.getBalance();
+		return balanceCache.get(userId, () -> loadWallet(userId)).getBalance();
 	}
 
 	public BigDecimal getTotalCredits(Long userId) {
-		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
+		return walletWithTotals(userId).getTotalCredited();
+	}
+
+	public BigDecimal getTotalDebits(Long userId) {
+		return walletWithTotals(userId).getTotalDebited();
+	}
+
+	/**
+	 * Balance, held funds, lifetime totals and this month's totals from a single query.
+	 *
+	 * WHY running totals? The wallet screen used to sum the wallet's whole transaction history
+	 * twice per view. Credits and debits now add to totals on the wallet row (and its month row)
+	 * under the lock they already hold, so the summary costs one indexed read however long the
+	 * history is.
+	 */
+	public WalletSummaryResponse getSummary(Long userId) {
+		LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+		WalletSummaryResponse summary = userWalletRepository.findSummary(userId, monthStart)
 			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
+		if (summary.getTotalsAsOf() == null) {
+			walletTotalsBackfill.recount(summary.getWalletId());
+			summary = userWalletRepository.findSummary(userId, monthStart).orElseThrow();
+		}
+		if (summary.getMonth() == null) {
+			summary.setMonth(monthStart);
+			summary.setMonthCredits(BigDecimal.ZERO);
+			summary.setMonthDebits(BigDecimal.ZERO);
+		}
+		return summary;
+	}
 
-		Double total = transactionRepository.getTotalCreditsByWallet(wallet.getId());
-		return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+	/**
+	 * Credits and debits per month, newest first, for the last {@code months} months including
+	 * this one. Months without activity are left out.
+	 */
+	public List<WalletMonthlyTotalResponse> getMonthlyTotals(Long userId, int months) {
+		UserWallet wallet = walletWithTotals(userId);
+		LocalDate from = LocalDate.now().withDayOfMonth(1).minusMonths(Math.max(months, 1) - 1L);
+		return monthlyTotalRepository.findByWalletIdAndMonthStartGreaterThanEqualOrderByMonthStartDesc(wallet.getId(), from)
+			.stream()
+			.map(total -> new WalletMonthlyTotalResponse(total.getMonthStart(), total.getCredited(), total.getDebited()))
+			.collect(Collectors.toList());
 	}
 
-	public BigDecimal getTotalDebits(Long userId) {
+	// A wallet that predates the running totals is recounted on first read instead of waiting for the backfill job
+	private UserWallet walletWithTotals(Long userId) {
 		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
 			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
-
-		Double total = transactionRepository.getTotalDebitsByWallet(wallet.getId());
-		return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+		if (wallet.getTotalsAsOf() == null) {
+			walletTotalsBackfill.recount(wallet.getId());
+			wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId).orElseThrow();
+		}
+		return wallet;
 	}
 
 	/**
@@ -205,7 +285,24 @@ public class WalletService {
 	 */
 	@Transactional
 	public WalletTransactionResponse creditWallet(Long userId, BigDecimal amount, String description) {
-		return credit(userId, amount, description, null, "PAYMENT");
+		WalletTransactionResponse transaction = credit(userId, amount, description, null, "PAYMENT");
+
+		// Recorded in the same transaction as the credit; the outbox relay delivers it after commit
+		outboxPublisher.publish(OutboxPublisher.AGGREGATE_WALLET, transaction.getWalletId(), new WalletRechargedEvent(
+			userId,
+			null,
+			null,
+			amount,
+			transaction.getBalanceAfter(),
+			String.valueOf(transaction.getId())
+		));
+		return transaction;
+	}
+
+	private UserWalletResponse loadWallet(Long userId) {
+		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
+			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
+		return toWalletResponse(wallet);
 	}
 
 	private UserWalletResponse toWalletResponse(UserWallet wallet) {
@@ -218,7 +315,35 @@ public class WalletService {
 		return response;
 	}
 
-	private WalletTransactionResponse toTransactionResponse(WalletTransaction transaction) {
+	private WalletTransactionPageResponse findTransactionPage(Long userId, WalletHistoryPageRequest page) {
+		UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId)
+			.orElseThrow(() -> new RuntimeException("Wallet not found for user: " + userId));
+
+		WalletCursor cursor = WalletCursor.decode(page.cursor());
+		int limit = page.resolvedLimit();
+		LocalDateTime from = page.from() != null ? page.from() : EARLIEST_TRANSACTION_TIME;
+		LocalDateTime to = page.to() != null ? page.to() : WalletCursor.START.createdAt();
+		if (!from.isBefore(to)) {
+			throw new RuntimeException("Invalid date range: 'from' must be before 'to'");
+		}
+
+		// WHY limit + 1? The extra row tells us whether another page exists without a COUNT query.
+		List<WalletTransactionResponse> transactions = transactionRepository.findPage(
+			wallet.getId(), from, to, cursor.createdAt(), cursor.id(), Limit.of(limit + 1));
+		boolean hasMore = transactions.size() > limit;
+		if (hasMore) {
+			transactions = transactions.subList(0, limit);
+		}
+
+		String nextCursor = null;
+		if (hasMore) {
+			WalletTransactionResponse last = transactions.get(transactions.size() - 1);
+			nextCursor = new WalletCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new WalletTransactionPageResponse(transactions, nextCursor, hasMore);
+	}
+
+	WalletTransactionResponse toTransactionResponse(WalletTransaction transaction) {
 		WalletTransactionResponse response = new WalletTransactionResponse();
 		response.setId(transaction.getId());
 		response.setWalletId(transaction.getWalletId());
@@ -0,0 +1,147 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletMonthlyTotal;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fills in the running credit and debit totals of wallets that predate them.
+ *
+ * Each wallet is recounted from its settled transactions in its own transaction, under the
+ * wallet's row lock: a credit or debit in flight either committed before the recount (and is
+ * counted) or waits and applies its delta on top of it, so nothing is lost or counted twice. The
+ * wallet is then stamped with totals_as_of and left alone by later runs. Wallets are walked in id
+ * order in batches, so a run stays cheap once everything is covered.
+ *
+ * Metrics:
+ * - wallet.totals.backfilled: wallets recounted
+ */
+@Component
+public class WalletTotalsBackfill {
+
+	private static final Logger log = LoggerFactory.getLogger(WalletTotalsBackfill.class);
+
+	private final UserWalletRepository userWalletRepository;
+	private final WalletTransactionRepository transactionRepository;
+	private final WalletMonthlyTotalRepository monthlyTotalRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	private final Counter backfilledCounter;
+
+	public WalletTotalsBackfill(UserWalletRepository userWalletRepository,
+			WalletTransactionRepository transactionRepository,
+			WalletMonthlyTotalRepository monthlyTotalRepository,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${wallet.totals.backfill-batch-size:200}") int batchSize) {
+		this.userWalletRepository = userWalletRepository;
+		this.transactionRepository = transactionRepository;
+		this.monthlyTotalRepository = monthlyTotalRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.backfilledCounter = Counter.builder("wallet.totals.backfilled")
+			.description("Wallets whose running totals were recounted from history")
+			.register(registry);
+	}
+
+	@Scheduled(
+		fixedDelayString = "${wallet.totals.backfill-interval-ms:300000}",
+		initialDelayString = "${wallet.totals.backfill-initial-delay-ms:30000}"
+	)
+	public void scheduledBackfill() {
+		try {
+			int backfilled = backfillPending();
+			if (backfilled > 0) {
+				log.info("Backfilled running totals of {} wallets", backfilled);
+			}
+		} catch (Exception e) {
+			log.error("Wallet totals backfill failed and will be retried: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Recounts every wallet that has no totals yet.
+	 *
+	 * @return number of wallets recounted
+	 */
+	public int backfillPending() {
+		int backfilled = 0;
+		long afterId = 0;
+		List<Long> walletIds;
+		do {
+			walletIds = userWalletRepository.findIdsWithoutTotals(afterId, Limit.of(batchSize));
+			for (Long walletId : walletIds) {
+				afterId = walletId;
+				try {
+					recount(walletId);
+					backfilled++;
+				} catch (RuntimeException e) {
+					// Left unstamped, so the next run tries this wallet again
+					log.warn("Failed to backfill totals of wallet {}: {}", walletId, e.getMessage());
+				}
+			}
+		} while (walletIds.size() == batchSize);
+		return backfilled;
+	}
+
+	/**
+	 * Recounts one wallet's lifetime and monthly totals from its settled transactions, in a
+	 * transaction of its own (or the caller's, if there is one).
+	 */
+	public void recount(Long walletId) {
+		transactionTemplate.executeWithoutResult(status -> {
+			UserWallet wallet = userWalletRepository.findByIdForUpdate(walletId)
+				.orElseThrow(() -> new RuntimeException("Wallet not found: " + walletId));
+
+			Map<LocalDate, WalletMonthlyTotal> months = new TreeMap<>();
+			BigDecimal credited = BigDecimal.ZERO;
+			BigDecimal debited = BigDecimal.ZERO;
+			for (Object[] row : transactionRepository.sumSettledByMonth(walletId)) {
+				String txnType = (String) row[0];
+				LocalDate monthStart = LocalDate.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(), 1);
+				BigDecimal amount = (BigDecimal) row[3];
+				WalletMonthlyTotal month = months.computeIfAbsent(monthStart,
+					m -> WalletMonthlyTotal.of(walletId, m, BigDecimal.ZERO, BigDecimal.ZERO));
+				if ("CREDIT".equals(txnType)) {
+					month.setCredited(month.getCredited().add(amount));
+					credited = credited.add(amount);
+				} else if ("DEBIT".equals(txnType)) {
+					month.setDebited(month.getDebited().add(amount));
+					debited = debited.add(amount);
+				}
+			}
+
+			monthlyTotalRepository.deleteByWalletId(walletId);
+			monthlyTotalRepository.saveAll(months.values());
+			wallet.setTotalCredited(credited);
+			wallet.setTotalDebited(debited);
+			wallet.setTotalsAsOf(LocalDateTime.now());
+			userWalletRepository.save(wallet);
+		});
+		backfilledCounter.increment();
+	}
+}
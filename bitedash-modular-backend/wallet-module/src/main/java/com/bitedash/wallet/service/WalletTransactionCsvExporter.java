@@ -0,0 +1,154 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.util.CsvFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams a wallet's transaction history as CSV, one row per transaction, for full history
+ * downloads.
+ *
+ * Rows are read in keyset windows of (created_at, id), oldest first, each in its own short
+ * read-only transaction, and go straight from the JDBC result set into CSV text without
+ * hydrating entities. A window is written to the client only after its transaction has ended,
+ * so a slow download never holds a pooled connection, and memory stays flat however long the
+ * history is.
+ */
+@Service
+public class WalletTransactionCsvExporter {
+
+	private static final Logger log = LoggerFactory.getLogger(WalletTransactionCsvExporter.class);
+
+	static final String HEADER = "id,created_at,txn_type,amount,balance_before,balance_after,status,"
+		+ "reference_type,reference_id,description,provider_reference_id";
+
+	private static final String WINDOW_SQL = """
+		SELECT id, created_at, txn_type, amount, balance_before, balance_after, status,
+			reference_type, reference_id, description, provider_reference_id
+		FROM wallet_schema.wallet_transactions
+		WHERE wallet_id = ? AND deleted = false AND created_at < ?
+			AND (created_at > ? OR (created_at = ? AND id > ?))
+		ORDER BY created_at, id
+		LIMIT ?
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int windowSize;
+	private final int fetchSize;
+
+	public WalletTransactionCsvExporter(JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${wallet.export.window-size:1000}") int windowSize,
+			@Value("${wallet.export.fetch-size:500}") int fetchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.windowSize = windowSize;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Writes the header and every non-deleted transaction of the wallet created in [from, to),
+	 * oldest first. The stream is flushed after each window and left open.
+	 *
+	 * @return number of transactions written
+	 */
+	public long export(Long walletId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		writer.write(HEADER);
+		writer.write("\r\n");
+
+		// Starts just before the first transaction at `from`: ids are positive
+		Window window = new Window(from, 0L);
+		long total = 0;
+		while (true) {
+			Window current = window;
+			Window next = transactionTemplate.execute(status -> readWindow(walletId, to, current));
+			if (next.rows == 0) {
+				break;
+			}
+			writer.write(next.csv.toString());
+			writer.flush();
+			total += next.rows;
+			if (next.rows < windowSize) {
+				break;
+			}
+			window = next;
+		}
+		writer.flush();
+		log.info("Exported {} transactions of wallet {} from {} to {}", total, walletId, from, to);
+		return total;
+	}
+
+	private Window readWindow(Long walletId, LocalDateTime to, Window after) {
+		Window window = new Window(after.lastCreatedAt, after.lastId);
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(WINDOW_SQL,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			statement.setLong(1, walletId);
+			statement.setTimestamp(2, Timestamp.valueOf(to));
+			statement.setTimestamp(3, Timestamp.valueOf(after.lastCreatedAt));
+			statement.setTimestamp(4, Timestamp.valueOf(after.lastCreatedAt));
+			statement.setLong(5, after.lastId);
+			statement.setInt(6, windowSize);
+			return statement;
+		}, (ResultSet rs) -> {
+			long id = rs.getLong("id");
+			LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+			long referenceId = rs.getLong("reference_id");
+			boolean noReference = rs.wasNull();
+
+			window.csv.append(id).append(',')
+				.append(createdAt).append(',')
+				.append(CsvFormat.text(rs.getString("txn_type"))).append(',')
+				.append(amount(rs.getBigDecimal("amount"))).append(',')
+				.append(amount(rs.getBigDecimal("balance_before"))).append(',')
+				.append(amount(rs.getBigDecimal("balance_after"))).append(',')
+				.append(CsvFormat.text(rs.getString("status"))).append(',')
+				.append(CsvFormat.text(rs.getString("reference_type"))).append(',')
+				.append(noReference ? "" : Long.toString(referenceId)).append(',')
+				.append(CsvFormat.text(rs.getString("description"))).append(',')
+				.append(CsvFormat.text(rs.getString("provider_reference_id"))).append("\r\n");
+			window.rows++;
+			window.lastCreatedAt = createdAt;
+			window.lastId = id;
+		});
+		return window;
+	}
+
+	private static String amount(BigDecimal value) {
+		return value != null ? value.toPlainString() : "";
+	}
+
+	/** Keyset position after the last transaction read, and the CSV of that window. */
+	private static final class Window {
+		private LocalDateTime lastCreatedAt;
+		private Long lastId;
+		private int rows;
+		private final StringBuilder csv = new StringBuilder();
+
+		private Window(LocalDateTime lastCreatedAt, Long lastId) {
+			this.lastCreatedAt = lastCreatedAt;
+			this.lastId = lastId;
+		}
+	}
+}
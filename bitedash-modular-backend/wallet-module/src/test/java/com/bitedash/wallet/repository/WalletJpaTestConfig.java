@@ -0,0 +1,14 @@
+package com.bitedash.wallet.repository;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA slice configuration for wallet persistence tests, used via @ContextConfiguration.
+ */
+@EntityScan(basePackages = "com.bitedash.wallet.entity")
+@EnableJpaRepositories(basePackageClasses = UserWalletRepository.class)
+@EnableJpaAuditing
+public class WalletJpaTestConfig {
+}
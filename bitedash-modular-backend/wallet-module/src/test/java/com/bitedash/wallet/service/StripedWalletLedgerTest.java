@@ -0,0 +1,250 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Concurrency stress tests for the striped ledger against H2: many threads crediting and debiting
+ * a few shared wallets must never overdraw one, and every committed operation must appear exactly
+ * once in the wallet's transaction chain.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:stripedledger;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=20",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Import({WalletService.class, WalletTotalsBackfill.class, WalletBalanceCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("StripedWalletLedger Concurrency Tests")
+class StripedWalletLedgerTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletBalanceCache balanceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @MockBean
+    private OutboxPublisher outboxPublisher;
+
+    private StripedWalletLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new StripedWalletLedger(userWalletRepository, transactionRepository, monthlyTotalRepository,
+            walletService, balanceCache, transactionManager, context.getBeanProvider(MeterRegistry.class), 4, 200, 10_000);
+        ledger.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.stop();
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Concurrent debits on one wallet should never overdraw it")
+    void debit_NoOverdraft() throws Exception {
+        createWallets(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(8, 10, (thread, i) -> {
+            try {
+                ledger.debit(1L, new BigDecimal("10.00"), "Lunch", null, "ORDER");
+                succeeded.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertThat(e).hasMessageStartingWith("Insufficient wallet balance");
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(succeeded.get()).isEqualTo(10);
+        assertThat(rejected.get()).isEqualTo(70);
+        assertThat(balance(1L)).isEqualByComparingTo("0.00");
+        assertChain(1L);
+    }
+
+    @Test
+    @DisplayName("Mixed credits and debits on shared wallets should add up and chain exactly")
+    void mixed_BalancesAddUp() throws Exception {
+        int wallets = 10;
+        createWallets(wallets);
+        ConcurrentHashMap<Long, BigDecimal> expected = new ConcurrentHashMap<>();
+        for (long userId = 1; userId <= wallets; userId++) {
+            expected.put(userId, OPENING_BALANCE);
+        }
+        AtomicInteger committed = new AtomicInteger();
+
+        runConcurrently(8, 150, (thread, i) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long userId = random.nextLong(1, wallets + 1);
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 40)).setScale(2);
+            try {
+                if (random.nextInt(10) < 6) {
+                    ledger.debit(userId, amount, "Lunch", null, "ORDER");
+                    expected.merge(userId, amount.negate(), BigDecimal::add);
+                } else {
+                    ledger.credit(userId, amount, "Allowance", null, "ALLOWANCE");
+                    expected.merge(userId, amount, BigDecimal::add);
+                }
+                committed.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertThat(e).hasMessageStartingWith("Insufficient wallet balance");
+            }
+        });
+
+        for (long userId = 1; userId <= wallets; userId++) {
+            assertThat(balance(userId)).as("balance of user %d", userId).isEqualByComparingTo(expected.get(userId));
+            assertChain(userId);
+        }
+        assertThat(transactionRepository.count()).isEqualTo(committed.get());
+    }
+
+    @Test
+    @DisplayName("Should apply an operation in the caller's transaction and roll it back with it")
+    void debit_JoinsCallerTransaction() {
+        createWallets(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WalletTransactionResponse debit = ledger.debit(1L, new BigDecimal("40.00"), "Lunch", 7L, "ORDER");
+            assertThat(debit.getBalanceAfter()).isEqualByComparingTo("60.00");
+            status.setRollbackOnly();
+        });
+
+        assertThat(balance(1L)).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(transactionRepository.count()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            ledger.debit(1L, new BigDecimal("40.00"), "Lunch", 8L, "ORDER"));
+
+        assertThat(balance(1L)).isEqualByComparingTo("60.00");
+        assertChain(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject operations on unknown wallets and non-positive amounts")
+    void rejectsInvalidOperations() {
+        createWallets(1);
+
+        assertThatThrownBy(() -> ledger.debit(99L, BigDecimal.TEN, "Lunch", null, null))
+            .hasMessage("Wallet not found for user: 99");
+        assertThatThrownBy(() -> ledger.credit(1L, BigDecimal.ZERO, "Nothing", null, null))
+            .hasMessage("Credit amount must be positive");
+        assertThat(balance(1L)).isEqualByComparingTo(OPENING_BALANCE);
+    }
+
+    interface Operation {
+        void run(int thread, int iteration) throws Exception;
+    }
+
+    private void runConcurrently(int threads, int iterations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    operation.run(thread, i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private void createWallets(int count) {
+        List<UserWallet> wallets = new ArrayList<>();
+        for (long userId = 1; userId <= count; userId++) {
+            UserWallet wallet = new UserWallet();
+            wallet.setUserId(userId);
+            wallet.setBalance(OPENING_BALANCE);
+            wallets.add(wallet);
+        }
+        userWalletRepository.saveAll(wallets);
+    }
+
+    private BigDecimal balance(Long userId) {
+        return userWalletRepository.findByUserIdAndDeletedFalse(userId).orElseThrow().getBalance();
+    }
+
+    /** Each transaction must start from the previous one's balance, and none may go negative. */
+    private void assertChain(Long userId) {
+        UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(userId).orElseThrow();
+        List<WalletTransaction> chain = transactionRepository.findAll().stream()
+            .filter(txn -> txn.getWalletId().equals(wallet.getId()))
+            .sorted(Comparator.comparing(WalletTransaction::getId))
+            .toList();
+        BigDecimal running = OPENING_BALANCE;
+        for (WalletTransaction txn : chain) {
+            assertThat(txn.getBalanceBefore()).isEqualByComparingTo(running);
+            assertThat(txn.getBalanceAfter()).isNotNegative();
+            running = txn.getBalanceAfter();
+        }
+        assertThat(running).isEqualByComparingTo(wallet.getBalance());
+    }
+}
@@ -0,0 +1,197 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.testing.RedisStandIn;
+import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-through, commit-time eviction and tombstones of the wallet balance cache, on the local
+ * tier and with two "nodes" sharing the in-process {@link RedisStandIn}.
+ */
+@DisplayName("WalletBalanceCache Tests")
+class WalletBalanceCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicReference<BigDecimal> balance = new AtomicReference<>(new BigDecimal("100.00"));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+            redis.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a wallet once and serve it from memory afterwards")
+    void get_ReadThrough() {
+        WalletBalanceCache cache = localCache(60_000, 2_000);
+
+        assertThat(cache.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("100.00");
+        assertThat(cache.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("100.00");
+
+        assertThat(loads).hasValue(1);
+        assertThat(requests("local", "hit")).isEqualTo(1);
+        assertThat(requests("local", "miss")).isEqualTo(1);
+        assertThat(registry.get("wallet.balance.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict when the writing transaction commits, and keep the entry when it rolls back")
+    void evictAfterCommit_OnlyOnCommit() {
+        WalletBalanceCache cache = localCache(60_000, 0);
+        cache.get(USER_ID, this::load);
+
+        writeInTransaction(cache, new BigDecimal("40.00"), false);
+        assertThat(cache.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("100.00");
+
+        writeInTransaction(cache, new BigDecimal("60.00"), true);
+        assertThat(cache.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("60.00");
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get("wallet.balance.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not let a read that loaded before a commit cache its old balance")
+    void get_LateFillLosesToEviction() {
+        WalletBalanceCache cache = localCache(60_000, 60_000);
+
+        // The write commits after the read has loaded, but before it fills the cache
+        UserWalletResponse stale = cache.get(USER_ID, () -> {
+            UserWalletResponse loaded = load();
+            balance.set(new BigDecimal("25.00"));
+            cache.evictAfterCommit(USER_ID);
+            return loaded;
+        });
+
+        assertThat(stale.getBalance()).isEqualByComparingTo("100.00");
+        assertThat(cache.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    @DisplayName("Should not cache what a read-write transaction sees")
+    void get_NoFillInsideReadWriteTransaction() {
+        WalletBalanceCache cache = localCache(60_000, 2_000);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.get(USER_ID, this::load);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+
+        assertThat(cache.size()).isZero();
+        cache.get(USER_ID, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should share cached wallets between nodes and evict them everywhere")
+    void redisTier_SharedAcrossNodes() throws Exception {
+        redis = new RedisStandIn();
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+            LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        // No near cache, so every read reaches Redis
+        WalletBalanceCache nodeA = redisCache(200);
+        WalletBalanceCache nodeB = redisCache(200);
+
+        nodeA.get(USER_ID, this::load);
+        assertThat(nodeB.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("100.00");
+        assertThat(loads).hasValue(1);
+        assertThat(requests("redis", "hit")).isEqualTo(1);
+
+        balance.set(new BigDecimal("70.00"));
+        nodeA.evictAfterCommit(USER_ID);
+
+        // The tombstone keeps node B from re-caching while it lives, then expires
+        assertThat(nodeB.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("70.00");
+        assertThat(nodeB.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("70.00");
+        assertThat(loads).hasValue(3);
+        Thread.sleep(300);
+        nodeB.get(USER_ID, this::load);
+        assertThat(nodeA.get(USER_ID, this::load).getBalance()).isEqualByComparingTo("70.00");
+        assertThat(loads).hasValue(4);
+        assertThat(requests("redis", "error")).isZero();
+    }
+
+    private void writeInTransaction(WalletBalanceCache cache, BigDecimal newBalance, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        BigDecimal before = balance.getAndSet(newBalance);
+        try {
+            cache.evictAfterCommit(USER_ID);
+            if (commit) {
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            } else {
+                balance.set(before);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(),
+                commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private WalletBalanceCache localCache(long ttlMillis, long tombstoneMillis) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return new WalletBalanceCache(beans.getBeanProvider(RedisWalletBalanceTier.class),
+            beans.getBeanProvider(MeterRegistry.class), true, ttlMillis, 0, tombstoneMillis, 1000);
+    }
+
+    private WalletBalanceCache redisCache(long tombstoneMillis) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        beans.addBean("redisWalletBalanceTier", new RedisWalletBalanceTier(new StringRedisTemplate(connectionFactory),
+            new ObjectMapper().findAndRegisterModules(), "test:wallet:", Duration.ofMinutes(5)));
+        return new WalletBalanceCache(beans.getBeanProvider(RedisWalletBalanceTier.class),
+            beans.getBeanProvider(MeterRegistry.class), true, 60_000, 0, tombstoneMillis, 1000);
+    }
+
+    private UserWalletResponse load() {
+        loads.incrementAndGet();
+        UserWalletResponse wallet = new UserWalletResponse();
+        wallet.setId(10L);
+        wallet.setUserId(USER_ID);
+        wallet.setBalance(balance.get());
+        return wallet;
+    }
+
+    private double requests(String tier, String result) {
+        return registry.get("wallet.balance.cache.requests").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
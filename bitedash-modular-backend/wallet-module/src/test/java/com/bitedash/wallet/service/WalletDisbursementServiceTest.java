@@ -0,0 +1,208 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.api.identity.UserService;
+import com.bitedash.wallet.dto.request.DisbursementRequest;
+import com.bitedash.wallet.dto.response.DisbursementResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletDisbursement;
+import com.bitedash.wallet.entity.WalletMonthlyTotal;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletDisbursementRecipientRepository;
+import com.bitedash.wallet.repository.WalletDisbursementRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Bulk credits against H2, with chunks credited in parallel: every recipient is credited exactly
+ * once, including when a chunk fails and the disbursement is submitted again.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:walletdisbursement;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=10",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("WalletDisbursementService Tests")
+class WalletDisbursementServiceTest {
+
+    private static final Long ORG_ID = 5L;
+    private static final List<Long> EMPLOYEES = LongStream.rangeClosed(1, 10).boxed().toList();
+    private static final Long WITHOUT_WALLET = 7L;
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private WalletDisbursementRepository disbursementRepository;
+
+    @Autowired
+    private WalletDisbursementRecipientRepository recipientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private final UserService userService = mock(UserService.class);
+    private final WalletBalanceCache balanceCache = mock(WalletBalanceCache.class);
+
+    private WalletDisbursementService service;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getActiveEmployeeIds(ORG_ID)).thenReturn(EMPLOYEES);
+        for (Long userId : EMPLOYEES) {
+            if (!userId.equals(WITHOUT_WALLET)) {
+                UserWallet wallet = new UserWallet();
+                wallet.setUserId(userId);
+                wallet.setBalance(new BigDecimal("100.00"));
+                userWalletRepository.save(wallet);
+            }
+        }
+        // Three users per chunk: chunks {1,2,3} {4,5,6} {7,8,9} {10}
+        service = new WalletDisbursementService(userWalletRepository, transactionRepository, monthlyTotalRepository,
+            disbursementRepository, recipientRepository, balanceCache, userService, jdbcTemplate, transactionManager,
+            context.getBeanProvider(MeterRegistry.class), 3, 4, 300_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        recipientRepository.deleteAllInBatch();
+        disbursementRepository.deleteAllInBatch();
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should credit every employee with a wallet once, and nobody again on a repeated request")
+    void start_CreditsOrganizationOnce() throws Exception {
+        Long walletId = userWalletRepository.findByUserIdAndDeletedFalse(1L).orElseThrow().getId();
+        LocalDate month = WalletMonthlyTotal.monthOf(LocalDate.now());
+        monthlyTotalRepository.save(WalletMonthlyTotal.of(walletId, month, new BigDecimal("10.00"), BigDecimal.ZERO));
+        DisbursementRequest request = new DisbursementRequest("acme-2026-10", ORG_ID, null, new BigDecimal("50.00"), "October allowance");
+
+        service.start(request, 99L, null);
+        DisbursementResponse progress = awaitFinished("acme-2026-10");
+
+        assertThat(progress.getStatus()).isEqualTo(WalletDisbursement.COMPLETED);
+        assertThat(progress.getRecipients()).isEqualTo(10);
+        assertThat(progress.getCredited()).isEqualTo(9);
+        assertThat(progress.getSkipped()).isEqualTo(1);
+        assertThat(progress.getPending()).isZero();
+        assertThat(progress.getCreditedAmount()).isEqualByComparingTo("450.00");
+        assertEveryWalletCreditedOnce();
+        assertThat(monthlyTotalRepository.findByWalletIdAndMonthStartGreaterThanEqualOrderByMonthStartDesc(walletId, month))
+            .singleElement().satisfies(total -> assertThat(total.getCredited()).isEqualByComparingTo("60.00"));
+        verify(balanceCache).evictAfterCommit(1L);
+
+        DisbursementResponse repeated = service.start(request, 99L, null);
+
+        assertThat(repeated.getStatus()).isEqualTo(WalletDisbursement.COMPLETED);
+        assertEveryWalletCreditedOnce();
+    }
+
+    @Test
+    @DisplayName("Should fail a disbursement whose chunk failed, and finish only that chunk when resubmitted")
+    void start_ResumesFailedChunk() throws Exception {
+        // The chunk holding user 4 rolls back the first time
+        doThrow(new RuntimeException("cache down")).doNothing().when(balanceCache).evictAfterCommit(4L);
+        DisbursementRequest request = new DisbursementRequest("acme-2026-11", ORG_ID, null, new BigDecimal("50.00"), null);
+
+        service.start(request, 99L, null);
+        DisbursementResponse failed = awaitFinished("acme-2026-11");
+
+        assertThat(failed.getStatus()).isEqualTo(WalletDisbursement.FAILED);
+        assertThat(failed.getLastError()).contains("cache down");
+        assertThat(failed.getPending()).isEqualTo(3);
+        assertThat(failed.getCredited()).isEqualTo(6);
+
+        service.start(request, 99L, null);
+        DisbursementResponse resumed = awaitFinished("acme-2026-11");
+
+        assertThat(resumed.getStatus()).isEqualTo(WalletDisbursement.COMPLETED);
+        assertThat(resumed.getLastError()).isNull();
+        assertThat(resumed.getCredited()).isEqualTo(9);
+        assertEveryWalletCreditedOnce();
+    }
+
+    @Test
+    @DisplayName("Should reject a reused disbursement id and users outside the admin's organization")
+    void start_RejectsInvalidRequests() throws Exception {
+        service.start(new DisbursementRequest("acme-2026-12", null, List.of(2L, 3L), new BigDecimal("50.00"), null), 99L, ORG_ID);
+        awaitFinished("acme-2026-12");
+
+        assertThatThrownBy(() -> service.start(
+            new DisbursementRequest("acme-2026-12", null, List.of(2L, 3L), new BigDecimal("60.00"), null), 99L, ORG_ID))
+            .hasMessage("Disbursement id acme-2026-12 was already used for a different request");
+        assertThatThrownBy(() -> service.start(
+            new DisbursementRequest("acme-other", null, List.of(2L, 42L), new BigDecimal("50.00"), null), 99L, ORG_ID))
+            .hasMessage("Not active employees of your organization: [42]");
+        assertThatThrownBy(() -> service.start(
+            new DisbursementRequest("acme-both", ORG_ID, List.of(2L), new BigDecimal("50.00"), null), 99L, null))
+            .hasMessage("Give either an organizationId or a list of userIds");
+        assertThatThrownBy(() -> service.getProgress("acme-2026-12", 6L))
+            .hasMessage("Disbursement not found: acme-2026-12");
+        assertThat(service.getProgress("acme-2026-12", ORG_ID).getCredited()).isEqualTo(2);
+    }
+
+    private void assertEveryWalletCreditedOnce() {
+        List<WalletTransaction> credits = transactionRepository.findAll().stream()
+            .filter(transaction -> WalletDisbursementService.REFERENCE_TYPE.equals(transaction.getReferenceType()))
+            .toList();
+        assertThat(credits).hasSize(9);
+        for (UserWallet wallet : userWalletRepository.findAll()) {
+            assertThat(wallet.getBalance()).isEqualByComparingTo("150.00");
+            assertThat(wallet.getTotalCredited()).isEqualByComparingTo("50.00");
+            assertThat(credits).filteredOn(credit -> credit.getWalletId().equals(wallet.getId())).singleElement()
+                .satisfies(credit -> assertThat(credit.getBalanceAfter()).isEqualByComparingTo("150.00"));
+        }
+    }
+
+    private DisbursementResponse awaitFinished(String disbursementId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        DisbursementResponse progress = service.getProgress(disbursementId, null);
+        while (WalletDisbursement.RUNNING.equals(progress.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = service.getProgress(disbursementId, null);
+        }
+        return progress;
+    }
+}
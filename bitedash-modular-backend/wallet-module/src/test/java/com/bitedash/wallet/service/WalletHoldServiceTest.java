@@ -0,0 +1,295 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.event.OrderPlacedEvent;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletHold;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletHoldRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Wallet holds against H2: funds move between the available and held balances exactly once per
+ * hold, whichever of capture, release and expiry gets there first.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:walletholds;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=20",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Import(WalletBalanceCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("WalletHoldService Tests")
+class WalletHoldServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletHoldRepository holdRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private WalletBalanceCache balanceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WalletHoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new WalletHoldService(userWalletRepository, holdRepository, transactionRepository,
+            monthlyTotalRepository, balanceCache, transactionManager, context.getBeanProvider(MeterRegistry.class), 15, 2);
+        UserWallet wallet = new UserWallet();
+        wallet.setUserId(USER_ID);
+        wallet.setBalance(OPENING_BALANCE);
+        userWalletRepository.save(wallet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdRepository.deleteAllInBatch();
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should move the amount to the held balance and spend it on capture")
+    void placeAndCapture() {
+        Long holdId = holdService.placeHold(USER_ID, new BigDecimal("40.00"), 7L, "ORDER", "Lunch");
+
+        assertThat(wallet().getBalance()).isEqualByComparingTo("60.00");
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("40.00");
+        assertThat(wallet().getTotalDebited()).isEqualByComparingTo("0.00");
+
+        assertThat(holdService.capture(holdId)).isTrue();
+        assertThat(holdService.capture(holdId)).isFalse();
+        assertThat(holdService.release(holdId)).isFalse();
+
+        assertThat(wallet().getBalance()).isEqualByComparingTo("60.00");
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("0.00");
+        assertThat(holdRepository.findById(holdId).orElseThrow().getStatus()).isEqualTo(WalletHold.CAPTURED);
+        List<WalletTransaction> transactions = transactionRepository.findAll();
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).getTxnType()).isEqualTo("DEBIT");
+        assertThat(transactions.get(0).getStatus()).isEqualTo("SUCCESS");
+        assertThat(transactions.get(0).getBalanceAfter()).isEqualByComparingTo("60.00");
+        assertThat(wallet().getTotalDebited()).isEqualByComparingTo("40.00");
+        assertThat(monthlyTotalRepository.findAll()).singleElement()
+            .satisfies(month -> assertThat(month.getDebited()).isEqualByComparingTo("40.00"));
+    }
+
+    @Test
+    @DisplayName("Should return the amount on release and keep it out of the wallet totals")
+    void placeAndRelease() {
+        Long holdId = holdService.placeHold(USER_ID, new BigDecimal("40.00"), 7L, "ORDER", "Lunch");
+
+        assertThat(holdService.release(holdId)).isTrue();
+        assertThat(holdService.capture(holdId)).isFalse();
+
+        assertThat(wallet().getBalance()).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("0.00");
+        assertThat(transactionRepository.findAll())
+            .extracting(WalletTransaction::getTxnType, WalletTransaction::getReferenceType, WalletTransaction::getStatus)
+            .containsExactlyInAnyOrder(
+                tuple("DEBIT", "ORDER", WalletHold.RELEASED),
+                tuple("CREDIT", "HOLD_RELEASE", WalletHold.RELEASED));
+        assertThat(wallet().getTotalCredited()).isEqualByComparingTo("0.00");
+        assertThat(wallet().getTotalDebited()).isEqualByComparingTo("0.00");
+        assertThat(monthlyTotalRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject holds the wallet cannot cover, and unknown wallets")
+    void placeHold_Rejected() {
+        assertThatThrownBy(() -> holdService.placeHold(USER_ID, new BigDecimal("100.01"), 7L, "ORDER", "Lunch"))
+            .hasMessage("Insufficient wallet balance. Current balance: 100.00");
+        assertThatThrownBy(() -> holdService.placeHold(99L, BigDecimal.TEN, 7L, "ORDER", "Lunch"))
+            .hasMessage("Wallet not found for user: 99");
+        assertThatThrownBy(() -> holdService.placeHold(USER_ID, BigDecimal.ZERO, 7L, "ORDER", "Lunch"))
+            .hasMessage("Hold amount must be positive");
+
+        assertThat(wallet().getBalance()).isEqualByComparingTo(OPENING_BALANCE);
+        assertThat(holdRepository.count()).isZero();
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should commit the hold even if the caller's transaction rolls back")
+    void placeHold_IndependentOfCaller() {
+        Long[] holdId = new Long[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            holdId[0] = holdService.placeHold(USER_ID, new BigDecimal("40.00"), 7L, "ORDER", "Lunch");
+            status.setRollbackOnly();
+        });
+
+        assertThat(holdRepository.findById(holdId[0])).isPresent();
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Should return the funds of expired holds and leave live ones alone")
+    void sweepExpired() {
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(holdService.placeHold(USER_ID, new BigDecimal("10.00"), (long) i, "ORDER", "Lunch"));
+        }
+        Long live = holdService.placeHold(USER_ID, new BigDecimal("10.00"), 9L, "ORDER", "Lunch");
+        for (Long holdId : expired) {
+            WalletHold hold = holdRepository.findById(holdId).orElseThrow();
+            hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+            holdRepository.save(hold);
+        }
+
+        // Sweep batches are 2 holds, so this also checks the sweep keeps going until none are left
+        holdService.sweepExpired();
+
+        assertThat(wallet().getBalance()).isEqualByComparingTo("90.00");
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("10.00");
+        assertThat(holdRepository.findAllById(expired)).extracting(WalletHold::getStatus).containsOnly(WalletHold.EXPIRED);
+        assertThat(holdService.capture(expired.get(0))).isFalse();
+        assertThat(holdService.capture(live)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should capture an order's open hold from its placed event, once")
+    void onOrderPlaced_CapturesOpenHold() {
+        Long holdId = holdService.placeHold(USER_ID, new BigDecimal("40.00"), 7L, "ORDER", "Lunch");
+        OrderPlacedEvent event = new OrderPlacedEvent(7L, "ORD-7", USER_ID, null, null, 5L,
+            new BigDecimal("40.00"), null, false, null);
+
+        holdService.onOrderPlaced(event);
+        holdService.onOrderPlaced(event);
+
+        assertThat(holdRepository.findById(holdId).orElseThrow().getStatus()).isEqualTo(WalletHold.CAPTURED);
+        assertThat(wallet().getBalance()).isEqualByComparingTo("60.00");
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Should capture a hold placed before its order existed and record the order on it")
+    void onOrderPlaced_CapturesHoldById() {
+        Long holdId = holdService.placeHold(USER_ID, new BigDecimal("40.00"), null, "ORDER", "Lunch");
+        OrderPlacedEvent event = new OrderPlacedEvent(7L, "ORD-7", USER_ID, null, null, 5L,
+            new BigDecimal("40.00"), null, false, holdId);
+
+        holdService.onOrderPlaced(event);
+
+        WalletHold hold = holdRepository.findById(holdId).orElseThrow();
+        assertThat(hold.getStatus()).isEqualTo(WalletHold.CAPTURED);
+        assertThat(hold.getReferenceId()).isEqualTo(7L);
+        assertThat(transactionRepository.findAll()).singleElement()
+            .satisfies(debit -> assertThat(debit.getReferenceId()).isEqualTo(7L));
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Concurrent holds should never overdraw, and racing capture and release should move funds once")
+    void concurrentHolds_NoOverdraft() throws Exception {
+        AtomicInteger placed = new AtomicInteger();
+        List<Long> holdIds = Collections.synchronizedList(new ArrayList<>());
+
+        runConcurrently(8, 10, () -> {
+            try {
+                holdIds.add(holdService.placeHold(USER_ID, new BigDecimal("10.00"), null, "ORDER", "Lunch"));
+                placed.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertThat(e).hasMessageStartingWith("Insufficient wallet balance");
+            }
+        });
+
+        assertThat(placed.get()).isEqualTo(10);
+        assertThat(wallet().getBalance()).isEqualByComparingTo("0.00");
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo(OPENING_BALANCE);
+
+        // Capture and release race for every hold; each hold must end up exactly one way
+        AtomicInteger captured = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+        runConcurrently(4, holdIds.size() / 2, () -> {
+            Long holdId = holdIds.get(next.getAndIncrement() % holdIds.size());
+            if (holdService.capture(holdId)) {
+                captured.incrementAndGet();
+            }
+            if (holdService.release(holdId)) {
+                released.incrementAndGet();
+            }
+        });
+
+        assertThat(captured.get() + released.get()).isEqualTo(10);
+        assertThat(wallet().getHeldBalance()).isEqualByComparingTo("0.00");
+        assertThat(wallet().getBalance()).isEqualByComparingTo(BigDecimal.TEN.multiply(BigDecimal.valueOf(released.get())));
+    }
+
+    interface Operation {
+        void run() throws Exception;
+    }
+
+    private void runConcurrently(int threads, int iterations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    operation.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private UserWallet wallet() {
+        return userWalletRepository.findByUserIdAndDeletedFalse(USER_ID).orElseThrow();
+    }
+}
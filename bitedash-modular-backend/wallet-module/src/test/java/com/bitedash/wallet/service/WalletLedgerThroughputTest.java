@@ -0,0 +1,190 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of order payments on hot wallets: each payment is a debit followed by the rest of
+ * the order transaction (simulated with a short sleep), on several request threads sharing a
+ * few wallets.
+ *
+ * "locking" debits through WalletService inside the order transaction, so the wallet row stays
+ * locked while the rest of the order is written. "striped" debits through StripedWalletLedger
+ * before the order transaction opens (a caller inside a transaction gets the locking path), so
+ * the debit commits in a lane batch and the order transaction is lock-free. H2 commits
+ * are far cheaper than a durable PostgreSQL commit, so the group-commit saving is understated;
+ * the gap shown comes from the shorter lock.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ledgerthroughput;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=30000",
+    "spring.datasource.hikari.maximum-pool-size=20",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Import({WalletService.class, WalletTotalsBackfill.class, WalletBalanceCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("WalletLedger throughput comparison")
+class WalletLedgerThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletLedgerThroughputTest.class);
+
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 25;
+    private static final int WALLETS = 2;
+    private static final long ORDER_WORK_MILLIS = 2;
+    private static final BigDecimal PRICE = new BigDecimal("1.00");
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletBalanceCache balanceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @MockBean
+    private OutboxPublisher outboxPublisher;
+
+    @AfterEach
+    void tearDown() {
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Striped ledger should not lose or overdraw payments, and report throughput against locking")
+    void compareThroughput() throws Exception {
+        StripedWalletLedger striped = new StripedWalletLedger(userWalletRepository, transactionRepository, monthlyTotalRepository,
+            walletService, balanceCache, transactionManager, context.getBeanProvider(MeterRegistry.class), 4, 200, 30_000);
+        striped.start();
+        try {
+            // Warm up each path once so JIT compilation is not measured
+            run(new LockingWalletLedger(walletService), true);
+            run(striped, false);
+
+            double locking = run(new LockingWalletLedger(walletService), true);
+            double stripedRate = run(striped, false);
+
+            log.info("Order payments, {} on {} threads over {} wallets, {} ms of order work each: "
+                + "locking {} payments/s, striped {} payments/s", THREADS * PAYMENTS_PER_THREAD, THREADS, WALLETS,
+                ORDER_WORK_MILLIS, String.format("%,.0f", locking), String.format("%,.0f", stripedRate));
+        } finally {
+            striped.stop();
+        }
+    }
+
+    /**
+     * Pays for THREADS * PAYMENTS_PER_THREAD orders from fresh wallets and checks every payment landed.
+     *
+     * @param inOrderTransaction debit inside the order transaction, or just before it opens
+     *
+     * @return payments per second
+     */
+    private double run(WalletLedger ledger, boolean inOrderTransaction) throws Exception {
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+        List<UserWallet> wallets = new ArrayList<>();
+        for (long userId = 1; userId <= WALLETS; userId++) {
+            UserWallet wallet = new UserWallet();
+            wallet.setUserId(userId);
+            wallet.setBalance(new BigDecimal("100000.00"));
+            wallets.add(wallet);
+        }
+        userWalletRepository.saveAll(wallets);
+
+        TransactionTemplate orderTransaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long userId = 1 + t % WALLETS;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                    if (!inOrderTransaction) {
+                        ledger.debit(userId, PRICE, "Lunch", null, "ORDER");
+                    }
+                    orderTransaction.executeWithoutResult(status -> {
+                        if (inOrderTransaction) {
+                            ledger.debit(userId, PRICE, "Lunch", null, "ORDER");
+                        }
+                        try {
+                            Thread.sleep(ORDER_WORK_MILLIS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        executor.shutdown();
+
+        int payments = THREADS * PAYMENTS_PER_THREAD;
+        assertThat(transactionRepository.count()).isEqualTo(payments);
+        BigDecimal remaining = userWalletRepository.findAll().stream()
+            .map(UserWallet::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(remaining).isEqualByComparingTo(new BigDecimal("100000.00").multiply(BigDecimal.valueOf(WALLETS))
+            .subtract(PRICE.multiply(BigDecimal.valueOf(payments))));
+        return payments / seconds;
+    }
+}
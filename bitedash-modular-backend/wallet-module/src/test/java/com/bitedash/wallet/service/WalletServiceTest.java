@@ -1,31 +1,41 @@
 package com.bitedash.wallet.service;
 
+import com.bitedash.shared.event.WalletRechargedEvent;
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.dto.request.WalletHistoryPageRequest;
 import com.bitedash.wallet.dto.response.BalanceHistoryResponse;
 import com.bitedash.wallet.dto.response.UserWalletResponse;
+import com.bitedash.wallet.dto.response.WalletTransactionPageResponse;
 import com.bitedash.wallet.dto.response.WalletTransactionResponse;
 import com.bitedash.wallet.entity.UserWallet;
 import com.bitedash.wallet.entity.WalletTransaction;
 import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
 import com.bitedash.wallet.repository.WalletTransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -53,6 +63,18 @@ class WalletServiceTest {
     @Mock
     private WalletTransactionRepository transactionRepository;
 
+    @Mock
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Mock
+    private WalletTotalsBackfill walletTotalsBackfill;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private WalletBalanceCache balanceCache;
+
     @InjectMocks
     private WalletService walletService;
 
@@ -60,14 +82,38 @@ class WalletServiceTest {
     private static final Long TEST_WALLET_ID = 1L;
     private static final BigDecimal INITIAL_BALANCE = new BigDecimal("500.00");
 
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void readThroughCache() {
+        // The cache itself is covered by WalletBalanceCacheTest; here every read goes to the loader
+        lenient().when(balanceCache.get(any(), any()))
+            .thenAnswer(invocation -> ((Supplier<UserWalletResponse>) invocation.getArgument(1)).get());
+    }
+
     private UserWallet createTestWallet() {
         UserWallet wallet = new UserWallet();
         wallet.setId(TEST_WALLET_ID);
         wallet.setUserId(TEST_USER_ID);
         wallet.setBalance(INITIAL_BALANCE);
+        wallet.setTotalsAsOf(LocalDateTime.now());
         return wallet;
     }
 
+    private WalletTransactionResponse transactionRow(Long id, String amount, String txnType,
+            String balanceBefore, String balanceAfter, String description) {
+        WalletTransactionResponse row = new WalletTransactionResponse();
+        row.setId(id);
+        row.setWalletId(TEST_WALLET_ID);
+        row.setAmount(new BigDecimal(amount));
+        row.setTxnType(txnType);
+        row.setBalanceBefore(new BigDecimal(balanceBefore));
+        row.setBalanceAfter(new BigDecimal(balanceAfter));
+        row.setStatus("SUCCESS");
+        row.setDescription(description);
+        row.setCreatedAt(LocalDateTime.of(2024, 6, 1, 12, 0).plusMinutes(id));
+        return row;
+    }
+
     @Nested
     @DisplayName("initWallet() Tests")
     class InitWalletTests {
@@ -198,6 +244,23 @@ class WalletServiceTest {
             verify(transactionRepository).save(any(WalletTransaction.class));
         }
 
+        @Test
+        @DisplayName("Should add the credit to the lifetime and monthly totals")
+        void shouldAddCreditToRunningTotals() {
+            UserWallet wallet = createTestWallet();
+            wallet.setTotalCredited(new BigDecimal("40.00"));
+            when(userWalletRepository.findByUserIdForUpdate(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            walletService.credit(TEST_USER_ID, new BigDecimal("100.00"), "Allowance", null, "ALLOWANCE");
+
+            assertThat(wallet.getTotalCredited()).isEqualByComparingTo("140.00");
+            assertThat(wallet.getTotalDebited()).isEqualByComparingTo("0.00");
+            verify(monthlyTotalRepository).addDelta(eq(TEST_WALLET_ID), any(LocalDate.class),
+                eq(new BigDecimal("100.00")), eq(BigDecimal.ZERO));
+        }
+
         @Test
         @DisplayName("Should throw exception for zero credit amount")
         void shouldThrowExceptionForZeroCreditAmount() {
@@ -277,6 +340,47 @@ class WalletServiceTest {
             // which translates to SELECT ... FOR UPDATE at database level.
             verify(userWalletRepository).findByUserIdForUpdate(TEST_USER_ID);
         }
+        @Test
+        @DisplayName("Should record a WalletRechargedEvent in the outbox for top-ups")
+        void shouldPublishRechargeEventOnCreditWallet() {
+            BigDecimal creditAmount = new BigDecimal("250.00");
+            BigDecimal expectedBalance = INITIAL_BALANCE.add(creditAmount);
+
+            UserWallet wallet = createTestWallet();
+            when(userWalletRepository.findByUserIdForUpdate(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            when(userWalletRepository.save(any(UserWallet.class))).thenReturn(wallet);
+
+            WalletTransaction transaction = new WalletTransaction(
+                TEST_WALLET_ID, creditAmount, "CREDIT", INITIAL_BALANCE, expectedBalance
+            );
+            transaction.setId(42L);
+            when(transactionRepository.save(any(WalletTransaction.class))).thenReturn(transaction);
+
+            walletService.creditWallet(TEST_USER_ID, creditAmount, "Wallet top-up via Razorpay");
+
+            ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+            verify(outboxPublisher).publish(eq(OutboxPublisher.AGGREGATE_WALLET), eq(TEST_WALLET_ID), eventCaptor.capture());
+            WalletRechargedEvent event = (WalletRechargedEvent) eventCaptor.getValue();
+            assertThat(event.getUserId()).isEqualTo(TEST_USER_ID);
+            assertThat(event.getAmount()).isEqualByComparingTo(creditAmount);
+            assertThat(event.getNewBalance()).isEqualByComparingTo(expectedBalance);
+            assertThat(event.getTransactionId()).isEqualTo("42");
+        }
+
+        @Test
+        @DisplayName("Should not record a recharge event for plain credits")
+        void shouldNotPublishRechargeEventOnCredit() {
+            UserWallet wallet = createTestWallet();
+            when(userWalletRepository.findByUserIdForUpdate(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            when(userWalletRepository.save(any(UserWallet.class))).thenReturn(wallet);
+            when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            walletService.credit(TEST_USER_ID, new BigDecimal("10.00"), "Refund", 7L, "ORDER_REFUND");
+
+            verifyNoInteractions(outboxPublisher);
+        }
     }
 
     @Nested
@@ -320,6 +424,22 @@ class WalletServiceTest {
             verify(transactionRepository).save(any(WalletTransaction.class));
         }
 
+        @Test
+        @DisplayName("Should add the debit to the lifetime and monthly totals")
+        void shouldAddDebitToRunningTotals() {
+            UserWallet wallet = createTestWallet();
+            when(userWalletRepository.findByUserIdForUpdate(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            when(transactionRepository.save(any(WalletTransaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            walletService.debit(TEST_USER_ID, new BigDecimal("75.00"), "Lunch", 456L, "ORDER");
+
+            assertThat(wallet.getTotalDebited()).isEqualByComparingTo("75.00");
+            assertThat(wallet.getTotalCredited()).isEqualByComparingTo("0.00");
+            verify(monthlyTotalRepository).addDelta(eq(TEST_WALLET_ID), any(LocalDate.class),
+                eq(BigDecimal.ZERO), eq(new BigDecimal("75.00")));
+        }
+
         @Test
         @DisplayName("Should throw exception for insufficient balance")
         void shouldThrowExceptionForInsufficientBalance() {
@@ -457,7 +577,7 @@ class WalletServiceTest {
     class GetTransactionsTests {
 
         @Test
-        @DisplayName("Should retrieve all transactions for valid wallet")
+        @DisplayName("Should retrieve the first page of transactions for valid wallet")
         void shouldRetrieveTransactions() {
             // WHY test transaction retrieval? Users need to see their transaction
             // history for transparency (where did my money go?). This is required
@@ -467,19 +587,10 @@ class WalletServiceTest {
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
 
-            WalletTransaction txn1 = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("100.00"), "CREDIT",
-                BigDecimal.ZERO, new BigDecimal("100.00")
-            );
-            txn1.setId(1L);
-
-            WalletTransaction txn2 = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("50.00"), "DEBIT",
-                new BigDecimal("100.00"), new BigDecimal("50.00")
-            );
-            txn2.setId(2L);
+            WalletTransactionResponse txn1 = transactionRow(1L, "100.00", "CREDIT", "0.00", "100.00", null);
+            WalletTransactionResponse txn2 = transactionRow(2L, "50.00", "DEBIT", "100.00", "50.00", null);
 
-            when(transactionRepository.findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(TEST_WALLET_ID))
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), any()))
                 .thenReturn(Arrays.asList(txn2, txn1)); // Most recent first
 
             List<WalletTransactionResponse> transactions = walletService.getTransactions(TEST_USER_ID);
@@ -489,7 +600,8 @@ class WalletServiceTest {
             assertThat(transactions.get(1).getTxnType()).isEqualTo("CREDIT");
 
             verify(userWalletRepository).findByUserIdAndDeletedFalse(TEST_USER_ID);
-            verify(transactionRepository).findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(TEST_WALLET_ID);
+            verify(transactionRepository).findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(),
+                eq(Limit.of(WalletHistoryPageRequest.DEFAULT_LIMIT + 1)));
         }
 
         @Test
@@ -501,7 +613,7 @@ class WalletServiceTest {
             UserWallet wallet = createTestWallet();
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
-            when(transactionRepository.findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(TEST_WALLET_ID))
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), any()))
                 .thenReturn(Arrays.asList());
 
             List<WalletTransactionResponse> transactions = walletService.getTransactions(TEST_USER_ID);
@@ -522,7 +634,48 @@ class WalletServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Wallet not found");
 
-            verify(transactionRepository, never()).findByWalletIdAndDeletedFalseOrderByCreatedAtDesc(anyLong());
+            verify(transactionRepository, never()).findPage(anyLong(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should hand out a cursor after the last row when another page exists")
+        void shouldReturnCursorWhenMorePagesExist() {
+            // WHY fetch limit + 1 rows? The extra row proves there is a next page
+            // without a COUNT over the wallet's whole history.
+
+            UserWallet wallet = createTestWallet();
+            when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(Arrays.asList(
+                    transactionRow(9L, "1.00", "DEBIT", "10.00", "9.00", null),
+                    transactionRow(8L, "1.00", "DEBIT", "11.00", "10.00", null),
+                    transactionRow(7L, "1.00", "DEBIT", "12.00", "11.00", null)));
+
+            WalletTransactionPageResponse page = walletService.getTransactionsPage(TEST_USER_ID,
+                new WalletHistoryPageRequest(null, 2, null, null));
+
+            assertThat(page.getTransactions()).extracting(WalletTransactionResponse::getId).containsExactly(9L, 8L);
+            assertThat(page.isHasMore()).isTrue();
+            assertThat(WalletCursor.decode(page.getNextCursor()).id()).isEqualTo(8L);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor and an empty date range")
+        void shouldRejectInvalidPageRequests() {
+            UserWallet wallet = createTestWallet();
+            when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
+                .thenReturn(Optional.of(wallet));
+            LocalDateTime day = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+            assertThatThrownBy(() -> walletService.getTransactionsPage(TEST_USER_ID,
+                new WalletHistoryPageRequest("not-a-cursor", null, null, null)))
+                .hasMessage("Invalid page cursor");
+            assertThatThrownBy(() -> walletService.getTransactionsPage(TEST_USER_ID,
+                new WalletHistoryPageRequest(null, null, day, day)))
+                .hasMessageContaining("Invalid date range");
+
+            verify(transactionRepository, never()).findPage(anyLong(), any(), any(), any(), any(), any());
         }
     }
 
@@ -531,7 +684,7 @@ class WalletServiceTest {
     class GetBalanceHistoryTests {
 
         @Test
-        @DisplayName("Should retrieve balance history without date filtering")
+        @DisplayName("Should retrieve balance history without date filtering, oldest first")
         void shouldRetrieveBalanceHistoryWithoutDateFilter() {
             // WHY test balance history? Shows how wallet balance changed over time.
             // Useful for analytics, charting balance trends, and financial auditing.
@@ -540,33 +693,21 @@ class WalletServiceTest {
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
 
-            WalletTransaction txn1 = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("100.00"), "CREDIT",
-                BigDecimal.ZERO, new BigDecimal("100.00")
-            );
-            txn1.setDescription("Initial credit");
+            WalletTransactionResponse txn1 = transactionRow(1L, "100.00", "CREDIT", "0.00", "100.00", "Initial credit");
+            WalletTransactionResponse txn2 = transactionRow(2L, "30.00", "DEBIT", "100.00", "70.00", "Purchase");
 
-            WalletTransaction txn2 = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("30.00"), "DEBIT",
-                new BigDecimal("100.00"), new BigDecimal("70.00")
-            );
-            txn2.setDescription("Purchase");
-
-            when(transactionRepository.getBalanceHistory(TEST_WALLET_ID))
-                .thenReturn(Arrays.asList(txn1, txn2));
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), any()))
+                .thenReturn(Arrays.asList(txn2, txn1)); // pages are read newest first
 
             List<BalanceHistoryResponse> history = walletService.getBalanceHistory(
-                TEST_USER_ID, null, null
-            );
+                TEST_USER_ID, null, null, null, null
+            ).getHistory();
 
             assertThat(history).hasSize(2);
             assertThat(history.get(0).getBalance()).isEqualByComparingTo(new BigDecimal("100.00"));
             assertThat(history.get(0).getChange()).isEqualByComparingTo(new BigDecimal("100.00")); // CREDIT = positive
             assertThat(history.get(1).getBalance()).isEqualByComparingTo(new BigDecimal("70.00"));
             assertThat(history.get(1).getChange()).isEqualByComparingTo(new BigDecimal("-30.00")); // DEBIT = negative
-
-            verify(transactionRepository).getBalanceHistory(TEST_WALLET_ID);
-            verify(transactionRepository, never()).getBalanceHistoryByDateRange(anyLong(), any(), any());
         }
 
         @Test
@@ -581,24 +722,21 @@ class WalletServiceTest {
 
             LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
             LocalDateTime endDate = LocalDateTime.of(2024, 12, 31, 23, 59);
+            LocalDateTime pageEnd = endDate.plusNanos(1_000); // endDate is inclusive
 
-            WalletTransaction txn = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("200.00"), "CREDIT",
-                BigDecimal.ZERO, new BigDecimal("200.00")
-            );
+            WalletTransactionResponse txn = transactionRow(1L, "200.00", "CREDIT", "0.00", "200.00", null);
 
-            when(transactionRepository.getBalanceHistoryByDateRange(TEST_WALLET_ID, startDate, endDate))
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), eq(startDate), eq(pageEnd), any(), any(), any()))
                 .thenReturn(Arrays.asList(txn));
 
             List<BalanceHistoryResponse> history = walletService.getBalanceHistory(
-                TEST_USER_ID, startDate, endDate
-            );
+                TEST_USER_ID, null, null, startDate, endDate
+            ).getHistory();
 
             assertThat(history).hasSize(1);
             assertThat(history.get(0).getChange()).isEqualByComparingTo(new BigDecimal("200.00"));
 
-            verify(transactionRepository).getBalanceHistoryByDateRange(TEST_WALLET_ID, startDate, endDate);
-            verify(transactionRepository, never()).getBalanceHistory(anyLong());
+            verify(transactionRepository).findPage(eq(TEST_WALLET_ID), eq(startDate), eq(pageEnd), any(), any(), any());
         }
 
         @Test
@@ -611,18 +749,14 @@ class WalletServiceTest {
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
 
-            WalletTransaction creditTxn = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("150.00"), "CREDIT",
-                new BigDecimal("100.00"), new BigDecimal("250.00")
-            );
-            creditTxn.setDescription("Wallet topup");
+            WalletTransactionResponse creditTxn = transactionRow(1L, "150.00", "CREDIT", "100.00", "250.00", "Wallet topup");
 
-            when(transactionRepository.getBalanceHistory(TEST_WALLET_ID))
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), any()))
                 .thenReturn(Arrays.asList(creditTxn));
 
             List<BalanceHistoryResponse> history = walletService.getBalanceHistory(
-                TEST_USER_ID, null, null
-            );
+                TEST_USER_ID, null, null, null, null
+            ).getHistory();
 
             assertThat(history.get(0).getChange()).isEqualByComparingTo(new BigDecimal("150.00"));
             assertThat(history.get(0).getTxnType()).isEqualTo("CREDIT");
@@ -638,18 +772,14 @@ class WalletServiceTest {
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
 
-            WalletTransaction debitTxn = new WalletTransaction(
-                TEST_WALLET_ID, new BigDecimal("75.00"), "DEBIT",
-                new BigDecimal("200.00"), new BigDecimal("125.00")
-            );
-            debitTxn.setDescription("Order payment");
+            WalletTransactionResponse debitTxn = transactionRow(1L, "75.00", "DEBIT", "200.00", "125.00", "Order payment");
 
-            when(transactionRepository.getBalanceHistory(TEST_WALLET_ID))
+            when(transactionRepository.findPage(eq(TEST_WALLET_ID), any(), any(), any(), any(), any()))
                 .thenReturn(Arrays.asList(debitTxn));
 
             List<BalanceHistoryResponse> history = walletService.getBalanceHistory(
-                TEST_USER_ID, null, null
-            );
+                TEST_USER_ID, null, null, null, null
+            ).getHistory();
 
             assertThat(history.get(0).getChange()).isEqualByComparingTo(new BigDecimal("-75.00"));
             assertThat(history.get(0).getTxnType()).isEqualTo("DEBIT");
@@ -703,15 +833,14 @@ class WalletServiceTest {
             // financial reporting and user spending patterns.
 
             UserWallet wallet = createTestWallet();
+            wallet.setTotalCredited(new BigDecimal("750.50"));
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
-            when(transactionRepository.getTotalCreditsByWallet(TEST_WALLET_ID))
-                .thenReturn(750.50);
 
             BigDecimal totalCredits = walletService.getTotalCredits(TEST_USER_ID);
 
             assertThat(totalCredits).isEqualByComparingTo(new BigDecimal("750.50"));
-            verify(transactionRepository).getTotalCreditsByWallet(TEST_WALLET_ID);
+            verifyNoInteractions(transactionRepository, walletTotalsBackfill);
         }
 
         @Test
@@ -723,14 +852,28 @@ class WalletServiceTest {
             UserWallet wallet = createTestWallet();
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
-            when(transactionRepository.getTotalCreditsByWallet(TEST_WALLET_ID))
-                .thenReturn(null);
 
             BigDecimal totalCredits = walletService.getTotalCredits(TEST_USER_ID);
 
             assertThat(totalCredits).isEqualByComparingTo(BigDecimal.ZERO);
         }
 
+        @Test
+        @DisplayName("Should recount a wallet that predates the running totals before reading them")
+        void shouldRecountWalletWithoutTotals() {
+            UserWallet legacy = createTestWallet();
+            legacy.setTotalsAsOf(null);
+            UserWallet recounted = createTestWallet();
+            recounted.setTotalCredited(new BigDecimal("120.00"));
+            when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
+                .thenReturn(Optional.of(legacy), Optional.of(recounted));
+
+            BigDecimal totalCredits = walletService.getTotalCredits(TEST_USER_ID);
+
+            assertThat(totalCredits).isEqualByComparingTo(new BigDecimal("120.00"));
+            verify(walletTotalsBackfill).recount(TEST_WALLET_ID);
+        }
+
         @Test
         @DisplayName("Should throw exception when wallet not found for total credits")
         void shouldThrowExceptionWhenWalletNotFoundForTotalCredits() {
@@ -757,15 +900,14 @@ class WalletServiceTest {
             // wallet over its lifetime". Critical for spending analytics and budgeting.
 
             UserWallet wallet = createTestWallet();
+            wallet.setTotalDebited(new BigDecimal("320.75"));
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
-            when(transactionRepository.getTotalDebitsByWallet(TEST_WALLET_ID))
-                .thenReturn(320.75);
 
             BigDecimal totalDebits = walletService.getTotalDebits(TEST_USER_ID);
 
             assertThat(totalDebits).isEqualByComparingTo(new BigDecimal("320.75"));
-            verify(transactionRepository).getTotalDebitsByWallet(TEST_WALLET_ID);
+            verifyNoInteractions(transactionRepository, walletTotalsBackfill);
         }
 
         @Test
@@ -777,8 +919,6 @@ class WalletServiceTest {
             UserWallet wallet = createTestWallet();
             when(userWalletRepository.findByUserIdAndDeletedFalse(TEST_USER_ID))
                 .thenReturn(Optional.of(wallet));
-            when(transactionRepository.getTotalDebitsByWallet(TEST_WALLET_ID))
-                .thenReturn(null);
 
             BigDecimal totalDebits = walletService.getTotalDebits(TEST_USER_ID);
 
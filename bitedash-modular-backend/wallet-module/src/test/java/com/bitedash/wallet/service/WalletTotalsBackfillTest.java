@@ -0,0 +1,169 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.dto.response.WalletMonthlyTotalResponse;
+import com.bitedash.wallet.dto.response.WalletSummaryResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletMonthlyTotalRepository;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Running wallet totals against H2: the backfill recounts wallets that predate them from their
+ * settled transactions, and the summary reads them back with the current month in one query.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:wallettotals;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Import({WalletService.class, WalletTotalsBackfill.class, WalletBalanceCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("WalletTotalsBackfill Tests")
+class WalletTotalsBackfillTest {
+
+    private static final LocalDate THIS_MONTH = LocalDate.now().withDayOfMonth(1);
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletTotalsBackfill backfill;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private OutboxPublisher outboxPublisher;
+
+    @AfterEach
+    void tearDown() {
+        monthlyTotalRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        userWalletRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should recount legacy wallets from settled transactions, per month, once")
+    void backfillPending_RecountsLegacyWallets() {
+        UserWallet legacy = legacyWallet(1L);
+        record(legacy, "CREDIT", "500.00", "SUCCESS", THIS_MONTH.minusMonths(2).atTime(9, 0));
+        record(legacy, "DEBIT", "120.50", "SUCCESS", THIS_MONTH.minusMonths(2).atTime(13, 0));
+        record(legacy, "DEBIT", "80.00", "SUCCESS", THIS_MONTH.atTime(13, 0));
+        record(legacy, "DEBIT", "99.00", "RELEASED", THIS_MONTH.atTime(13, 5));    // abandoned hold
+        walletService.initWallet(2L);                                               // nothing to backfill
+
+        assertThat(backfill.backfillPending()).isEqualTo(1);
+        assertThat(backfill.backfillPending()).isZero();
+
+        UserWallet wallet = userWalletRepository.findByUserIdAndDeletedFalse(1L).orElseThrow();
+        assertThat(wallet.getTotalCredited()).isEqualByComparingTo("500.00");
+        assertThat(wallet.getTotalDebited()).isEqualByComparingTo("200.50");
+        assertThat(wallet.getTotalsAsOf()).isNotNull();
+
+        List<WalletMonthlyTotalResponse> months = walletService.getMonthlyTotals(1L, 12);
+        assertThat(months).extracting(WalletMonthlyTotalResponse::getMonth)
+            .containsExactly(THIS_MONTH, THIS_MONTH.minusMonths(2));
+        assertThat(months.get(0).getDebits()).isEqualByComparingTo("80.00");
+        assertThat(months.get(1).getCredits()).isEqualByComparingTo("500.00");
+        assertThat(months.get(1).getDebits()).isEqualByComparingTo("120.50");
+    }
+
+    @Test
+    @DisplayName("Should keep totals in step with credits and debits after the backfill")
+    void totals_MaintainedByCreditAndDebit() {
+        UserWallet legacy = legacyWallet(1L);
+        record(legacy, "CREDIT", "500.00", "SUCCESS", THIS_MONTH.minusMonths(1).atTime(9, 0));
+        backfill.backfillPending();
+
+        walletService.credit(1L, new BigDecimal("50.00"), "Allowance", null, "ALLOWANCE");
+        walletService.debit(1L, new BigDecimal("30.00"), "Lunch", 7L, "ORDER");
+        walletService.debit(1L, new BigDecimal("12.00"), "Coffee", 8L, "ORDER");
+
+        WalletSummaryResponse summary = walletService.getSummary(1L);
+        assertThat(summary.getTotalCredits()).isEqualByComparingTo("550.00");
+        assertThat(summary.getTotalDebits()).isEqualByComparingTo("42.00");
+        assertThat(summary.getMonth()).isEqualTo(THIS_MONTH);
+        assertThat(summary.getMonthCredits()).isEqualByComparingTo("50.00");
+        assertThat(summary.getMonthDebits()).isEqualByComparingTo("42.00");
+
+        // A recount from history must agree with the running totals
+        backfill.recount(summary.getWalletId());
+        WalletSummaryResponse recounted = walletService.getSummary(1L);
+        assertThat(recounted.getTotalCredits()).isEqualByComparingTo(summary.getTotalCredits());
+        assertThat(recounted.getTotalDebits()).isEqualByComparingTo(summary.getTotalDebits());
+        assertThat(recounted.getMonthDebits()).isEqualByComparingTo(summary.getMonthDebits());
+    }
+
+    @Test
+    @DisplayName("Should recount a legacy wallet on first summary read and report an empty month as zero")
+    void getSummary_LegacyWalletWithoutActivityThisMonth() {
+        UserWallet legacy = legacyWallet(1L);
+        record(legacy, "CREDIT", "75.00", "SUCCESS", THIS_MONTH.minusMonths(3).atTime(9, 0));
+
+        WalletSummaryResponse summary = walletService.getSummary(1L);
+
+        assertThat(summary.getBalance()).isEqualByComparingTo("100.00");
+        assertThat(summary.getTotalCredits()).isEqualByComparingTo("75.00");
+        assertThat(summary.getMonth()).isEqualTo(THIS_MONTH);
+        assertThat(summary.getMonthCredits()).isEqualByComparingTo("0.00");
+        assertThat(userWalletRepository.findByUserIdAndDeletedFalse(1L).orElseThrow().getTotalsAsOf()).isNotNull();
+        assertThatThrownBy(() -> walletService.getSummary(99L)).hasMessage("Wallet not found for user: 99");
+    }
+
+    /** A wallet as it was before running totals existed: zero totals and no totals_as_of. */
+    private UserWallet legacyWallet(Long userId) {
+        UserWallet wallet = new UserWallet();
+        wallet.setUserId(userId);
+        wallet.setBalance(new BigDecimal("100.00"));
+        return userWalletRepository.save(wallet);
+    }
+
+    private void record(UserWallet wallet, String txnType, String amount, String status, LocalDateTime createdAt) {
+        WalletTransaction transaction = new WalletTransaction(wallet.getId(), new BigDecimal(amount), txnType, null, null);
+        transaction.setStatus(status);
+        Long id = transactionRepository.save(transaction).getId();
+
+        // createdAt is set by auditing on insert, so pin it afterwards
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx ->
+            entityManager.createQuery("UPDATE WalletTransaction wt SET wt.createdAt = :createdAt WHERE wt.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", id)
+                .executeUpdate());
+    }
+}
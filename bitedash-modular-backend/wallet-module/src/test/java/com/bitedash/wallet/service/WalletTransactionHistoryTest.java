@@ -0,0 +1,205 @@
+package com.bitedash.wallet.service;
+
+import com.bitedash.shared.outbox.OutboxPublisher;
+import com.bitedash.wallet.dto.request.WalletHistoryPageRequest;
+import com.bitedash.wallet.dto.response.BalanceHistoryPageResponse;
+import com.bitedash.wallet.dto.response.BalanceHistoryResponse;
+import com.bitedash.wallet.dto.response.WalletTransactionPageResponse;
+import com.bitedash.wallet.dto.response.WalletTransactionResponse;
+import com.bitedash.wallet.entity.UserWallet;
+import com.bitedash.wallet.entity.WalletTransaction;
+import com.bitedash.wallet.repository.UserWalletRepository;
+import com.bitedash.wallet.repository.WalletJpaTestConfig;
+import com.bitedash.wallet.repository.WalletTransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Wallet history against H2: keyset pages on (createdAt, id) and the CSV history download.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:wallethistory;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WalletJpaTestConfig.class)
+@Import({WalletService.class, WalletTotalsBackfill.class, WalletBalanceCache.class})
+@DisplayName("Wallet transaction history Tests")
+class WalletTransactionHistoryTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private OutboxPublisher outboxPublisher;
+
+    private UserWallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        wallet = wallet(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should walk every transaction exactly once, newest first, across pages")
+    void getTransactionsPage_WalksAllPages() {
+        // Two transactions share a timestamp so the id tie-breaker between pages is exercised
+        List<Long> expected = new ArrayList<>();
+        int[] minuteOffsets = {0, 1, 1, 2, 3};
+        for (int offset : minuteOffsets) {
+            expected.add(0, record(wallet, "CREDIT", "10.00", BASE.plusMinutes(offset), false));
+        }
+        record(wallet(2L), "CREDIT", "10.00", BASE.plusMinutes(1), false);     // other wallet
+        record(wallet, "CREDIT", "10.00", BASE.plusMinutes(2), true);          // deleted
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            WalletTransactionPageResponse page = walletService.getTransactionsPage(USER_ID,
+                new WalletHistoryPageRequest(cursor, 2, null, null));
+            page.getTransactions().forEach(txn -> seen.add(txn.getId()));
+            assertThat(page.getNextCursor() != null).isEqualTo(page.isHasMore());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should page balance history within a date range and project every column")
+    void getBalanceHistoryPage_Range() {
+        record(wallet, "CREDIT", "100.00", BASE.minusDays(1), false);
+        Long debitId = record(wallet, "DEBIT", "30.00", BASE, false);
+        record(wallet, "CREDIT", "5.00", BASE.plusDays(1), false);
+        entityManager.clear();
+
+        BalanceHistoryPageResponse page = walletService.getBalanceHistoryPage(USER_ID,
+            new WalletHistoryPageRequest(null, null, BASE, BASE.plusDays(1)));
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getHistory()).hasSize(1);
+        assertThat(page.getHistory().get(0).getChange()).isEqualByComparingTo("-30.00");
+        assertThat(page.getHistory().get(0).getTimestamp()).isEqualTo(BASE);
+
+        WalletTransactionResponse txn = walletService.getTransactions(USER_ID).get(1);
+        assertThat(txn.getId()).isEqualTo(debitId);
+        assertThat(txn.getWalletId()).isEqualTo(wallet.getId());
+        assertThat(txn.getBalanceAfter()).isEqualByComparingTo("70.00");
+        assertThat(txn.getDescription()).isEqualTo("Lunch, with \"extras\"");
+        assertThat(txn.getStatus()).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    @DisplayName("Should include the end date in balance history and page back through earlier changes")
+    void getBalanceHistory_InclusiveAndPaged() {
+        record(wallet, "CREDIT", "100.00", BASE.minusDays(1), false);
+        record(wallet, "DEBIT", "30.00", BASE, false);
+        record(wallet, "CREDIT", "5.00", BASE.plusDays(1), false);
+        record(wallet, "CREDIT", "1.00", BASE.plusDays(1).plusNanos(1_000), false);  // just past the end
+        entityManager.clear();
+
+        BalanceHistoryPageResponse latest = walletService.getBalanceHistory(USER_ID, null, 2, BASE.minusDays(1), BASE.plusDays(1));
+
+        assertThat(latest.isHasMore()).isTrue();
+        assertThat(latest.getHistory()).extracting(BalanceHistoryResponse::getTimestamp)
+            .containsExactly(BASE, BASE.plusDays(1));
+
+        BalanceHistoryPageResponse earlier = walletService.getBalanceHistory(USER_ID, latest.getNextCursor(), 2,
+            BASE.minusDays(1), BASE.plusDays(1));
+
+        assertThat(earlier.isHasMore()).isFalse();
+        assertThat(earlier.getNextCursor()).isNull();
+        assertThat(earlier.getHistory()).extracting(BalanceHistoryResponse::getTimestamp)
+            .containsExactly(BASE.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should export the whole history as CSV, oldest first, across windows")
+    void export_WalksAllWindows() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        int[] minuteOffsets = {0, 1, 1, 2, 3};
+        for (int offset : minuteOffsets) {
+            expected.add(record(wallet, "DEBIT", "2.50", BASE.plusMinutes(offset), false));
+        }
+        record(wallet(2L), "DEBIT", "2.50", BASE.plusMinutes(1), false);       // other wallet
+        entityManager.clear();
+
+        WalletTransactionCsvExporter exporter = new WalletTransactionCsvExporter(jdbcTemplate, transactionManager, 2, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exporter.export(wallet.getId(), LocalDateTime.of(1970, 1, 1, 0, 0), BASE.plusDays(1), out);
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\r\n"));
+
+        assertThat(written).isEqualTo(5);
+        assertThat(lines.get(0)).isEqualTo(WalletTransactionCsvExporter.HEADER);
+        assertThat(lines.subList(1, lines.size()))
+            .extracting(line -> Long.valueOf(line.substring(0, line.indexOf(','))))
+            .containsExactlyElementsOf(expected);
+        assertThat(lines.get(1)).isEqualTo(expected.get(0)
+            + ",2026-03-15T12:00,DEBIT,2.50,100.00,97.50,SUCCESS,ORDER,7,\"Lunch, with \"\"extras\"\"\",");
+    }
+
+    private UserWallet wallet(Long userId) {
+        UserWallet wallet = new UserWallet();
+        wallet.setUserId(userId);
+        wallet.setBalance(new BigDecimal("100.00"));
+        return userWalletRepository.save(wallet);
+    }
+
+    private Long record(UserWallet wallet, String txnType, String amount, LocalDateTime createdAt, boolean deleted) {
+        BigDecimal change = "CREDIT".equals(txnType) ? new BigDecimal(amount) : new BigDecimal(amount).negate();
+        WalletTransaction transaction = new WalletTransaction(wallet.getId(), new BigDecimal(amount), txnType,
+            new BigDecimal("100.00"), new BigDecimal("100.00").add(change));
+        transaction.setDescription("Lunch, with \"extras\"");
+        transaction.setReferenceId(7L);
+        transaction.setReferenceType("ORDER");
+        Long id = transactionRepository.saveAndFlush(transaction).getId();
+
+        // createdAt is set by auditing on insert, so pin it afterwards
+        entityManager.createQuery("UPDATE WalletTransaction wt SET wt.createdAt = :createdAt, wt.deleted = :deleted WHERE wt.id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("deleted", deleted)
+            .setParameter("id", id)
+            .executeUpdate();
+        return id;
+    }
+}